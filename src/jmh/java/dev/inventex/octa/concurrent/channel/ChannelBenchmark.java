@@ -0,0 +1,155 @@
+package dev.inventex.octa.concurrent.channel;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of passing values between producer and consumer threads through the channels,
+ * compared to an {@link ArrayBlockingQueue} and a {@link LinkedBlockingQueue} of the same capacity.
+ * <p>
+ * The threads spin, whilst the queue is full or empty, so that the measurement does not depend on the cost
+ * of parking the threads, and the producers can stop, when the consumer has stopped at the end of an iteration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChannelBenchmark {
+    /**
+     * The capacity of the channels and the queues.
+     */
+    private static final int CAPACITY = 1024;
+
+    /**
+     * The value passed through the channels and the queues.
+     */
+    private static final Integer VALUE = 42;
+
+    @State(Scope.Group)
+    public static class OneToOne {
+        @Param({"spsc", "mpsc", "mpmc", "unbounded", "ArrayBlockingQueue", "LinkedBlockingQueue"})
+        public String type;
+
+        private Pipe pipe;
+
+        @Setup
+        public void setup() {
+            pipe = Pipe.create(type);
+        }
+    }
+
+    @State(Scope.Group)
+    public static class ManyToOne {
+        @Param({"mpsc", "mpmc", "unbounded", "ArrayBlockingQueue", "LinkedBlockingQueue"})
+        public String type;
+
+        private Pipe pipe;
+
+        @Setup
+        public void setup() {
+            pipe = Pipe.create(type);
+        }
+    }
+
+    @Benchmark
+    @Group("oneToOne")
+    @GroupThreads(1)
+    public void oneToOneSend(OneToOne state, Control control) {
+        send(state.pipe, control);
+    }
+
+    @Benchmark
+    @Group("oneToOne")
+    @GroupThreads(1)
+    public Integer oneToOneReceive(OneToOne state, Control control) {
+        return receive(state.pipe, control);
+    }
+
+    @Benchmark
+    @Group("manyToOne")
+    @GroupThreads(3)
+    public void manyToOneSend(ManyToOne state, Control control) {
+        send(state.pipe, control);
+    }
+
+    @Benchmark
+    @Group("manyToOne")
+    @GroupThreads(1)
+    public Integer manyToOneReceive(ManyToOne state, Control control) {
+        return receive(state.pipe, control);
+    }
+
+    private static void send(Pipe pipe, Control control) {
+        while (!pipe.offer(VALUE) && !control.stopMeasurement)
+            Thread.yield();
+    }
+
+    private static Integer receive(Pipe pipe, Control control) {
+        Integer value;
+        while ((value = pipe.poll()) == null && !control.stopMeasurement)
+            Thread.yield();
+        return value;
+    }
+
+    /**
+     * Represents the common non-blocking operations of the channels and the queues.
+     */
+    private interface Pipe {
+        boolean offer(Integer value);
+
+        Integer poll();
+
+        static Pipe create(String type) {
+            switch (type) {
+                case "spsc":
+                    return of(Channel.spsc(CAPACITY));
+                case "mpsc":
+                    return of(Channel.mpsc(CAPACITY));
+                case "mpmc":
+                    return of(Channel.mpmc(CAPACITY));
+                case "unbounded":
+                    return of(Channel.unbounded());
+                case "ArrayBlockingQueue":
+                    return of(new ArrayBlockingQueue<>(CAPACITY));
+                case "LinkedBlockingQueue":
+                    return of(new LinkedBlockingQueue<>(CAPACITY));
+                default:
+                    throw new IllegalArgumentException("Unknown type: " + type);
+            }
+        }
+
+        static Pipe of(Channel<Integer> channel) {
+            return new Pipe() {
+                @Override
+                public boolean offer(Integer value) {
+                    return channel.trySend(value);
+                }
+
+                @Override
+                public Integer poll() {
+                    return channel.tryReceive();
+                }
+            };
+        }
+
+        static Pipe of(Queue<Integer> queue) {
+            return new Pipe() {
+                @Override
+                public boolean offer(Integer value) {
+                    return queue.offer(value);
+                }
+
+                @Override
+                public Integer poll() {
+                    return queue.poll();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the cost of resolving the context executor in {@link Future#completeAsync(Supplier)}.
+ * <p>
+ * The global executor runs the tasks on the calling thread, so that only the resolution and the completion is
+ * measured. The <code>default</code> mapper leaves every context on the global executor, the <code>custom</code>
+ * mapper assigns an executor to each class loader, which requires the caller class to be resolved.
+ * <p>
+ * The {@link #stackTrace()} benchmark replicates the previous resolution, that created the stack trace of the
+ * current thread, and loaded the caller class by its name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutorResolutionBenchmark {
+    /**
+     * The executor that runs the tasks on the calling thread.
+     */
+    private static final Executor DIRECT = Runnable::run;
+
+    /**
+     * The value supplier of the completed Futures.
+     */
+    private static final Supplier<Integer> VALUE = () -> 1;
+
+    @Param({"default", "custom"})
+    public String mapper;
+
+    private final Map<Object, Executor> legacyExecutors = new ConcurrentHashMap<>();
+
+    @Setup
+    public void setup() {
+        Future.setGlobalExecutor(DIRECT);
+        if (mapper.equals("custom"))
+            Future.setContextExecutorMapper(key -> command -> command.run());
+    }
+
+    @Benchmark
+    public Future<Integer> completeAsync() {
+        return Future.completeAsync(VALUE);
+    }
+
+    @Benchmark
+    public Future<Integer> stackTrace() {
+        return Future.completeAsync(VALUE, legacyExecutor(Thread.currentThread().getStackTrace()));
+    }
+
+    /**
+     * Resolve the executor of the caller, the way the previous implementation did.
+     */
+    private Executor legacyExecutor(StackTraceElement[] stackTrace) {
+        if (stackTrace.length <= 2)
+            return DIRECT;
+
+        Class<?> type;
+        try {
+            type = Class.forName(stackTrace[2].getClassName());
+        } catch (ClassNotFoundException ignored) {
+            return DIRECT;
+        }
+
+        Object key = type.getClassLoader();
+        return legacyExecutors.computeIfAbsent(key, k -> command -> command.run());
+    }
+}
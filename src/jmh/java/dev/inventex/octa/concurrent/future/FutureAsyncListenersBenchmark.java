@@ -0,0 +1,96 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the completion of a Future with many asynchronous listeners bound to the same executor.
+ * <p>
+ * Each operation registers the configured number of listeners on a pending Future, completes it, then waits
+ * until the last listener has been called on the executor thread. The {@link #perListenerTask()} benchmark
+ * replicates the previous implementation, that submitted a separate task for each listener.
+ * <p>
+ * The number of the executor submissions per operation is printed after each iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FutureAsyncListenersBenchmark {
+    /**
+     * The number of the asynchronous listeners registered on each Future.
+     */
+    @Param({"1", "20"})
+    public int listeners;
+
+    private ExecutorService pool;
+    private Executor executor;
+    private final AtomicLong submissions = new AtomicLong();
+    private long operations;
+
+    @Setup
+    public void setup() {
+        pool = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor = task -> {
+            submissions.incrementAndGet();
+            pool.execute(task);
+        };
+    }
+
+    @TearDown(Level.Iteration)
+    public void printSubmissions() {
+        if (operations > 0)
+            System.out.println("submissions per operation: " + (double) submissions.get() / operations);
+        submissions.set(0);
+        operations = 0;
+    }
+
+    @TearDown
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public Integer batched() {
+        Future<Integer> future = new Future<>();
+        Future<Integer> done = new Future<>();
+        AtomicInteger remaining = new AtomicInteger(listeners);
+        for (int i = 0; i < listeners; i++) {
+            future.thenAsync(value -> {
+                if (remaining.decrementAndGet() == 0)
+                    done.complete(value);
+            }, executor);
+        }
+        future.complete(1);
+        operations++;
+        return done.await();
+    }
+
+    @Benchmark
+    public Integer perListenerTask() {
+        Future<Integer> future = new Future<>();
+        Future<Integer> done = new Future<>();
+        AtomicInteger remaining = new AtomicInteger(listeners);
+        for (int i = 0; i < listeners; i++) {
+            future.then(value -> executor.execute(() -> {
+                if (remaining.decrementAndGet() == 0)
+                    done.complete(value);
+            }));
+        }
+        future.complete(1);
+        operations++;
+        return done.await();
+    }
+}
@@ -0,0 +1,52 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of bridging between Futures and {@link CompletableFuture}s.
+ * <p>
+ * Each operation creates a pending source, bridges it to the other implementation, completes the source,
+ * then reads the value of the bridge. The <code>direct</code> benchmarks complete the same kind of source
+ * without bridging, as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FutureBridgeBenchmark {
+    @Benchmark
+    public Integer directFuture() {
+        Future<Integer> source = new Future<>();
+        Future<Integer> target = source.mock();
+        source.complete(1);
+        return target.getNow(null);
+    }
+
+    @Benchmark
+    public Integer directCompletableFuture() {
+        CompletableFuture<Integer> source = new CompletableFuture<>();
+        CompletableFuture<Integer> target = source.thenApply(value -> value);
+        source.complete(1);
+        return target.getNow(null);
+    }
+
+    @Benchmark
+    public Integer toCompletableFuture() {
+        Future<Integer> source = new Future<>();
+        CompletableFuture<Integer> target = source.toCompletableFuture();
+        source.complete(1);
+        return target.getNow(null);
+    }
+
+    @Benchmark
+    public Integer fromCompletionStage() {
+        CompletableFuture<Integer> source = new CompletableFuture<>();
+        Future<Integer> target = Future.fromCompletionStage(source);
+        source.complete(1);
+        return target.getNow(null);
+    }
+}
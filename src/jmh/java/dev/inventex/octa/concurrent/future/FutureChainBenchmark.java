@@ -0,0 +1,44 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of building a chain of transformations on a pending Future, and completing the head of it,
+ * compared to {@link CompletableFuture}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FutureChainBenchmark {
+    /**
+     * The number of the transformations in the chain.
+     */
+    @Param({"1", "10", "100"})
+    public int depth;
+
+    @Benchmark
+    public Integer future() {
+        Future<Integer> head = new Future<>();
+        Future<Integer> tail = head;
+        for (int i = 0; i < depth; i++)
+            tail = tail.transform(value -> value + 1);
+        head.complete(0);
+        return tail.getNow(null);
+    }
+
+    @Benchmark
+    public Integer completableFuture() {
+        CompletableFuture<Integer> head = new CompletableFuture<>();
+        CompletableFuture<Integer> tail = head;
+        for (int i = 0; i < depth; i++)
+            tail = tail.thenApply(value -> value + 1);
+        head.complete(0);
+        return tail.getNow(null);
+    }
+}
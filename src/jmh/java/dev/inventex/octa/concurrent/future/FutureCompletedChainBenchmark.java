@@ -0,0 +1,67 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of chaining transformations on already completed Futures, which is the common case
+ * for cached lookups, compared to {@link CompletableFuture}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FutureCompletedChainBenchmark {
+    /**
+     * The number of the transformations in the chain.
+     */
+    @Param({"1", "10", "100"})
+    public int depth;
+
+    /**
+     * The value the chains start from, kept in a field, so that it is not constant folded.
+     */
+    public Integer value = 0;
+
+    @Benchmark
+    public Integer future() {
+        Future<Integer> future = Future.completed(value);
+        for (int i = 0; i < depth; i++)
+            future = future.transform(value -> value + 1);
+        return future.getNow(null);
+    }
+
+    @Benchmark
+    public Integer futureFailed() {
+        Future<Integer> future = Future.failed(FAILURE);
+        for (int i = 0; i < depth; i++)
+            future = future.transform(value -> value + 1);
+        return future.getNow(null);
+    }
+
+    @Benchmark
+    public Integer completableFuture() {
+        CompletableFuture<Integer> future = CompletableFuture.completedFuture(value);
+        for (int i = 0; i < depth; i++)
+            future = future.thenApply(value -> value + 1);
+        return future.getNow(null);
+    }
+
+    @Benchmark
+    public Integer completableFutureFailed() {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        future.completeExceptionally(FAILURE);
+        for (int i = 0; i < depth; i++)
+            future = future.thenApply(value -> value + 1);
+        return future.isCompletedExceptionally() ? null : future.getNow(null);
+    }
+
+    /**
+     * The error used to fail the Futures, pre-allocated so that the stack trace is not measured.
+     */
+    private static final Exception FAILURE = new Exception("benchmark failure");
+}
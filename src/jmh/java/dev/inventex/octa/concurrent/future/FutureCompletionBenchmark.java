@@ -0,0 +1,54 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of completing a pending Future, that has a single completion handler registered,
+ * compared to {@link CompletableFuture}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FutureCompletionBenchmark {
+    @Benchmark
+    public void future(Blackhole blackhole) {
+        Future<Integer> future = new Future<>();
+        future.then(blackhole::consume);
+        future.complete(1);
+    }
+
+    @Benchmark
+    public void completableFuture(Blackhole blackhole) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        future.thenAccept(blackhole::consume);
+        future.complete(1);
+    }
+
+    @Benchmark
+    public void futureFailure(Blackhole blackhole) {
+        Future<Integer> future = new Future<>();
+        future.except(blackhole::consume);
+        future.fail(FAILURE);
+    }
+
+    @Benchmark
+    public void completableFutureFailure(Blackhole blackhole) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        future.exceptionally(error -> {
+            blackhole.consume(error);
+            return null;
+        });
+        future.completeExceptionally(FAILURE);
+    }
+
+    /**
+     * The error used to fail the Futures, pre-allocated so that the stack trace is not measured.
+     */
+    private static final Exception FAILURE = new Exception("benchmark failure");
+}
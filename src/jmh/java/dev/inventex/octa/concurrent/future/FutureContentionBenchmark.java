@@ -0,0 +1,104 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures the throughput of handler registration and completion, when many threads register handlers
+ * on the same pending Future concurrently.
+ * <p>
+ * Every thread registers a completion handler on the currently shared Future. After each {@link #BATCH}
+ * registrations, the thread replaces the shared Future with a new one, and completes the old one,
+ * therefore the completion of the handlers is also part of the measurement.
+ * <p>
+ * The {@link LockingFuture} benchmarks measure the monitor based implementation as a baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FutureContentionBenchmark {
+    /**
+     * The number of registrations a thread performs before rotating the shared Future.
+     */
+    private static final int BATCH = 256;
+
+    /**
+     * The Future shared by the registering threads.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedFuture {
+        public final AtomicReference<Future<Integer>> current = new AtomicReference<>(new Future<>());
+        public final AtomicReference<LockingFuture<Integer>> locking = new AtomicReference<>(new LockingFuture<>());
+    }
+
+    /**
+     * The registration counter of a single benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Counter {
+        public int registrations;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void lockFree1(SharedFuture shared, Counter counter, Blackhole blackhole) {
+        registerLockFree(shared, counter, blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void lockFree8(SharedFuture shared, Counter counter, Blackhole blackhole) {
+        registerLockFree(shared, counter, blackhole);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void lockFree64(SharedFuture shared, Counter counter, Blackhole blackhole) {
+        registerLockFree(shared, counter, blackhole);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void locking1(SharedFuture shared, Counter counter, Blackhole blackhole) {
+        registerLocking(shared, counter, blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void locking8(SharedFuture shared, Counter counter, Blackhole blackhole) {
+        registerLocking(shared, counter, blackhole);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void locking64(SharedFuture shared, Counter counter, Blackhole blackhole) {
+        registerLocking(shared, counter, blackhole);
+    }
+
+    /**
+     * Register a handler on the shared lock-free Future, and rotate it after each batch.
+     */
+    private static void registerLockFree(SharedFuture shared, Counter counter, Blackhole blackhole) {
+        Future<Integer> future = shared.current.get();
+        future.then(blackhole::consume);
+
+        if (++counter.registrations % BATCH == 0 && shared.current.compareAndSet(future, new Future<>()))
+            future.complete(counter.registrations);
+    }
+
+    /**
+     * Register a handler on the shared monitor based Future, and rotate it after each batch.
+     */
+    private static void registerLocking(SharedFuture shared, Counter counter, Blackhole blackhole) {
+        LockingFuture<Integer> future = shared.locking.get();
+        future.then(blackhole::consume);
+
+        if (++counter.registrations % BATCH == 0 && shared.locking.compareAndSet(future, new LockingFuture<>()))
+            future.complete(counter.registrations);
+    }
+}
@@ -0,0 +1,86 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of waiting for many pending Futures using {@link Future#all(Future[])} and
+ * {@link Future#allOf(java.util.Collection)}, compared to {@link CompletableFuture#allOf(CompletableFuture[])}.
+ * <p>
+ * Each operation creates the input Futures, combines them, then completes every input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FutureFanInBenchmark {
+    /**
+     * The number of the combined Futures.
+     */
+    @Param({"10", "1000", "100000"})
+    public int inputs;
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public boolean future() {
+        Future<?>[] futures = new Future[inputs];
+        for (int i = 0; i < inputs; i++)
+            futures[i] = new Future<Integer>();
+
+        Future<Void> all = Future.all(futures);
+        for (Future<?> future : futures)
+            ((Future<Integer>) future).complete(1);
+        return all.isCompleted();
+    }
+
+    @Benchmark
+    public List<Integer> futureCollect() {
+        List<Future<Integer>> futures = new ArrayList<>(inputs);
+        for (int i = 0; i < inputs; i++)
+            futures.add(new Future<>());
+
+        Future<List<Integer>> all = Future.allOf(futures);
+        for (Future<Integer> future : futures)
+            future.complete(1);
+        return all.getNow(null);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public boolean completableFuture() {
+        CompletableFuture<?>[] futures = new CompletableFuture[inputs];
+        for (int i = 0; i < inputs; i++)
+            futures[i] = new CompletableFuture<Integer>();
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures);
+        for (CompletableFuture<?> future : futures)
+            ((CompletableFuture<Integer>) future).complete(1);
+        return all.isDone();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<Integer> completableFutureCollect() {
+        CompletableFuture<Integer>[] futures = new CompletableFuture[inputs];
+        for (int i = 0; i < inputs; i++)
+            futures[i] = new CompletableFuture<>();
+
+        // collect the values once every input has completed, the way it is usually done with CompletableFuture
+        CompletableFuture<List<Integer>> all = CompletableFuture.allOf(futures).thenApply(ignored -> {
+            Integer[] values = new Integer[futures.length];
+            for (int i = 0; i < futures.length; i++)
+                values[i] = futures[i].join();
+            return Arrays.asList(values);
+        });
+        for (CompletableFuture<Integer> future : futures)
+            future.complete(1);
+        return all.getNow(null);
+    }
+}
@@ -0,0 +1,54 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reports the retained memory footprint of pending Futures with zero, one and ten handlers registered,
+ * compared to {@link LockingFuture}, that replicates the previous lock and copy-on-write list based implementation.
+ * <p>
+ * Run the report using <code>mvn -o -Pbenchmark test-compile exec:java
+ * -Dexec.mainClass=dev.inventex.octa.concurrent.future.FutureFootprint</code>.
+ */
+public class FutureFootprint {
+    /**
+     * The completion handler registered on the Futures, shared so that only the storage of the handlers is measured.
+     */
+    private static final Consumer<Integer> HANDLER = value -> {};
+
+    public static void main(String[] args) {
+        System.out.printf("%-16s %10s %10s %12s%n", "implementation", "empty", "1 handler", "10 handlers");
+        report("LockingFuture", handlers -> {
+            LockingFuture<Integer> future = new LockingFuture<>();
+            for (int i = 0; i < handlers; i++)
+                future.then(HANDLER);
+            return future;
+        });
+        report("Future", handlers -> {
+            Future<Integer> future = new Future<>();
+            for (int i = 0; i < handlers; i++)
+                future.then(HANDLER);
+            return future;
+        });
+        System.out.println();
+        System.out.println(GraphLayout.parseInstance(new LockingFuture<Integer>().then(HANDLER)).toFootprint());
+        System.out.println(GraphLayout.parseInstance(new Future<Integer>().then(HANDLER)).toFootprint());
+    }
+
+    /**
+     * Print the total retained size of the Futures created by the specified factory.
+     *
+     * @param name the name of the implementation
+     * @param factory the function that creates a Future with the specified number of handlers
+     */
+    private static void report(String name, Function<Integer, Object> factory) {
+        System.out.printf(
+            "%-16s %10d %10d %12d%n", name,
+            GraphLayout.parseInstance(factory.apply(0)).totalSize(),
+            GraphLayout.parseInstance(factory.apply(1)).totalSize(),
+            GraphLayout.parseInstance(factory.apply(10)).totalSize()
+        );
+    }
+}
@@ -0,0 +1,62 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of the {@link FutureInstrumentation} on the hot paths of the Futures.
+ * <p>
+ * The <code>disabled</code> mode uses the default {@link FutureInstrumentation#NOOP} instrumentation, which
+ * should perform the same as the Futures did before the instrumentation was introduced. The <code>metrics</code>
+ * mode records every event using the built-in {@link FutureMetrics}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FutureInstrumentationBenchmark {
+    /**
+     * The executor that runs the tasks on the calling thread.
+     */
+    private static final Executor DIRECT = Runnable::run;
+
+    @Param({"disabled", "metrics"})
+    public String mode;
+
+    @Setup
+    public void setup() {
+        Future.setInstrumentation(mode.equals("metrics") ? new FutureMetrics() : FutureInstrumentation.NOOP);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Future.setInstrumentation(FutureInstrumentation.NOOP);
+    }
+
+    @Benchmark
+    public void completion(Blackhole blackhole) {
+        Future<Integer> future = new Future<>();
+        future.then(blackhole::consume);
+        future.complete(1);
+    }
+
+    @Benchmark
+    public Future<Integer> chain() {
+        Future<Integer> head = new Future<>();
+        Future<Integer> tail = head;
+        for (int i = 0; i < 10; i++)
+            tail = tail.transform(value -> value + 1);
+        head.complete(0);
+        return tail;
+    }
+
+    @Benchmark
+    public Future<Integer> completeAsync() {
+        return Future.completeAsync(1, DIRECT);
+    }
+}
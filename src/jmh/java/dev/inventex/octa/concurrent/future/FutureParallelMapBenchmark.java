@@ -0,0 +1,62 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of mapping a list on an executor using {@link Future#parallelMap(java.util.Collection,
+ * java.util.function.Function, java.util.concurrent.Executor)}, compared to submitting a task for each element
+ * using {@link Future#completeAsync(java.util.function.Supplier, java.util.concurrent.Executor)}, and collecting
+ * the results using {@link Future#allOf(java.util.Collection)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FutureParallelMapBenchmark {
+    /**
+     * The number of the mapped elements.
+     */
+    @Param({"1000", "1000000"})
+    public int elements;
+
+    private List<Integer> input;
+
+    private ForkJoinPool executor;
+
+    @Setup
+    public void setup() {
+        input = new ArrayList<>(elements);
+        for (int i = 0; i < elements; i++)
+            input.add(i);
+        executor = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<Integer> parallelMap() {
+        return Future.parallelMap(input, FutureParallelMapBenchmark::map, executor).await();
+    }
+
+    @Benchmark
+    public List<Integer> futurePerElement() {
+        List<Future<Integer>> futures = new ArrayList<>(elements);
+        for (Integer value : input)
+            futures.add(Future.completeAsync(() -> map(value), executor));
+        return Future.allOf(futures).await();
+    }
+
+    private static int map(int value) {
+        return value * 31 + 7;
+    }
+}
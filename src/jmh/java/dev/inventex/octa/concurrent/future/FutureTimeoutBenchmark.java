@@ -0,0 +1,86 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of {@link Future#timeout(long)} calls, where the source Future completes before the timeout.
+ * <p>
+ * Each operation creates the configured number of in-flight timed Futures, then completes all of their sources.
+ * The {@link #perCallExecutor(Blackhole)} benchmark replicates the previous implementation, that created a
+ * single threaded scheduled executor for every timeout call.
+ * <p>
+ * The peak thread count of the JVM is printed after each iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FutureTimeoutBenchmark {
+    /**
+     * The number of the timed Futures in-flight at the same time.
+     */
+    @Param({"1", "1000"})
+    public int inFlight;
+
+    private Future<Integer>[] sources;
+
+    @Setup(Level.Invocation)
+    @SuppressWarnings("unchecked")
+    public void createSources() {
+        sources = new Future[inFlight];
+        for (int i = 0; i < inFlight; i++)
+            sources[i] = new Future<>();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printThreads() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.out.println("threads: live " + threads.getThreadCount() + ", peak " + threads.getPeakThreadCount());
+        threads.resetPeakThreadCount();
+    }
+
+    @Benchmark
+    public void sharedTimer(Blackhole blackhole) {
+        for (Future<Integer> source : sources)
+            blackhole.consume(source.timeout(60_000));
+        for (Future<Integer> source : sources)
+            source.complete(1);
+    }
+
+    @Benchmark
+    public void perCallExecutor(Blackhole blackhole) {
+        for (Future<Integer> source : sources)
+            blackhole.consume(legacyTimeout(source, 60_000));
+        for (Future<Integer> source : sources)
+            source.complete(1);
+    }
+
+    /**
+     * Create a timed Future the way the previous implementation did, using a new executor for each call.
+     */
+    private static <T> Future<T> legacyTimeout(Future<T> source, long timeout) {
+        Future<T> future = new Future<>();
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        source.then(value -> {
+            future.complete(value);
+            executor.shutdownNow();
+        }).except(error -> {
+            future.fail(error);
+            executor.shutdownNow();
+        });
+        executor.schedule(() -> {
+            future.fail(new FutureTimeoutException(timeout));
+            executor.shutdown();
+        }, timeout, TimeUnit.MILLISECONDS);
+        return future;
+    }
+}
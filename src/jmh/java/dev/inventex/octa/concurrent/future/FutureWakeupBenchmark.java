@@ -0,0 +1,113 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the wake-up latency of threads blocked on a pending Future, compared to {@link CompletableFuture}.
+ * <p>
+ * Each operation is a round-trip between the benchmark thread and a helper thread: the benchmark thread completes
+ * the <code>ping</code> Future, that the helper thread is blocked on, then the helper thread completes the
+ * <code>pong</code> Future, that the benchmark thread is blocked on. Therefore, each operation contains two
+ * wake-ups of a blocked thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class FutureWakeupBenchmark {
+    /**
+     * Represents a single round-trip between the benchmark and the helper thread.
+     */
+    private static final class Round {
+        private final Future<Integer> ping = new Future<>();
+        private final Future<Integer> pong = new Future<>();
+        private final CompletableFuture<Integer> completablePing = new CompletableFuture<>();
+        private final CompletableFuture<Integer> completablePong = new CompletableFuture<>();
+        private Round next;
+    }
+
+    @State(Scope.Thread)
+    public static class PingPong {
+        private volatile boolean running;
+        Round round;
+        private Thread helper;
+
+        /**
+         * Start the helper thread, that answers the rounds using the Futures of the specified type.
+         */
+        protected void start(boolean completable) {
+            running = true;
+            round = new Round();
+            Round first = round;
+            helper = new Thread(() -> {
+                Round current = first;
+                while (running) {
+                    if (completable)
+                        current.completablePing.join();
+                    else
+                        current.ping.await();
+                    Round next = current.next;
+                    if (completable)
+                        current.completablePong.complete(1);
+                    else
+                        current.pong.complete(1);
+                    current = next;
+                }
+            });
+            helper.setDaemon(true);
+            helper.start();
+        }
+
+        @TearDown
+        public void stop() throws InterruptedException {
+            running = false;
+            round.next = new Round();
+            round.ping.complete(0);
+            round.completablePing.complete(0);
+            helper.join();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FuturePingPong extends PingPong {
+        @Setup
+        public void setup() {
+            start(false);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CompletablePingPong extends PingPong {
+        @Setup
+        public void setup() {
+            start(true);
+        }
+    }
+
+    @Benchmark
+    public Integer future(FuturePingPong state) {
+        Round round = state.round;
+        Round next = new Round();
+        round.next = next;
+        round.ping.complete(1);
+        Integer result = round.pong.await();
+        state.round = next;
+        return result;
+    }
+
+    @Benchmark
+    public Integer completableFuture(CompletablePingPong state) {
+        Round round = state.round;
+        Round next = new Round();
+        round.next = next;
+        round.completablePing.complete(1);
+        Integer result = round.completablePong.join();
+        state.round = next;
+        return result;
+    }
+}
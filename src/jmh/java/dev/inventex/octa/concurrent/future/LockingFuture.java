@@ -0,0 +1,136 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A trimmed copy of the monitor based {@link Future} implementation, that is used as a baseline for the benchmarks.
+ * <p>
+ * Only the handler registration and completion paths are kept, which are guarded by a lock object,
+ * and store the handlers in copy-on-write lists.
+ *
+ * @param <T> the type of the completion value
+ */
+public class LockingFuture<T> {
+    /**
+     * The object used for thread locking for unsafe value modifications.
+     */
+    private final @NotNull Object lock = new Object();
+
+    /**
+     * The list of the future completion handlers.
+     */
+    private final @NotNull List<@NotNull Consumer<@Nullable T>> completionHandlers = new CopyOnWriteArrayList<>();
+
+    /**
+     * The list of the future failure handlers.
+     */
+    private final @NotNull List<@NotNull Consumer<@NotNull Throwable>> errorHandlers = new CopyOnWriteArrayList<>();
+
+    /**
+     * The value of the completion result.
+     */
+    private volatile @Nullable T value;
+
+    /**
+     * The error that occurred whilst executing and caused a future failure.
+     */
+    private volatile @Nullable Throwable error;
+
+    /**
+     * Indicates whether the future completion had been done (either successfully or unsuccessfully).
+     */
+    private volatile boolean completed;
+
+    /**
+     * Indicates whether the future completion was failed.
+     */
+    private volatile boolean failed;
+
+    /**
+     * Complete the Future successfully with the value given.
+     *
+     * @param value the completion value
+     * @return <code>true</code> if the Future was completed with the value, <code>false</code> otherwise
+     */
+    public boolean complete(@Nullable T value) {
+        if (completed)
+            return false;
+
+        synchronized (lock) {
+            this.value = value;
+            completed = true;
+            lock.notify();
+        }
+
+        for (Consumer<T> handler : completionHandlers) {
+            try {
+                handler.accept(value);
+            } catch (Throwable ignored) {
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fail the Future completion with the given error.
+     *
+     * @param error the error occurred whilst completing
+     * @return <code>true</code> if the Future was completed with an error, <code>false</code> otherwise
+     */
+    public boolean fail(@NotNull Throwable error) {
+        if (completed)
+            return false;
+
+        synchronized (lock) {
+            this.error = error;
+            completed = true;
+            failed = true;
+            lock.notify();
+        }
+
+        for (Consumer<Throwable> handler : errorHandlers) {
+            try {
+                handler.accept(error);
+            } catch (Throwable ignored) {
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Register a completion handler to be called when the Future completes without an error.
+     *
+     * @param action the successful completion callback
+     * @return this Future
+     */
+    public @NotNull LockingFuture<T> then(@NotNull Consumer<T> action) {
+        synchronized (lock) {
+            if (!completed)
+                completionHandlers.add(action);
+            else if (!failed)
+                action.accept(value);
+            return this;
+        }
+    }
+
+    /**
+     * Register a failure handler to be called when the Future completes with an error.
+     *
+     * @param action the failed completion handler
+     * @return this Future
+     */
+    public @NotNull LockingFuture<T> except(@NotNull Consumer<Throwable> action) {
+        synchronized (lock) {
+            if (!completed)
+                errorHandlers.add(action);
+            else if (failed)
+                action.accept(error);
+            return this;
+        }
+    }
+}
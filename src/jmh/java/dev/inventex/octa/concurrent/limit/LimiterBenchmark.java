@@ -0,0 +1,70 @@
+package dev.inventex.octa.concurrent.limit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput and the latency of acquiring and releasing permits, whilst more threads compete
+ * for the permits, than the limit allows, compared to a blocking {@link Semaphore}.
+ * <p>
+ * Each operation acquires a permit, performs a small amount of work, then releases the permit. The waiting
+ * acquisitions of the limiters do not park the threads, their work is performed by the thread, that releases
+ * the previous permit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class LimiterBenchmark {
+    /**
+     * The number of the permits, that can be granted at the same time.
+     */
+    private static final int LIMIT = 2;
+
+    /**
+     * The amount of the work performed whilst holding a permit.
+     */
+    private static final int WORK = 100;
+
+    private final Semaphore semaphore = new Semaphore(LIMIT);
+    private final ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(LIMIT);
+    private final AimdLimiter aimdLimiter = new AimdLimiter(LIMIT, LIMIT);
+    private final TokenBucketLimiter tokenBucket = new TokenBucketLimiter(1e9, 1000);
+
+    @Benchmark
+    public void semaphore() throws InterruptedException {
+        semaphore.acquire();
+        try {
+            Blackhole.consumeCPU(WORK);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    @Benchmark
+    public void concurrencyLimiter() {
+        concurrencyLimiter.acquire().then(permit -> {
+            Blackhole.consumeCPU(WORK);
+            permit.release();
+        });
+    }
+
+    @Benchmark
+    public void aimdLimiter() {
+        aimdLimiter.acquire().then(permit -> {
+            Blackhole.consumeCPU(WORK);
+            permit.release();
+        });
+    }
+
+    @Benchmark
+    public Permit tokenBucket() {
+        return tokenBucket.tryAcquire();
+    }
+}
@@ -0,0 +1,170 @@
+package dev.inventex.octa.concurrent.channel;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.errorprone.annotations.CheckReturnValue;
+import dev.inventex.octa.concurrent.future.Future;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a queue, that passes values from the producer threads to the consumer threads of a pipeline.
+ * <p>
+ * The values are buffered in a lock-free array, therefore passing a value neither allocates, nor takes a lock,
+ * unless a sender has to wait for free space, or a receiver has to wait for a value. The waiting operations are
+ * represented by Futures, that are completed by the thread, which has made the progress possible:
+ * {@link #send(Object)} and {@link #receive()} never block. The blocking variants {@link #put(Object)} and
+ * {@link #take()} park the thread using {@link java.util.concurrent.locks.LockSupport}, without holding
+ * a monitor, therefore they are safe to be used on virtual threads.
+ * <p>
+ * The single-producer and single-consumer channels are only safe, if at most one thread sends, or respectively
+ * receives the values at a time. In these channels, an operation of the restricted side must not start before
+ * the Future of the previous operation of that side has completed.
+ *
+ * @param <T> the type of the values
+ */
+public interface Channel<T> {
+    /**
+     * Try to send the specified value, without waiting for free space in the channel.
+     *
+     * @param value the value to send
+     * @return <code>true</code> if the value has been sent, <code>false</code> if the channel is full or closed
+     */
+    @CanIgnoreReturnValue
+    boolean trySend(@NotNull T value);
+
+    /**
+     * Send the specified value, and complete the returned Future, when the value has been buffered.
+     * <p>
+     * If there is free space in the channel, the returned Future is already completed. Otherwise, the value is
+     * buffered, when a receiver has taken a value from the channel. The returned Future fails with
+     * a {@link ChannelClosedException}, if the channel is closed before the value could be buffered.
+     * Cancelling the returned Future withdraws the value, unless it has been buffered already.
+     *
+     * @param value the value to send
+     * @return a Future, that completes, when the value has been sent
+     */
+    @CanIgnoreReturnValue
+    @NotNull Future<Void> send(@NotNull T value);
+
+    /**
+     * Send the specified value, and park the current thread, until there is free space in the channel.
+     * <p>
+     * If the thread is interrupted, whilst waiting, the value is withdrawn, unless it has been buffered already.
+     *
+     * @param value the value to send
+     * @throws InterruptedException if the thread has been interrupted, before the value could be sent
+     * @throws ChannelClosedException if the channel has been closed
+     */
+    void put(@NotNull T value) throws InterruptedException;
+
+    /**
+     * Try to receive a value, without waiting for a value to be sent.
+     *
+     * @return the received value, or <code>null</code> if the channel is empty
+     */
+    @CheckReturnValue
+    @Nullable T tryReceive();
+
+    /**
+     * Receive a value, and complete the returned Future with the value, when it has been sent.
+     * <p>
+     * If there is a value in the channel, the returned Future is already completed. The returned Future fails
+     * with a {@link ChannelClosedException}, if the channel is closed, and it has no more values.
+     * Cancelling the returned Future stops waiting for a value, unless the Future has been completed already.
+     *
+     * @return a Future of the received value
+     */
+    @CheckReturnValue
+    @NotNull Future<T> receive();
+
+    /**
+     * Receive a value, and park the current thread, until a value has been sent.
+     *
+     * @return the received value
+     * @throws InterruptedException if the thread has been interrupted, before a value could be received
+     * @throws ChannelClosedException if the channel has been closed, and it has no more values
+     */
+    @NotNull T take() throws InterruptedException;
+
+    /**
+     * Close the channel, after which no more values can be sent.
+     * <p>
+     * The values, that have been buffered already, can still be received. The waiting senders are failed, and so
+     * are the waiting receivers, once the buffered values have been received.
+     */
+    void close();
+
+    /**
+     * Indicate whether the channel has been closed.
+     *
+     * @return <code>true</code> if no more values can be sent
+     */
+    boolean isClosed();
+
+    /**
+     * Retrieve the number of the values buffered in the channel. The result is only an estimate, as the channel
+     * may be modified concurrently.
+     *
+     * @return the number of the buffered values
+     */
+    int size();
+
+    /**
+     * Retrieve the maximum number of the values, that the channel can buffer.
+     *
+     * @return the capacity of the channel, or {@link Integer#MAX_VALUE} if the channel is unbounded
+     */
+    int capacity();
+
+    /**
+     * Create a new bounded channel for a single producer and a single consumer thread.
+     *
+     * @param capacity the maximum number of the buffered values, that is rounded up to the next power of two
+     * @return a new single-producer, single-consumer channel
+     * @param <T> the type of the values
+     */
+    @CheckReturnValue
+    static <T> @NotNull Channel<T> spsc(int capacity) {
+        return new QueueChannel<>(new SpscArrayQueue<>(QueueChannel.checkCapacity(capacity)));
+    }
+
+    /**
+     * Create a new bounded channel for multiple producer threads and a single consumer thread.
+     *
+     * @param capacity the maximum number of the buffered values, that is rounded up to the next power of two,
+     *                 but at least two
+     * @return a new multi-producer, single-consumer channel
+     * @param <T> the type of the values
+     */
+    @CheckReturnValue
+    static <T> @NotNull Channel<T> mpsc(int capacity) {
+        return new QueueChannel<>(new MpscArrayQueue<>(QueueChannel.checkCapacity(capacity)));
+    }
+
+    /**
+     * Create a new bounded channel for multiple producer and consumer threads.
+     *
+     * @param capacity the maximum number of the buffered values, that is rounded up to the next power of two,
+     *                 but at least two
+     * @return a new multi-producer, multi-consumer channel
+     * @param <T> the type of the values
+     */
+    @CheckReturnValue
+    static <T> @NotNull Channel<T> mpmc(int capacity) {
+        return new QueueChannel<>(new MpmcArrayQueue<>(QueueChannel.checkCapacity(capacity)));
+    }
+
+    /**
+     * Create a new unbounded channel for multiple producer and consumer threads.
+     * <p>
+     * The values are buffered in linked array segments, therefore the channel only allocates per a segment of
+     * values, and the senders never wait.
+     *
+     * @return a new unbounded channel
+     * @param <T> the type of the values
+     */
+    @CheckReturnValue
+    static <T> @NotNull Channel<T> unbounded() {
+        return new QueueChannel<>(new UnboundedArrayQueue<>());
+    }
+}
@@ -0,0 +1,14 @@
+package dev.inventex.octa.concurrent.channel;
+
+/**
+ * Represents a channel exception caused by sending a value to a closed channel, or by receiving a value from
+ * a closed channel, that has no more values buffered.
+ */
+public class ChannelClosedException extends IllegalStateException {
+    /**
+     * Initialize the channel closed exception.
+     */
+    public ChannelClosedException() {
+        super("The channel has been closed.");
+    }
+}
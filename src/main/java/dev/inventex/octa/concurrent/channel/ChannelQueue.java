@@ -0,0 +1,51 @@
+package dev.inventex.octa.concurrent.channel;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a non-blocking queue, that stores the buffered values of a {@link Channel}.
+ * <p>
+ * The implementations are lock-free, and each of them is only safe for the number of producer and consumer
+ * threads it has been designed for. The channel guarantees, that the queue is not accessed by more threads
+ * at a time, than allowed.
+ *
+ * @param <T> the type of the values
+ */
+interface ChannelQueue<T> {
+    /**
+     * Try to append the specified value to the end of the queue.
+     * <p>
+     * The value is published using a volatile write, so that a thread, that checks for the waiting receivers
+     * afterward, cannot miss a receiver, that has checked the queue before.
+     *
+     * @param value the value to append
+     * @return <code>true</code> if the value has been appended, <code>false</code> if the queue is full
+     */
+    boolean offer(@NotNull T value);
+
+    /**
+     * Try to remove the value from the head of the queue.
+     * <p>
+     * The slot is released using a volatile write, so that a thread, that checks for the waiting senders
+     * afterward, cannot miss a sender, that has checked the queue before.
+     *
+     * @return the removed value, or <code>null</code> if the queue is empty
+     */
+    @Nullable T poll();
+
+    /**
+     * Retrieve the number of the values in the queue. The result is only an estimate, as the queue may be
+     * modified concurrently.
+     *
+     * @return the number of the buffered values
+     */
+    int size();
+
+    /**
+     * Retrieve the maximum number of the values, that the queue can hold.
+     *
+     * @return the capacity of the queue, or {@link Integer#MAX_VALUE} if the queue is unbounded
+     */
+    int capacity();
+}
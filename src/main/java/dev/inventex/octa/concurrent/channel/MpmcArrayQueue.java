@@ -0,0 +1,49 @@
+package dev.inventex.octa.concurrent.channel;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a bounded, lock-free ring buffer for multiple producer and consumer threads.
+ * <p>
+ * The consumers claim the slots by advancing the head using a compare-and-set, similarly to the producers.
+ *
+ * @param <T> the type of the values
+ */
+final class MpmcArrayQueue<T> extends SequencedArrayQueue<T> {
+    /**
+     * Initialize the queue.
+     *
+     * @param capacity the requested capacity, that is rounded up to the next power of two, but at least two
+     */
+    MpmcArrayQueue(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * Try to remove the value from the head of the queue.
+     *
+     * @return the removed value, or <code>null</code> if the queue is empty
+     */
+    @Override
+    public @Nullable T poll() {
+        long index;
+        int slot;
+        while (true) {
+            index = head;
+            slot = (int) index & mask;
+            long difference = sequences.get(slot) - (index + 1);
+            // claim the slot, if its value has been published at the current lap
+            if (difference == 0) {
+                if (HEAD.compareAndSet(this, index, index + 1))
+                    break;
+            }
+            // the value of the slot has not been published yet, therefore the queue is empty
+            else if (difference < 0)
+                return null;
+            // otherwise another consumer has claimed the slot meanwhile, so retry with the new head
+        }
+        T value = buffer.get(slot);
+        release(slot, index);
+        return value;
+    }
+}
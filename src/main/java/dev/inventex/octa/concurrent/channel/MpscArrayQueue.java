@@ -0,0 +1,39 @@
+package dev.inventex.octa.concurrent.channel;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a bounded, lock-free ring buffer for multiple producer threads and a single consumer thread.
+ * <p>
+ * As the head is only advanced by the consumer, reading a value does not need a compare-and-set.
+ *
+ * @param <T> the type of the values
+ */
+final class MpscArrayQueue<T> extends SequencedArrayQueue<T> {
+    /**
+     * Initialize the queue.
+     *
+     * @param capacity the requested capacity, that is rounded up to the next power of two, but at least two
+     */
+    MpscArrayQueue(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * Try to remove the value from the head of the queue.
+     *
+     * @return the removed value, or <code>null</code> if the queue is empty
+     */
+    @Override
+    public @Nullable T poll() {
+        long index = head;
+        int slot = (int) index & mask;
+        // the value of the slot has not been published yet
+        if (sequences.get(slot) != index + 1)
+            return null;
+        T value = buffer.get(slot);
+        HEAD.lazySet(this, index + 1);
+        release(slot, index);
+        return value;
+    }
+}
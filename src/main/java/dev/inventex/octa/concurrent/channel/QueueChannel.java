@@ -0,0 +1,530 @@
+package dev.inventex.octa.concurrent.channel;
+
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.future.FutureExecutionException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Represents a channel, that buffers its values in a lock-free {@link ChannelQueue}.
+ * <p>
+ * The values are passed through the queue directly, as long as the senders do not have to wait for free space,
+ * and the receivers do not have to wait for a value. Otherwise, the waiting operations are queued, and matched
+ * with the queue by a single thread at a time, that is the thread, which has made the last progress. Therefore,
+ * the queue is never accessed by more producer or consumer threads, than it has been designed for, as long as
+ * the operations of the restricted sides do not overlap.
+ * <p>
+ * The matching loop only claims the waiting operations, and their Futures are completed after the loop has been
+ * left, therefore the handlers of an operation may use the channel again, even synchronously.
+ *
+ * @param <T> the type of the values
+ */
+final class QueueChannel<T> implements Channel<T> {
+    /**
+     * The field updater used to atomically modify the {@link #wip} counter of the channel.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final @NotNull AtomicIntegerFieldUpdater<QueueChannel> WIP =
+        AtomicIntegerFieldUpdater.newUpdater(QueueChannel.class, "wip");
+
+    /**
+     * The queue, that buffers the values of the channel.
+     */
+    private final @NotNull ChannelQueue<T> queue;
+
+    /**
+     * The queue of the receivers waiting for a value.
+     */
+    private final @NotNull Queue<@NotNull Receiver<T>> receivers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The queue of the senders waiting for free space.
+     */
+    private final @NotNull Queue<@NotNull Sender<T>> senders = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of the signals, that have not been handled by the matching loop yet.
+     */
+    private volatile int wip;
+
+    /**
+     * Indicates whether the channel has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Initialize the channel.
+     *
+     * @param queue the queue, that buffers the values of the channel
+     */
+    QueueChannel(@NotNull ChannelQueue<T> queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * Validate the specified capacity of a bounded channel.
+     *
+     * @param capacity the requested capacity
+     * @return the validated capacity
+     */
+    static int checkCapacity(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30)
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        return capacity;
+    }
+
+    /**
+     * Try to send the specified value, without waiting for free space in the channel.
+     *
+     * @param value the value to send
+     * @return <code>true</code> if the value has been sent, <code>false</code> if the channel is full or closed
+     */
+    @Override
+    public boolean trySend(@NotNull T value) {
+        if (closed || !queue.offer(value))
+            return false;
+        // the queue publishes the value using a volatile write, therefore a receiver, that has started waiting
+        // before, is either visible here, or it has seen the value itself
+        if (!receivers.isEmpty())
+            match();
+        return true;
+    }
+
+    /**
+     * Send the specified value, and complete the returned Future, when the value has been buffered.
+     *
+     * @param value the value to send
+     * @return a Future, that completes, when the value has been sent
+     */
+    @Override
+    public @NotNull Future<Void> send(@NotNull T value) {
+        if (closed)
+            return Future.failed(new ChannelClosedException());
+        // do not overtake the senders, that are already waiting for free space
+        if (senders.isEmpty() && trySend(value))
+            return Future.completed();
+
+        // wait for free space, and recheck the queue, which might have been drained meanwhile
+        Sender<T> sender = new Sender<>(value);
+        senders.offer(sender);
+        match();
+        return sender;
+    }
+
+    /**
+     * Send the specified value, and park the current thread, until there is free space in the channel.
+     *
+     * @param value the value to send
+     * @throws InterruptedException if the thread has been interrupted, before the value could be sent
+     * @throws ChannelClosedException if the channel has been closed
+     */
+    @Override
+    public void put(@NotNull T value) throws InterruptedException {
+        if (senders.isEmpty() && trySend(value))
+            return;
+        await(send(value));
+    }
+
+    /**
+     * Try to receive a value, without waiting for a value to be sent.
+     *
+     * @return the received value, or <code>null</code> if the channel is empty
+     */
+    @Override
+    public @Nullable T tryReceive() {
+        T value = queue.poll();
+        if (senders.isEmpty())
+            return value;
+        // let the waiting senders buffer their values, as there might be free space now
+        match();
+        return value != null ? value : queue.poll();
+    }
+
+    /**
+     * Receive a value, and complete the returned Future with the value, when it has been sent.
+     *
+     * @return a Future of the received value
+     */
+    @Override
+    public @NotNull Future<T> receive() {
+        T value = tryReceive();
+        if (value != null)
+            return Future.completed(value);
+
+        // wait for a value, and recheck the queue, which might have been filled meanwhile
+        Receiver<T> receiver = new Receiver<>();
+        receivers.offer(receiver);
+        match();
+        return receiver;
+    }
+
+    /**
+     * Receive a value, and park the current thread, until a value has been sent.
+     *
+     * @return the received value
+     * @throws InterruptedException if the thread has been interrupted, before a value could be received
+     * @throws ChannelClosedException if the channel has been closed, and it has no more values
+     */
+    @Override
+    public @NotNull T take() throws InterruptedException {
+        T value = tryReceive();
+        if (value != null)
+            return value;
+        return await(receive());
+    }
+
+    /**
+     * Close the channel, after which no more values can be sent.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        match();
+    }
+
+    /**
+     * Indicate whether the channel has been closed.
+     *
+     * @return <code>true</code> if no more values can be sent
+     */
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Retrieve the number of the values buffered in the channel.
+     *
+     * @return the number of the buffered values
+     */
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Retrieve the maximum number of the values, that the channel can buffer.
+     *
+     * @return the capacity of the channel, or {@link Integer#MAX_VALUE} if the channel is unbounded
+     */
+    @Override
+    public int capacity() {
+        return queue.capacity();
+    }
+
+    /**
+     * Match the waiting receivers and senders with the queue, until no more progress can be made.
+     * <p>
+     * Only a single thread runs the matching loop at a time, the other threads only signal, that the loop
+     * should be repeated. The matched operations are completed after the loop, so that their handlers neither
+     * run whilst other threads can only signal the loop, nor whilst an operation is locked.
+     */
+    private void match() {
+        if (WIP.getAndIncrement(this) != 0)
+            return;
+        List<@NotNull Pending<?>> claimed = new ArrayList<>();
+        int missed = 1;
+        do {
+            deliver(claimed);
+            admit(claimed);
+            if (closed)
+                terminate(claimed);
+            missed = WIP.addAndGet(this, -missed);
+        } while (missed != 0);
+        for (Pending<?> pending : claimed)
+            pending.release();
+    }
+
+    /**
+     * Claim the waiting receivers for the buffered values, or for the values of the waiting senders.
+     *
+     * @param claimed the operations to be completed after the matching loop
+     */
+    private void deliver(@NotNull List<@NotNull Pending<?>> claimed) {
+        Receiver<T> receiver;
+        while ((receiver = receivers.peek()) != null) {
+            // the receiver is locked, so that it cannot be cancelled after a value has been taken for it
+            receiver.lock();
+            try {
+                if (!receiver.isCompleted()) {
+                    T value = queue.poll();
+                    if (value == null && (value = takeSender(claimed)) == null)
+                        return;
+                    receiver.claim(value);
+                    claimed.add(receiver);
+                }
+                receivers.poll();
+            } finally {
+                receiver.unlock();
+            }
+        }
+    }
+
+    /**
+     * Take the value of the first waiting sender directly, as the queue has been drained.
+     *
+     * @param claimed the operations to be completed after the matching loop
+     * @return the value of the sender, or <code>null</code> if no sender is waiting
+     */
+    private @Nullable T takeSender(@NotNull List<@NotNull Pending<?>> claimed) {
+        Sender<T> sender;
+        while ((sender = senders.poll()) != null) {
+            sender.lock();
+            try {
+                if (!sender.isCompleted()) {
+                    sender.claim(null);
+                    claimed.add(sender);
+                    return sender.value;
+                }
+            } finally {
+                sender.unlock();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Buffer the values of the waiting senders, whilst there is free space in the queue.
+     *
+     * @param claimed the operations to be completed after the matching loop
+     */
+    private void admit(@NotNull List<@NotNull Pending<?>> claimed) {
+        Sender<T> sender;
+        while ((sender = senders.peek()) != null) {
+            // the sender is locked, so that it cannot be cancelled after its value has been buffered
+            sender.lock();
+            try {
+                if (!sender.isCompleted()) {
+                    if (!queue.offer(sender.value))
+                        return;
+                    sender.claim(null);
+                    claimed.add(sender);
+                }
+                senders.poll();
+            } finally {
+                sender.unlock();
+            }
+        }
+    }
+
+    /**
+     * Reject the waiting senders, and the waiting receivers, if there are no more values to receive.
+     *
+     * @param claimed the operations to be completed after the matching loop
+     */
+    private void terminate(@NotNull List<@NotNull Pending<?>> claimed) {
+        Sender<T> sender;
+        while ((sender = senders.poll()) != null)
+            reject(sender, claimed);
+        if (queue.size() > 0)
+            return;
+        Receiver<T> receiver;
+        while ((receiver = receivers.poll()) != null)
+            reject(receiver, claimed);
+    }
+
+    /**
+     * Claim the specified operation to be failed, as the channel has been closed.
+     *
+     * @param pending the waiting operation
+     * @param claimed the operations to be completed after the matching loop
+     */
+    private static void reject(@NotNull Pending<?> pending, @NotNull List<@NotNull Pending<?>> claimed) {
+        pending.lock();
+        try {
+            if (!pending.isCompleted()) {
+                pending.reject(new ChannelClosedException());
+                claimed.add(pending);
+            }
+        } finally {
+            pending.unlock();
+        }
+    }
+
+    /**
+     * Park the current thread, until the specified Future of a waiting operation completes.
+     * <p>
+     * If the thread is interrupted, the operation is cancelled, unless it has completed already, in which case
+     * the interrupt status of the thread is preserved.
+     *
+     * @param future the Future of the waiting operation
+     * @return the result of the operation
+     * @param <V> the type of the result
+     * @throws InterruptedException if the thread has been interrupted, before the operation could complete
+     */
+    private static <V> V await(@NotNull Future<V> future) throws InterruptedException {
+        if (!future.isCompleted()) {
+            Thread thread = Thread.currentThread();
+            future.result((V value, Throwable error) -> LockSupport.unpark(thread));
+            while (!future.isCompleted()) {
+                LockSupport.park(future);
+                if (!Thread.interrupted())
+                    continue;
+                if (future.cancel())
+                    throw new InterruptedException();
+                // the operation has completed meanwhile, so keep the interrupt for the caller
+                thread.interrupt();
+                break;
+            }
+        }
+        try {
+            return future.get();
+        } catch (FutureExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Represents a waiting operation of the channel, that can only be cancelled, whilst the matching loop
+     * is not handling it, and before the loop has claimed it.
+     *
+     * @param <V> the type of the result of the operation
+     */
+    private abstract static class Pending<V> extends Future<V> {
+        /**
+         * The field updater used to atomically modify the {@link #locked} flag of the operation.
+         */
+        @SuppressWarnings("rawtypes")
+        private static final @NotNull AtomicIntegerFieldUpdater<Pending> LOCKED =
+            AtomicIntegerFieldUpdater.newUpdater(Pending.class, "locked");
+
+        /**
+         * The state of an operation, that is neither locked, nor claimed.
+         */
+        private static final int OPEN = 0;
+
+        /**
+         * The state of an operation, that is being handled by the matching loop, or is being cancelled.
+         */
+        private static final int HELD = 1;
+
+        /**
+         * The state of an operation, that has been claimed by the matching loop, and is about to be completed.
+         */
+        private static final int CLAIMED = 2;
+
+        /**
+         * Indicates whether the operation is locked, or has been claimed by the matching loop.
+         */
+        private volatile int locked;
+
+        /**
+         * The result, that the operation is completed with, after it has been claimed.
+         */
+        private @Nullable V result;
+
+        /**
+         * The error, that the operation is failed with, after it has been claimed.
+         */
+        private @Nullable Throwable error;
+
+        /**
+         * Acquire the lock of the operation. The lock is only held for a single queue access, therefore
+         * the thread spins, until the lock is released.
+         */
+        final void lock() {
+            while (!LOCKED.compareAndSet(this, OPEN, HELD))
+                Thread.yield();
+        }
+
+        /**
+         * Release the lock of the operation, unless it has been claimed meanwhile.
+         */
+        final void unlock() {
+            if (locked == HELD)
+                locked = OPEN;
+        }
+
+        /**
+         * Claim the locked operation to be completed with the specified result.
+         *
+         * @param result the result of the operation
+         */
+        final void claim(@Nullable V result) {
+            this.result = result;
+            locked = CLAIMED;
+        }
+
+        /**
+         * Claim the locked operation to be failed with the specified error.
+         *
+         * @param error the error of the operation
+         */
+        final void reject(@NotNull Throwable error) {
+            this.error = error;
+            locked = CLAIMED;
+        }
+
+        /**
+         * Complete the claimed operation, after the matching loop has been left.
+         */
+        final void release() {
+            if (error != null)
+                fail(error);
+            else
+                complete(result);
+        }
+
+        /**
+         * Cancel the operation, unless the matching loop has already completed it.
+         *
+         * @param mayInterrupt <code>true</code> if the thread running the task of the Future should be interrupted
+         * @return <code>true</code> if the operation has been cancelled, <code>false</code> otherwise
+         */
+        @Override
+        public boolean cancel(boolean mayInterrupt) {
+            // the handlers of a completed operation might cancel it again on the thread holding the lock
+            if (isCompleted())
+                return false;
+            while (!LOCKED.compareAndSet(this, OPEN, HELD)) {
+                // the matching loop has claimed the operation, which is going to be completed soon
+                if (locked == CLAIMED)
+                    return false;
+                Thread.yield();
+            }
+            try {
+                return super.cancel(mayInterrupt);
+            } finally {
+                unlock();
+            }
+        }
+    }
+
+    /**
+     * Represents a receiver waiting for a value.
+     *
+     * @param <T> the type of the values
+     */
+    private static final class Receiver<T> extends Pending<T> {
+    }
+
+    /**
+     * Represents a sender waiting for free space.
+     *
+     * @param <T> the type of the values
+     */
+    private static final class Sender<T> extends Pending<Void> {
+        /**
+         * The value to be sent.
+         */
+        private final @NotNull T value;
+
+        /**
+         * Initialize the sender.
+         *
+         * @param value the value to be sent
+         */
+        private Sender(@NotNull T value) {
+            this.value = value;
+        }
+    }
+}
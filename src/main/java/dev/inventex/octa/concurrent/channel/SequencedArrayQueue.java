@@ -0,0 +1,136 @@
+package dev.inventex.octa.concurrent.channel;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Represents a bounded, lock-free ring buffer for multiple producer threads, based on the algorithm of
+ * Dmitry Vyukov.
+ * <p>
+ * Each slot has a sequence number, that tells whether the slot is ready to be written, or to be read
+ * at the current lap of the buffer. The producers claim a slot by advancing the tail using a compare-and-set,
+ * and publish the value by advancing the sequence of the slot. The subclasses implement the consumer side.
+ *
+ * @param <T> the type of the values
+ */
+abstract class SequencedArrayQueue<T> implements ChannelQueue<T> {
+    /**
+     * The field updater used to atomically claim the slots of the producers.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final @NotNull AtomicLongFieldUpdater<SequencedArrayQueue> TAIL =
+        AtomicLongFieldUpdater.newUpdater(SequencedArrayQueue.class, "tail");
+
+    /**
+     * The field updater used to advance the index of the consumers.
+     */
+    @SuppressWarnings("rawtypes")
+    static final @NotNull AtomicLongFieldUpdater<SequencedArrayQueue> HEAD =
+        AtomicLongFieldUpdater.newUpdater(SequencedArrayQueue.class, "head");
+
+    /**
+     * The slots of the ring buffer, whose length is a power of two.
+     */
+    final @NotNull AtomicReferenceArray<T> buffer;
+
+    /**
+     * The sequence numbers of the slots of the ring buffer.
+     */
+    final @NotNull AtomicLongArray sequences;
+
+    /**
+     * The mask, that maps the indices to the slots of the buffer.
+     */
+    final int mask;
+
+    /**
+     * The index of the next slot to be claimed by a producer.
+     */
+    private volatile long tail;
+
+    /**
+     * The index of the next slot to be read by a consumer.
+     */
+    volatile long head;
+
+    /**
+     * Initialize the queue.
+     *
+     * @param capacity the requested capacity, that is rounded up to the next power of two, but at least two
+     */
+    SequencedArrayQueue(int capacity) {
+        // a single slot would have the same sequence number, when it is written and when it is released
+        int length = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new AtomicReferenceArray<>(length);
+        sequences = new AtomicLongArray(length);
+        mask = length - 1;
+        // mark each slot as ready to be written at the first lap
+        for (int i = 0; i < length; i++)
+            sequences.lazySet(i, i);
+    }
+
+    /**
+     * Try to append the specified value to the end of the queue.
+     *
+     * @param value the value to append
+     * @return <code>true</code> if the value has been appended, <code>false</code> if the queue is full
+     */
+    @Override
+    public boolean offer(@NotNull T value) {
+        long index;
+        int slot;
+        while (true) {
+            index = tail;
+            slot = (int) index & mask;
+            long difference = sequences.get(slot) - index;
+            // claim the slot, if it has been released at the previous lap
+            if (difference == 0) {
+                if (TAIL.compareAndSet(this, index, index + 1))
+                    break;
+            }
+            // the slot has not been read since the previous lap, therefore the queue is full
+            else if (difference < 0)
+                return false;
+            // otherwise another producer has claimed the slot meanwhile, so retry with the new tail
+        }
+        buffer.lazySet(slot, value);
+        sequences.set(slot, index + 1);
+        return true;
+    }
+
+    /**
+     * Release the specified slot after its value has been read, so that it can be written at the next lap.
+     *
+     * @param slot the slot of the value
+     * @param index the index of the read value
+     */
+    final void release(int slot, long index) {
+        buffer.lazySet(slot, null);
+        sequences.set(slot, index + mask + 1);
+    }
+
+    /**
+     * Retrieve the number of the values in the queue.
+     *
+     * @return the number of the buffered values
+     */
+    @Override
+    public int size() {
+        // read the consumer index first, so that the result is never negative
+        long head = this.head;
+        return (int) Math.max(0, Math.min(tail - head, mask + 1L));
+    }
+
+    /**
+     * Retrieve the maximum number of the values, that the queue can hold.
+     *
+     * @return the capacity of the queue
+     */
+    @Override
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,121 @@
+package dev.inventex.octa.concurrent.channel;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Represents a bounded, lock-free ring buffer for a single producer and a single consumer thread.
+ * <p>
+ * Each index is written by a single thread only, therefore the queue does not need any compare-and-set
+ * operations. The producer and the consumer cache the index of the other side, and only re-read it, when
+ * the cached value indicates, that the queue is full or empty.
+ *
+ * @param <T> the type of the values
+ */
+final class SpscArrayQueue<T> implements ChannelQueue<T> {
+    /**
+     * The slots of the ring buffer, whose length is a power of two.
+     */
+    private final @NotNull AtomicReferenceArray<T> buffer;
+
+    /**
+     * The mask, that maps the indices to the slots of the buffer.
+     */
+    private final int mask;
+
+    /**
+     * The index of the next slot to be written by the producer.
+     */
+    private volatile long tail;
+
+    /**
+     * The last observed index of the consumer, that is only accessed by the producer.
+     */
+    private long headCache;
+
+    /**
+     * The index of the next slot to be read by the consumer.
+     */
+    private volatile long head;
+
+    /**
+     * The last observed index of the producer, that is only accessed by the consumer.
+     */
+    private long tailCache;
+
+    /**
+     * Initialize the queue.
+     *
+     * @param capacity the requested capacity, that is rounded up to the next power of two
+     */
+    SpscArrayQueue(int capacity) {
+        int length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new AtomicReferenceArray<>(length);
+        mask = length - 1;
+    }
+
+    /**
+     * Try to append the specified value to the end of the queue.
+     *
+     * @param value the value to append
+     * @return <code>true</code> if the value has been appended, <code>false</code> if the queue is full
+     */
+    @Override
+    public boolean offer(@NotNull T value) {
+        long index = tail;
+        // only re-read the index of the consumer, if the queue seems to be full
+        if (index - headCache > mask) {
+            headCache = head;
+            if (index - headCache > mask)
+                return false;
+        }
+        buffer.lazySet((int) index & mask, value);
+        tail = index + 1;
+        return true;
+    }
+
+    /**
+     * Try to remove the value from the head of the queue.
+     *
+     * @return the removed value, or <code>null</code> if the queue is empty
+     */
+    @Override
+    public @Nullable T poll() {
+        long index = head;
+        // only re-read the index of the producer, if the queue seems to be empty
+        if (index >= tailCache) {
+            tailCache = tail;
+            if (index >= tailCache)
+                return null;
+        }
+        int slot = (int) index & mask;
+        T value = buffer.get(slot);
+        buffer.lazySet(slot, null);
+        head = index + 1;
+        return value;
+    }
+
+    /**
+     * Retrieve the number of the values in the queue.
+     *
+     * @return the number of the buffered values
+     */
+    @Override
+    public int size() {
+        // read the consumer index first, so that the result is never negative
+        long head = this.head;
+        return (int) Math.min(tail - head, mask + 1L);
+    }
+
+    /**
+     * Retrieve the maximum number of the values, that the queue can hold.
+     *
+     * @return the capacity of the queue
+     */
+    @Override
+    public int capacity() {
+        return mask + 1;
+    }
+}
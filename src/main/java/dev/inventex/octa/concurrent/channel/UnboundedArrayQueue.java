@@ -0,0 +1,209 @@
+package dev.inventex.octa.concurrent.channel;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Represents an unbounded, lock-free queue for multiple producer and consumer threads, that is made of
+ * a linked list of fixed-size array segments, based on the fetch-and-add queue of Pedro Ramalhete and
+ * Andreia Correia.
+ * <p>
+ * The producers and the consumers claim the slots of a segment by incrementing its indices, and only
+ * a single segment is allocated per {@link #SEGMENT_SIZE} values, instead of a node per value.
+ * If a consumer overtakes a producer, that has claimed a slot, but has not written it yet, the consumer
+ * marks the slot as taken, and the producer retries with the next slot.
+ *
+ * @param <T> the type of the values
+ */
+final class UnboundedArrayQueue<T> implements ChannelQueue<T> {
+    /**
+     * The number of the slots of a segment.
+     */
+    static final int SEGMENT_SIZE = 1024;
+
+    /**
+     * The marker of the slots, that have been skipped, or whose value has been read by a consumer.
+     */
+    private static final @NotNull Object TAKEN = new Object();
+
+    /**
+     * The field updater used to atomically advance the {@link #head} segment of the queue.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final @NotNull AtomicReferenceFieldUpdater<UnboundedArrayQueue, Segment> HEAD =
+        AtomicReferenceFieldUpdater.newUpdater(UnboundedArrayQueue.class, Segment.class, "head");
+
+    /**
+     * The field updater used to atomically advance the {@link #tail} segment of the queue.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final @NotNull AtomicReferenceFieldUpdater<UnboundedArrayQueue, Segment> TAIL =
+        AtomicReferenceFieldUpdater.newUpdater(UnboundedArrayQueue.class, Segment.class, "tail");
+
+    /**
+     * The segment, that the consumers read the values from.
+     */
+    private volatile @NotNull Segment head;
+
+    /**
+     * The segment, that the producers write the values to.
+     */
+    private volatile @NotNull Segment tail;
+
+    /**
+     * Initialize the queue.
+     */
+    UnboundedArrayQueue() {
+        Segment segment = new Segment(null);
+        head = segment;
+        tail = segment;
+    }
+
+    /**
+     * Append the specified value to the end of the queue.
+     *
+     * @param value the value to append
+     * @return always <code>true</code>, as the queue is unbounded
+     */
+    @Override
+    public boolean offer(@NotNull T value) {
+        while (true) {
+            Segment segment = tail;
+            int index = Segment.ENQUEUED.getAndIncrement(segment);
+            if (index < SEGMENT_SIZE) {
+                // the slot may have been marked as taken by a consumer, that has overtaken this producer
+                if (segment.slots.compareAndSet(index, null, value))
+                    return true;
+                continue;
+            }
+            // the segment is full, so link a new segment, that already holds the value
+            if (segment != tail)
+                continue;
+            Segment next = segment.next;
+            if (next == null) {
+                Segment created = new Segment(value);
+                if (Segment.NEXT.compareAndSet(segment, null, created)) {
+                    TAIL.compareAndSet(this, segment, created);
+                    return true;
+                }
+            } else
+                TAIL.compareAndSet(this, segment, next);
+        }
+    }
+
+    /**
+     * Try to remove the value from the head of the queue.
+     *
+     * @return the removed value, or <code>null</code> if the queue is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public @Nullable T poll() {
+        while (true) {
+            Segment segment = head;
+            // do not claim a slot, if every written slot has been read already
+            if (segment.dequeued >= segment.enqueued && segment.next == null)
+                return null;
+            int index = Segment.DEQUEUED.getAndIncrement(segment);
+            if (index >= SEGMENT_SIZE) {
+                // the segment has been exhausted, so move to the next one
+                Segment next = segment.next;
+                if (next == null)
+                    return null;
+                HEAD.compareAndSet(this, segment, next);
+                continue;
+            }
+            Object value = segment.slots.getAndSet(index, TAKEN);
+            // the producer of the slot has not written it yet, therefore it is going to retry with another slot
+            if (value == null)
+                continue;
+            return (T) value;
+        }
+    }
+
+    /**
+     * Retrieve the number of the values in the queue. The result is only an estimate, as the queue may be
+     * modified concurrently.
+     *
+     * @return the number of the buffered values
+     */
+    @Override
+    public int size() {
+        long size = 0;
+        for (Segment segment = head; segment != null; segment = segment.next) {
+            int dequeued = Math.min(segment.dequeued, SEGMENT_SIZE);
+            int enqueued = Math.min(segment.enqueued, SEGMENT_SIZE);
+            size += Math.max(0, enqueued - dequeued);
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Retrieve the maximum number of the values, that the queue can hold.
+     *
+     * @return always {@link Integer#MAX_VALUE}, as the queue is unbounded
+     */
+    @Override
+    public int capacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Represents a fixed-size array of the slots of the queue.
+     */
+    private static final class Segment {
+        /**
+         * The field updater used to atomically claim the slots of the producers.
+         */
+        private static final @NotNull AtomicIntegerFieldUpdater<Segment> ENQUEUED =
+            AtomicIntegerFieldUpdater.newUpdater(Segment.class, "enqueued");
+
+        /**
+         * The field updater used to atomically claim the slots of the consumers.
+         */
+        private static final @NotNull AtomicIntegerFieldUpdater<Segment> DEQUEUED =
+            AtomicIntegerFieldUpdater.newUpdater(Segment.class, "dequeued");
+
+        /**
+         * The field updater used to atomically link the next segment.
+         */
+        private static final @NotNull AtomicReferenceFieldUpdater<Segment, Segment> NEXT =
+            AtomicReferenceFieldUpdater.newUpdater(Segment.class, Segment.class, "next");
+
+        /**
+         * The slots of the segment.
+         */
+        private final @NotNull AtomicReferenceArray<Object> slots = new AtomicReferenceArray<>(SEGMENT_SIZE);
+
+        /**
+         * The number of the slots claimed by the producers, that may exceed the size of the segment.
+         */
+        private volatile int enqueued;
+
+        /**
+         * The number of the slots claimed by the consumers, that may exceed the size of the segment.
+         */
+        private volatile int dequeued;
+
+        /**
+         * The segment, that follows this segment, or <code>null</code> if this is the last segment.
+         */
+        private volatile @Nullable Segment next;
+
+        /**
+         * Initialize the segment.
+         *
+         * @param first the value of the first slot, or <code>null</code> to create an empty segment
+         */
+        private Segment(@Nullable Object first) {
+            if (first != null) {
+                slots.lazySet(0, first);
+                enqueued = 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,743 @@
+package dev.inventex.octa.concurrent.future;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.errorprone.annotations.CheckReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Represents a cache of asynchronously loaded values, that stores the Futures of the values.
+ * <p>
+ * The concurrent requests of the same key are coalesced into a single load: the first request starts the load,
+ * and every request of the key is completed with its result, until the entry is evicted. The entries of the failed
+ * loads are removed from the cache, so that the next request retries the load.
+ * <p>
+ * The cache can be bounded by size, in which case the entries are evicted in the order of their insertion,
+ * unless the TinyLFU admission policy finds, that the oldest entry has been requested more frequently, than
+ * the newly inserted one. The frequencies are estimated using a count-min sketch, which is periodically aged.
+ * <p>
+ * The entries can expire after a fixed time since their value has been loaded. The expired entries are removed,
+ * when their key is requested again, or by a periodic sweep, that is amortised over the insertions of the cache,
+ * therefore the expired entries of the keys, that are never requested again, are not retained.
+ * <p>
+ * The values can also be refreshed ahead of their expiration: the first request after the refresh time returns
+ * the current value, and reloads it in the background.
+ * <p>
+ * Each request of a pending load receives its own Future, that does not propagate its cancellation to the load,
+ * therefore cancelling a returned Future, or a Future derived from it, only abandons that request, and the load
+ * still completes the other requests, and is cached.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class AsyncLoadingCache<K, V> {
+    /**
+     * The minimum number of the queued entries, before the eviction queue is compacted.
+     */
+    private static final long MIN_COMPACTION_SIZE = 64;
+
+    /**
+     * The minimum number of the insertions between two sweeps of the expired entries.
+     */
+    private static final long MIN_SWEEP_INTERVAL = 64;
+
+    /**
+     * The function that starts loading the value of a key.
+     */
+    private final @NotNull Function<? super K, ? extends @NotNull Future<V>> loader;
+
+    /**
+     * The map of the entries of the cache.
+     */
+    private final @NotNull Map<@NotNull K, @NotNull Entry<K, V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The queue of the entries in the order of their insertion, used to select the eviction victims.
+     * It is only used, if the cache is bounded by size, and it may contain entries, that have been removed or
+     * replaced already, until it is compacted.
+     */
+    private final @NotNull Queue<@NotNull Entry<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of the entries in the {@link #insertionOrder} queue, as the size of the queue is not
+     * retrievable in constant time.
+     */
+    private final @NotNull AtomicLong queued = new AtomicLong();
+
+    /**
+     * The estimated frequencies of the requested keys, used to decide which entry to evict.
+     */
+    private final @Nullable FrequencySketch sketch;
+
+    /**
+     * Indicates whether a thread is evicting the entries of the cache.
+     */
+    private final @NotNull AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * The number of the insertions since the expired entries have been last swept.
+     */
+    private final @NotNull AtomicLong insertions = new AtomicLong();
+
+    /**
+     * The number of the insertions, after which the expired entries are swept next. It is the size of the cache
+     * after the last sweep, so that the cost of a sweep is amortised over the insertions.
+     */
+    private volatile long sweepInterval = MIN_SWEEP_INTERVAL;
+
+    /**
+     * The maximum number of the entries, or {@link Long#MAX_VALUE} if the cache is not bounded by size.
+     */
+    private final long maximumSize;
+
+    /**
+     * The time after the load of a value, that the entry expires at in nanoseconds, or <code>0</code>
+     * if the entries do not expire.
+     */
+    private final long expireAfterWrite;
+
+    /**
+     * The time after the load of a value, that the value is refreshed at in nanoseconds, or <code>0</code>
+     * if the values are not refreshed.
+     */
+    private final long refreshAfterWrite;
+
+    /**
+     * The source of the current time in nanoseconds.
+     */
+    private final @NotNull LongSupplier ticker;
+
+    /**
+     * The number of the requests, that have found an entry in the cache.
+     */
+    private final @NotNull LongAdder hits = new LongAdder();
+
+    /**
+     * The number of the requests, that have started a new load.
+     */
+    private final @NotNull LongAdder misses = new LongAdder();
+
+    /**
+     * The number of the failed loads.
+     */
+    private final @NotNull LongAdder loadFailures = new LongAdder();
+
+    /**
+     * The number of the entries evicted due to the size limit.
+     */
+    private final @NotNull LongAdder evictions = new LongAdder();
+
+    /**
+     * Initialize the cache.
+     *
+     * @param builder the builder of the cache
+     * @param loader the function that starts loading the value of a key
+     */
+    private AsyncLoadingCache(
+        @NotNull Builder builder, @NotNull Function<? super K, ? extends @NotNull Future<V>> loader
+    ) {
+        this.loader = loader;
+        this.maximumSize = builder.maximumSize;
+        this.expireAfterWrite = builder.expireAfterWrite;
+        this.refreshAfterWrite = builder.refreshAfterWrite;
+        this.ticker = builder.ticker;
+        this.sketch = maximumSize != Long.MAX_VALUE ? new FrequencySketch(maximumSize) : null;
+    }
+
+    /**
+     * Create a new builder of an asynchronous loading cache.
+     *
+     * @return a new cache builder
+     */
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Retrieve the Future of the value of the specified key, and start loading the value, if it is not cached.
+     * <p>
+     * If the value of the key is being loaded, the returned Future is completed by the running load.
+     * Cancelling the returned Future does not cancel the load.
+     *
+     * @param key the key of the value
+     * @return the Future of the value
+     */
+    @CheckReturnValue
+    public @NotNull Future<V> get(@NotNull K key) {
+        if (sketch != null)
+            sketch.increment(key);
+
+        long now = ticker.getAsLong();
+        Entry<K, V> entry = entries.get(key);
+        if (entry != null && !isExpired(entry, now)) {
+            hits.increment();
+            refreshIfNeeded(entry, now);
+            return request(entry);
+        }
+
+        // remove the expired entry, unless it has been replaced meanwhile
+        if (entry != null)
+            entries.remove(key, entry);
+
+        // insert a pending entry, unless another request has inserted one meanwhile
+        Entry<K, V> created = new Entry<>(key, new Future<>());
+        Entry<K, V> existing = entries.putIfAbsent(key, created);
+        if (existing != null) {
+            hits.increment();
+            return request(existing);
+        }
+
+        misses.increment();
+        enqueue(created);
+        load(created);
+        evictIfNeeded(created);
+        expireIfNeeded();
+        return request(created);
+    }
+
+    /**
+     * Retrieve the Future of the value of the specified key, if it is cached, without starting a new load.
+     *
+     * @param key the key of the value
+     * @return the Future of the value, or <code>null</code> if the key is not cached
+     */
+    @CheckReturnValue
+    public @Nullable Future<V> getIfPresent(@NotNull K key) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry == null || isExpired(entry, ticker.getAsLong()))
+            return null;
+        return request(entry);
+    }
+
+    /**
+     * Cache the specified value for the specified key, replacing the current entry of the key.
+     *
+     * @param key the key of the value
+     * @param value the value to cache
+     */
+    public void put(@NotNull K key, @Nullable V value) {
+        Entry<K, V> entry = new Entry<>(key, Future.completed(value));
+        entry.loadedAt = ticker.getAsLong();
+        entries.put(key, entry);
+        enqueue(entry);
+        evictIfNeeded(entry);
+        expireIfNeeded();
+    }
+
+    /**
+     * Remove the entry of the specified key from the cache. The running load of the key is not cancelled.
+     *
+     * @param key the key to remove
+     */
+    public void invalidate(@NotNull K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Remove every entry from the cache.
+     */
+    public void invalidateAll() {
+        entries.clear();
+        insertionOrder.clear();
+        queued.set(0);
+    }
+
+    /**
+     * Retrieve the number of the entries of the cache, including the entries, that are being loaded.
+     * <p>
+     * The expired entries are removed, when they are requested again, or by a sweep, that runs periodically,
+     * whilst new entries are inserted, therefore the size might include a bounded number of expired entries.
+     *
+     * @return the size of the cache
+     */
+    public long size() {
+        return entries.size();
+    }
+
+    /**
+     * Retrieve the number of the requests, that have found an entry in the cache.
+     *
+     * @return the number of the cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Retrieve the number of the requests, that have started a new load.
+     *
+     * @return the number of the cache misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Retrieve the number of the failed loads, including the failed refreshes.
+     *
+     * @return the number of the failed loads
+     */
+    public long getLoadFailureCount() {
+        return loadFailures.sum();
+    }
+
+    /**
+     * Retrieve the number of the entries evicted due to the size limit.
+     *
+     * @return the number of the evictions
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Start loading the value of the specified entry, and remove the entry, if the load fails.
+     *
+     * @param entry the entry to load
+     */
+    private void load(@NotNull Entry<K, V> entry) {
+        Future<V> load = start(entry.key);
+
+        load.then(value -> {
+            entry.loadedAt = ticker.getAsLong();
+            entry.future.complete(value);
+        }).except(error -> {
+            // remove the failed entry, so that the next request retries the load
+            loadFailures.increment();
+            entries.remove(entry.key, entry);
+            entry.future.fail(error);
+        });
+    }
+
+    /**
+     * Create the Future of a request of the specified entry, that is completed with the value of the entry.
+     * <p>
+     * The Future of a pending entry is shared by every request of the key, therefore each request receives
+     * a separate Future, that does not propagate its cancellation to the load. A completed Future can no longer
+     * be cancelled, so it is handed out directly.
+     *
+     * @param entry the entry that has been requested
+     * @return the Future of the request
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static <K, V> @NotNull Future<V> request(@NotNull Entry<K, V> entry) {
+        Future<V> future = entry.future;
+        return future.isCompleted() ? future : future.mock();
+    }
+
+    /**
+     * Reload the value of the specified entry in the background, if its refresh time has passed.
+     * The current value is kept, if the reload fails.
+     *
+     * @param entry the entry to refresh
+     * @param now the current time in nanoseconds
+     */
+    private void refreshIfNeeded(@NotNull Entry<K, V> entry, long now) {
+        long loadedAt = entry.loadedAt;
+        if (refreshAfterWrite == 0 || loadedAt == Entry.LOADING || now - loadedAt < refreshAfterWrite)
+            return;
+        // make sure the entry is only refreshed once
+        if (!Entry.REFRESHING.compareAndSet(entry, 0, 1))
+            return;
+
+        start(entry.key).then(value -> {
+            // replace the entry, unless it has been removed or replaced meanwhile
+            Entry<K, V> refreshed = new Entry<>(entry.key, Future.completed(value));
+            refreshed.loadedAt = ticker.getAsLong();
+            if (entries.replace(entry.key, entry, refreshed))
+                enqueue(refreshed);
+        }).except(error -> {
+            // keep serving the current value, and let a later request retry the refresh
+            loadFailures.increment();
+            entry.refreshing = 0;
+        });
+    }
+
+    /**
+     * Start loading the value of the specified key.
+     *
+     * @param key the key of the value
+     * @return the Future of the load, that is failed, if the loader has thrown an exception
+     */
+    private @NotNull Future<V> start(@NotNull K key) {
+        try {
+            return loader.apply(key);
+        } catch (Throwable e) {
+            return Future.failed(e);
+        }
+    }
+
+    /**
+     * Indicate whether the specified entry has expired.
+     *
+     * @param entry the entry to check
+     * @param now the current time in nanoseconds
+     * @return <code>true</code> if the entry has expired, <code>false</code> otherwise
+     */
+    private boolean isExpired(@NotNull Entry<K, V> entry, long now) {
+        long loadedAt = entry.loadedAt;
+        return expireAfterWrite != 0 && loadedAt != Entry.LOADING && now - loadedAt >= expireAfterWrite;
+    }
+
+    /**
+     * Append the specified entry to the eviction queue, if the cache is bounded by size.
+     * <p>
+     * The removed and replaced entries are not unlinked from the queue eagerly, therefore the queue is compacted,
+     * once it has grown to twice the size of the cache, so that it does not retain the stale entries.
+     *
+     * @param entry the newly inserted entry
+     */
+    private void enqueue(@NotNull Entry<K, V> entry) {
+        if (sketch == null)
+            return;
+        insertionOrder.offer(entry);
+        long size = queued.incrementAndGet();
+        if (size < MIN_COMPACTION_SIZE || size <= 2L * entries.size())
+            return;
+        // let a single thread modify the queue, the others do not need to wait for it
+        if (!evicting.compareAndSet(false, true))
+            return;
+
+        try {
+            Iterator<Entry<K, V>> iterator = insertionOrder.iterator();
+            while (iterator.hasNext()) {
+                Entry<K, V> queuedEntry = iterator.next();
+                if (entries.get(queuedEntry.key) != queuedEntry) {
+                    iterator.remove();
+                    queued.decrementAndGet();
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Remove every expired entry from the cache, once enough entries have been inserted since the last sweep.
+     * <p>
+     * The expired entries, whose keys are never requested again, would otherwise be retained forever. A sweep
+     * iterates the whole cache, therefore the sweeps are spaced by the size of the cache, which keeps the cost
+     * of an insertion constant on average.
+     */
+    private void expireIfNeeded() {
+        if (expireAfterWrite == 0 || insertions.incrementAndGet() < sweepInterval)
+            return;
+        // let a single thread modify the cache, the others do not need to wait for it
+        if (!evicting.compareAndSet(false, true))
+            return;
+
+        try {
+            insertions.set(0);
+            long now = ticker.getAsLong();
+            for (Entry<K, V> entry : entries.values()) {
+                if (isExpired(entry, now))
+                    entries.remove(entry.key, entry);
+            }
+            sweepInterval = Math.max(MIN_SWEEP_INTERVAL, entries.size());
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Evict the entries, whilst the size of the cache exceeds the maximum size.
+     * <p>
+     * The oldest entry is evicted, unless it has been requested more frequently, than the newly inserted entry,
+     * in which case the new entry is not admitted to the cache, and the oldest entry gets another round.
+     *
+     * @param candidate the newly inserted entry
+     */
+    private void evictIfNeeded(@NotNull Entry<K, V> candidate) {
+        if (entries.size() <= maximumSize)
+            return;
+        // let a single thread evict the entries, the others do not need to wait for it
+        if (!evicting.compareAndSet(false, true))
+            return;
+
+        try {
+            while (entries.size() > maximumSize) {
+                Entry<K, V> victim = insertionOrder.poll();
+                if (victim == null)
+                    return;
+                queued.decrementAndGet();
+                // skip the entries, that have been already removed or replaced
+                if (entries.get(victim.key) != victim)
+                    continue;
+
+                // reject the new entry, if the oldest entry is more popular
+                assert sketch != null;
+                if (victim != candidate && entries.get(candidate.key) == candidate
+                    && sketch.frequency(victim.key) > sketch.frequency(candidate.key)) {
+                    insertionOrder.offer(victim);
+                    queued.incrementAndGet();
+                    victim = candidate;
+                }
+
+                if (entries.remove(victim.key, victim))
+                    evictions.increment();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Represents an entry of the cache.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static final class Entry<K, V> {
+        /**
+         * The field updater used to atomically modify the {@link #refreshing} flag of the entry.
+         */
+        @SuppressWarnings("rawtypes")
+        private static final @NotNull AtomicIntegerFieldUpdater<Entry> REFRESHING =
+            AtomicIntegerFieldUpdater.newUpdater(Entry.class, "refreshing");
+
+        /**
+         * The load time of an entry, whose value is being loaded.
+         */
+        private static final long LOADING = Long.MIN_VALUE;
+
+        /**
+         * The key of the entry.
+         */
+        private final @NotNull K key;
+
+        /**
+         * The Future of the value of the entry.
+         */
+        private final @NotNull Future<V> future;
+
+        /**
+         * The time the value has been loaded at in nanoseconds, or {@link #LOADING} if it is being loaded.
+         */
+        private volatile long loadedAt = LOADING;
+
+        /**
+         * Indicates whether the value of the entry is being refreshed.
+         */
+        private volatile int refreshing;
+
+        /**
+         * Initialize the entry.
+         *
+         * @param key the key of the entry
+         * @param future the Future of the value of the entry
+         */
+        private Entry(@NotNull K key, @NotNull Future<V> future) {
+            this.key = key;
+            this.future = future;
+        }
+    }
+
+    /**
+     * Represents a count-min sketch, that estimates the request frequencies of the keys.
+     * <p>
+     * The counters are updated without synchronization, therefore a concurrent increment might be lost, which
+     * is acceptable for an estimate. The counters are halved periodically, so that the keys, that used to be
+     * popular, do not stay in the cache forever.
+     */
+    private static final class FrequencySketch {
+        /**
+         * The seeds of the hash functions of the rows of the sketch.
+         */
+        private static final int[] SEEDS = { 0x97cb3127, 0xb1a2f6ed, 0x5c8e2a3f, 0xe3d1b7a5 };
+
+        /**
+         * The counters of the sketch, consisting of a row for each hash function.
+         */
+        private final int @NotNull [] table;
+
+        /**
+         * The bit mask used to resolve the index of a counter in a row.
+         */
+        private final int mask;
+
+        /**
+         * The number of the increments, after which the counters are halved.
+         */
+        private final int sampleSize;
+
+        /**
+         * The number of the increments since the counters were last halved.
+         */
+        private int increments;
+
+        /**
+         * Initialize the sketch.
+         *
+         * @param maximumSize the maximum size of the cache
+         */
+        private FrequencySketch(long maximumSize) {
+            int width = Integer.highestOneBit((int) Math.max(64, Math.min(maximumSize, 1 << 24)) - 1) << 1;
+            table = new int[width * SEEDS.length];
+            mask = width - 1;
+            sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * width);
+        }
+
+        /**
+         * Increment the frequency of the specified key.
+         *
+         * @param key the key that has been requested
+         */
+        private void increment(@NotNull Object key) {
+            int hash = key.hashCode();
+            for (int row = 0; row < SEEDS.length; row++) {
+                int index = row * (mask + 1) + index(hash, row);
+                if (table[index] < Integer.MAX_VALUE)
+                    table[index]++;
+            }
+            if (++increments >= sampleSize)
+                reset();
+        }
+
+        /**
+         * Estimate the frequency of the specified key.
+         *
+         * @param key the key to estimate the frequency of
+         * @return the estimated frequency of the key
+         */
+        private int frequency(@NotNull Object key) {
+            int hash = key.hashCode();
+            int frequency = Integer.MAX_VALUE;
+            for (int row = 0; row < SEEDS.length; row++)
+                frequency = Math.min(frequency, table[row * (mask + 1) + index(hash, row)]);
+            return frequency;
+        }
+
+        /**
+         * Halve every counter of the sketch.
+         */
+        private void reset() {
+            increments = 0;
+            for (int i = 0; i < table.length; i++)
+                table[i] >>>= 1;
+        }
+
+        /**
+         * Resolve the index of the counter of the specified hash in the specified row.
+         *
+         * @param hash the hash code of the key
+         * @param row the row of the sketch
+         * @return the index of the counter in the row
+         */
+        private int index(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * 0x9e3779b9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+
+    /**
+     * Represents a builder of an {@link AsyncLoadingCache}.
+     */
+    public static final class Builder {
+        /**
+         * The maximum number of the entries.
+         */
+        private long maximumSize = Long.MAX_VALUE;
+
+        /**
+         * The time after the load of a value, that the entry expires at in nanoseconds.
+         */
+        private long expireAfterWrite;
+
+        /**
+         * The time after the load of a value, that the value is refreshed at in nanoseconds.
+         */
+        private long refreshAfterWrite;
+
+        /**
+         * The source of the current time in nanoseconds.
+         */
+        private @NotNull LongSupplier ticker = System::nanoTime;
+
+        /**
+         * Set the maximum number of the entries of the cache.
+         *
+         * @param maximumSize the maximum size of the cache
+         * @return this
+         */
+        @CanIgnoreReturnValue
+        public @NotNull Builder setMaximumSize(long maximumSize) {
+            if (maximumSize <= 0)
+                throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Set the time after the load of a value, that the entry expires at.
+         *
+         * @param duration the time to live of the entries
+         * @param unit the time unit of the duration
+         * @return this
+         */
+        @CanIgnoreReturnValue
+        public @NotNull Builder setExpireAfterWrite(long duration, @NotNull TimeUnit unit) {
+            if (duration <= 0)
+                throw new IllegalArgumentException("Expiration must be positive: " + duration);
+            this.expireAfterWrite = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Set the time after the load of a value, that the value is reloaded in the background at,
+         * the next time it is requested.
+         *
+         * @param duration the time after which the values are refreshed
+         * @param unit the time unit of the duration
+         * @return this
+         */
+        @CanIgnoreReturnValue
+        public @NotNull Builder setRefreshAfterWrite(long duration, @NotNull TimeUnit unit) {
+            if (duration <= 0)
+                throw new IllegalArgumentException("Refresh must be positive: " + duration);
+            this.refreshAfterWrite = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Set the source of the current time in nanoseconds, which is {@link System#nanoTime()} by default.
+         *
+         * @param ticker the source of the current time
+         * @return this
+         */
+        @CanIgnoreReturnValue
+        public @NotNull Builder setTicker(@NotNull LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        /**
+         * Build the cache, that loads the values using the specified loader.
+         *
+         * @param loader the function that starts loading the value of a key
+         * @param <K> the type of the keys
+         * @param <V> the type of the values
+         * @return a new cache
+         */
+        public <K, V> @NotNull AsyncLoadingCache<K, V> build(
+            @NotNull Function<? super K, ? extends @NotNull Future<V>> loader
+        ) {
+            if (refreshAfterWrite != 0 && expireAfterWrite != 0 && refreshAfterWrite >= expireAfterWrite)
+                throw new IllegalArgumentException("Refresh must happen before the expiration");
+            return new AsyncLoadingCache<>(this, loader);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a utility, that resolves the class that has called into the {@link Future} API.
+ * <p>
+ * This implementation is used on Java 8, and reads the class context of a security manager, which, unlike
+ * {@link Thread#getStackTrace()}, does not need to create stack trace elements and resolve classes by name.
+ * On Java 9 and above, the multi-release jar replaces this class with a {@code StackWalker} based implementation.
+ */
+final class CallerResolver {
+    /**
+     * The security manager used to access the class context of the current thread.
+     */
+    private static final ClassContext CONTEXT = new ClassContext();
+
+    /**
+     * Resolve the first class of the current thread's stack, that is not the {@link Future} class.
+     *
+     * @return the caller class, or <code>null</code> if the caller could not be resolved
+     */
+    static @Nullable Class<?> getCallerClass() {
+        for (Class<?> type : CONTEXT.getClassContext()) {
+            if (type != Future.class && type != CallerResolver.class && type != ClassContext.class)
+                return type;
+        }
+        return null;
+    }
+
+    /**
+     * Represents a security manager, that exposes the class context of the current thread.
+     */
+    @SuppressWarnings({"deprecation", "removal"})
+    private static final class ClassContext extends SecurityManager {
+        /**
+         * Retrieve the classes of the methods of the current thread's stack.
+         *
+         * @return the classes of the current execution stack
+         */
+        @Override
+        protected Class<?>[] getClassContext() {
+            return super.getClassContext();
+        }
+    }
+}
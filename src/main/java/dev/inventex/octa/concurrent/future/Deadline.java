@@ -0,0 +1,138 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a point in time, until which an operation, and all of its dependent operations must complete.
+ * <p>
+ * A deadline is attached to a Future using {@link Future#withDeadline(Deadline)}, and it is propagated through
+ * {@link Future#transform(java.util.function.Function)}, {@link Future#transformAsync(java.util.function.Function)}
+ * and {@link Future#chain(Future)}, so that each stage of the chain shares the same end-to-end budget, instead of
+ * having its own timeout. A stage, whose deadline has passed, fails with a {@link FutureTimeoutException}
+ * without running its transformer.
+ * <p>
+ * Whilst a stage is running its transformer, the deadline of the stage is available to the transformer using
+ * {@link #current()}, and the tasks started by {@link Future#completeAsync(java.util.function.Supplier)} inherit it.
+ */
+public final class Deadline {
+    /**
+     * The deadline of the stage, that is being run on the current thread.
+     */
+    private static final @NotNull ThreadLocal<@Nullable Deadline> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The time of the deadline, in terms of {@link System#nanoTime()}.
+     */
+    private final long time;
+
+    /**
+     * The total budget of the deadline in milliseconds, that is reported by the timeout errors.
+     */
+    private final long timeout;
+
+    /**
+     * Initialize the deadline.
+     *
+     * @param time the time of the deadline, in terms of {@link System#nanoTime()}
+     * @param timeout the total budget of the deadline in milliseconds
+     */
+    private Deadline(long time, long timeout) {
+        this.time = time;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Create a new deadline, that expires after the specified time has elapsed from now.
+     *
+     * @param timeout the time until the deadline expires
+     * @param unit the unit of the timeout
+     * @return a new deadline
+     */
+    public static @NotNull Deadline after(long timeout, @NotNull TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(timeout), unit.toMillis(timeout));
+    }
+
+    /**
+     * Retrieve the deadline of the stage, that is being run on the current thread.
+     *
+     * @return the deadline of the current stage, or <code>null</code> if the stage has no deadline
+     */
+    public static @Nullable Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Set the deadline of the stage, that is being run on the current thread.
+     *
+     * @param deadline the deadline of the stage
+     * @return the deadline of the enclosing stage, that should be restored using {@link #exit(Deadline)}
+     */
+    static @Nullable Deadline enter(@NotNull Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        return previous;
+    }
+
+    /**
+     * Restore the deadline of the enclosing stage, after the current stage has finished running.
+     *
+     * @param previous the deadline returned by {@link #enter(Deadline)}
+     */
+    static void exit(@Nullable Deadline previous) {
+        if (previous == null)
+            CURRENT.remove();
+        else
+            CURRENT.set(previous);
+    }
+
+    /**
+     * Retrieve the remaining time until the deadline.
+     *
+     * @param unit the unit of the remaining time
+     * @return the remaining time, or <code>0</code> if the deadline has already expired
+     */
+    public long getRemaining(@NotNull TimeUnit unit) {
+        return unit.convert(Math.max(0, time - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Indicate whether the deadline has already expired.
+     *
+     * @return <code>true</code> if the deadline has expired, <code>false</code> otherwise
+     */
+    public boolean isExpired() {
+        return time - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Retrieve the deadline, that expires sooner, from this and the specified deadline.
+     *
+     * @param other the other deadline
+     * @return the sooner deadline, or this deadline, if the other deadline is <code>null</code>
+     */
+    public @NotNull Deadline earliest(@Nullable Deadline other) {
+        return other == null || time - other.time <= 0 ? this : other;
+    }
+
+    /**
+     * Create the error, that fails the stages, whose deadline has expired.
+     *
+     * @return a new timeout error
+     */
+    @NotNull FutureTimeoutException toException() {
+        return new FutureTimeoutException(timeout);
+    }
+
+    /**
+     * Retrieve the string representation of the deadline.
+     *
+     * @return the remaining time of the deadline
+     */
+    @Override
+    public @NotNull String toString() {
+        return "Deadline{remaining=" + getRemaining(TimeUnit.MILLISECONDS) + "ms}";
+    }
+}
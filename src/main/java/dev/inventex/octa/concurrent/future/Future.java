@@ -3,12 +3,14 @@ package dev.inventex.octa.concurrent.future;
 import com.google.common.collect.MapMaker;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
+import dev.inventex.octa.concurrent.threading.HashedWheelTimer;
 import dev.inventex.octa.concurrent.threading.Threading;
 import dev.inventex.octa.function.ThrowableConsumer;
 import dev.inventex.octa.function.ThrowableFunction;
 import dev.inventex.octa.function.ThrowableRunnable;
 import dev.inventex.octa.function.ThrowableSupplier;
 import dev.inventex.octa.util.Validator;
+import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
@@ -17,6 +19,9 @@ import org.jetbrains.annotations.Nullable;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.*;
 
 /**
@@ -30,6 +35,11 @@ import java.util.function.*;
  * Error recovery is also possible using the {@link #fallback(Object)} and {@link #fallback(Function)} methods.
  * <p>
  * The syntax encourages chaining, therefore less code is needed to handle certain tasks/events.
+ * <p>
+ * The synchronous handlers are called on the thread, that completes the Future. To keep the stack depth bounded,
+ * a completion nested deeper than 32 handler dispatches defers its handlers to the outermost completion of the
+ * thread, therefore such a completion returns before its handlers have run. A handler must not block waiting for
+ * a Future, that depends on a completion made by the same handler, as the deferred handlers could never run.
  *
  * @param <T> the type of the returned value of the completed Future
  *
@@ -41,12 +51,26 @@ import java.util.function.*;
 public class Future<T> implements Promise<T> {
     /**
      * The global executor to be used for performing asynchronous tasks, where the executor is not specified explicitly.
+     * <p>
+     * The default executor does not limit the number of the pending tasks. Use a
+     * {@link dev.inventex.octa.concurrent.threading.BoundedExecutor} to apply backpressure on bursts of tasks.
      */
+    @Getter
     @Setter
     private static @NotNull Executor globalExecutor = Threading.createVirtualOrPool(
         Runtime.getRuntime().availableProcessors()
     );
 
+    /**
+     * The instrumentation, that is notified about the lifecycle events of the Futures.
+     * <p>
+     * The Futures skip reporting the events, including the reading of the clock, whilst the instrumentation
+     * is set to {@link FutureInstrumentation#NOOP}.
+     */
+    @Getter
+    @Setter
+    private static @NotNull FutureInstrumentation instrumentation = FutureInstrumentation.NOOP;
+
     /**
      * The map of executors that should be used for the specified contexts.
      */
@@ -56,6 +80,12 @@ public class Future<T> implements Promise<T> {
         .concurrencyLevel(4)
         .makeMap();
 
+    /**
+     * The default context executor mapper, that resolves the global executor for every context.
+     */
+    private static final @NotNull Function<@NotNull Object, @Nullable Executor> DEFAULT_CONTEXT_EXECUTOR_MAPPER =
+        key -> globalExecutor;
+
     /**
      * The function that is used to determine what information should be used from the class to group
      * multiple classes together, and cache a shared executor for each.
@@ -68,49 +98,102 @@ public class Future<T> implements Promise<T> {
      * {@link #contextKeyMapper} function.
      */
     @Setter
-    private static @NotNull Function<@NotNull Object, @Nullable Executor> contextExecutorMapper = key -> globalExecutor;
+    private static @NotNull Function<@NotNull Object, @Nullable Executor> contextExecutorMapper =
+        DEFAULT_CONTEXT_EXECUTOR_MAPPER;
 
     /**
-     * The object used for thread locking for unsafe value modifications.
+     * The field updater used to atomically modify the {@link #state} of the Future.
      */
-    private final @NotNull Object lock = new Object();
+    @SuppressWarnings("rawtypes")
+    private static final @NotNull AtomicReferenceFieldUpdater<Future, Object> STATE =
+        AtomicReferenceFieldUpdater.newUpdater(Future.class, Object.class, "state");
 
     /**
-     * The list of the future completion handlers.
+     * The maximum number of the nested handler dispatches on a thread, after which the dispatches are deferred.
      */
-    private final @NotNull List<@NotNull Consumer<@Nullable T>> completionHandlers = new CopyOnWriteArrayList<>();
+    private static final int MAX_DISPATCH_DEPTH = 32;
 
     /**
-     * The list of the future failure handlers.
+     * The number of the chunks the input of a parallel mapping is split to for each worker, so that the workers,
+     * that finish sooner, can take over the remaining chunks.
      */
-    private final @NotNull List<@NotNull Consumer<@NotNull Throwable>> errorHandlers = new CopyOnWriteArrayList<>();
+    private static final int CHUNKS_PER_WORKER = 4;
 
     /**
-     * The value of the completion result. Initially <code>null</code>, it is set to the completion object
-     * after the completion is finished (which might still be <code>null</code>).
+     * The trampoline of the current thread, that keeps track of the nested handler dispatches.
      */
-    private volatile @Nullable T value;
+    private static final @NotNull ThreadLocal<@NotNull Trampoline> TRAMPOLINE =
+        ThreadLocal.withInitial(Trampoline::new);
 
     /**
-     * The error that occurred whilst executing and caused a future failure.
-     * Initially <code>null</code>, after a failure, it is guaranteed to be non-null.
+     * The sentinel state that represents a successful completion with the value of <code>null</code>.
      */
-    private volatile @Nullable Throwable error;
+    private static final @NotNull Object NULL = new Object();
 
     /**
-     * Indicates whether the future completion had been done (either successfully or unsuccessfully).
+     * The shared Future, that has been completed with the value of <code>null</code>.
+     * <p>
+     * A completed Future can never change its state, and does not retain the handlers registered on it,
+     * therefore the same instance can be safely shared.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final @NotNull Future COMPLETED_NULL = new Future<>(NULL);
+
+    /**
+     * The shared Future, that has been completed with the value of <code>true</code>.
+     */
+    private static final @NotNull Future<Boolean> COMPLETED_TRUE = new Future<>(Boolean.TRUE);
+
+    /**
+     * The shared Future, that has been completed with the value of <code>false</code>.
+     */
+    private static final @NotNull Future<Boolean> COMPLETED_FALSE = new Future<>(Boolean.FALSE);
+
+    /**
+     * The single state word of the Future. The state is interpreted as the following:
+     * <ul>
+     *     <li><code>null</code> - the Future is pending and has no handlers registered</li>
+     *     <li>{@link Node} - the Future is pending, the value is the head of the handler stack</li>
+     *     <li>{@link Lazy} - the Future is lazy, and its work has not been started yet</li>
+     *     <li>{@link Failure} - the Future has been completed with an error</li>
+     *     <li>{@link #NULL} - the Future has been completed with the value of <code>null</code></li>
+     *     <li>any other object - the Future has been completed with the object as its value</li>
+     * </ul>
+     * The state is only ever modified using compare-and-set operations, therefore neither the handler
+     * registration, nor the completion of the Future requires any locking.
      */
-    private volatile boolean completed;
+    private volatile @Nullable Object state;
 
     /**
-     * Indicates whether the future completion was failed.
+     * The deadline, that this Future and the Futures derived from it must complete by, or <code>null</code>
+     * if the Future has no deadline.
+     * <p>
+     * The deadline is set before the Future is published to other threads, and is never modified afterwards.
      */
-    private volatile boolean failed;
+    private @Nullable Deadline deadline;
 
     /**
      * Creates a new, incomplete Future.
      */
     public Future() {
+        if (instrumentation != FutureInstrumentation.NOOP)
+            instrumentation.onCreated();
+    }
+
+    /**
+     * Creates a new Future with the specified initial state, that is either a terminal state,
+     * or the initial handler of a pending Future.
+     * <p>
+     * The Future is not yet visible to other threads, therefore the state is set using an ordered store,
+     * that does not require the full memory fence of a volatile write.
+     *
+     * @param state the initial state of the Future
+     */
+    private Future(@NotNull Object state) {
+        STATE.lazySet(this, state);
+        // only report the Futures, that are created in a pending state
+        if (instrumentation != FutureInstrumentation.NOOP && !isTerminal(state))
+            instrumentation.onCreated();
     }
 
     /**
@@ -316,44 +399,24 @@ public class Future<T> implements Promise<T> {
      * @see #getOrDefault(long, Object)
      */
     @CheckReturnValue
-    private synchronized T blockForValue(
+    private T blockForValue(
         long timeout, boolean hasDefault, @Nullable T defaultValue
     ) throws FutureTimeoutException, FutureExecutionException {
-        // check if the future is already completed
-        if (completed) {
-            // check if the completion was successful
-            if (!failed)
-                return value;
-
-            // completion was unsuccessful
-            // return the default value if it is present
-            if (hasDefault)
-                return defaultValue;
-
-            // no default value set, throw the completion error
-            throw new FutureExecutionException(error);
+        // check if the future is not yet completed
+        Object state = this.state;
+        if (!isTerminal(state)) {
+            // freeze the current thread until the future completion occurs
+            state = awaitCompletion(timeout);
+
+            // check if the timeout has been exceeded, but the future hasn't been completed yet
+            if (state == null)
+                throw new FutureTimeoutException(timeout);
         }
 
-        // the future is not yet completed
-        // ensure the lock is not used externally
-        synchronized (lock) {
-            try {
-                // freeze the current thread until the future completion occurs
-                // wait for the completion notification
-                lock.wait(timeout);
-            } catch (InterruptedException ignored) {
-                // ignore if the completion thread was interrupted
-            }
-        }
-
-        // check if the timeout has been exceeded, but the future hasn't been completed yet
-        if (!completed)
-            throw new FutureTimeoutException(timeout);
-
         // the future has been completed
         // check if the completion was successful
-        if (!failed)
-            return value;
+        if (!(state instanceof Failure))
+            return unwrap(state);
 
         // the completion was unsuccessful
         // return the default value if it is present
@@ -361,7 +424,131 @@ public class Future<T> implements Promise<T> {
             return defaultValue;
 
         // no default value set, throw the completion error
-        throw new FutureExecutionException(error);
+        throw new FutureExecutionException(((Failure) state).error);
+    }
+
+    /**
+     * Park the current thread until the Future is completed, or the timeout has been exceeded.
+     * <p>
+     * The thread is registered as a {@link Waiter} on the handler stack, which is unparked by the completion.
+     * As every blocked caller has its own waiter, all of them are woken up on completion. Parking does not
+     * pin the carrier thread of a virtual thread, unlike waiting on a monitor.
+     * <p>
+     * Interrupting the waiting thread does not abort the wait, however the interrupt status is restored
+     * before the method returns.
+     *
+     * @param timeout the maximum time interval to wait in milliseconds, or 0 to wait indefinitely
+     * @return the terminal state of the Future, or <code>null</code> if the timeout has been exceeded
+     */
+    private @Nullable Object awaitCompletion(long timeout) {
+        // calculate the deadline of the wait
+        long deadline = timeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+
+        // push the waiter to the top of the handler stack
+        Waiter waiter = new Waiter(Thread.currentThread());
+        Object state;
+        do {
+            // do not wait, if the future has been completed meanwhile
+            state = this.state;
+            if (isTerminal(state))
+                return state;
+            Node.NEXT.lazySet(waiter, live((Node) state));
+        } while (!STATE.compareAndSet(this, state, waiter));
+
+        // start the work of a lazy Future, as the thread is about to wait for it
+        if (state instanceof Lazy)
+            ((Lazy) state).start();
+
+        boolean interrupted = false;
+        try {
+            while (true) {
+                // check if the future has been completed
+                state = this.state;
+                if (isTerminal(state))
+                    return state;
+
+                if (timeout > 0) {
+                    // check if the deadline has been exceeded
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        // mark the waiter as dead and remove it from the handler stack, so that the waiters
+                        // buried under the later handlers do not pile up whilst the Future is pending
+                        waiter.thread = null;
+                        removeDeadWaiters();
+                        return null;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                } else
+                    LockSupport.park(this);
+
+                // clear the interrupt status, otherwise the thread could not be parked again
+                if (Thread.interrupted())
+                    interrupted = true;
+            }
+        } finally {
+            // restore the interrupt status of the thread
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Unlink every dead waiter from the handler stack of the pending Future.
+     * <p>
+     * The links are swapped using compare-and-set operations, therefore neither a concurrent registration,
+     * nor the completion of the Future is blocked. If a link has been modified meanwhile, or the predecessor
+     * of a dead waiter has been unlinked by another thread, the stack is traversed again from its head.
+     * A completion, that takes over the stack whilst it is being traversed, makes the stale links fail
+     * to be swapped, and the dead waiters left behind are ignored by the dispatch.
+     */
+    private void removeDeadWaiters() {
+        retry:
+        while (true) {
+            // stop, if the stack has been taken over by the completion
+            Object state = this.state;
+            if (isTerminal(state))
+                return;
+
+            Node pred = null;
+            Node node = (Node) state;
+            while (node != null) {
+                Node next = node.next;
+                if (!isDeadWaiter(node))
+                    pred = node;
+                // the dead waiter is on the top of the stack, replace the head of the stack
+                else if (pred == null) {
+                    if (!STATE.compareAndSet(this, node, next))
+                        continue retry;
+                }
+                // unlink the dead waiter from its predecessor, unless the predecessor is no longer on the stack
+                else if (!Node.NEXT.compareAndSet(pred, node, next) || isDeadWaiter(pred))
+                    continue retry;
+                node = next;
+            }
+            return;
+        }
+    }
+
+    /**
+     * Indicate, whether the specified node is a waiter, that has stopped waiting for the completion.
+     *
+     * @param node the node to check
+     * @return <code>true</code> if the node is a dead waiter, <code>false</code> otherwise
+     */
+    private static boolean isDeadWaiter(@NotNull Node node) {
+        return node instanceof Waiter && ((Waiter) node).thread == null;
+    }
+
+    /**
+     * Skip the dead waiters from the top of the specified handler stack.
+     *
+     * @param head the head of the handler stack
+     * @return the first node of the stack, that is not a dead waiter
+     */
+    private static @Nullable Node live(@Nullable Node head) {
+        while (head != null && isDeadWaiter(head))
+            head = head.next;
+        return head;
     }
 
     /**
@@ -371,7 +558,10 @@ public class Future<T> implements Promise<T> {
      */
     @CheckReturnValue
     public T getNow(@Nullable T defaultValue) {
-        return completed ? value : defaultValue;
+        Object state = this.state;
+        if (!isTerminal(state))
+            return defaultValue;
+        return state instanceof Failure ? null : unwrap(state);
     }
 
     /**
@@ -379,6 +569,10 @@ public class Future<T> implements Promise<T> {
      * Call all the callbacks waiting on the completion of this Future.
      * <p>
      * If this Future was already completed (either successful or unsuccessful), this method does nothing.
+     * <p>
+     * The synchronous handlers are called before this method returns, unless the Future is completed from
+     * a handler nested deeper than 32 dispatches. In that case the handlers are deferred to the outermost
+     * completion of the current thread, therefore the caller must not block waiting for a dependent Future.
      *
      * @param value the completion value
      * @return <code>true</code> if the Future was completed with the value,
@@ -386,82 +580,252 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public boolean complete(@Nullable T value) {
-        // check if the future is already completed
-        if (completed)
-            return false;
-
-        // set the completion value and unlock the waiting thread
-        synchronized (lock) {
-            this.value = value;
-            completed = true;
-            lock.notify();
-        }
+        // set the completion value and call the completion handlers
+        return finish(value == null ? NULL : value);
+    }
 
-        // call the completion handlers
-        handleCompleted(value);
-        return true;
+    /**
+     * Fail the Future completion with the given error.
+     * Call all the callbacks waiting on the failure of this Future.
+     * <p>
+     * If this Future was already completed (either successful or unsuccessful), this method does nothing.
+     * <p>
+     * The failure handlers may be deferred the same way as the handlers of {@link #complete(Object)}.
+     *
+     * @param error the error occurred whilst completing
+     * @return <code>true</code> if the Future was completed with an error, <code>false</code> otherwise
+     */
+    @CanIgnoreReturnValue
+    public boolean fail(@NotNull Throwable error) {
+        // set the completion error and call the failure handlers
+        return finish(new Failure(error));
     }
 
     /**
-     * Try to call the completion handlers.
-     * @param value the completion value
+     * Cancel the Future, by failing it with a {@link FutureCancellationException}.
+     * Call all the callbacks waiting on the failure of this Future.
+     * <p>
+     * The task of the Future is not interrupted, if it is already running.
+     * <p>
+     * If this Future was already completed (either successful or unsuccessful), this method does nothing.
+     *
+     * @return <code>true</code> if the Future was cancelled, <code>false</code> otherwise
+     *
+     * @see #cancel(boolean)
      */
-    private void handleCompleted(@Nullable T value) {
-        // call the completion handlers
-        for (Consumer<T> handler : completionHandlers) {
-            try {
-                // try call the completion handler
-                handler.accept(value);
-            } catch (Throwable e) {
-                // fail the completion
-                fail(e);
-                // TODO should the loop break here?
-            }
-        }
+    @CanIgnoreReturnValue
+    public boolean cancel() {
+        return cancel(false);
     }
 
     /**
-     * Fail the Future completion with the given error.
+     * Cancel the Future, by failing it with a {@link FutureCancellationException}.
      * Call all the callbacks waiting on the failure of this Future.
      * <p>
+     * If the Future is completed by an asynchronous task, that has not started yet, the task will not be run.
+     * If the task is already running, its thread is interrupted, if <code>mayInterrupt</code> is <code>true</code>.
+     * <p>
+     * The cancellation is propagated upstream, to the Futures that this Future has been derived from using
+     * {@link #transform(Function)}, {@link #tryTransform(ThrowableFunction)}, {@link #transformAsync(Function)},
+     * {@link #tryTransformAsync(ThrowableFunction)}, {@link #chain(Future)} and {@link #timeout(long)},
+     * so that their abandoned work can stop as well.
+     * <p>
      * If this Future was already completed (either successful or unsuccessful), this method does nothing.
      *
-     * @param error the error occurred whilst completing
-     * @return <code>true</code> if the Future was completed with an error, <code>false</code> otherwise
+     * @param mayInterrupt <code>true</code> if the thread running the task of the Future should be interrupted
+     * @return <code>true</code> if the Future was cancelled, <code>false</code> otherwise
      */
     @CanIgnoreReturnValue
-    public boolean fail(@NotNull Throwable error) {
-        // check if the future is already completed
-        if (completed)
-            return false;
+    public boolean cancel(boolean mayInterrupt) {
+        return finish(new Cancellation(new FutureCancellationException(), mayInterrupt));
+    }
 
-        // set the error and unlock the waiting thread
-        synchronized (lock) {
-            this.error = error;
-            completed = true;
-            failed = true;
-            lock.notify();
+    /**
+     * Try to move the Future to the specified terminal state.
+     * <p>
+     * The state is swapped using a single compare-and-set operation, after which the handler stack
+     * that was replaced by the terminal state is owned exclusively by the calling thread.
+     *
+     * @param result the terminal state to set
+     * @return <code>true</code> if this call has completed the Future, <code>false</code> otherwise
+     */
+    private boolean finish(@NotNull Object result) {
+        Object state;
+        do {
+            // check if the future is already completed
+            state = this.state;
+            if (isTerminal(state))
+                return false;
+        } while (!STATE.compareAndSet(this, state, result));
+
+        // report the completion, if the Futures are instrumented
+        if (instrumentation != FutureInstrumentation.NOOP)
+            reportCompletion(result);
+
+        // call the handlers that were registered before the completion
+        if (state != null)
+            dispatch((Node) state, result);
+        return true;
+    }
+
+    /**
+     * Call the handlers of the specified handler stack in the order of their registration.
+     * <p>
+     * Completing a Future from a handler, such as a transformation, dispatches the handlers of that Future as well,
+     * therefore completing the head of a long chain would recurse through every link of the chain. To keep the
+     * stack depth bounded, the dispatches nested deeper than {@link #MAX_DISPATCH_DEPTH} are deferred to the
+     * outermost dispatch of the thread, which runs them iteratively, before the outermost completion returns.
+     *
+     * @param head the head of the handler stack
+     * @param result the terminal state of the Future
+     */
+    private static void dispatch(@NotNull Node head, @NotNull Object result) {
+        Trampoline trampoline = TRAMPOLINE.get();
+        // defer the dispatch to the outermost dispatch, if the stack is already deep enough
+        if (trampoline.depth >= MAX_DISPATCH_DEPTH) {
+            trampoline.defer(head, result);
+            return;
         }
 
-        // call the failure handlers
-        handleFailed(error);
-        return true;
+        trampoline.depth++;
+        try {
+            fireAll(head, result);
+
+            // run the deferred dispatches iteratively, if this is the outermost dispatch
+            if (trampoline.depth == 1) {
+                Node next;
+                while ((next = trampoline.poll()) != null)
+                    fireAll(next, trampoline.pollResult());
+            }
+        } finally {
+            trampoline.depth--;
+        }
     }
 
     /**
-     * Try to call the completion handlers.
-     * @param error the error occurred whilst completing
+     * Call each handler of the specified handler stack in the order of their registration.
+     *
+     * @param head the head of the handler stack
+     * @param result the terminal state of the Future
      */
-    private void handleFailed(@NotNull Throwable error) {
-        // call the completion handlers
-        for (Consumer<Throwable> handler : errorHandlers) {
-            try {
-                // try call the failure handler
-                handler.accept(error);
-            } catch (Throwable ignored) {
-                // TODO should it handle error handler exceptions?
+    private static void fireAll(@NotNull Node head, @NotNull Object result) {
+        // the handler stack is in reverse order of the registration, reverse it in place,
+        // as the stack is no longer reachable by other threads
+        Node node = null;
+        while (head != null) {
+            Node next = head.next;
+            Node.NEXT.lazySet(head, node);
+            node = head;
+            head = next;
+        }
+
+        // call the handlers one by one, and group the asynchronous handlers by their executors,
+        // so that each executor receives a single task for the handlers bound to it
+        Batch batches = null;
+        while (node != null) {
+            Node next = node.next;
+            if (node instanceof Async)
+                batches = Batch.append(batches, (Async) node);
+            else
+                fire(node, result);
+            node = next;
+        }
+
+        // submit the batches of the asynchronous handlers
+        for (; batches != null; batches = batches.next)
+            batches.submit(result);
+    }
+
+    /**
+     * Call the specified handler node with the terminal state of the Future.
+     *
+     * @param node the handler node to call
+     * @param result the terminal state of the Future
+     */
+    private static void fire(@NotNull Node node, @NotNull Object result) {
+        // measure the time spent in the handler, if the Futures are instrumented
+        FutureInstrumentation instrumentation = Future.instrumentation;
+        long start = instrumentation != FutureInstrumentation.NOOP ? System.nanoTime() : 0;
+        try {
+            node.fire(result);
+        } catch (Throwable ignored) {
+            // the future is already completed, handler errors must not affect the other handlers
+        }
+        if (instrumentation != FutureInstrumentation.NOOP)
+            instrumentation.onHandler(System.nanoTime() - start);
+    }
+
+    /**
+     * Report the completion of a Future to the instrumentation.
+     *
+     * @param result the terminal state of the Future
+     */
+    private static void reportCompletion(@NotNull Object result) {
+        if (result instanceof Cancellation)
+            instrumentation.onCancelled();
+        else if (result instanceof Failure)
+            instrumentation.onFailed(((Failure) result).error);
+        else
+            instrumentation.onCompleted();
+    }
+
+    /**
+     * Register the specified completion and failure handlers.
+     * <p>
+     * If the Future has already been completed, the corresponding handler is called immediately.
+     *
+     * @param onComplete the successful completion handler
+     * @param onError the failed completion handler
+     */
+    private void register(@Nullable Consumer<T> onComplete, @Nullable Consumer<Throwable> onError) {
+        push(new Handler(onComplete, onError));
+    }
+
+    /**
+     * Push the specified node to the top of the handler stack.
+     * <p>
+     * If the Future has already been completed, the node is called immediately.
+     *
+     * @param node the handler node to register
+     */
+    private void push(@NotNull Node node) {
+        Object state;
+        do {
+            // call the handler immediately, if the future has been completed meanwhile
+            state = this.state;
+            if (isTerminal(state)) {
+                fire(node, state);
+                return;
             }
+            // link the node to the top of the handler stack
+            Node.NEXT.lazySet(node, live((Node) state));
+        } while (!STATE.compareAndSet(this, state, node));
+
+        // start the work of a lazy Future, once the first handler has been registered
+        if (state instanceof Lazy)
+            ((Lazy) state).start();
+    }
+
+    /**
+     * Register the specified node, that completes the specified derived Future, on this Future.
+     * <p>
+     * If this Future is lazy, and its work has not been started yet, the registration is deferred, until
+     * the first handler is registered on the derived Future, so that the Futures can be composed without
+     * starting their work.
+     *
+     * @param target the Future derived from this Future, that has not been published yet
+     * @param node the node to register on this Future
+     */
+    private void subscribe(@NotNull Future<?> target, @NotNull Node node) {
+        if (!(state instanceof Lazy)) {
+            push(node);
+            return;
         }
+
+        // make the derived Future lazy as well, keeping its initial handlers below the deferred subscription
+        Subscription subscription = new Subscription(this, node);
+        Node.NEXT.lazySet(subscription, (Node) target.state);
+        STATE.lazySet(target, subscription);
     }
 
     /**
@@ -479,18 +843,17 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public @NotNull Future<T> then(@NotNull Consumer<T> action) {
-        synchronized (lock) {
-            // register the action if the Future hasn't been completed yet
-            if (!completed)
-                completionHandlers.add(action);
+        // register the action if the Future hasn't been completed yet
+        Object state = this.state;
+        if (!isTerminal(state))
+            register(action, null);
 
-            // the Future is already completed
-            // call the callback if the completion was successful
-            else if (!failed)
-                action.accept(value);
+        // the Future is already completed
+        // call the callback if the completion was successful
+        else if (!(state instanceof Failure))
+            action.accept(unwrap(state));
 
-            return this;
-        }
+        return this;
     }
 
     /**
@@ -508,34 +871,37 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public @NotNull Future<T> tryThen(@NotNull ThrowableConsumer<T, Throwable> action) {
-        synchronized (lock) {
-            // register the action if the Future hasn't been completed yet
-            if (!completed)
-                completionHandlers.add(value -> {
-                    try {
-                        action.accept(value);
-                    } catch (Throwable e) {
-                        fail(e);
-                    }
-                });
-
-            // the Future is already completed
-            // call the callback if the completion was successful
-            else if (!failed) {
+        // register the action if the Future hasn't been completed yet
+        Object state = this.state;
+        if (!isTerminal(state))
+            register(value -> {
                 try {
                     action.accept(value);
                 } catch (Throwable e) {
                     fail(e);
                 }
-            }
+            }, null);
 
-            return this;
+        // the Future is already completed
+        // call the callback if the completion was successful
+        else if (!(state instanceof Failure)) {
+            try {
+                action.accept(unwrap(state));
+            } catch (Throwable e) {
+                fail(e);
+            }
         }
+
+        return this;
     }
 
     /**
      * Register an asynchronous completion handler to be called when the Future completes without an error.
      * <p>
+     * The handler is run on the executor of the caller's context, which is resolved upon registration.
+     * The asynchronous handlers bound to the same executor are submitted as a single task upon completion,
+     * and are run in the order of their registration.
+     * <p>
      * If the Future completes with an exception, the specified <code>action</code> will not be called.
      * If you wish to handle exceptions as well,
      * use {@link #result(BiConsumer)} or {@link #except(Consumer)} methods.
@@ -548,18 +914,42 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public @NotNull Future<T> thenAsync(@NotNull Consumer<T> action) {
-        synchronized (lock) {
-            // register the action if the Future hasn't been completed yet
-            if (!completed)
-                completionHandlers.add(value -> executeLockedAsync(() -> action.accept(value)));
-
-            // the Future is already completed
-            // call the callback if the completion was successful
-            else if (!failed)
-                executeLockedAsync(() -> action.accept(value));
+        return thenAsync(action, getExecutor());
+    }
 
-            return this;
+    /**
+     * Register an asynchronous completion handler to be called on the specified executor,
+     * when the Future completes without an error.
+     * <p>
+     * The asynchronous handlers bound to the same executor are submitted as a single task upon completion,
+     * and are run in the order of their registration.
+     * <p>
+     * If the Future completes with an exception, the specified <code>action</code> will not be called.
+     * If you wish to handle exceptions as well,
+     * use {@link #result(BiConsumer)} or {@link #except(Consumer)} methods.
+     * <p>
+     * If the Future is already completed successfully, the action will be called immediately with
+     * the completion value. If the Future failed with an exception, the action will not be called.
+     *
+     * @param action the successful completion callback
+     * @param executor the executor to run the callback on
+     * @return this Future
+     */
+    @CanIgnoreReturnValue
+    public @NotNull Future<T> thenAsync(@NotNull Consumer<T> action, @NotNull Executor executor) {
+        // register the action if the Future hasn't been completed yet
+        Object state = this.state;
+        if (!isTerminal(state))
+            push(new Async(executor, action, null));
+
+        // the Future is already completed
+        // call the callback if the completion was successful
+        else if (!(state instanceof Failure)) {
+            T value = unwrap(state);
+            executor.execute(() -> action.accept(value));
         }
+
+        return this;
     }
 
     /**
@@ -579,30 +969,26 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public @NotNull Future<T> thenComplete(@NotNull Runnable task) {
-        synchronized (lock) {
-            Future<T> future = new Future<>();
-
-            if (completed) {
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    future.fail(error);
-                } else {
-                    task.run();
-                    future.complete(value);
-                }
-            }
+        Future<T> future = new Future<>();
 
+        Object state = this.state;
+        if (isTerminal(state)) {
+            if (state instanceof Failure)
+                future.fail(((Failure) state).error);
             else {
-                completionHandlers.add(value -> {
-                    task.run();
-                    future.complete(value);
-                });
-                errorHandlers.add(future::fail);
+                task.run();
+                future.complete(unwrap(state));
             }
+        }
 
-            return future;
+        else {
+            register(value -> {
+                task.run();
+                future.complete(value);
+            }, future::fail);
         }
+
+        return future;
     }
 
     /**
@@ -624,39 +1010,34 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public @NotNull Future<T> thenTryComplete(@NotNull ThrowableRunnable<Throwable> task) {
-        synchronized (lock) {
-            Future<T> future = new Future<>();
-
-            if (completed) {
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    future.fail(error);
-                }
-                else {
-                    try {
-                        task.run();
-                        future.complete(value);
-                    } catch (Throwable e) {
-                        future.fail(e);
-                    }
-                }
-            }
+        Future<T> future = new Future<>();
 
+        Object state = this.state;
+        if (isTerminal(state)) {
+            if (state instanceof Failure)
+                future.fail(((Failure) state).error);
             else {
-                completionHandlers.add(value -> {
-                    try {
-                        task.run();
-                        future.complete(value);
-                    } catch (Throwable e) {
-                        future.fail(e);
-                    }
-                });
-                errorHandlers.add(future::fail);
+                try {
+                    task.run();
+                    future.complete(unwrap(state));
+                } catch (Throwable e) {
+                    future.fail(e);
+                }
             }
+        }
 
-            return future;
+        else {
+            register(value -> {
+                try {
+                    task.run();
+                    future.complete(value);
+                } catch (Throwable e) {
+                    future.fail(e);
+                }
+            }, future::fail);
         }
+
+        return future;
     }
 
     /**
@@ -678,44 +1059,34 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public <U> @NotNull Future<U> transform(@NotNull Function<T, U> transformer) {
-        synchronized (lock) {
-            // check if the Future is already completed
-            if (completed) {
-                // check if the completion was unsuccessful
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    return failed(error);
-                }
-
-                // try to transform the future value
-                try {
-                    return completed(transformer.apply(value));
-                } catch (Exception e) {
-                    // unable to transform the Future, return a failed Future
-                    return failed(e);
-                }
+        // check if the Future is already completed, and there is no deadline to propagate
+        Object state = this.state;
+        Deadline deadline = this.deadline;
+        if (isTerminal(state) && deadline == null) {
+            // check if the completion was unsuccessful
+            if (state instanceof Failure)
+                return new Future<>(state);
+
+            // try to transform the future value
+            try {
+                return completed(transformer.apply(unwrap(state)));
+            } catch (Exception e) {
+                // unable to transform the Future, return a failed Future
+                return failed(e);
             }
+        }
 
-            // the future hasn't been completed yet, create a new Future
-            // that will try to transform the value once it is completed
-            Future<U> future = new Future<>();
+        // the future hasn't been completed yet, create a new Future
+        // that will try to transform the value once it is completed,
+        // and propagates its cancellation to this Future
+        Future<U> future = new Future<>(new Upstream(this));
+        future.deadline = deadline;
 
-            // register the Future completion transformer
-            completionHandlers.add(value -> {
-                // try to transform the Future value
-                try {
-                    future.complete(transformer.apply(value));
-                } catch (Exception e) {
-                    // unable to transform the value, fail the Future
-                    future.fail(e);
-                }
-            });
+        // register the Future completion transformer, that also forwards the error,
+        // without starting the work of this Future, if it is lazy
+        subscribe(future, new Transform<>(future, transformer));
 
-            // register the error handler
-            errorHandlers.add(future::fail);
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -736,44 +1107,51 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public <U> @NotNull Future<U> tryTransform(@NotNull ThrowableFunction<T, U, Throwable> transformer) {
-        synchronized (lock) {
-            // check if the Future is already completed
-            if (completed) {
-                // check if the completion was unsuccessful
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    return failed(error);
-                }
-
-                // try to transform the future value
-                try {
-                    return completed(transformer.apply(value));
-                } catch (Throwable e) {
-                    // unable to transform the Future, return a failed Future
-                    return failed(e);
-                }
+        // check if the Future is already completed, and there is no deadline to propagate
+        Object state = this.state;
+        Deadline deadline = this.deadline;
+        if (isTerminal(state) && deadline == null) {
+            // check if the completion was unsuccessful
+            if (state instanceof Failure)
+                return new Future<>(state);
+
+            // try to transform the future value
+            try {
+                return completed(transformer.apply(unwrap(state)));
+            } catch (Throwable e) {
+                // unable to transform the Future, return a failed Future
+                return failed(e);
             }
+        }
 
-            // the future hasn't been completed yet, create a new Future
-            // that will try to transform the value once it is completed
-            Future<U> future = new Future<>();
-
-            // register the Future completion transformer
-            completionHandlers.add(value -> {
-                // try to transform the Future value
-                try {
-                    future.complete(transformer.apply(value));
-                } catch (Throwable e) {
-                    // unable to transform the value, fail the Future
-                    future.fail(e);
-                }
-            });
+        // the future hasn't been completed yet, create a new Future
+        // that will try to transform the value once it is completed,
+        // and propagates its cancellation to this Future
+        Future<U> future = new Future<>(new Upstream(this));
+        future.deadline = deadline;
+
+        // register the Future completion transformer and the error handler,
+        // without starting the work of this Future, if it is lazy
+        Consumer<T> onComplete = value -> {
+            // do not transform the value, if the deadline of the chain has expired meanwhile
+            if (expire(future))
+                return;
+
+            // try to transform the Future value, whilst the deadline is available to the transformer
+            Deadline previous = deadline != null ? Deadline.enter(deadline) : null;
+            try {
+                future.complete(transformer.apply(value));
+            } catch (Throwable e) {
+                // unable to transform the value, fail the Future
+                future.fail(e);
+            } finally {
+                if (deadline != null)
+                    Deadline.exit(previous);
+            }
+        };
+        subscribe(future, new Handler(onComplete, future::fail));
 
-            // register the error handler
-            errorHandlers.add(future::fail);
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -801,44 +1179,60 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public <U> @NotNull Future<U> transformAsync(@NotNull Function<T, Future<U>> transformer) {
-        synchronized (lock) {
-            // check if the Future is already completed
-            if (completed) {
-                // check if the completion was unsuccessful
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    return failed(error);
-                }
-
-                // try to transform the future value
-                try {
-                    return transformer.apply(value);
-                } catch (Exception e) {
-                    // unable to transform the Future, return a failed Future
-                    return failed(e);
-                }
+        // check if the Future is already completed, and there is no deadline to propagate
+        Object state = this.state;
+        Deadline deadline = this.deadline;
+        if (isTerminal(state) && deadline == null) {
+            // check if the completion was unsuccessful
+            if (state instanceof Failure)
+                return new Future<>(state);
+
+            // try to transform the future value
+            try {
+                return transformer.apply(unwrap(state));
+            } catch (Exception e) {
+                // unable to transform the Future, return a failed Future
+                return failed(e);
             }
+        }
 
-            // the future hasn't been completed yet, create a new Future
-            // that will try to transform the value once it is completed
-            Future<U> future = new Future<>();
+        // the future hasn't been completed yet, create a new Future
+        // that will try to transform the value once it is completed,
+        // and propagates its cancellation to this Future
+        Future<U> future = new Future<>(new Upstream(this));
+        future.deadline = deadline;
+
+        // register the Future completion transformer and the error handler,
+        // without starting the work of this Future, if it is lazy
+        Consumer<T> onComplete = value -> {
+            // do not transform the value, if the deadline of the chain has expired meanwhile
+            if (expire(future))
+                return;
+
+            // try to transform the Future value, whilst the deadline is available to the transformer
+            Future<U> result;
+            Deadline previous = deadline != null ? Deadline.enter(deadline) : null;
+            try {
+                result = transformer.apply(value);
+            } catch (Exception e) {
+                // unable to transform the value, fail the Future
+                future.fail(e);
+                return;
+            } finally {
+                if (deadline != null)
+                    Deadline.exit(previous);
+            }
+            // forward the result of the transformed Future, and propagate the cancellation to it
+            result.push(new Relay(future));
+            future.push(new Upstream(result));
 
-            // register the Future completion transformer
-            completionHandlers.add(value -> {
-                // try to transform the Future value
-                try {
-                    transformer.apply(value).then(future::complete);
-                } catch (Exception e) {
-                    // unable to transform the value, fail the Future
-                    future.fail(e);
-                }
-            });
+            // do not wait for the transformed Future beyond the deadline
+            if (deadline != null)
+                enforce(future, deadline);
+        };
+        subscribe(future, new Handler(onComplete, future::fail));
 
-            // register the error handler
-            errorHandlers.add(future::fail);
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -860,44 +1254,60 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public <U> @NotNull Future<U> tryTransformAsync(@NotNull ThrowableFunction<T, Future<U>, Throwable> transformer) {
-        synchronized (lock) {
-            // check if the Future is already completed
-            if (completed) {
-                // check if the completion was unsuccessful
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    return failed(error);
-                }
-
-                // try to transform the future value
-                try {
-                    return transformer.apply(value);
-                } catch (Throwable e) {
-                    // unable to transform the Future, return a failed Future
-                    return failed(e);
-                }
+        // check if the Future is already completed, and there is no deadline to propagate
+        Object state = this.state;
+        Deadline deadline = this.deadline;
+        if (isTerminal(state) && deadline == null) {
+            // check if the completion was unsuccessful
+            if (state instanceof Failure)
+                return new Future<>(state);
+
+            // try to transform the future value
+            try {
+                return transformer.apply(unwrap(state));
+            } catch (Throwable e) {
+                // unable to transform the Future, return a failed Future
+                return failed(e);
             }
+        }
 
-            // the future hasn't been completed yet, create a new Future
-            // that will try to transform the value once it is completed
-            Future<U> future = new Future<>();
+        // the future hasn't been completed yet, create a new Future
+        // that will try to transform the value once it is completed,
+        // and propagates its cancellation to this Future
+        Future<U> future = new Future<>(new Upstream(this));
+        future.deadline = deadline;
+
+        // register the Future completion transformer and the error handler,
+        // without starting the work of this Future, if it is lazy
+        Consumer<T> onComplete = value -> {
+            // do not transform the value, if the deadline of the chain has expired meanwhile
+            if (expire(future))
+                return;
+
+            // try to transform the Future value, whilst the deadline is available to the transformer
+            Future<U> result;
+            Deadline previous = deadline != null ? Deadline.enter(deadline) : null;
+            try {
+                result = transformer.apply(value);
+            } catch (Throwable e) {
+                // unable to transform the value, fail the Future
+                future.fail(e);
+                return;
+            } finally {
+                if (deadline != null)
+                    Deadline.exit(previous);
+            }
+            // forward the result of the transformed Future, and propagate the cancellation to it
+            result.push(new Relay(future));
+            future.push(new Upstream(result));
 
-            // register the Future completion transformer
-            completionHandlers.add(value -> {
-                // try to transform the Future value
-                try {
-                    transformer.apply(value).then(future::complete);
-                } catch (Throwable e) {
-                    // unable to transform the value, fail the Future
-                    future.fail(e);
-                }
-            });
+            // do not wait for the transformed Future beyond the deadline
+            if (deadline != null)
+                enforce(future, deadline);
+        };
+        subscribe(future, new Handler(onComplete, future::fail));
 
-            // register the error handler
-            errorHandlers.add(future::fail);
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -913,30 +1323,23 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public <U> @NotNull Future<U> to(@Nullable U value) {
-        synchronized (lock) {
-            if (completed) {
-                // check if the completion was unsuccessful
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    return failed(error);
-                }
-
-                else
-                    return completed(value);
-            }
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // check if the completion was unsuccessful
+            if (state instanceof Failure)
+                return new Future<>(state);
 
-            // create a new Future that will supply the specified value
-            Future<U> future = new Future<>();
+            else
+                return completed(value);
+        }
 
-            // supply the value when this Future completes
-            completionHandlers.add(ignored -> future.complete(value));
+        // create a new Future that will supply the specified value
+        Future<U> future = new Future<>();
 
-            // proxy the error to the new Future
-            errorHandlers.add(future::fail);
+        // supply the value when this Future completes, and proxy the error to the new Future
+        register(ignored -> future.complete(value), future::fail);
 
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -955,26 +1358,21 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public <U> @NotNull Future<U> to(@NotNull Supplier<@Nullable U> supplier) {
-        synchronized (lock) {
-            if (completed) {
-                // check if the completion was unsuccessful
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    return failed(error);
-                }
-
-                else
-                    return completed(supplier.get());
-            }
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // check if the completion was unsuccessful
+            if (state instanceof Failure)
+                return new Future<>(state);
+
+            else
+                return completed(supplier.get());
+        }
 
-            Future<U> future = new Future<>();
+        Future<U> future = new Future<>();
 
-            completionHandlers.add(value -> future.complete(supplier.get()));
-            errorHandlers.add(future::fail);
+        register(value -> future.complete(supplier.get()), future::fail);
 
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -993,34 +1391,30 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public <U> @NotNull Future<U> tryTo(@NotNull ThrowableSupplier<U, Throwable> supplier) {
-        synchronized (lock) {
-            if (completed) {
-                // check if the completion was unsuccessful
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    return failed(error);
-                }
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // check if the completion was unsuccessful
+            if (state instanceof Failure)
+                return new Future<>(state);
 
-                try {
-                    return completed(supplier.get());
-                } catch (Throwable error) {
-                    return failed(error);
-                }
+            try {
+                return completed(supplier.get());
+            } catch (Throwable error) {
+                return failed(error);
             }
+        }
 
-            Future<U> future = new Future<>();
+        Future<U> future = new Future<>();
 
-            completionHandlers.add(value -> {
-                try {
-                    future.complete(supplier.get());
-                } catch (Throwable error) {
-                    future.fail(error);
-                }
-            });
+        register(value -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable error) {
+                future.fail(error);
+            }
+        }, null);
 
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -1039,33 +1433,26 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public <U> @NotNull Future<U> toAsync(@NotNull Supplier<U> supplier) {
-        synchronized (lock) {
-            if (completed) {
-                // check if the completion was unsuccessful
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    return failed(error);
-                }
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // check if the completion was unsuccessful
+            if (state instanceof Failure)
+                return new Future<>(state);
 
-                try {
-                    return completed(supplier.get());
-                } catch (Throwable error) {
-                    return failed(error);
-                }
+            try {
+                return completed(supplier.get());
+            } catch (Throwable error) {
+                return failed(error);
             }
+        }
 
-            // create a new Future that will supply the specified value
-            Future<U> future = new Future<>();
-
-            // supply the value when this Future completes
-            completionHandlers.add(ignored -> Future.completeAsync(supplier).then(future::complete));
+        // create a new Future that will supply the specified value
+        Future<U> future = new Future<>();
 
-            // proxy the error to the new Future
-            errorHandlers.add(future::fail);
+        // supply the value when this Future completes, and proxy the error to the new Future
+        register(ignored -> Future.completeAsync(supplier).then(future::complete), future::fail);
 
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -1084,35 +1471,28 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public <U> @NotNull Future<U> tryToAsync(@NotNull ThrowableSupplier<U, Throwable> supplier) {
-        synchronized (lock) {
-            if (completed) {
-                // check if the completion was unsuccessful
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    return failed(error);
-                }
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // check if the completion was unsuccessful
+            if (state instanceof Failure)
+                return new Future<>(state);
 
-                try {
-                    return completed(supplier.get());
-                } catch (Throwable error) {
-                    return failed(error);
-                }
+            try {
+                return completed(supplier.get());
+            } catch (Throwable error) {
+                return failed(error);
             }
+        }
 
-            // create a new Future that will supply the specified value
-            Future<U> future = new Future<>();
-
-            // try to supply the value when this Future completes
-            completionHandlers.add(ignored -> Future.tryCompleteAsync(supplier)
-                .then(future::complete)
-                .except(future::fail));
+        // create a new Future that will supply the specified value
+        Future<U> future = new Future<>();
 
-            // proxy the error to the new Future
-            errorHandlers.add(future::fail);
+        // try to supply the value when this Future completes, and proxy the error to the new Future
+        register(ignored -> Future.tryCompleteAsync(supplier)
+            .then(future::complete)
+            .except(future::fail), future::fail);
 
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -1130,35 +1510,23 @@ public class Future<T> implements Promise<T> {
      */
     @CheckReturnValue
     public @NotNull Future<Void> callback() {
-        synchronized (lock) {
-            // check if the Future is already completed
-            if (completed) {
-                // check if the completion was unsuccessful
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    return failed(error);
-                }
-
-                // try to transform the future value
-                try {
-                    return completed();
-                } catch (Exception e) {
-                    // unable to transform the Future, return a failed Future
-                    return failed(e);
-                }
-            }
+        // check if the Future is already completed
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // check if the completion was unsuccessful
+            if (state instanceof Failure)
+                return new Future<>(state);
+
+            return completed();
+        }
 
-            // the future hasn't been completed yet, create a new Future
-            // that will try to transform the value once it is completed
-            Future<Void> future = new Future<>();
-            // register the Future completion transformer
-            completionHandlers.add(value -> future.complete(null));
+        // the future hasn't been completed yet, create a new Future
+        // that will try to transform the value once it is completed
+        Future<Void> future = new Future<>();
+        // register the Future completion transformer and the error handler
+        register(value -> future.complete(null), future::fail);
 
-            // register the error handler
-            errorHandlers.add(future::fail);
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -1174,22 +1542,19 @@ public class Future<T> implements Promise<T> {
      */
     @CheckReturnValue
     public @NotNull Future<Boolean> status() {
-        synchronized (lock) {
-            // check if the Future is already completed
-            if (completed)
-                return completed(!failed);
+        // check if the Future is already completed
+        Object state = this.state;
+        if (isTerminal(state))
+            return completed(!(state instanceof Failure));
 
-            // create a new Future that will be completed with the status of this Future
-            Future<Boolean> future = new Future<>();
+        // create a new Future that will be completed with the status of this Future
+        Future<Boolean> future = new Future<>();
 
-            // complete the Future with true, if it completes successfully
-            completionHandlers.add(ignored -> future.complete(true));
+        // complete the Future with true, if it completes successfully,
+        // and with false, if it fails with an exception
+        register(ignored -> future.complete(true), ignored -> future.complete(false));
 
-            // complete the Future with false, if it fails with an exception
-            errorHandlers.add(ignored -> future.complete(false));
-
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -1207,18 +1572,17 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public @NotNull Future<T> except(@NotNull Consumer<Throwable> action) {
-        synchronized (lock) {
-            // register the action if the Future hasn't been completed yet
-            if (!completed)
-                errorHandlers.add(action);
+        // register the action if the Future hasn't been completed yet
+        Object state = this.state;
+        if (!isTerminal(state))
+            register(null, action);
 
-            // the Future is already completed
-            // call the callback if the completion was unsuccessful
-            else if (failed)
-                action.accept(error);
+        // the Future is already completed
+        // call the callback if the completion was unsuccessful
+        else if (state instanceof Failure)
+            action.accept(((Failure) state).error);
 
-            return this;
-        }
+        return this;
     }
 
     /**
@@ -1236,33 +1600,36 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public @NotNull Future<T> tryExcept(@NotNull ThrowableConsumer<Throwable, Throwable> action) {
-        synchronized (lock) {
-            // register the action if the Future hasn't been completed yet
-            if (!completed)
-                errorHandlers.add(error -> {
-                    try {
-                        action.accept(error);
-                    } catch (Throwable ignored) {
-                        // future is already failed, do not fail again
-                    }
-                });
-
-            // the Future is already completed
-            // call the callback if the completion was unsuccessful
-            else if (failed) {
+        // register the action if the Future hasn't been completed yet
+        Object state = this.state;
+        if (!isTerminal(state))
+            register(null, error -> {
                 try {
                     action.accept(error);
                 } catch (Throwable ignored) {
                     // future is already failed, do not fail again
                 }
-            }
+            });
 
-            return this;
+        // the Future is already completed
+        // call the callback if the completion was unsuccessful
+        else if (state instanceof Failure) {
+            try {
+                action.accept(((Failure) state).error);
+            } catch (Throwable ignored) {
+                // future is already failed, do not fail again
+            }
         }
+
+        return this;
     }
 
     /**
-     * Register a failure handler to be called when the Future completes with an error.
+     * Register an asynchronous failure handler to be called when the Future completes with an error.
+     * <p>
+     * The handler is run on the executor of the caller's context, which is resolved upon registration.
+     * The asynchronous handlers bound to the same executor are submitted as a single task upon completion,
+     * and are run in the order of their registration.
      * <p>
      * If the Future completes successfully, the specified <code>action</code> will not be called.
      * If you wish to handle successful completions as well,
@@ -1276,18 +1643,42 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public @NotNull Future<T> exceptAsync(@NotNull Consumer<Throwable> action) {
-        synchronized (lock) {
-            // register the action if the Future hasn't been completed yet
-            if (!completed)
-                errorHandlers.add(error -> executeLockedAsync(() -> action.accept(error)));
-
-            // the Future is already completed
-            // call the callback if the completion was unsuccessful
-            else if (failed)
-                executeLockedAsync(() -> action.accept(error));
+        return exceptAsync(action, getExecutor());
+    }
 
-            return this;
+    /**
+     * Register an asynchronous failure handler to be called on the specified executor,
+     * when the Future completes with an error.
+     * <p>
+     * The asynchronous handlers bound to the same executor are submitted as a single task upon completion,
+     * and are run in the order of their registration.
+     * <p>
+     * If the Future completes successfully, the specified <code>action</code> will not be called.
+     * If you wish to handle successful completions as well,
+     * use {@link #result(BiConsumer)} or {@link #then(Consumer)} methods.
+     * <p>
+     * If the Future is already completed unsuccessfully, the action will be called immediately with
+     * the completion error. If the Future has completed with a result, the action will not be called.
+     *
+     * @param action the failed completion handler
+     * @param executor the executor to run the handler on
+     * @return this Future
+     */
+    @CanIgnoreReturnValue
+    public @NotNull Future<T> exceptAsync(@NotNull Consumer<Throwable> action, @NotNull Executor executor) {
+        // register the action if the Future hasn't been completed yet
+        Object state = this.state;
+        if (!isTerminal(state))
+            push(new Async(executor, null, action));
+
+        // the Future is already completed
+        // call the callback if the completion was unsuccessful
+        else if (state instanceof Failure) {
+            Throwable error = ((Failure) state).error;
+            executor.execute(() -> action.accept(error));
         }
+
+        return this;
     }
 
     /**
@@ -1324,42 +1715,38 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public @NotNull Future<T> fallback(@NotNull Function<Throwable, T> transformer) {
-        synchronized (lock) {
-            // check if the Future is already completed
-            if (completed) {
-                // check if the completion was successful
-                if (!failed)
-                    return completed(value);
-
-                // try to transform the error to a value
-                try {
-                    return completed(transformer.apply(error));
-                } catch (Exception e) {
-                    // unable to transform the Future, return a failed Future
-                    return failed(e);
-                }
-            }
+        // check if the Future is already completed
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // check if the completion was successful
+            if (!(state instanceof Failure))
+                return completed(Future.<T>unwrap(state));
 
-            // the future hasn't been completed yet, create a new Future
-            // that will try to transform the error once it is failed
-            Future<T> future = new Future<>();
+            // try to transform the error to a value
+            try {
+                return completed(transformer.apply(((Failure) state).error));
+            } catch (Exception e) {
+                // unable to transform the Future, return a failed Future
+                return failed(e);
+            }
+        }
 
-            // register the completion handler
-            completionHandlers.add(future::complete);
+        // the future hasn't been completed yet, create a new Future
+        // that will try to transform the error once it is failed
+        Future<T> future = new Future<>();
 
-            // register the error transformer
-            errorHandlers.add(error -> {
-                // try to transform the Future error
-                try {
-                    future.complete(transformer.apply(error));
-                } catch (Exception e) {
-                    // unable to transform the error, fail the Future
-                    future.fail(e);
-                }
-            });
+        // register the completion handler and the error transformer
+        register(future::complete, error -> {
+            // try to transform the Future error
+            try {
+                future.complete(transformer.apply(error));
+            } catch (Exception e) {
+                // unable to transform the error, fail the Future
+                future.fail(e);
+            }
+        });
 
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -1380,29 +1767,25 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public @NotNull Future<T> fallback(@Nullable T fallbackValue) {
-        synchronized (lock) {
-            // check if the Future is already completed
-            if (completed) {
-                // complete the Future with the fallback value if the
-                // current Future's completion was failed
-                if (failed)
-                    return completed(fallbackValue);
-
-                // the completion was successful, return the completion value
-                return completed(value);
-            }
-
-            // the future hasn't been completed yet, create a new Future
-            // that will use the fallback value if the current Future fails
-            Future<T> future = new Future<>();
+        // check if the Future is already completed
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // complete the Future with the fallback value if the
+            // current Future's completion was failed
+            if (state instanceof Failure)
+                return completed(fallbackValue);
+
+            // the completion was successful, return the completion value
+            return completed(Future.<T>unwrap(state));
+        }
 
-            // register the completion handler
-            completionHandlers.add(future::complete);
+        // the future hasn't been completed yet, create a new Future
+        // that will use the fallback value if the current Future fails
+        Future<T> future = new Future<>();
 
-            // register the error fallback handler
-            errorHandlers.add(error -> future.complete(fallbackValue));
-            return future;
-        }
+        // register the completion handler and the error fallback handler
+        register(future::complete, error -> future.complete(fallbackValue));
+        return future;
     }
 
     /**
@@ -1419,41 +1802,35 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public <U> @NotNull Future<U> cast(@NotNull Class<U> type) {
-        synchronized (lock) {
-            // check if the Future is already completed
-            if (completed) {
-                // return a failed future if this future is already failed
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    return failed(error);
-                }
-
-                // check if the completed value cannot be cast to the specified type
-                T value = this.value;
-                if (value != null && !value.getClass().isAssignableFrom(type))
-                    return failed(new ClassCastException(value.getClass() + " cannot be casted to " + type));
-
-                // return a completed future if this future is already completed
-                return completed(type.cast(value));
-            }
+        // check if the Future is already completed
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // return a failed future if this future is already failed
+            if (state instanceof Failure)
+                return new Future<>(state);
+
+            // check if the completed value cannot be cast to the specified type
+            T value = unwrap(state);
+            if (value != null && !value.getClass().isAssignableFrom(type))
+                return failed(new ClassCastException(value.getClass() + " cannot be casted to " + type));
+
+            // return a completed future if this future is already completed
+            return completed(type.cast(value));
+        }
 
-            // the future hasn't been completed yet, create a new Future
-            // that will cast the completion value if the current Future completes
-            Future<U> future = new Future<>();
+        // the future hasn't been completed yet, create a new Future
+        // that will cast the completion value if the current Future completes
+        Future<U> future = new Future<>();
 
-            // register the completion handler
-            completionHandlers.add(value -> {
-                if (value != null && !value.getClass().isAssignableFrom(type))
-                    future.fail(new ClassCastException(value.getClass() + " cannot be casted to " + type));
-                else
-                    future.complete(type.cast(value));
-            });
+        // register the completion handler and the error fallback handler
+        register(value -> {
+            if (value != null && !value.getClass().isAssignableFrom(type))
+                future.fail(new ClassCastException(value.getClass() + " cannot be casted to " + type));
+            else
+                future.complete(type.cast(value));
+        }, future::fail);
 
-            // register the error fallback handler
-            errorHandlers.add(future::fail);
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -1483,19 +1860,20 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public @NotNull Future<T> result(@NotNull BiConsumer<T, Throwable> action) {
-        synchronized (lock) {
-            // call the action if the Future is already completed
-            if (completed) {
-                action.accept(value, error);
-                return this;
-            }
-
-            // the Future hasn't been completed yet, register the callbacks
-            completionHandlers.add(value -> action.accept(value, null));
-            errorHandlers.add(error -> action.accept(null, error));
-
+        // call the action if the Future is already completed
+        Object state = this.state;
+        if (isTerminal(state)) {
+            if (state instanceof Failure)
+                action.accept(null, ((Failure) state).error);
+            else
+                action.accept(unwrap(state), null);
             return this;
         }
+
+        // the Future hasn't been completed yet, register the callbacks
+        register(value -> action.accept(value, null), error -> action.accept(null, error));
+
+        return this;
     }
 
     /**
@@ -1527,45 +1905,43 @@ public class Future<T> implements Promise<T> {
      */
     @CanIgnoreReturnValue
     public <U> @NotNull Future<U> result(@NotNull BiFunction<T, Throwable, U> transformer) {
-        synchronized (lock) {
-            // check if the Future is already completed
-            if (completed) {
-                // try to transform the value and create a new Future with it
-                try {
-                    return completed(transformer.apply(value, error));
-                } catch (Exception e) {
-                    // unable to transform the error, create a Failed future
-                    return failed(e);
-                }
+        // check if the Future is already completed
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // try to transform the value and create a new Future with it
+            try {
+                if (state instanceof Failure)
+                    return completed(transformer.apply(null, ((Failure) state).error));
+                return completed(transformer.apply(unwrap(state), null));
+            } catch (Exception e) {
+                // unable to transform the error, create a Failed future
+                return failed(e);
             }
+        }
 
-            // the Future hasn't been completed yet, create a new one
-            Future<U> future = new Future<>();
-
-            // register the completion transformer
-            completionHandlers.add(value -> {
-                // try to transform the value
-                try {
-                    future.complete(transformer.apply(value, null));
-                } catch (Exception e) {
-                    // unable to transform the error, fail the Future
-                    future.fail(e);
-                }
-            });
+        // the Future hasn't been completed yet, create a new one
+        Future<U> future = new Future<>();
 
-            // register the failure transformer
-            errorHandlers.add(error -> {
-                // try to transform the error
-                try {
-                    future.complete(transformer.apply(null, error));
-                } catch (Exception e) {
-                    // unable to transform the error, fail the Future
-                    future.fail(e);
-                }
-            });
+        // register the completion and the failure transformers
+        register(value -> {
+            // try to transform the value
+            try {
+                future.complete(transformer.apply(value, null));
+            } catch (Exception e) {
+                // unable to transform the error, fail the Future
+                future.fail(e);
+            }
+        }, error -> {
+            // try to transform the error
+            try {
+                future.complete(transformer.apply(null, error));
+            } catch (Exception e) {
+                // unable to transform the error, fail the Future
+                future.fail(e);
+            }
+        });
 
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -1577,37 +1953,32 @@ public class Future<T> implements Promise<T> {
      */
     @CheckReturnValue
     public @NotNull Future<T> filter(@NotNull Predicate<T> predicate, @NotNull Supplier<Throwable> error) {
-        synchronized (lock) {
-            // check if the future is already completed
-            if (completed) {
-                // fail the future it was already failed
-                if (failed) {
-                    Throwable completedError = this.error;
-                    assert completedError != null;
-                    return failed(completedError);
-                }
-
-                // fail the future if the predicate did not pass
-                if (!predicate.test(value))
-                    return failed(error.get());
-
-                return completed(value);
-            }
-
-            // create a future that will fail if the predicate fails the completion value
-            Future<T> future = new Future<>();
+        // check if the future is already completed
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // fail the future it was already failed
+            if (state instanceof Failure)
+                return new Future<>(state);
+
+            // fail the future if the predicate did not pass
+            T value = unwrap(state);
+            if (!predicate.test(value))
+                return failed(error.get());
+
+            return completed(value);
+        }
 
-            completionHandlers.add(value -> {
-                if (predicate.test(value))
-                    future.complete(value);
-                else
-                    future.fail(error.get());
-            });
+        // create a future that will fail if the predicate fails the completion value
+        Future<T> future = new Future<>();
 
-            errorHandlers.add(future::fail);
+        register(value -> {
+            if (predicate.test(value))
+                future.complete(value);
+            else
+                future.fail(error.get());
+        }, future::fail);
 
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -1629,7 +2000,7 @@ public class Future<T> implements Promise<T> {
      */
     @CheckReturnValue
     public @NotNull Future<T> filter(Predicate<T> predicate) {
-        return filter(predicate, () -> new FutureExecutionException("Predicate failed for value `" + value + "`"));
+        return filter(predicate, () -> new FutureExecutionException("Predicate failed for value `" + getNow(null) + "`"));
     }
 
     /*
@@ -1644,39 +2015,36 @@ public class Future<T> implements Promise<T> {
      */
     @CheckReturnValue
     public @NotNull Future<T> failIf(Function<T, @Nullable Throwable> predicate) {
-        synchronized (lock) {
-            // check if the future is already completed
-            if (completed) {
-                // check if the future is already failed
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    return failed(error);
-                }
-
-                // run the predicate and test if the future should fail
-                Throwable error = predicate.apply(value);
-                if (error != null)
-                    return failed(error);
+        // check if the future is already completed
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // check if the future is already failed
+            if (state instanceof Failure)
+                return new Future<>(state);
+
+            // run the predicate and test if the future should fail
+            T value = unwrap(state);
+            Throwable error = predicate.apply(value);
+            if (error != null)
+                return failed(error);
 
-                // future passed the predicate, return the completion value
-                return completed(value);
-            }
+            // future passed the predicate, return the completion value
+            return completed(value);
+        }
 
-            Future<T> future = new Future<>();
+        Future<T> future = new Future<>();
 
-            // the future isn't completed yet
-            completionHandlers.add(value -> {
-                // run the predicate and test if the future should fail
-                Throwable error = predicate.apply(value);
-                if (error != null)
-                    future.fail(error);
-                // future passed the predicate, complete with the value
-                future.complete(value);
-            });
+        // the future isn't completed yet
+        register(value -> {
+            // run the predicate and test if the future should fail
+            Throwable error = predicate.apply(value);
+            if (error != null)
+                future.fail(error);
+            // future passed the predicate, complete with the value
+            future.complete(value);
+        }, null);
 
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -1691,39 +2059,36 @@ public class Future<T> implements Promise<T> {
      */
     @CheckReturnValue
     public @NotNull Future<T> failIf(BiFunction<T, Throwable, @Nullable Throwable> predicate) {
-        synchronized (lock) {
-            // check if the future is already completed
-            if (completed) {
-                // check if the future is already failed
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    return failed(error);
-                }
+        // check if the future is already completed
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // check if the future is already failed
+            if (state instanceof Failure)
+                return new Future<>(state);
+
+            // run the predicate and test if the future should fail
+            T value = unwrap(state);
+            Throwable error = predicate.apply(value, null);
+            if (error != null)
+                return failed(error);
 
-                // run the predicate and test if the future should fail
-                Throwable error = predicate.apply(value, this.error);
-                if (error != null)
-                    return failed(error);
+            // future passed the predicate, return the completion value
+            return completed(value);
+        }
 
-                // future passed the predicate, return the completion value
-                return completed(value);
-            }
+        Future<T> future = new Future<>();
 
-            Future<T> future = new Future<>();
+        // the future isn't completed yet
+        register(value -> {
+            // run the predicate and test if the future should fail
+            Throwable error = predicate.apply(value, null);
+            if (error != null)
+                future.fail(error);
+            // future passed the predicate, complete with the value
+            future.complete(value);
+        }, null);
 
-            // the future isn't completed yet
-            completionHandlers.add(value -> {
-                // run the predicate and test if the future should fail
-                Throwable error = predicate.apply(value, this.error);
-                if (error != null)
-                    future.fail(error);
-                // future passed the predicate, complete with the value
-                future.complete(value);
-            });
-
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -1732,56 +2097,62 @@ public class Future<T> implements Promise<T> {
      * timeout has passed, the new Future will be completed with this Future's result value.
      * <p>
      * If this Future completes unsuccessfully, the new Future will be completed with the same exception.
+     * <p>
+     * The timeout is counted by the shared timer, however the new Future is failed on the global executor,
+     * therefore its handlers never delay the other timeouts.
+     * <p>
+     * When the timeout fires, this Future is cancelled as well, without interrupting its task, so that the work,
+     * whose result is no longer awaited, can stop. The cancellation is propagated further upstream, see
+     * {@link #cancel(boolean)}.
      *
      * @param timeout the time to wait (in milliseconds) until a {@link FutureTimeoutException} is thrown.
      * @return a new Future
      */
     @CheckReturnValue
     public @NotNull Future<T> timeout(long timeout) {
-        synchronized (lock) {
-            // create a new Future to send the timeout result to
-            Future<T> future = new Future<>();
-            // check if the future is already completed
-            if (completed) {
-                // check if the completion was successful
-                if (!failed)
-                    return completed(value);
-
-                // future was failed, retrieve the error
-                Throwable error = this.error;
-                assert error != null;
-                return failed(error);
-            }
-
-            // create a new thread to run the timeout countdown on
-            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
-            // register the completion handler
-            completionHandlers.add(value -> {
-                // complete the timeout future
-                future.complete(value);
-                // shutdown the timeout task
-                executor.shutdownNow();
-            });
+        // check if the future is already completed
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // check if the completion was successful
+            if (!(state instanceof Failure))
+                return completed(Future.<T>unwrap(state));
 
-            // register the error handler
-            errorHandlers.add(error -> {
-                // fail the timeout future
-                future.fail(error);
-                // shutdown the timeout task
-                executor.shutdownNow();
-            });
+            // future was failed, retrieve the error
+            return new Future<>(state);
+        }
 
-            // execute the completion using the timeout delay
-            executor.schedule(() -> {
-                // fail the future if it hasn't been completed yet, and the
-                // timeout limit has exceeded
-                future.fail(new FutureTimeoutException(timeout));
-                // execution has been finished, shutdown the executor
-                executor.shutdown();
+        // create a new Future to send the timeout result to,
+        // that propagates its cancellation to this Future
+        Future<T> future = new Future<>(new Upstream(this));
+
+        // schedule the timeout countdown on the shared timer, which fails the future
+        // if it hasn't been completed yet, and the timeout limit has exceeded
+        // the failure is handed over to the global executor, as it runs the handlers of the future
+        HashedWheelTimer.Timeout task = Threading.getTimer().schedule(
+            () -> {
+                if (!future.fail(new FutureTimeoutException(timeout)))
+                    return;
+                if (instrumentation != FutureInstrumentation.NOOP)
+                    instrumentation.onTimeout(timeout);
+                // cancel the work of this future, as its result is no longer awaited
+                this.cancel();
+            }, timeout, TimeUnit.MILLISECONDS, globalExecutor
+        );
+
+        // register the completion and error handlers
+        register(value -> {
+            // complete the timeout future
+            future.complete(value);
+            // cancel the timeout task
+            task.cancel();
+        }, error -> {
+            // fail the timeout future
+            future.fail(error);
+            // cancel the timeout task
+            task.cancel();
+        });
 
-            }, timeout, TimeUnit.MILLISECONDS);
-            return future;
-        }
+        return future;
     }
 
     /**
@@ -1800,38 +2171,130 @@ public class Future<T> implements Promise<T> {
         return timeout(TimeUnit.MILLISECONDS.convert(timeout, unit));
     }
 
+    /**
+     * Create a new Future, that must complete by the specified deadline, otherwise it is completed unsuccessfully
+     * using a {@link FutureTimeoutException}. If this Future already has a deadline, the sooner one is used.
+     * <p>
+     * Unlike {@link #timeout(long)}, the deadline is propagated to the Futures derived from the new Future using
+     * {@link #transform(Function)}, {@link #transformAsync(Function)} and {@link #chain(Future)}, therefore the whole
+     * chain shares the same time budget. A stage of the chain, whose deadline has expired, fails without running
+     * its transformer, and the transformers can retrieve the remaining budget using {@link Deadline#current()}.
+     *
+     * @param deadline the deadline to complete by
+     * @return a new Future
+     */
+    @CheckReturnValue
+    public @NotNull Future<T> withDeadline(@NotNull Deadline deadline) {
+        // use the sooner deadline, if the Future already has one
+        deadline = deadline.earliest(this.deadline);
+
+        // check if the future is already completed
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // create a new completed Future, as the shared completed Futures must not carry a deadline
+            Future<T> future = new Future<>(state);
+            future.deadline = deadline;
+            return future;
+        }
+
+        // create a new Future to forward the result to, that propagates its cancellation to this Future
+        Future<T> future = new Future<>(new Upstream(this));
+        future.deadline = deadline;
+        push(new Relay(future));
+
+        // fail the new Future, if the deadline expires before this Future completes
+        enforce(future, deadline);
+        return future;
+    }
+
+    /**
+     * Create a new Future, that must complete before the specified time elapses, otherwise it is completed
+     * unsuccessfully using a {@link FutureTimeoutException}.
+     * <p>
+     * Unlike {@link #timeout(long)}, the deadline is propagated to the Futures derived from the new Future,
+     * see {@link #withDeadline(Deadline)}.
+     *
+     * @param timeout the time to complete within
+     * @param unit the unit of the timeout
+     * @return a new Future
+     */
+    @CheckReturnValue
+    public @NotNull Future<T> withDeadline(long timeout, @NotNull TimeUnit unit) {
+        return withDeadline(Deadline.after(timeout, unit));
+    }
+
+    /**
+     * Retrieve the deadline, that this Future must complete by.
+     *
+     * @return the deadline of the Future, or <code>null</code> if the Future has no deadline
+     */
+    @CheckReturnValue
+    public @Nullable Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Fail the specified Future with a timeout error, if its deadline has already expired.
+     *
+     * @param future the Future to check the deadline of
+     * @return <code>true</code> if the deadline has expired, <code>false</code> otherwise
+     */
+    private static boolean expire(@NotNull Future<?> future) {
+        Deadline deadline = future.deadline;
+        if (deadline == null || !deadline.isExpired())
+            return false;
+        future.fail(deadline.toException());
+        return true;
+    }
+
+    /**
+     * Fail the specified Future with a timeout error, when the specified deadline expires,
+     * unless the Future completes sooner.
+     *
+     * @param future the Future to fail after the deadline
+     * @param deadline the deadline of the Future
+     */
+    private static void enforce(@NotNull Future<?> future, @NotNull Deadline deadline) {
+        // fail the Future immediately, if the deadline has already expired
+        if (future.isCompleted() || expire(future))
+            return;
+
+        // schedule the failure on the shared timer, and cancel it, once the Future completes
+        // the failure is handed over to the global executor, as it runs the handlers of the Future
+        HashedWheelTimer.Timeout task = Threading.getTimer().schedule(() -> {
+            FutureTimeoutException error = deadline.toException();
+            if (future.fail(error) && instrumentation != FutureInstrumentation.NOOP)
+                instrumentation.onTimeout(error.getTimeout());
+        }, deadline.getRemaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS, globalExecutor);
+        future.push(new Handler(ignored -> task.cancel(), ignored -> task.cancel()));
+    }
+
     /**
      * Create a new Future which acts the same way this Future does.
      * @return a new Future
      */
     @CheckReturnValue
     public @NotNull Future<T> mock() {
-        synchronized (lock) {
-            // create a new Future
-            Future<T> future = new Future<>();
-            // check if the Future is already completed
-            if (completed) {
-                // check if the completion was failed
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    future.fail(error);
-                }
-                    // handle successful completion
-                else
-                    future.complete(value);
-            }
-
-            // the Future hasn't been completed yet
-            else {
-                // register the completion handler
-                completionHandlers.add(future::complete);
-                // register the error handler
-                errorHandlers.add(future::fail);
-            }
+        // create a new Future
+        Future<T> future = new Future<>();
+        // check if the Future is already completed
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // check if the completion was failed
+            if (state instanceof Failure)
+                future.fail(((Failure) state).error);
+                // handle successful completion
+            else
+                future.complete(unwrap(state));
+        }
 
-            return future;
+        // the Future hasn't been completed yet
+        else {
+            // register the node that forwards the completion to the other Future
+            push(new Relay(future));
         }
+
+        return future;
     }
 
     /**
@@ -1856,35 +2319,50 @@ public class Future<T> implements Promise<T> {
      */
     @CheckReturnValue
     public <U> @NotNull Future<T> chain(@NotNull Future<U> other) {
-        synchronized (lock) {
-            Future<T> future = new Future<>();
-
-            // check if the Future is already completed
-            if (completed) {
-                // do not complete the other Future if this Future fails
-                if (failed) {
-                    Throwable error = this.error;
-                    assert error != null;
-                    future.fail(error);
-                }
-                // try to complete the other Future if this Future was already completed
-                else other
-                    .then(value -> future.complete(this.value))
-                    .except(future::fail);
-            }
-
-            // the Future hasn't been completed yet
+        Future<T> future = new Future<>();
+        // the new Future must complete by the sooner deadline of the two Futures
+        Deadline deadline = this.deadline;
+        future.deadline = deadline != null ? deadline.earliest(other.deadline) : other.deadline;
+
+        // check if the Future is already completed
+        Object state = this.state;
+        if (isTerminal(state)) {
+            // do not complete the other Future if this Future fails
+            if (state instanceof Failure)
+                future.fail(((Failure) state).error);
+            // try to complete the other Future if this Future was already completed
             else {
-                // try to complete the other Future, when this Future will complete
-                completionHandlers.add(value -> other
+                T value = unwrap(state);
+                other
                     .then(ignored -> future.complete(value))
-                    .except(future::fail));
-                // fail the new Future if this Future fails
-                errorHandlers.add(future::fail);
+                    .except(future::fail);
             }
+        }
 
-            return future;
+        // the Future hasn't been completed yet
+        else {
+            // try to complete the other Future, when this Future will complete,
+            // and fail the new Future if this Future fails
+            register(value -> {
+                // do not wait for the other Future, if the deadline has expired meanwhile
+                if (expire(future))
+                    return;
+                other
+                    .then(ignored -> future.complete(value))
+                    .except(future::fail);
+            }, future::fail);
         }
+
+        // propagate the cancellation of the new Future to both of the Futures
+        future.push(new Upstream(this));
+        future.push(new Upstream(other));
+
+        // fail the new Future at the deadline, even if the other Future is still running
+        Deadline chained = future.deadline;
+        if (chained != null)
+            enforce(future, chained);
+
+        return future;
     }
 
     /**
@@ -1896,7 +2374,7 @@ public class Future<T> implements Promise<T> {
      */
     @CheckReturnValue
     public boolean isCompleted() {
-        return completed;
+        return isTerminal(state);
     }
 
     /**
@@ -1908,58 +2386,134 @@ public class Future<T> implements Promise<T> {
      */
     @CheckReturnValue
     public boolean isFailed() {
-        return failed;
+        return state instanceof Failure;
     }
 
     /**
-     * Perform a task whilst the value is locked.
+     * Indicates whether the future was cancelled before it could complete.
+     * If the Future hasn't been completed yet, this method returns <code>false</code>.
      *
-     * @param task the task to perform
+     * @return <code>true</code> if the Future has been cancelled, <code>false</code> otherwise
+     * @see #cancel()
      */
-    private void executeLockedAsync(@NotNull Runnable task) {
-        // use the executor of the caller's context to run the task on
-        getExecutor(Thread.currentThread().getStackTrace()).execute(() -> {
-            // lock the Future operations and run the task
-            synchronized (lock) {
-                task.run();
-            }
-        });
+    @CheckReturnValue
+    public boolean isCancelled() {
+        Object state = this.state;
+        return state instanceof Failure && ((Failure) state).error instanceof FutureCancellationException;
+    }
+
+    /**
+     * Create a new {@link CompletableFuture}, that is completed with the result of this Future.
+     * <p>
+     * The completion, the failure and the cancellation of this Future is forwarded to the new CompletableFuture
+     * on the completing thread, without blocking, or using any additional threads. A {@link FutureCancellationException}
+     * is mapped to the cancellation of the CompletableFuture.
+     * <p>
+     * If the CompletableFuture is cancelled, this Future is cancelled as well.
+     *
+     * @return a new CompletableFuture
+     */
+    @CheckReturnValue
+    public @NotNull CompletableFuture<T> toCompletableFuture() {
+        Bridge<T> bridge = new Bridge<>(this);
+        push(bridge.node);
+        return bridge;
+    }
+
+    /**
+     * Run the specified task, that completes the specified Future, on the specified executor.
+     * <p>
+     * The task is skipped, if the Future is cancelled before the task starts, and the thread running the task
+     * is interrupted, if the Future is cancelled with interruption, whilst the task is running.
+     * <p>
+     * If the executor rejects the task, for example because its queue is full, the Future is failed with
+     * the rejection error.
+     * <p>
+     * If the task is started by a stage, that has a {@link Deadline}, the Future inherits the deadline, and the task
+     * is skipped, if the deadline expires before the task starts.
+     *
+     * @param executor the executor to run the task on
+     * @param future the Future that is completed by the task
+     * @param task the task to run
+     */
+    private static void execute(@NotNull Executor executor, @NotNull Future<?> future, @NotNull Runnable task) {
+        // inherit the deadline of the stage, that is starting the task
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            future.deadline = deadline;
+            enforce(future, deadline);
+        }
+
+        Task node = new Task(future, task);
+        future.push(node);
+        // record the time of the submission, if the Futures are instrumented
+        if (instrumentation != FutureInstrumentation.NOOP)
+            node.submitted = System.nanoTime();
+        try {
+            executor.execute(node);
+        } catch (RejectedExecutionException e) {
+            future.fail(e);
+        }
+    }
+
+    /**
+     * Indicate whether the specified state is a terminal state of the Future.
+     *
+     * @param state the state to check
+     * @return <code>true</code> if the state represents a completed Future, <code>false</code> otherwise
+     */
+    private static boolean isTerminal(@Nullable Object state) {
+        return state != null && !(state instanceof Node);
+    }
+
+    /**
+     * Retrieve the completion value of the specified successful terminal state.
+     *
+     * @param state the terminal state of the Future
+     * @return the completion value
+     * @param <T> the type of the completion value
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> @Nullable T unwrap(@NotNull Object state) {
+        return state == NULL ? null : (T) state;
     }
 
     /**
      * Create a new Future, that is completed initially using the specified value.
+     * <p>
+     * The Futures of the <code>null</code>, <code>true</code> and <code>false</code> values are shared instances,
+     * as a completed Future can never change its state.
      *
      * @param value the completion result
      * @param <T> the type of the Future
-     * @return a new, completed Future
+     * @return a completed Future
      */
     @CheckReturnValue
+    @SuppressWarnings("unchecked")
     public static <T> @NotNull Future<T> completed(@Nullable T value) {
-        // create a new empty Future
-        Future<T> future = new Future<>();
-
-        // set the future state
-        future.value = value;
-        future.completed = true;
-
-        return future;
+        // use the shared instances for the most common values
+        if (value == null)
+            return (Future<T>) COMPLETED_NULL;
+        if (value instanceof Boolean)
+            return (Future<T>) ((Boolean) value ? COMPLETED_TRUE : COMPLETED_FALSE);
+
+        // create a new Future with the completion value
+        return new Future<>(value);
     }
 
     /**
      * Create a new Future, that is completed without a specified value.
+     * <p>
+     * The returned Future is a shared instance, as a completed Future can never change its state.
      *
      * @param <T> the type of the Future
-     * @return a new, completed Future
+     * @return a completed Future
      */
     @CheckReturnValue
+    @SuppressWarnings("unchecked")
     public static <T> @NotNull Future<T> completed() {
-        // create a new empty Future
-        Future<T> future = new Future<>();
-
-        // set the future state
-        future.completed = true;
-
-        return future;
+        // use the shared instance, as the completion value is always null
+        return (Future<T>) COMPLETED_NULL;
     }
 
     /**
@@ -1971,14 +2525,7 @@ public class Future<T> implements Promise<T> {
      */
     @CheckReturnValue
     public static <T> @NotNull Future<T> completed(@NotNull Supplier<T> value) {
-        // create a new empty Future
-        Future<T> future = new Future<>();
-
-        // set the future state
-        future.value = value.get();
-        future.completed = true;
-
-        return future;
+        return completed(value.get());
     }
 
     /**
@@ -1990,13 +2537,44 @@ public class Future<T> implements Promise<T> {
      */
     @CheckReturnValue
     public static <T> @NotNull Future<T> failed(@NotNull Throwable error) {
-        // create a new empty Future
+        // create a new Future with the failure state
+        return new Future<>(new Failure(error));
+    }
+
+    /**
+     * Create a new Future, that is completed with the result of the specified completion stage.
+     * <p>
+     * The completion and the failure of the stage is forwarded to the new Future on the completing thread, without
+     * blocking, or using any additional threads. The {@link CompletionException} wrappers are unwrapped, and the
+     * cancellation of the stage is mapped to the cancellation of the new Future.
+     * <p>
+     * If the new Future is cancelled, the stage is cancelled as well, if it supports cancellation.
+     *
+     * @param stage the completion stage to complete the Future with
+     * @return a new Future
+     * @param <T> the type of the Future
+     */
+    public static <T> @NotNull Future<T> fromCompletionStage(@NotNull CompletionStage<T> stage) {
         Future<T> future = new Future<>();
 
-        // set the future state
-        future.error = error;
-        future.completed = true;
-        future.failed = true;
+        // forward the result of the stage to the Future
+        stage.whenComplete((value, error) -> {
+            if (error == null) {
+                future.complete(value);
+                return;
+            }
+            // unwrap the error of the dependent stages
+            if (error instanceof CompletionException && error.getCause() != null)
+                error = error.getCause();
+            if (error instanceof CancellationException)
+                future.cancel();
+            else
+                future.fail(error);
+        });
+
+        // propagate the cancellation of the Future to the stage
+        if (stage instanceof java.util.concurrent.Future)
+            future.push(new Foreign((java.util.concurrent.Future<?>) stage));
 
         return future;
     }
@@ -2022,7 +2600,7 @@ public class Future<T> implements Promise<T> {
         Future<T> future = new Future<>();
 
         // complete the future on the executor thread
-        executor.execute(() -> {
+        execute(executor, future, () -> {
             try {
                 future.complete(result);
             } catch (Exception e) {
@@ -2054,7 +2632,7 @@ public class Future<T> implements Promise<T> {
         Future<T> future = new Future<>();
 
         // complete the future on the executor thread
-        executor.execute(() -> {
+        execute(executor, future, () -> {
             try {
                 future.complete(result.get());
             } catch (Exception ignored) {
@@ -2087,7 +2665,7 @@ public class Future<T> implements Promise<T> {
         Future<T> future = new Future<>();
 
         // complete the future on the executor thread
-        executor.execute(() -> {
+        execute(executor, future, () -> {
             try {
                 future.complete(result.get());
             } catch (Throwable e) {
@@ -2118,7 +2696,7 @@ public class Future<T> implements Promise<T> {
         Future<T> future = new Future<>();
 
         // use the executor of the caller class context to run the completion on
-        getExecutor(Thread.currentThread().getStackTrace()).execute(() -> {
+        execute(getExecutor(), future, () -> {
             // complete the future
             try {
                 future.complete(result);
@@ -2149,7 +2727,7 @@ public class Future<T> implements Promise<T> {
         Future<T> future = new Future<>();
 
         // use the executor of the caller class context to run the completion on
-        getExecutor(Thread.currentThread().getStackTrace()).execute(() -> {
+        execute(getExecutor(), future, () -> {
             // complete the future
             try {
                 future.complete(result.get());
@@ -2180,7 +2758,7 @@ public class Future<T> implements Promise<T> {
         Future<T> future = new Future<>();
 
         // use the executor of the caller class context to run the completion on
-        getExecutor(Thread.currentThread().getStackTrace()).execute(() -> {
+        execute(getExecutor(), future, () -> {
             // complete the future
             try {
                 future.complete(result.get());
@@ -2192,6 +2770,77 @@ public class Future<T> implements Promise<T> {
         return future;
     }
 
+    /**
+     * Create a new Future, that runs the specified task on the executor of the caller's context, and retries
+     * the task according to the specified policy, if it fails.
+     * <p>
+     * The retries are delayed using the shared timer, therefore no thread is blocked between the attempts.
+     * If every attempt fails, or the error of an attempt should not be retried, the Future fails with
+     * the error of the last attempt.
+     * <p>
+     * Cancelling the Future stops the retries, and cancels the running attempt.
+     *
+     * @param task the task that produces the result of the Future
+     * @param policy the policy of retrying the failed attempts
+     * @param <T> the type of the future
+     * @return a new Future
+     */
+    @CanIgnoreReturnValue
+    public static <T> @NotNull Future<T> retry(
+        @NotNull ThrowableSupplier<T, Throwable> task, @NotNull RetryPolicy policy
+    ) {
+        return retry(task, policy, getExecutor());
+    }
+
+    /**
+     * Create a new Future, that runs the specified task on the specified executor, and retries the task
+     * according to the specified policy, if it fails.
+     * <p>
+     * The retries are delayed using the shared timer, therefore no thread is blocked between the attempts.
+     * If every attempt fails, or the error of an attempt should not be retried, the Future fails with
+     * the error of the last attempt.
+     * <p>
+     * Cancelling the Future stops the retries, and cancels the running attempt.
+     *
+     * @param task the task that produces the result of the Future
+     * @param policy the policy of retrying the failed attempts
+     * @param executor the executor to run the attempts on
+     * @param <T> the type of the future
+     * @return a new Future
+     */
+    @CanIgnoreReturnValue
+    public static <T> @NotNull Future<T> retry(
+        @NotNull ThrowableSupplier<T, Throwable> task, @NotNull RetryPolicy policy, @NotNull Executor executor
+    ) {
+        return retryAsync(() -> tryCompleteAsync(task, executor), policy);
+    }
+
+    /**
+     * Create a new Future, that is completed by the Future of the specified attempt, and starts a new attempt
+     * according to the specified policy, if the Future of the attempt fails.
+     * <p>
+     * The attempts are started on the calling thread first, then on the global executor, once the delay
+     * counted by the shared timer has passed, therefore the supplier should only start the asynchronous
+     * operation, and not wait for its result.
+     * If every attempt fails, or the error of an attempt should not be retried, the Future fails with
+     * the error of the last attempt.
+     * <p>
+     * Cancelling the Future stops the retries, and cancels the Future of the running attempt.
+     *
+     * @param attempt the supplier, that starts a new attempt
+     * @param policy the policy of retrying the failed attempts
+     * @param <T> the type of the future
+     * @return a new Future
+     */
+    @CanIgnoreReturnValue
+    public static <T> @NotNull Future<T> retryAsync(
+        @NotNull Supplier<@NotNull Future<T>> attempt, @NotNull RetryPolicy policy
+    ) {
+        Retry<T> retry = new Retry<>(attempt, policy);
+        retry.attempt();
+        return retry.future;
+    }
+
     /**
      * Create a new Future, that will be completed automatically on a different thread, after running the specified task.
      * <p>
@@ -2211,7 +2860,7 @@ public class Future<T> implements Promise<T> {
         Future<Void> future = new Future<>();
 
         // use the executor of the caller class context to run the completion on
-        getExecutor(Thread.currentThread().getStackTrace()).execute(() -> {
+        execute(getExecutor(), future, () -> {
             try {
                 task.run();
                 future.complete(null);
@@ -2241,7 +2890,7 @@ public class Future<T> implements Promise<T> {
         Future<Void> future = new Future<>();
 
         // use the executor of the caller class context to run the completion on
-        getExecutor(Thread.currentThread().getStackTrace()).execute(() -> {
+        execute(getExecutor(), future, () -> {
             try {
                 task.run();
                 future.complete(null);
@@ -2272,7 +2921,7 @@ public class Future<T> implements Promise<T> {
         // create an empty future
         Future<Void> future = new Future<>();
 
-        executor.execute(() -> {
+        execute(executor, future, () -> {
             try {
                 task.run();
                 future.complete(null);
@@ -2304,7 +2953,7 @@ public class Future<T> implements Promise<T> {
         // create an empty future
         Future<Void> future = new Future<>();
 
-        executor.execute(() -> {
+        execute(executor, future, () -> {
             try {
                 task.run();
                 future.complete(null);
@@ -2315,6 +2964,56 @@ public class Future<T> implements Promise<T> {
         return future;
     }
 
+    /**
+     * Create a new lazy Future, that will be completed on a different thread using the value of the supplier,
+     * once the first handler is registered on it, or a thread starts waiting for it.
+     * <p>
+     * Unlike {@link #completeAsync(Supplier)}, the supplier is not scheduled, until its result is needed,
+     * therefore an unused lazy Future never consumes the executor. The Futures derived from a lazy Future using
+     * {@link #transform(Function)} and {@link #transformAsync(Function)} are lazy as well, so a pipeline can be
+     * composed without starting any of its work. Cancelling a lazy Future, that has not been started yet,
+     * prevents its supplier from being scheduled.
+     * <p>
+     * If the supplier throws an exception, the Future will be completed with the exception.
+     *
+     * @param supplier the supplier of the completion value
+     * @param <T> the type of the future
+     * @return a new lazy Future
+     */
+    @CheckReturnValue
+    public static <T> @NotNull Future<T> lazy(@NotNull Supplier<T> supplier) {
+        // resolve the executor of the caller class context, whilst the caller is on the stack
+        return lazy(supplier, getExecutor());
+    }
+
+    /**
+     * Create a new lazy Future, that will be completed on the specified executor using the value of the supplier,
+     * once the first handler is registered on it, or a thread starts waiting for it.
+     * <p>
+     * See {@link #lazy(Supplier)} for the details of the lazy evaluation.
+     *
+     * @param supplier the supplier of the completion value
+     * @param executor the executor used to complete the Future on
+     * @param <T> the type of the future
+     * @return a new lazy Future
+     */
+    @CheckReturnValue
+    public static <T> @NotNull Future<T> lazy(@NotNull Supplier<T> supplier, @NotNull Executor executor) {
+        // create an empty future
+        Future<T> future = new Future<>();
+
+        // defer the task, until the first handler is registered, the Future is not yet visible to other threads
+        STATE.lazySet(future, new LazyTask(executor, future, () -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Exception e) {
+                future.fail(e);
+            }
+        }));
+
+        return future;
+    }
+
     /**
      * Try to complete the Future successfully with the value given.
      * Call all the callbacks waiting on the completion of this Future.
@@ -2378,17 +3077,7 @@ public class Future<T> implements Promise<T> {
     ) {
         Future<T> future = new Future<>();
 
-        FutureResolver<T> completer = new FutureResolver<T>() {
-            @Override
-            public boolean onComplete(@Nullable T result) {
-                return future.complete(result);
-            }
-
-            @Override
-            public boolean onFail(@NotNull Throwable error) {
-                return future.fail(error);
-            }
-        };
+        FutureResolver<T> completer = new Completer<>(future);
         callback.accept(completer);
 
         return future;
@@ -2412,17 +3101,7 @@ public class Future<T> implements Promise<T> {
     ) {
         Future<T> future = new Future<>();
 
-        FutureResolver<T> completer = new FutureResolver<T>() {
-            @Override
-            public boolean onComplete(@Nullable T result) {
-                return future.complete(result);
-            }
-
-            @Override
-            public boolean onFail(@NotNull Throwable error) {
-                return future.fail(error);
-            }
-        };
+        FutureResolver<T> completer = new Completer<>(future);
 
         try {
             callback.accept(completer);
@@ -2454,19 +3133,9 @@ public class Future<T> implements Promise<T> {
     ) {
         Future<T> future = new Future<>();
 
-        FutureResolver<T> completer = new FutureResolver<T>() {
-            @Override
-            public boolean onComplete(@Nullable T result) {
-                return future.complete(result);
-            }
-
-            @Override
-            public boolean onFail(@NotNull Throwable error) {
-                return future.fail(error);
-            }
-        };
+        FutureResolver<T> completer = new Completer<>(future);
 
-        executor.execute(() -> callback.accept(completer));
+        execute(executor, future, () -> callback.accept(completer));
 
         return future;
     }
@@ -2485,7 +3154,7 @@ public class Future<T> implements Promise<T> {
      * @param <T> the type of the Future
      */
     public static <T> @NotNull Future<T> resolveAsync(@NotNull Consumer<FutureResolver<T>> callback) {
-        return resolveAsync(callback, getExecutor(Thread.currentThread().getStackTrace()));
+        return resolveAsync(callback, getExecutor());
     }
 
     /**
@@ -2509,19 +3178,9 @@ public class Future<T> implements Promise<T> {
     ) {
         Future<T> future = new Future<>();
 
-        FutureResolver<T> completer = new FutureResolver<T>() {
-            @Override
-            public boolean onComplete(@Nullable T result) {
-                return future.complete(result);
-            }
-
-            @Override
-            public boolean onFail(@NotNull Throwable error) {
-                return future.fail(error);
-            }
-        };
+        FutureResolver<T> completer = new Completer<>(future);
 
-        executor.execute(() -> {
+        execute(executor, future, () -> {
             try {
                 callback.accept(completer);
             } catch (Throwable e) {
@@ -2548,13 +3207,14 @@ public class Future<T> implements Promise<T> {
     public static <T> @NotNull Future<T> tryResolveAsync(
         @NotNull ThrowableConsumer<FutureResolver<T>, Throwable> callback
     ) {
-        return tryResolveAsync(callback, getExecutor(Thread.currentThread().getStackTrace()));
+        return tryResolveAsync(callback, getExecutor());
     }
 
     /**
      * Create a new Future, that will be completed when each of the specified futures are completed.
      * <p>
      * If any of the specified futures fail, the new Future will be failed with the exception.
+     * If no futures are specified, the new Future is completed immediately.
      * <p>
      * The futures completion callbacks are executed parallel.
      *
@@ -2562,23 +3222,14 @@ public class Future<T> implements Promise<T> {
      * @return a new Future
      */
     public static Future<Void> all(@NotNull Future<?>... futures) {
-        Future<Void> future = new Future<>();
-        AtomicInteger counter = new AtomicInteger(futures.length);
-
-        for (Future<?> f : futures) {
-            f.then(val -> {
-                if (counter.decrementAndGet() == 0)
-                    future.complete(null);
-            }).except(future::fail);
-        }
-
-        return future;
+        return aggregate(futures, null, true, values -> null);
     }
 
     /**
      * Create a new Future, that will be completed when each of the specified futures are completed.
      * <p>
      * If any of the specified futures fail, the new Future will be failed with the exception.
+     * If no futures are specified, the new Future is completed immediately.
      * <p>
      * The futures completion callbacks are executed parallel.
      *
@@ -2590,29 +3241,511 @@ public class Future<T> implements Promise<T> {
     }
 
     /**
-     * Resolve the executor for the specified stack trace.
+     * Create a new Future, that will be completed with the values of each of the specified futures,
+     * in the order of the futures.
+     * <p>
+     * If any of the specified futures fail, the new Future will be failed with the exception immediately.
+     * If no futures are specified, the new Future is completed immediately with an empty list.
      *
-     * @param stackTrace the stack trace of the method to be checked
-     * @return the executor for the stack trace or the global executor
+     * @param futures the futures to wait for
+     * @return a new Future of the fixed-size list of the completion values
+     * @param <T> the type of the completion values
      */
-    @CheckReturnValue
-    private static @NotNull Executor getExecutor(@NotNull StackTraceElement @NotNull [] stackTrace) {
-        // validate that the class key and executor resolver functions are not set to null
-        Validator.notNull(contextKeyMapper, "context key mapper");
-        Validator.notNull(contextExecutorMapper, "context executor mapper");
-
-        // retrieve the global executor if the stack trace may not contain the caller class
-        if (stackTrace.length <= 2)
-            return globalExecutor;
+    @SafeVarargs
+    public static <T> @NotNull Future<@NotNull List<T>> allOf(@NotNull Future<? extends T>... futures) {
+        return allOf(Arrays.asList(futures), true);
+    }
 
-        // resolve the class type of the method's caller
-        Class<?> type;
-        try {
-            type = Class.forName(stackTrace[2].getClassName());
-        } catch (ClassNotFoundException ignored) {
-            return globalExecutor;
+    /**
+     * Create a new Future, that will be completed with the values of each of the specified futures,
+     * in the iteration order of the collection.
+     * <p>
+     * If any of the specified futures fail, the new Future will be failed with the exception immediately.
+     * If no futures are specified, the new Future is completed immediately with an empty list.
+     *
+     * @param futures the futures to wait for
+     * @return a new Future of the fixed-size list of the completion values
+     * @param <T> the type of the completion values
+     */
+    public static <T> @NotNull Future<@NotNull List<T>> allOf(
+        @NotNull Collection<? extends Future<? extends T>> futures
+    ) {
+        return allOf(futures, true);
+    }
+
+    /**
+     * Create a new Future, that will be completed with the values of each of the specified futures,
+     * in the iteration order of the collection.
+     * <p>
+     * If <code>failFast</code> is <code>true</code>, the new Future is failed immediately, when any of the
+     * specified futures fail. Otherwise, the new Future waits for each of the futures to complete, and fails with
+     * a new {@link FutureExecutionException}, whose cause is the error of the first failure, and that has the rest
+     * of the errors added as suppressed exceptions.
+     * <p>
+     * If no futures are specified, the new Future is completed immediately with an empty list.
+     *
+     * @param futures the futures to wait for
+     * @param failFast <code>true</code> to fail on the first error, <code>false</code> to collect every error
+     * @return a new Future of the fixed-size list of the completion values
+     * @param <T> the type of the completion values
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull Future<@NotNull List<T>> allOf(
+        @NotNull Collection<? extends Future<? extends T>> futures, boolean failFast
+    ) {
+        Future<?>[] array = futures.toArray(new Future[0]);
+        return aggregate(array, new Object[array.length], failFast, values -> (List<T>) Arrays.asList(values));
+    }
+
+    /**
+     * Create a new Future, that will be completed with an array of the values of each of the specified futures,
+     * in the order of the futures.
+     * <p>
+     * If <code>failFast</code> is <code>true</code>, the new Future is failed immediately, when any of the
+     * specified futures fail. Otherwise, the new Future waits for each of the futures to complete, and fails with
+     * a new {@link FutureExecutionException}, whose cause is the error of the first failure, and that has the rest
+     * of the errors added as suppressed exceptions.
+     * <p>
+     * If no futures are specified, the new Future is completed immediately with an empty array.
+     *
+     * @param futures the futures to wait for
+     * @param generator the function that creates the result array of the specified length
+     * @param failFast <code>true</code> to fail on the first error, <code>false</code> to collect every error
+     * @return a new Future of the array of the completion values
+     * @param <T> the type of the completion values
+     * @throws IllegalArgumentException if the generator created an array of a different length
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull Future<T @NotNull []> allOf(
+        @NotNull Future<? extends T> @NotNull [] futures, @NotNull IntFunction<T[]> generator, boolean failFast
+    ) {
+        // the values are written directly to the result array, therefore it must have a slot for each future
+        T[] values = generator.apply(futures.length);
+        if (values.length != futures.length)
+            throw new IllegalArgumentException(
+                "Generator created an array of length " + values.length + " for " + futures.length + " futures"
+            );
+        return aggregate(futures, values, failFast, array -> (T[]) array);
+    }
+
+    /**
+     * Create a new Future, that will be completed with a map of the values of each of the specified futures,
+     * keyed by the key of the future.
+     * <p>
+     * If any of the specified futures fail, the new Future will be failed with the exception immediately.
+     * If no futures are specified, the new Future is completed immediately with an empty map.
+     *
+     * @param futures the futures to wait for, by their keys
+     * @return a new Future of the map of the completion values, in the iteration order of the specified map
+     * @param <K> the type of the keys
+     * @param <V> the type of the completion values
+     */
+    public static <K, V> @NotNull Future<@NotNull Map<K, V>> allOf(
+        @NotNull Map<K, ? extends Future<? extends V>> futures
+    ) {
+        return allOf(futures, true);
+    }
+
+    /**
+     * Create a new Future, that will be completed with a map of the values of each of the specified futures,
+     * keyed by the key of the future.
+     * <p>
+     * If <code>failFast</code> is <code>true</code>, the new Future is failed immediately, when any of the
+     * specified futures fail. Otherwise, the new Future waits for each of the futures to complete, and fails with
+     * a new {@link FutureExecutionException}, whose cause is the error of the first failure, and that has the rest
+     * of the errors added as suppressed exceptions.
+     * <p>
+     * If no futures are specified, the new Future is completed immediately with an empty map.
+     *
+     * @param futures the futures to wait for, by their keys
+     * @param failFast <code>true</code> to fail on the first error, <code>false</code> to collect every error
+     * @return a new Future of the map of the completion values, in the iteration order of the specified map
+     * @param <K> the type of the keys
+     * @param <V> the type of the completion values
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> @NotNull Future<@NotNull Map<K, V>> allOf(
+        @NotNull Map<K, ? extends Future<? extends V>> futures, boolean failFast
+    ) {
+        // take a snapshot of the keys and the futures, so that the indices of the values match the keys
+        int size = futures.size();
+        Object[] keys = new Object[size];
+        Future<?>[] array = new Future[size];
+        int index = 0;
+        for (Map.Entry<K, ? extends Future<? extends V>> entry : futures.entrySet()) {
+            keys[index] = entry.getKey();
+            array[index++] = entry.getValue();
+        }
+
+        return aggregate(array, new Object[size], failFast, values -> {
+            Map<K, V> result = new LinkedHashMap<>((int) (size / 0.75F) + 1);
+            for (int i = 0; i < size; i++)
+                result.put((K) keys[i], (V) values[i]);
+            return result;
+        });
+    }
+
+    /**
+     * Create a new Future, that will be completed when each of the specified futures are completed.
+     * <p>
+     * Each future gets a single {@link Element} node, that writes the completion value directly to its slot of the
+     * pre-sized value array, and the last completion creates the result using the finisher.
+     *
+     * @param futures the futures to wait for
+     * @param values the array to store the completion values in, or <code>null</code> to discard them
+     * @param failFast <code>true</code> to fail on the first error, <code>false</code> to collect every error
+     * @param finisher the function that creates the result from the completion values
+     * @return a new Future
+     * @param <R> the type of the result
+     */
+    private static <R> @NotNull Future<R> aggregate(
+        @NotNull Future<?> @NotNull [] futures, @Nullable Object @Nullable [] values, boolean failFast,
+        @NotNull Function<Object[], R> finisher
+    ) {
+        Future<R> future = new Future<>();
+
+        // there is nothing to wait for, complete the Future immediately
+        if (futures.length == 0) {
+            future.complete(finisher.apply(values));
+            return future;
+        }
+
+        Aggregate<R> aggregate = new Aggregate<>(future, values, futures.length, failFast, finisher);
+        for (int i = 0; i < futures.length; i++) {
+            // stop registering, if an input has already failed the Future
+            if (failFast && future.isCompleted())
+                break;
+            futures[i].push(new Element(aggregate, i));
+        }
+
+        return future;
+    }
+
+    /**
+     * Create a new Future, that will be completed with the results of the specified asynchronous function
+     * applied to each element of the collection, in the iteration order of the collection.
+     * <p>
+     * At most <code>parallelism</code> number of the Futures returned by the function are pending at the same time,
+     * the function is applied to the next element, when one of them completes. The function is called on the
+     * calling thread for the first elements, and on the threads completing the pending Futures afterwards.
+     * <p>
+     * If any of the Futures fail, or the function throws an exception, the new Future will be failed with the
+     * exception immediately, and the function is not applied to the rest of the elements. Cancelling the new Future
+     * stops the function from being applied to the rest of the elements as well.
+     *
+     * @param input the elements to apply the function to
+     * @param function the asynchronous function to apply to each element
+     * @param parallelism the maximum number of the pending Futures of the function
+     * @return a new Future of the fixed-size list of the results
+     * @param <T> the type of the elements
+     * @param <U> the type of the results
+     *
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    @CanIgnoreReturnValue
+    public static <T, U> @NotNull Future<@NotNull List<U>> traverse(
+        @NotNull Collection<? extends T> input, @NotNull Function<? super T, ? extends Future<? extends U>> function,
+        int parallelism
+    ) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+
+        Future<List<U>> future = new Future<>();
+        Traversal<T, U> traversal = new Traversal<>(future, input.toArray(), function);
+
+        // there is nothing to traverse, complete the Future immediately
+        if (traversal.items.length == 0) {
+            future.complete(Collections.emptyList());
+            return future;
+        }
+
+        // start the first parallel lanes, each of them moves to the next element, when its Future completes
+        for (int i = Math.min(parallelism, traversal.items.length); i > 0 && !future.isCompleted(); i--)
+            traversal.run();
+
+        return future;
+    }
+
+    /**
+     * Create a new Future, that will be completed with the results of the specified function applied to each
+     * element of the collection on the executor of the caller class context, in the iteration order of the
+     * collection.
+     * <p>
+     * See {@link #parallelMap(Collection, Function, Executor)} for the details of the parallel mapping.
+     *
+     * @param input the elements to apply the function to
+     * @param function the function to apply to each element
+     * @return a new Future of the fixed-size list of the results
+     * @param <T> the type of the elements
+     * @param <U> the type of the results
+     */
+    @CanIgnoreReturnValue
+    public static <T, U> @NotNull Future<@NotNull List<U>> parallelMap(
+        @NotNull Collection<? extends T> input, @NotNull Function<? super T, ? extends U> function
+    ) {
+        // resolve the executor of the caller class context, whilst the caller is on the stack
+        return parallelMap(input, function, getExecutor());
+    }
+
+    /**
+     * Create a new Future, that will be completed with the results of the specified function applied to each
+     * element of the collection on the specified executor, in the iteration order of the collection.
+     * <p>
+     * Instead of submitting a task and creating a Future for each element, the input is split into chunks,
+     * and only as many tasks are submitted, as the parallelism of the executor. Each task keeps claiming the next
+     * unprocessed chunk, until every chunk is processed, therefore the tasks, that finish their chunks sooner,
+     * take over the remaining work of the slower ones. The results are written directly to a pre-sized array.
+     * <p>
+     * If the function throws an exception, the new Future will be failed with the exception immediately, and the
+     * rest of the chunks are not processed. Cancelling the new Future stops the processing of the rest of the
+     * chunks as well.
+     *
+     * @param input the elements to apply the function to
+     * @param function the function to apply to each element
+     * @param executor the executor to apply the function on
+     * @return a new Future of the fixed-size list of the results
+     * @param <T> the type of the elements
+     * @param <U> the type of the results
+     */
+    @CanIgnoreReturnValue
+    public static <T, U> @NotNull Future<@NotNull List<U>> parallelMap(
+        @NotNull Collection<? extends T> input, @NotNull Function<? super T, ? extends U> function,
+        @NotNull Executor executor
+    ) {
+        Future<List<U>> future = new Future<>();
+        Object[] items = input.toArray();
+
+        // there is nothing to map, complete the Future immediately
+        if (items.length == 0) {
+            future.complete(Collections.emptyList());
+            return future;
+        }
+
+        // split the input to a few chunks per worker, so that the work is balanced, if some chunks are slower
+        int parallelism = Math.min(getParallelism(executor), items.length);
+        int chunks = Math.min(parallelism * CHUNKS_PER_WORKER, items.length);
+        ParallelMap<T, U> map = new ParallelMap<>(future, items, function, (items.length + chunks - 1) / chunks);
+
+        // submit a worker for each unit of parallelism, each of them processes chunks until there is none left
+        boolean submitted = false;
+        for (int i = 0; i < parallelism; i++) {
+            try {
+                executor.execute(map);
+                submitted = true;
+            } catch (RejectedExecutionException e) {
+                // the submitted workers process the chunks of the rejected ones as well
+                if (!submitted)
+                    future.fail(e);
+                break;
+            }
+        }
+
+        return future;
+    }
+
+    /**
+     * Estimate the number of the tasks, that the specified executor is able to run in parallel.
+     *
+     * @param executor the executor to estimate the parallelism of
+     * @return the parallelism of the executor, or the number of the processors, if it is unknown
+     */
+    private static int getParallelism(@NotNull Executor executor) {
+        if (executor instanceof ForkJoinPool)
+            return ((ForkJoinPool) executor).getParallelism();
+        // the unbounded thread pools are limited by the processors, rather than by their threads
+        if (executor instanceof ThreadPoolExecutor) {
+            int threads = ((ThreadPoolExecutor) executor).getMaximumPoolSize();
+            if (threads < Integer.MAX_VALUE)
+                return threads;
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Create a new Future, that will be completed with the result of the first of the specified futures
+     * to complete, either successfully or unsuccessfully.
+     * <p>
+     * This is the untyped counterpart of {@link #race(Future[])}, that accepts futures of different types.
+     * Once the new Future is completed, the remaining futures are cancelled.
+     *
+     * @param futures the futures to wait for
+     * @return a new Future
+     *
+     * @throws IllegalArgumentException if no futures were specified
+     */
+    public static @NotNull Future<Object> any(@NotNull Future<?>... futures) {
+        return contest(futures, false);
+    }
+
+    /**
+     * Create a new Future, that will be completed with the result of the first of the specified futures
+     * to complete, either successfully or unsuccessfully.
+     * <p>
+     * This is the untyped counterpart of {@link #race(Collection)}, that accepts futures of different types.
+     * Once the new Future is completed, the remaining futures are cancelled.
+     *
+     * @param futures the futures to wait for
+     * @return a new Future
+     *
+     * @throws IllegalArgumentException if no futures were specified
+     */
+    public static @NotNull Future<Object> any(@NotNull Collection<Future<?>> futures) {
+        return contest(futures.toArray(new Future[0]), false);
+    }
+
+    /**
+     * Create a new Future, that will be completed with the result of the first of the specified futures
+     * to complete, either successfully or unsuccessfully.
+     * <p>
+     * Once the new Future is completed, the remaining futures are cancelled, so that they can stop their work.
+     * If the new Future is cancelled, all the specified futures are cancelled.
+     *
+     * @param futures the futures to race
+     * @return a new Future
+     * @param <T> the type of the Future
+     *
+     * @throws IllegalArgumentException if no futures were specified
+     */
+    @SafeVarargs
+    public static <T> @NotNull Future<T> race(@NotNull Future<? extends T>... futures) {
+        return contest(futures, false);
+    }
+
+    /**
+     * Create a new Future, that will be completed with the result of the first of the specified futures
+     * to complete, either successfully or unsuccessfully.
+     * <p>
+     * Once the new Future is completed, the remaining futures are cancelled, so that they can stop their work.
+     * If the new Future is cancelled, all the specified futures are cancelled.
+     *
+     * @param futures the futures to race
+     * @return a new Future
+     * @param <T> the type of the Future
+     *
+     * @throws IllegalArgumentException if no futures were specified
+     */
+    public static <T> @NotNull Future<T> race(@NotNull Collection<? extends Future<? extends T>> futures) {
+        return contest(futures.toArray(new Future[0]), false);
+    }
+
+    /**
+     * Create a new Future, that will be completed with the value of the first of the specified futures
+     * to complete successfully.
+     * <p>
+     * The failures are ignored, until each of the specified futures have failed, in which case the new Future is
+     * failed with a new {@link FutureExecutionException}, whose cause is the error of the first failure, and the rest
+     * of the errors are added to it as suppressed exceptions.
+     * <p>
+     * Once the new Future is completed, the remaining futures are cancelled, so that they can stop their work.
+     * If the new Future is cancelled, all the specified futures are cancelled.
+     *
+     * @param futures the futures to wait for
+     * @return a new Future
+     * @param <T> the type of the Future
+     *
+     * @throws IllegalArgumentException if no futures were specified
+     */
+    @SafeVarargs
+    public static <T> @NotNull Future<T> firstSuccessful(@NotNull Future<? extends T>... futures) {
+        return contest(futures, true);
+    }
+
+    /**
+     * Create a new Future, that will be completed with the value of the first of the specified futures
+     * to complete successfully.
+     * <p>
+     * The failures are ignored, until each of the specified futures have failed, in which case the new Future is
+     * failed with a new {@link FutureExecutionException}, whose cause is the error of the first failure, and the rest
+     * of the errors are added to it as suppressed exceptions.
+     * <p>
+     * Once the new Future is completed, the remaining futures are cancelled, so that they can stop their work.
+     * If the new Future is cancelled, all the specified futures are cancelled.
+     *
+     * @param futures the futures to wait for
+     * @return a new Future
+     * @param <T> the type of the Future
+     *
+     * @throws IllegalArgumentException if no futures were specified
+     */
+    public static <T> @NotNull Future<T> firstSuccessful(@NotNull Collection<? extends Future<? extends T>> futures) {
+        return contest(futures.toArray(new Future[0]), true);
+    }
+
+    /**
+     * Create a new Future, that will be completed by the first qualifying result of the specified futures.
+     *
+     * @param futures the futures to wait for
+     * @param ignoreFailures <code>true</code> if only successful completions should complete the Future
+     * @return a new Future
+     * @param <T> the type of the Future
+     *
+     * @throws IllegalArgumentException if no futures were specified
+     */
+    private static <T> @NotNull Future<T> contest(@NotNull Future<?> @NotNull [] futures, boolean ignoreFailures) {
+        if (futures.length == 0)
+            throw new IllegalArgumentException("Cannot wait for the first result of no futures");
+
+        Future<T> future = new Future<>();
+        Contest contest = new Contest(future, futures, ignoreFailures);
+
+        // cancel the remaining futures, once the result has been decided, or the Future has been cancelled
+        future.push(contest);
+
+        // register a contestant node for each future, which stops at the first decided result
+        for (Future<?> f : futures) {
+            if (future.isCompleted())
+                break;
+            f.push(new Contestant(contest));
         }
 
+        return future;
+    }
+
+    /**
+     * Resolve the executor of the context of the caller class.
+     * <p>
+     * The caller class is only resolved, if a custom {@link #contextExecutorMapper} has been set.
+     *
+     * @return the executor of the caller's context or the global executor
+     */
+    @CheckReturnValue
+    private static @NotNull Executor getExecutor() {
+        // validate that the class key and executor resolver functions are not set to null
+        Validator.notNull(contextKeyMapper, "context key mapper");
+        Validator.notNull(contextExecutorMapper, "context executor mapper");
+
+        // every context uses the global executor by default, therefore there is no need to resolve the caller
+        if (isDefaultContextMapper())
+            return globalExecutor;
+
+        // resolve the class type of the method's caller
+        Class<?> type = CallerResolver.getCallerClass();
+        if (type == null)
+            return globalExecutor;
+
+        return getContextExecutor(type);
+    }
+
+    /**
+     * Resolve the executor of the context of the specified class.
+     * <p>
+     * The asynchronous methods, that do not take an executor, resolve the context of their caller on each call.
+     * If a class schedules many tasks, consider retrieving its executor once with this method, and passing it
+     * to the methods that take an explicit executor.
+     *
+     * @param type the class to resolve the context executor for
+     * @return the executor of the context of the class or the global executor
+     */
+    @CheckReturnValue
+    public static @NotNull Executor getContextExecutor(@NotNull Class<?> type) {
+        // validate that the class key and executor resolver functions are not set to null
+        Validator.notNull(contextKeyMapper, "context key mapper");
+        Validator.notNull(contextExecutorMapper, "context executor mapper");
+
+        // every context uses the global executor by default
+        if (isDefaultContextMapper())
+            return globalExecutor;
+
         // resolve the key to cache the class executor with
         Object key = contextKeyMapper.apply(type);
         Validator.notNull(key, "context key");
@@ -2634,4 +3767,1517 @@ public class Future<T> implements Promise<T> {
         // unable to resolve the executor, return the global executor instead
         return globalExecutor;
     }
+
+    /**
+     * Indicate whether the context executor mapper is the default one, that maps every context to the
+     * global executor.
+     *
+     * @return <code>true</code> if the context executor mapper has not been changed, <code>false</code> otherwise
+     */
+    private static boolean isDefaultContextMapper() {
+        return contextExecutorMapper == DEFAULT_CONTEXT_EXECUTOR_MAPPER;
+    }
+
+    /**
+     * Represents an entry of the handler stack of a pending Future.
+     * <p>
+     * The nodes are the handlers themselves, so that registering the most common handlers only allocates
+     * a single object, which is stored directly in the state of the Future, if it is the only handler.
+     */
+    private abstract static class Node {
+        /**
+         * The field updater used to atomically unlink the dead waiters following the node.
+         */
+        static final @NotNull AtomicReferenceFieldUpdater<Node, Node> NEXT =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+        /**
+         * The next node of the stack, that was registered before this node.
+         * <p>
+         * The link is written using ordered stores, as it is only swapped concurrently, when a dead waiter
+         * is unlinked from the stack.
+         */
+        volatile @Nullable Node next;
+
+        /**
+         * Handle the completion of the Future.
+         *
+         * @param result the terminal state of the Future
+         */
+        abstract void fire(@NotNull Object result);
+    }
+
+    /**
+     * Represents an entry of the handler stack, that calls a completion and a failure handler.
+     */
+    private static final class Handler extends Node {
+        /**
+         * The handler to be called when the Future completes successfully.
+         */
+        private final @Nullable Consumer<?> onComplete;
+
+        /**
+         * The handler to be called when the Future completes with an error.
+         */
+        private final @Nullable Consumer<Throwable> onError;
+
+        /**
+         * Initialize the handler node.
+         *
+         * @param onComplete the successful completion handler
+         * @param onError the failed completion handler
+         */
+        private Handler(@Nullable Consumer<?> onComplete, @Nullable Consumer<Throwable> onError) {
+            this.onComplete = onComplete;
+            this.onError = onError;
+        }
+
+        /**
+         * Call the completion or failure handler, depending on the terminal state.
+         *
+         * @param result the terminal state of the Future
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        void fire(@NotNull Object result) {
+            // call the failure handler if the completion was unsuccessful
+            if (result instanceof Failure) {
+                if (onError != null)
+                    onError.accept(((Failure) result).error);
+            }
+            // call the completion handler if the completion was successful
+            else if (onComplete != null)
+                ((Consumer<Object>) onComplete).accept(unwrap(result));
+        }
+    }
+
+    /**
+     * Represents an entry of the handler stack, that calls a completion or a failure handler on an executor.
+     * <p>
+     * Upon completion, the asynchronous handlers bound to the same executor are grouped into a {@link Batch},
+     * so that the executor receives a single task for all of them.
+     */
+    private static final class Async extends Node {
+        /**
+         * The executor to run the handler on.
+         */
+        private final @NotNull Executor executor;
+
+        /**
+         * The handler to be called when the Future completes successfully.
+         */
+        private final @Nullable Consumer<?> onComplete;
+
+        /**
+         * The handler to be called when the Future completes with an error.
+         */
+        private final @Nullable Consumer<Throwable> onError;
+
+        /**
+         * Initialize the asynchronous handler node.
+         *
+         * @param executor the executor to run the handler on
+         * @param onComplete the successful completion handler
+         * @param onError the failed completion handler
+         */
+        private Async(
+            @NotNull Executor executor, @Nullable Consumer<?> onComplete, @Nullable Consumer<Throwable> onError
+        ) {
+            this.executor = executor;
+            this.onComplete = onComplete;
+            this.onError = onError;
+        }
+
+        /**
+         * Indicate whether this node has a handler for the specified terminal state.
+         *
+         * @param result the terminal state of the Future
+         * @return <code>true</code> if a handler should be called for the result
+         */
+        private boolean accepts(@NotNull Object result) {
+            return result instanceof Failure ? onError != null : onComplete != null;
+        }
+
+        /**
+         * Submit the handler of the terminal state to the executor.
+         *
+         * @param result the terminal state of the Future
+         */
+        @Override
+        void fire(@NotNull Object result) {
+            if (accepts(result))
+                executor.execute(() -> handle(result));
+        }
+
+        /**
+         * Call the completion or failure handler on the current thread, depending on the terminal state.
+         *
+         * @param result the terminal state of the Future
+         */
+        @SuppressWarnings("unchecked")
+        private void handle(@NotNull Object result) {
+            // call the failure handler if the completion was unsuccessful
+            if (result instanceof Failure)
+                onError.accept(((Failure) result).error);
+            // call the completion handler if the completion was successful
+            else
+                ((Consumer<Object>) onComplete).accept(unwrap(result));
+        }
+    }
+
+    /**
+     * Represents a group of asynchronous handlers bound to the same executor, that are run by a single task,
+     * in the order of their registration.
+     */
+    private static final class Batch implements Runnable {
+        /**
+         * The executor to run the handlers on.
+         */
+        private final @NotNull Executor executor;
+
+        /**
+         * The first handler of the batch.
+         */
+        private final @NotNull Async head;
+
+        /**
+         * The last handler of the batch.
+         */
+        private @NotNull Async tail;
+
+        /**
+         * The terminal state of the Future, that the handlers are called with.
+         */
+        private @Nullable Object result;
+
+        /**
+         * The next batch of a different executor.
+         */
+        private @Nullable Batch next;
+
+        /**
+         * Initialize the batch.
+         *
+         * @param head the first handler of the batch
+         */
+        private Batch(@NotNull Async head) {
+            this.executor = head.executor;
+            this.head = head;
+            this.tail = head;
+            Node.NEXT.lazySet(head, null);
+        }
+
+        /**
+         * Append the specified handler to the batch of its executor, or create a new batch, if there is none yet.
+         * <p>
+         * The number of the distinct executors is expected to be small, so the batches are found by a linear scan.
+         *
+         * @param batches the first batch of the list, or <code>null</code> if there are no batches yet
+         * @param node the handler to append
+         * @return the first batch of the list
+         */
+        private static @NotNull Batch append(@Nullable Batch batches, @NotNull Async node) {
+            if (batches == null)
+                return new Batch(node);
+
+            // find the batch of the executor, or the last batch of the list
+            Batch batch = batches;
+            while (batch.executor != node.executor && batch.next != null)
+                batch = batch.next;
+
+            // append a new batch to the end of the list, to keep the order of the executors
+            if (batch.executor != node.executor)
+                batch.next = new Batch(node);
+            // the node list is reused to keep the registration order of the handlers
+            else {
+                Node.NEXT.lazySet(node, null);
+                Node.NEXT.lazySet(batch.tail, node);
+                batch.tail = node;
+            }
+            return batches;
+        }
+
+        /**
+         * Submit the handlers of the batch to the executor, that accept the specified terminal state.
+         *
+         * @param result the terminal state of the Future
+         */
+        private void submit(@NotNull Object result) {
+            // skip the batch, if none of the handlers should be called for the result
+            Node node = head;
+            while (node != null && !((Async) node).accepts(result))
+                node = node.next;
+            if (node == null)
+                return;
+
+            this.result = result;
+            try {
+                executor.execute(this);
+            } catch (Throwable ignored) {
+                // do not let a rejecting executor prevent the other batches from being submitted
+            }
+        }
+
+        /**
+         * Call the handlers of the batch one by one on the current thread.
+         */
+        @Override
+        public void run() {
+            Object result = this.result;
+            assert result != null;
+            for (Node node = head; node != null; node = node.next) {
+                Async async = (Async) node;
+                if (!async.accepts(result))
+                    continue;
+                // measure the time spent in the handler, if the Futures are instrumented
+                FutureInstrumentation instrumentation = Future.instrumentation;
+                long start = instrumentation != FutureInstrumentation.NOOP ? System.nanoTime() : 0;
+                try {
+                    async.handle(result);
+                } catch (Throwable ignored) {
+                    // do not let a failing handler prevent the rest of the batch from being called
+                }
+                if (instrumentation != FutureInstrumentation.NOOP)
+                    instrumentation.onHandler(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Represents an entry of the handler stack, that completes another Future with the same result.
+     */
+    private static final class Relay extends Node {
+        /**
+         * The Future to complete with the result.
+         */
+        private final @NotNull Future<?> target;
+
+        /**
+         * Initialize the relay node.
+         *
+         * @param target the Future to complete with the result
+         */
+        private Relay(@NotNull Future<?> target) {
+            this.target = target;
+        }
+
+        /**
+         * Complete the target Future with the terminal state, which is shared, as it is immutable.
+         *
+         * @param result the terminal state of the Future
+         */
+        @Override
+        void fire(@NotNull Object result) {
+            target.finish(result);
+        }
+    }
+
+    /**
+     * Represents an entry of the handler stack, that completes another Future with the transformed value.
+     *
+     * @param <T> the type of the completion value
+     * @param <U> the type of the transformed value
+     */
+    private static final class Transform<T, U> extends Node {
+        /**
+         * The Future to complete with the transformed value.
+         */
+        private final @NotNull Future<U> target;
+
+        /**
+         * The function that transforms the completion value.
+         */
+        private final @NotNull Function<T, U> transformer;
+
+        /**
+         * Initialize the transform node.
+         *
+         * @param target the Future to complete with the transformed value
+         * @param transformer the function that transforms the completion value
+         */
+        private Transform(@NotNull Future<U> target, @NotNull Function<T, U> transformer) {
+            this.target = target;
+            this.transformer = transformer;
+        }
+
+        /**
+         * Complete the target Future with the transformed value, or forward the error of the Future.
+         *
+         * @param result the terminal state of the Future
+         */
+        @Override
+        void fire(@NotNull Object result) {
+            // forward the failure state as is
+            if (result instanceof Failure) {
+                target.finish(result);
+                return;
+            }
+
+            // do not transform the value, if the deadline of the chain has expired meanwhile
+            if (expire(target))
+                return;
+
+            // try to transform the Future value, whilst the deadline is available to the transformer
+            Deadline deadline = target.deadline;
+            Deadline previous = deadline != null ? Deadline.enter(deadline) : null;
+            try {
+                target.complete(transformer.apply(unwrap(result)));
+            } catch (Exception e) {
+                // unable to transform the value, fail the Future
+                target.fail(e);
+            } finally {
+                if (deadline != null)
+                    Deadline.exit(previous);
+            }
+        }
+    }
+
+    /**
+     * Represents an entry of the handler stack of a derived Future, that propagates its cancellation to
+     * the Future it has been derived from.
+     */
+    private static final class Upstream extends Node {
+        /**
+         * The Future to cancel, when the derived Future is cancelled.
+         */
+        private final @NotNull Future<?> source;
+
+        /**
+         * Initialize the upstream node.
+         *
+         * @param source the Future to cancel, when the derived Future is cancelled
+         */
+        private Upstream(@NotNull Future<?> source) {
+            this.source = source;
+        }
+
+        /**
+         * Cancel the source Future, if the derived Future has been cancelled.
+         *
+         * @param result the terminal state of the derived Future
+         */
+        @Override
+        void fire(@NotNull Object result) {
+            if (result instanceof Cancellation)
+                source.cancel(((Cancellation) result).mayInterrupt);
+        }
+    }
+
+    /**
+     * Represents the state of a retried operation, that is registered on the handler stack of its Future,
+     * so that the cancellation of the Future stops the retries.
+     *
+     * @param <T> the type of the result
+     */
+    private static final class Retry<T> extends Node {
+        /**
+         * The supplier, that starts a new attempt.
+         */
+        private final @NotNull Supplier<@NotNull Future<T>> task;
+
+        /**
+         * The policy of retrying the failed attempts.
+         */
+        private final @NotNull RetryPolicy policy;
+
+        /**
+         * The Future completed by the successful attempt.
+         */
+        private final @NotNull Future<T> future;
+
+        /**
+         * The number of the started attempts. The attempts are started sequentially, after the previous
+         * attempt has failed, therefore the counter does not need to be atomic.
+         */
+        private int attempts;
+
+        /**
+         * The Future of the running attempt.
+         */
+        private volatile @Nullable Future<T> current;
+
+        /**
+         * The scheduled start of the next attempt.
+         */
+        private volatile HashedWheelTimer.@Nullable Timeout delay;
+
+        /**
+         * Initialize the retry, and create its Future.
+         *
+         * @param task the supplier, that starts a new attempt
+         * @param policy the policy of retrying the failed attempts
+         */
+        private Retry(@NotNull Supplier<@NotNull Future<T>> task, @NotNull RetryPolicy policy) {
+            this.task = task;
+            this.policy = policy;
+            this.future = new Future<>(this);
+        }
+
+        /**
+         * Start a new attempt, unless the Future has been completed meanwhile.
+         */
+        private void attempt() {
+            if (future.isCompleted())
+                return;
+            attempts++;
+
+            // start the attempt, and retry it, if it could not be started
+            Future<T> attempt;
+            try {
+                attempt = task.get();
+            } catch (Throwable e) {
+                retry(e);
+                return;
+            }
+            current = attempt;
+
+            // the Future might have been cancelled, before the attempt was published
+            Object state = future.state;
+            if (state instanceof Cancellation) {
+                attempt.cancel(((Cancellation) state).mayInterrupt);
+                return;
+            }
+
+            // fail the attempt, if it exceeds the timeout of the policy
+            long timeout = policy.getAttemptTimeout();
+            Future<T> timed = timeout > 0 ? attempt.timeout(timeout) : attempt;
+            timed.register(future::complete, error -> {
+                // cancel the attempt, that has exceeded the timeout, as its result is no longer needed
+                if (error instanceof FutureTimeoutException)
+                    attempt.cancel(true);
+                retry(error);
+            });
+        }
+
+        /**
+         * Schedule the next attempt, if the failed attempt should be retried, otherwise fail the Future.
+         *
+         * @param error the error of the failed attempt
+         */
+        private void retry(@NotNull Throwable error) {
+            if (future.isCompleted())
+                return;
+
+            // fail the future, if there are no more attempts left, or the error should not be retried
+            if (attempts >= policy.getMaxAttempts() || !policy.shouldRetry(error)) {
+                future.fail(error);
+                return;
+            }
+
+            // schedule the next attempt on the shared timer, instead of blocking a thread until the delay passes,
+            // and start the attempt on the global executor, so that the supplier does not run on the timer thread
+            HashedWheelTimer.Timeout delay = Threading.getTimer().schedule(
+                this::attempt, policy.getDelay(attempts), TimeUnit.MILLISECONDS, globalExecutor
+            );
+            this.delay = delay;
+            // the Future might have been cancelled, before the delay was published
+            if (future.isCompleted())
+                delay.cancel();
+        }
+
+        /**
+         * Stop the retries, and cancel the running attempt, if the Future has been cancelled.
+         *
+         * @param result the terminal state of the Future
+         */
+        @Override
+        void fire(@NotNull Object result) {
+            if (!(result instanceof Cancellation))
+                return;
+
+            HashedWheelTimer.Timeout delay = this.delay;
+            if (delay != null)
+                delay.cancel();
+            Future<T> current = this.current;
+            if (current != null)
+                current.cancel(((Cancellation) result).mayInterrupt);
+        }
+    }
+
+    /**
+     * Represents an entry of the handler stack of a Future, that propagates its cancellation to a
+     * {@link java.util.concurrent.Future} of another library.
+     */
+    private static final class Foreign extends Node {
+        /**
+         * The foreign future to cancel, when the Future is cancelled.
+         */
+        private final java.util.concurrent.@NotNull Future<?> source;
+
+        /**
+         * Initialize the foreign node.
+         *
+         * @param source the foreign future to cancel, when the Future is cancelled
+         */
+        private Foreign(java.util.concurrent.@NotNull Future<?> source) {
+            this.source = source;
+        }
+
+        /**
+         * Cancel the foreign future, if the Future has been cancelled.
+         *
+         * @param result the terminal state of the Future
+         */
+        @Override
+        void fire(@NotNull Object result) {
+            if (result instanceof Cancellation)
+                source.cancel(((Cancellation) result).mayInterrupt);
+        }
+    }
+
+    /**
+     * Represents a {@link CompletableFuture}, that is completed by a Future, and cancels the Future,
+     * when it is cancelled.
+     *
+     * @param <T> the type of the completion value
+     */
+    private static final class Bridge<T> extends CompletableFuture<T> {
+        /**
+         * The Future that completes the bridge.
+         */
+        private final @NotNull Future<T> source;
+
+        /**
+         * The handler node, that forwards the result of the Future to the bridge.
+         */
+        private final @NotNull Node node = new Node() {
+            @Override
+            @SuppressWarnings("unchecked")
+            void fire(@NotNull Object result) {
+                if (result instanceof Failure) {
+                    Throwable error = ((Failure) result).error;
+                    // map the cancellation of the Future to the cancellation of the bridge
+                    if (error instanceof FutureCancellationException)
+                        Bridge.super.cancel(result instanceof Cancellation && ((Cancellation) result).mayInterrupt);
+                    else
+                        completeExceptionally(error);
+                } else
+                    complete((T) unwrap(result));
+            }
+        };
+
+        /**
+         * Initialize the bridge.
+         *
+         * @param source the Future that completes the bridge
+         */
+        private Bridge(@NotNull Future<T> source) {
+            this.source = source;
+        }
+
+        /**
+         * Cancel the bridge, and the Future that completes it.
+         *
+         * @param mayInterrupt <code>true</code> if the thread running the task of the Future should be interrupted
+         * @return <code>true</code> if the bridge has been cancelled, <code>false</code> otherwise
+         */
+        @Override
+        public boolean cancel(boolean mayInterrupt) {
+            boolean cancelled = super.cancel(mayInterrupt);
+            source.cancel(mayInterrupt);
+            return cancelled;
+        }
+    }
+
+    /**
+     * Represents the bottom of the handler stack of a lazy Future, that starts the work of the Future,
+     * when the first handler is registered on it.
+     */
+    private abstract static class Lazy extends Node {
+        /**
+         * The field updater used to atomically modify the {@link #started} flag of the lazy node.
+         */
+        private static final @NotNull AtomicIntegerFieldUpdater<Lazy> STARTED =
+            AtomicIntegerFieldUpdater.newUpdater(Lazy.class, "started");
+
+        /**
+         * Indicates, whether the work has been started, or the Future has been completed without it.
+         */
+        private volatile int started;
+
+        /**
+         * Start the work of the Future, unless it has already been started.
+         */
+        final void start() {
+            if (started == 0 && STARTED.compareAndSet(this, 0, 1))
+                run();
+        }
+
+        /**
+         * Run the work of the Future.
+         */
+        abstract void run();
+
+        /**
+         * Prevent the work from being started, as the Future has been completed without it.
+         *
+         * @param result the terminal state of the Future
+         */
+        @Override
+        void fire(@NotNull Object result) {
+            started = 1;
+        }
+    }
+
+    /**
+     * Represents the deferred task of a lazy Future, that is submitted to the executor, once the work is started.
+     */
+    private static final class LazyTask extends Lazy {
+        /**
+         * The executor to run the task on.
+         */
+        private final @NotNull Executor executor;
+
+        /**
+         * The Future that is completed by the task.
+         */
+        private final @NotNull Future<?> future;
+
+        /**
+         * The body of the task.
+         */
+        private final @NotNull Runnable body;
+
+        /**
+         * Initialize the lazy task.
+         *
+         * @param executor the executor to run the task on
+         * @param future the Future that is completed by the task
+         * @param body the body of the task
+         */
+        private LazyTask(@NotNull Executor executor, @NotNull Future<?> future, @NotNull Runnable body) {
+            this.executor = executor;
+            this.future = future;
+            this.body = body;
+        }
+
+        /**
+         * Submit the task to the executor.
+         */
+        @Override
+        void run() {
+            execute(executor, future, body);
+        }
+    }
+
+    /**
+     * Represents the deferred registration of a Future derived from a lazy Future, that registers the derived
+     * Future on the lazy Future, once the work of the derived Future is started.
+     */
+    private static final class Subscription extends Lazy {
+        /**
+         * The lazy Future, that the Future has been derived from.
+         */
+        private final @NotNull Future<?> source;
+
+        /**
+         * The node to register on the lazy Future.
+         */
+        private final @NotNull Node node;
+
+        /**
+         * Initialize the subscription.
+         *
+         * @param source the lazy Future, that the Future has been derived from
+         * @param node the node to register on the lazy Future
+         */
+        private Subscription(@NotNull Future<?> source, @NotNull Node node) {
+            this.source = source;
+            this.node = node;
+        }
+
+        /**
+         * Register the node on the lazy Future, which starts the work of the lazy Future as well.
+         */
+        @Override
+        void run() {
+            source.push(node);
+        }
+    }
+
+    /**
+     * Represents an asynchronous task, that completes a Future, and is registered on its handler stack,
+     * so that it can observe the cancellation of the Future.
+     */
+    private static final class Task extends Node implements Runnable {
+        /**
+         * The field updater used to atomically modify the {@link #runner} of the task.
+         */
+        private static final @NotNull AtomicReferenceFieldUpdater<Task, Object> RUNNER =
+            AtomicReferenceFieldUpdater.newUpdater(Task.class, Object.class, "runner");
+
+        /**
+         * The runner state of a task, that has finished, or will never be run.
+         */
+        private static final @NotNull Object DONE = new Object();
+
+        /**
+         * The runner state of a task, whose thread is being interrupted.
+         */
+        private static final @NotNull Object INTERRUPTING = new Object();
+
+        /**
+         * The Future that is completed by the task.
+         */
+        private final @NotNull Future<?> future;
+
+        /**
+         * The body of the task.
+         */
+        private final @NotNull Runnable body;
+
+        /**
+         * The runner state of the task, which is either <code>null</code> if the task has not started yet,
+         * the thread running the task, {@link #INTERRUPTING} or {@link #DONE}.
+         */
+        private volatile @Nullable Object runner;
+
+        /**
+         * The time the task has been submitted to the executor in nanoseconds,
+         * or <code>0</code> if the Futures were not instrumented.
+         */
+        private long submitted;
+
+        /**
+         * Initialize the task.
+         *
+         * @param future the Future that is completed by the task
+         * @param body the body of the task
+         */
+        private Task(@NotNull Future<?> future, @NotNull Runnable body) {
+            this.future = future;
+            this.body = body;
+        }
+
+        /**
+         * Run the body of the task, unless the Future has been cancelled before the task could start.
+         */
+        @Override
+        public void run() {
+            // do not start the task, if the Future has been completed meanwhile
+            Thread thread = Thread.currentThread();
+            if (future.isCompleted() || expire(future) || !RUNNER.compareAndSet(this, null, thread))
+                return;
+
+            // report the time the task has spent in the queue, if the Futures are instrumented
+            FutureInstrumentation instrumentation = Future.instrumentation;
+            long start = 0;
+            if (submitted != 0 && instrumentation != FutureInstrumentation.NOOP) {
+                start = System.nanoTime();
+                instrumentation.onTaskStarted(start - submitted);
+            }
+
+            // make the deadline of the Future available to the body of the task
+            Deadline deadline = future.deadline;
+            Deadline previous = deadline != null ? Deadline.enter(deadline) : null;
+            try {
+                body.run();
+            } finally {
+                if (deadline != null)
+                    Deadline.exit(previous);
+                if (start != 0)
+                    instrumentation.onTaskFinished(System.nanoTime() - start);
+                if (!RUNNER.compareAndSet(this, thread, DONE)) {
+                    // the task is being interrupted, wait for the interrupt to be delivered, then clear it,
+                    // so that it does not leak to the next task of the executor thread
+                    while (runner == INTERRUPTING)
+                        Thread.yield();
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        /**
+         * Interrupt the thread running the task, if the Future has been cancelled with interruption.
+         *
+         * @param result the terminal state of the Future
+         */
+        @Override
+        void fire(@NotNull Object result) {
+            // do not run the task anymore, if it has not started yet
+            Object runner = this.runner;
+            if (runner == null && RUNNER.compareAndSet(this, null, DONE))
+                return;
+
+            if (!(result instanceof Cancellation) || !((Cancellation) result).mayInterrupt)
+                return;
+
+            // interrupt the thread, if the task is still running
+            runner = this.runner;
+            if (runner instanceof Thread && RUNNER.compareAndSet(this, runner, INTERRUPTING)) {
+                try {
+                    ((Thread) runner).interrupt();
+                } finally {
+                    this.runner = DONE;
+                }
+            }
+        }
+    }
+
+    /**
+     * Represents the shared state of the futures, whose values are aggregated to the result of a Future.
+     *
+     * @param <R> the type of the result
+     */
+    private static final class Aggregate<R> {
+        /**
+         * The Future to complete with the aggregated result.
+         */
+        private final @NotNull Future<R> target;
+
+        /**
+         * The completion values of the futures by their index, or <code>null</code> if the values are discarded.
+         */
+        private final @Nullable Object @Nullable [] values;
+
+        /**
+         * Indicates whether the target should be failed on the first error.
+         */
+        private final boolean failFast;
+
+        /**
+         * The function that creates the result from the completion values.
+         */
+        private final @NotNull Function<Object[], R> finisher;
+
+        /**
+         * The number of the futures, that have not completed yet.
+         */
+        private final @NotNull AtomicInteger remaining;
+
+        /**
+         * The error of the aggregated failures, whose cause is the error of the first failed future, and that
+         * the rest of the errors are suppressed by. The errors of the futures are not modified, as they may be
+         * shared with other callers.
+         */
+        private @Nullable FutureExecutionException error;
+
+        /**
+         * Initialize the aggregate.
+         *
+         * @param target the Future to complete with the aggregated result
+         * @param values the array to store the completion values in, or <code>null</code> to discard them
+         * @param size the number of the aggregated futures
+         * @param failFast indicates whether the target should be failed on the first error
+         * @param finisher the function that creates the result from the completion values
+         */
+        private Aggregate(
+            @NotNull Future<R> target, @Nullable Object @Nullable [] values, int size, boolean failFast,
+            @NotNull Function<Object[], R> finisher
+        ) {
+            this.target = target;
+            this.values = values;
+            this.failFast = failFast;
+            this.finisher = finisher;
+            remaining = new AtomicInteger(size);
+        }
+
+        /**
+         * Handle the completion of the future of the specified index.
+         *
+         * @param index the index of the completed future
+         * @param result the terminal state of the future
+         */
+        private void complete(int index, @NotNull Object result) {
+            if (result instanceof Failure) {
+                Throwable error = ((Failure) result).error;
+                // fail the target on the first error, if fail-fast mode is enabled
+                if (failFast) {
+                    target.fail(error);
+                    return;
+                }
+                // keep track of the errors, failures are rare, so a monitor is sufficient here
+                synchronized (this) {
+                    if (this.error == null)
+                        this.error = new FutureExecutionException("One or more futures have failed", error);
+                    else if (this.error.getCause() != error)
+                        this.error.addSuppressed(error);
+                }
+            }
+            // store the value in the slot of the future, the decrement below publishes it
+            else if (values != null)
+                values[index] = unwrap(result);
+
+            // wait for the rest of the futures to complete
+            if (remaining.decrementAndGet() != 0)
+                return;
+
+            // every future has completed, fail the target if any of them has failed
+            Throwable failure;
+            synchronized (this) {
+                failure = error;
+            }
+            if (failure != null) {
+                target.fail(failure);
+                return;
+            }
+
+            // create the result from the completion values
+            try {
+                target.complete(finisher.apply(values));
+            } catch (Exception e) {
+                target.fail(e);
+            }
+        }
+    }
+
+    /**
+     * Represents an entry of the handler stack of a Future, whose value is aggregated by an {@link Aggregate}.
+     */
+    private static final class Element extends Node {
+        /**
+         * The aggregate that the value of the Future is collected by.
+         */
+        private final @NotNull Aggregate<?> aggregate;
+
+        /**
+         * The index of the Future in the aggregate.
+         */
+        private final int index;
+
+        /**
+         * Initialize the element node.
+         *
+         * @param aggregate the aggregate that the value of the Future is collected by
+         * @param index the index of the Future in the aggregate
+         */
+        private Element(@NotNull Aggregate<?> aggregate, int index) {
+            this.aggregate = aggregate;
+            this.index = index;
+        }
+
+        /**
+         * Report the completion of the Future to the aggregate.
+         *
+         * @param result the terminal state of the Future
+         */
+        @Override
+        void fire(@NotNull Object result) {
+            aggregate.complete(index, result);
+        }
+    }
+
+    /**
+     * Represents the shared state of a traversal, that applies an asynchronous function to the elements
+     * of a collection, keeping a limited number of the Futures of the function pending.
+     *
+     * @param <T> the type of the elements
+     * @param <U> the type of the results
+     */
+    private static final class Traversal<T, U> {
+        /**
+         * The Future to complete with the results.
+         */
+        private final @NotNull Future<List<U>> target;
+
+        /**
+         * The elements to apply the function to.
+         */
+        private final @Nullable Object @NotNull [] items;
+
+        /**
+         * The results of the function by the index of their elements.
+         */
+        private final @Nullable Object @NotNull [] values;
+
+        /**
+         * The asynchronous function to apply to each element.
+         */
+        private final @NotNull Function<? super T, ? extends Future<? extends U>> function;
+
+        /**
+         * The index of the next element, that the function has not been applied to yet.
+         */
+        private final @NotNull AtomicInteger cursor = new AtomicInteger();
+
+        /**
+         * The number of the elements, whose results have not been completed yet.
+         */
+        private final @NotNull AtomicInteger remaining;
+
+        /**
+         * Initialize the traversal.
+         *
+         * @param target the Future to complete with the results
+         * @param items the elements to apply the function to
+         * @param function the asynchronous function to apply to each element
+         */
+        private Traversal(
+            @NotNull Future<List<U>> target, @Nullable Object @NotNull [] items,
+            @NotNull Function<? super T, ? extends Future<? extends U>> function
+        ) {
+            this.target = target;
+            this.items = items;
+            this.function = function;
+            values = new Object[items.length];
+            remaining = new AtomicInteger(items.length);
+        }
+
+        /**
+         * Apply the function to the next elements, until one of the returned Futures is pending.
+         * <p>
+         * The Futures, that are already completed are handled in a loop, rather than recursively,
+         * so that a long run of completed Futures does not grow the stack.
+         */
+        @SuppressWarnings("unchecked")
+        private void run() {
+            while (!target.isCompleted()) {
+                // claim the next element, stop if every element has been claimed
+                int index = cursor.getAndIncrement();
+                if (index >= items.length)
+                    return;
+
+                Future<? extends U> future;
+                try {
+                    future = function.apply((T) items[index]);
+                } catch (Throwable e) {
+                    target.fail(e);
+                    return;
+                }
+
+                // continue with the next element, once the pending Future completes
+                Object state = future.state;
+                if (!isTerminal(state)) {
+                    future.push(new Step(this, index));
+                    return;
+                }
+                complete(index, state);
+            }
+        }
+
+        /**
+         * Handle the completion of the Future of the element of the specified index.
+         *
+         * @param index the index of the element
+         * @param result the terminal state of the Future of the element
+         */
+        @SuppressWarnings("unchecked")
+        private void complete(int index, @NotNull Object result) {
+            if (result instanceof Failure) {
+                target.fail(((Failure) result).error);
+                return;
+            }
+
+            // store the value in the slot of the element, the decrement below publishes it
+            values[index] = unwrap(result);
+            if (remaining.decrementAndGet() == 0)
+                target.complete((List<U>) Arrays.asList(values));
+        }
+    }
+
+    /**
+     * Represents an entry of the handler stack of a pending Future of a traversal, that reports the result,
+     * and moves the lane of the traversal to the next element.
+     */
+    private static final class Step extends Node {
+        /**
+         * The traversal that the Future belongs to.
+         */
+        private final @NotNull Traversal<?, ?> traversal;
+
+        /**
+         * The index of the element of the Future.
+         */
+        private final int index;
+
+        /**
+         * Initialize the step node.
+         *
+         * @param traversal the traversal that the Future belongs to
+         * @param index the index of the element of the Future
+         */
+        private Step(@NotNull Traversal<?, ?> traversal, int index) {
+            this.traversal = traversal;
+            this.index = index;
+        }
+
+        /**
+         * Report the result of the Future, then apply the function to the next element.
+         *
+         * @param result the terminal state of the Future
+         */
+        @Override
+        void fire(@NotNull Object result) {
+            traversal.complete(index, result);
+            traversal.run();
+        }
+    }
+
+    /**
+     * Represents the shared state of a parallel mapping, that is run by each of its workers.
+     * <p>
+     * The workers claim the chunks of the input one by one, so that no chunk is processed twice,
+     * and the last worker to finish a chunk completes the Future.
+     *
+     * @param <T> the type of the elements
+     * @param <U> the type of the results
+     */
+    private static final class ParallelMap<T, U> implements Runnable {
+        /**
+         * The Future to complete with the results.
+         */
+        private final @NotNull Future<List<U>> target;
+
+        /**
+         * The elements to apply the function to.
+         */
+        private final @Nullable Object @NotNull [] items;
+
+        /**
+         * The results of the function by the index of their elements.
+         */
+        private final @Nullable Object @NotNull [] values;
+
+        /**
+         * The function to apply to each element.
+         */
+        private final @NotNull Function<? super T, ? extends U> function;
+
+        /**
+         * The number of the elements in a chunk.
+         */
+        private final int chunkSize;
+
+        /**
+         * The index of the next chunk, that has not been claimed by a worker yet.
+         */
+        private final @NotNull AtomicInteger cursor = new AtomicInteger();
+
+        /**
+         * The number of the chunks, that have not been processed yet.
+         */
+        private final @NotNull AtomicInteger remaining;
+
+        /**
+         * Initialize the parallel mapping.
+         *
+         * @param target the Future to complete with the results
+         * @param items the elements to apply the function to
+         * @param function the function to apply to each element
+         * @param chunkSize the number of the elements in a chunk
+         */
+        private ParallelMap(
+            @NotNull Future<List<U>> target, @Nullable Object @NotNull [] items,
+            @NotNull Function<? super T, ? extends U> function, int chunkSize
+        ) {
+            this.target = target;
+            this.items = items;
+            this.function = function;
+            this.chunkSize = chunkSize;
+            values = new Object[items.length];
+            remaining = new AtomicInteger((items.length + chunkSize - 1) / chunkSize);
+        }
+
+        /**
+         * Process the unclaimed chunks, until there is none left, or the Future has been completed.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            while (!target.isCompleted()) {
+                // claim the next chunk, stop if every chunk has been claimed
+                int start = cursor.getAndIncrement() * chunkSize;
+                if (start >= items.length || start < 0)
+                    return;
+
+                int end = Math.min(start + chunkSize, items.length);
+                try {
+                    for (int i = start; i < end; i++)
+                        values[i] = function.apply((T) items[i]);
+                } catch (Throwable e) {
+                    target.fail(e);
+                    return;
+                }
+
+                // the decrement publishes the results of the chunk to the worker completing the Future
+                if (remaining.decrementAndGet() == 0)
+                    target.complete((List<U>) Arrays.asList(values));
+            }
+        }
+    }
+
+    /**
+     * Represents the shared state of the futures racing for the completion of a Future.
+     * <p>
+     * The contest is registered on the raced Future, and cancels each of the contestants, once it is completed.
+     */
+    private static final class Contest extends Node {
+        /**
+         * The Future to complete with the first qualifying result.
+         */
+        private final @NotNull Future<?> target;
+
+        /**
+         * The futures racing for the completion of the target.
+         */
+        private final @NotNull Future<?> @NotNull [] contestants;
+
+        /**
+         * Indicates whether only successful completions should complete the target.
+         */
+        private final boolean ignoreFailures;
+
+        /**
+         * The number of the contestants, that have not failed yet.
+         */
+        private final @NotNull AtomicInteger remaining;
+
+        /**
+         * The error of the failed contestants, whose cause is the error of the first failed contestant, and that
+         * the rest of the errors are suppressed by. The errors of the contestants are not modified, as they may be
+         * shared with other callers.
+         */
+        private @Nullable FutureExecutionException error;
+
+        /**
+         * Initialize the contest.
+         *
+         * @param target the Future to complete with the first qualifying result
+         * @param contestants the futures racing for the completion of the target
+         * @param ignoreFailures indicates whether only successful completions should complete the target
+         */
+        private Contest(@NotNull Future<?> target, @NotNull Future<?> @NotNull [] contestants, boolean ignoreFailures) {
+            this.target = target;
+            this.contestants = contestants;
+            this.ignoreFailures = ignoreFailures;
+            remaining = new AtomicInteger(contestants.length);
+        }
+
+        /**
+         * Handle the completion of one of the contestants.
+         *
+         * @param result the terminal state of the contestant
+         */
+        private void complete(@NotNull Object result) {
+            // complete the target with the first result, unless failures should be ignored
+            if (!(result instanceof Failure) || !ignoreFailures) {
+                target.finish(result);
+                return;
+            }
+
+            // ignore the cancellation of the losing contestants
+            if (target.isCompleted())
+                return;
+
+            // keep track of the errors, failures are rare, so a monitor is sufficient here
+            Throwable error = ((Failure) result).error;
+            synchronized (this) {
+                if (this.error == null)
+                    this.error = new FutureExecutionException("Every future has failed", error);
+                else if (this.error.getCause() != error)
+                    this.error.addSuppressed(error);
+            }
+
+            // fail the target, when every contestant has failed
+            if (remaining.decrementAndGet() == 0) {
+                Throwable failure;
+                synchronized (this) {
+                    failure = this.error;
+                }
+                target.fail(failure);
+            }
+        }
+
+        /**
+         * Cancel each of the contestants, that have not completed yet.
+         * <p>
+         * The contestants are only interrupted, if the target has been cancelled with interruption.
+         *
+         * @param result the terminal state of the target
+         */
+        @Override
+        void fire(@NotNull Object result) {
+            boolean mayInterrupt = result instanceof Cancellation && ((Cancellation) result).mayInterrupt;
+            for (Future<?> contestant : contestants)
+                contestant.cancel(mayInterrupt);
+        }
+    }
+
+    /**
+     * Represents an entry of the handler stack of a Future, that races for the completion of a {@link Contest}.
+     */
+    private static final class Contestant extends Node {
+        /**
+         * The contest that the Future takes part in.
+         */
+        private final @NotNull Contest contest;
+
+        /**
+         * Initialize the contestant node.
+         *
+         * @param contest the contest that the Future takes part in
+         */
+        private Contestant(@NotNull Contest contest) {
+            this.contest = contest;
+        }
+
+        /**
+         * Report the completion of the Future to the contest.
+         *
+         * @param result the terminal state of the Future
+         */
+        @Override
+        void fire(@NotNull Object result) {
+            contest.complete(result);
+        }
+    }
+
+    /**
+     * Represents an entry of the handler stack, that belongs to a thread blocked on the completion.
+     */
+    private static final class Waiter extends Node {
+        /**
+         * The thread waiting for the completion, or <code>null</code> if the thread has stopped waiting.
+         */
+        private volatile @Nullable Thread thread;
+
+        /**
+         * Initialize the waiter node.
+         *
+         * @param thread the thread waiting for the completion
+         */
+        private Waiter(@NotNull Thread thread) {
+            this.thread = thread;
+        }
+
+        /**
+         * Wake up the blocked thread, if it is still waiting.
+         *
+         * @param result the terminal state of the Future
+         */
+        @Override
+        void fire(@NotNull Object result) {
+            Thread thread = this.thread;
+            if (thread != null)
+                LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Represents the terminal state of a Future, that has been completed with an error.
+     */
+    private static class Failure {
+        /**
+         * The error that occurred whilst executing and caused the future failure.
+         */
+        private final @NotNull Throwable error;
+
+        /**
+         * Initialize the failure state.
+         *
+         * @param error the error that caused the failure
+         */
+        private Failure(@NotNull Throwable error) {
+            this.error = error;
+        }
+    }
+
+    /**
+     * Represents the terminal state of a Future, that has been cancelled.
+     */
+    private static final class Cancellation extends Failure {
+        /**
+         * Indicates whether the thread running the task of the Future should be interrupted.
+         */
+        private final boolean mayInterrupt;
+
+        /**
+         * Initialize the cancellation state.
+         *
+         * @param error the error that represents the cancellation
+         * @param mayInterrupt indicates whether the thread running the task should be interrupted
+         */
+        private Cancellation(@NotNull FutureCancellationException error, boolean mayInterrupt) {
+            super(error);
+            this.mayInterrupt = mayInterrupt;
+        }
+    }
+
+    /**
+     * Represents a resolver, that completes a Future, and exposes its cancellation to the producer.
+     *
+     * @param <T> the type of the future value
+     */
+    private static final class Completer<T> extends FutureResolver<T> {
+        /**
+         * The Future to complete.
+         */
+        private final @NotNull Future<T> future;
+
+        /**
+         * Initialize the completer.
+         *
+         * @param future the Future to complete
+         */
+        private Completer(@NotNull Future<T> future) {
+            this.future = future;
+        }
+
+        @Override
+        public boolean onComplete(@Nullable T value) {
+            return future.complete(value);
+        }
+
+        @Override
+        public boolean onFail(@NotNull Throwable error) {
+            return future.fail(error);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return future.isCancelled();
+        }
+
+        @Override
+        public void whenCancelled(@NotNull Runnable action) {
+            future.register(null, error -> {
+                if (error instanceof FutureCancellationException)
+                    action.run();
+            });
+        }
+    }
+
+    /**
+     * Represents the handler dispatches of a thread, that have been deferred to bound the depth of the stack.
+     */
+    private static final class Trampoline {
+        /**
+         * The queue of the deferred dispatches, holding the handler stack and the terminal state in pairs.
+         */
+        private final @NotNull ArrayDeque<@NotNull Object> deferred = new ArrayDeque<>();
+
+        /**
+         * The number of the nested dispatches currently running on the thread.
+         */
+        private int depth;
+
+        /**
+         * Defer the dispatch of the specified handler stack.
+         *
+         * @param head the head of the handler stack
+         * @param result the terminal state of the Future
+         */
+        private void defer(@NotNull Node head, @NotNull Object result) {
+            deferred.add(head);
+            deferred.add(result);
+        }
+
+        /**
+         * Retrieve the handler stack of the next deferred dispatch.
+         *
+         * @return the head of the handler stack, or <code>null</code> if there are no deferred dispatches
+         */
+        private @Nullable Node poll() {
+            return (Node) deferred.poll();
+        }
+
+        /**
+         * Retrieve the terminal state of the deferred dispatch, whose handler stack has been polled last.
+         *
+         * @return the terminal state of the Future
+         */
+        private @NotNull Object pollResult() {
+            return deferred.poll();
+        }
+    }
 }
@@ -0,0 +1,13 @@
+package dev.inventex.octa.concurrent.future;
+
+/**
+ * Represents a future exception caused by the cancellation of the future.
+ */
+public class FutureCancellationException extends Exception {
+    /**
+     * Initialize the future cancellation exception.
+     */
+    public FutureCancellationException() {
+        super("Future has been cancelled.");
+    }
+}
@@ -0,0 +1,82 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a listener of the lifecycle events of the {@link Future} instances, that can be used to collect
+ * metrics, or to trace the Futures.
+ * <p>
+ * The instrumentation is set globally using {@link Future#setInstrumentation(FutureInstrumentation)}.
+ * By default, the Futures use the {@link #NOOP} instrumentation, which is recognized by the Futures, so that
+ * they skip the reporting, including the reading of the clock, entirely.
+ * <p>
+ * The methods are called on the threads that trigger the events, often whilst holding no locks, on the hot path
+ * of the Futures, therefore they must be thread-safe, short and non-blocking. The exceptions thrown by the
+ * methods are not handled by the Futures.
+ */
+public interface FutureInstrumentation {
+    /**
+     * The instrumentation, that ignores every event.
+     */
+    @NotNull FutureInstrumentation NOOP = new FutureInstrumentation() {};
+
+    /**
+     * Handle the creation of a pending Future.
+     * <p>
+     * The Futures created in an already completed state are not reported.
+     */
+    default void onCreated() {
+    }
+
+    /**
+     * Handle the successful completion of a Future.
+     */
+    default void onCompleted() {
+    }
+
+    /**
+     * Handle the failed completion of a Future, that has not been cancelled.
+     *
+     * @param error the error that the Future has been failed with
+     */
+    default void onFailed(@NotNull Throwable error) {
+    }
+
+    /**
+     * Handle the cancellation of a Future.
+     */
+    default void onCancelled() {
+    }
+
+    /**
+     * Handle the timeout of a Future created by {@link Future#timeout(long)}.
+     *
+     * @param timeout the timeout that has been exceeded in milliseconds
+     */
+    default void onTimeout(long timeout) {
+    }
+
+    /**
+     * Handle the execution of a completion handler of a Future.
+     *
+     * @param nanos the time spent in the handler in nanoseconds
+     */
+    default void onHandler(long nanos) {
+    }
+
+    /**
+     * Handle the start of an asynchronous task, that completes a Future.
+     *
+     * @param nanos the time the task has spent in the queue of the executor in nanoseconds
+     */
+    default void onTaskStarted(long nanos) {
+    }
+
+    /**
+     * Handle the end of an asynchronous task, that completes a Future.
+     *
+     * @param nanos the time spent running the task in nanoseconds
+     */
+    default void onTaskFinished(long nanos) {
+    }
+}
@@ -0,0 +1,217 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents an instrumentation of the {@link Future} instances, that counts the lifecycle events of the Futures,
+ * and records the latencies of the handlers and the asynchronous tasks in {@link LatencyHistogram}s.
+ * <p>
+ * The metrics can be enabled by setting them as the instrumentation of the Futures:
+ * <pre>
+ * FutureMetrics metrics = new FutureMetrics();
+ * Future.setInstrumentation(metrics);
+ * </pre>
+ * Each update is lock-free, so the metrics can be shared by every thread of the application.
+ */
+public class FutureMetrics implements FutureInstrumentation {
+    /**
+     * The number of the created pending Futures.
+     */
+    private final @NotNull LongAdder created = new LongAdder();
+
+    /**
+     * The number of the successfully completed Futures.
+     */
+    private final @NotNull LongAdder completed = new LongAdder();
+
+    /**
+     * The number of the failed Futures, that have not been cancelled.
+     */
+    private final @NotNull LongAdder failed = new LongAdder();
+
+    /**
+     * The number of the cancelled Futures.
+     */
+    private final @NotNull LongAdder cancelled = new LongAdder();
+
+    /**
+     * The number of the Futures, that have exceeded their timeout.
+     */
+    private final @NotNull LongAdder timeouts = new LongAdder();
+
+    /**
+     * The histogram of the time spent in the completion handlers in nanoseconds.
+     */
+    private final @NotNull LatencyHistogram handlerLatency = new LatencyHistogram();
+
+    /**
+     * The histogram of the time the asynchronous tasks have spent in the queue of the executor in nanoseconds.
+     */
+    private final @NotNull LatencyHistogram queueLatency = new LatencyHistogram();
+
+    /**
+     * The histogram of the time spent running the asynchronous tasks in nanoseconds.
+     */
+    private final @NotNull LatencyHistogram taskLatency = new LatencyHistogram();
+
+    /**
+     * Handle the creation of a pending Future.
+     */
+    @Override
+    public void onCreated() {
+        created.increment();
+    }
+
+    /**
+     * Handle the successful completion of a Future.
+     */
+    @Override
+    public void onCompleted() {
+        completed.increment();
+    }
+
+    /**
+     * Handle the failed completion of a Future, that has not been cancelled.
+     *
+     * @param error the error that the Future has been failed with
+     */
+    @Override
+    public void onFailed(@NotNull Throwable error) {
+        failed.increment();
+    }
+
+    /**
+     * Handle the cancellation of a Future.
+     */
+    @Override
+    public void onCancelled() {
+        cancelled.increment();
+    }
+
+    /**
+     * Handle the timeout of a Future.
+     *
+     * @param timeout the timeout that has been exceeded in milliseconds
+     */
+    @Override
+    public void onTimeout(long timeout) {
+        timeouts.increment();
+    }
+
+    /**
+     * Handle the execution of a completion handler of a Future.
+     *
+     * @param nanos the time spent in the handler in nanoseconds
+     */
+    @Override
+    public void onHandler(long nanos) {
+        handlerLatency.record(nanos);
+    }
+
+    /**
+     * Handle the start of an asynchronous task.
+     *
+     * @param nanos the time the task has spent in the queue of the executor in nanoseconds
+     */
+    @Override
+    public void onTaskStarted(long nanos) {
+        queueLatency.record(nanos);
+    }
+
+    /**
+     * Handle the end of an asynchronous task.
+     *
+     * @param nanos the time spent running the task in nanoseconds
+     */
+    @Override
+    public void onTaskFinished(long nanos) {
+        taskLatency.record(nanos);
+    }
+
+    /**
+     * Retrieve the number of the created pending Futures.
+     *
+     * @return the number of the created Futures
+     */
+    public long getCreated() {
+        return created.sum();
+    }
+
+    /**
+     * Retrieve the number of the successfully completed Futures.
+     *
+     * @return the number of the completed Futures
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * Retrieve the number of the failed Futures, that have not been cancelled.
+     *
+     * @return the number of the failed Futures
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Retrieve the number of the cancelled Futures.
+     *
+     * @return the number of the cancelled Futures
+     */
+    public long getCancelled() {
+        return cancelled.sum();
+    }
+
+    /**
+     * Retrieve the number of the Futures, that have exceeded their timeout.
+     *
+     * @return the number of the timeouts
+     */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Estimate the number of the Futures, that have been created, but not yet completed.
+     * <p>
+     * The Futures, that have been created before these metrics were set as the instrumentation, are not counted.
+     *
+     * @return the number of the pending Futures
+     */
+    public long getPending() {
+        // read the terminal counters first, so that a concurrent completion is less likely to underflow the result
+        long terminated = completed.sum() + failed.sum() + cancelled.sum();
+        return Math.max(0, created.sum() - terminated);
+    }
+
+    /**
+     * Retrieve the histogram of the time spent in the completion handlers in nanoseconds.
+     *
+     * @return the handler latency histogram
+     */
+    public @NotNull LatencyHistogram getHandlerLatency() {
+        return handlerLatency;
+    }
+
+    /**
+     * Retrieve the histogram of the time the asynchronous tasks have spent in the queue of the executor.
+     *
+     * @return the queue latency histogram
+     */
+    public @NotNull LatencyHistogram getQueueLatency() {
+        return queueLatency;
+    }
+
+    /**
+     * Retrieve the histogram of the time spent running the asynchronous tasks in nanoseconds.
+     *
+     * @return the task latency histogram
+     */
+    public @NotNull LatencyHistogram getTaskLatency() {
+        return taskLatency;
+    }
+}
@@ -80,6 +80,29 @@ public abstract class FutureResolver<T> implements Resolver {
     @CanIgnoreReturnValue
     public abstract boolean onFail(@NotNull Throwable error);
 
+    /**
+     * Indicate whether the Future of this resolver has been cancelled.
+     * <p>
+     * Long-running producers should check this periodically, and stop their work, if the Future is cancelled,
+     * as the result will not be consumed anymore.
+     *
+     * @return <code>true</code> if the Future has been cancelled, <code>false</code> otherwise
+     */
+    public boolean isCancelled() {
+        return false;
+    }
+
+    /**
+     * Register an action to be called when the Future of this resolver is cancelled.
+     * <p>
+     * This can be used to release the resources of the producer, such as closing a connection.
+     * If the Future has already been cancelled, the action is called immediately.
+     *
+     * @param action the action to call on cancellation
+     */
+    public void whenCancelled(@NotNull Runnable action) {
+    }
+
     /**
      * Complete the Future successfully with a previously set value.
      * <p>
@@ -0,0 +1,343 @@
+package dev.inventex.octa.concurrent.future;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import dev.inventex.octa.function.ThrowableSupplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Represents a scope, that bounds the lifetime of a group of asynchronous tasks.
+ * <p>
+ * The tasks are forked using {@link #fork(ThrowableSupplier)}, and run on the {@link Future#getGlobalExecutor()
+ * global executor} by default, which uses virtual threads where available, and falls back to a thread pool on
+ * older Java versions. The number of the concurrently running tasks of the scope can be limited, in which case
+ * the excess tasks are queued, without blocking the forking thread.
+ * <p>
+ * If any of the tasks fail, the rest of the tasks are cancelled, and {@link #join()} throws the first error.
+ * Closing the scope cancels the unfinished tasks, and waits for the running ones to stop, therefore no work
+ * of the scope outlives it.
+ * <pre>
+ * try (FutureScope scope = new FutureScope(64)) {
+ *     List&lt;Future&lt;User&gt;&gt; users = new ArrayList&lt;&gt;();
+ *     for (UUID id : ids)
+ *         users.add(scope.fork(() -&gt; loadUser(id)));
+ *     scope.join();
+ * }
+ * </pre>
+ */
+public class FutureScope implements AutoCloseable {
+    /**
+     * The executor used to run the tasks of the scope.
+     */
+    private final @NotNull Executor executor;
+
+    /**
+     * The maximum number of the concurrently running tasks.
+     */
+    private final int maxConcurrency;
+
+    /**
+     * The executor, that limits the number of the concurrently running tasks of the scope.
+     */
+    private final @NotNull Executor limiter = this::submit;
+
+    /**
+     * The Futures of the tasks, that have been forked in the scope, and have not completed yet.
+     * <p>
+     * The completed Futures are removed, so that a long-lived scope does not retain the results of its tasks.
+     */
+    private final @NotNull Set<@NotNull Future<?>> forks = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The tasks, that are waiting for a free slot of concurrency.
+     */
+    private final @NotNull Queue<@NotNull Runnable> queued = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of the tasks, that are allowed to start running.
+     */
+    private final @NotNull AtomicInteger permits;
+
+    /**
+     * The number of the tasks, that have been submitted, but not yet finished running.
+     */
+    private final @NotNull AtomicInteger unfinished = new AtomicInteger();
+
+    /**
+     * The Future, that is completed, when the scope is closed, and every task has finished running.
+     */
+    private final @NotNull Future<Void> terminated = new Future<>();
+
+    /**
+     * The error of the first failed task of the scope.
+     */
+    private final @NotNull AtomicReference<@Nullable Throwable> error = new AtomicReference<>();
+
+    /**
+     * Indicates whether the scope has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Create a new scope, that runs an unlimited number of tasks concurrently on the global executor.
+     */
+    public FutureScope() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a new scope, that runs a limited number of tasks concurrently on the global executor.
+     *
+     * @param maxConcurrency the maximum number of the concurrently running tasks
+     */
+    public FutureScope(int maxConcurrency) {
+        this(Future.getGlobalExecutor(), maxConcurrency);
+    }
+
+    /**
+     * Create a new scope, that runs a limited number of tasks concurrently on the specified executor.
+     *
+     * @param executor the executor used to run the tasks of the scope
+     * @param maxConcurrency the maximum number of the concurrently running tasks
+     */
+    public FutureScope(@NotNull Executor executor, int maxConcurrency) {
+        if (maxConcurrency <= 0)
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        permits = new AtomicInteger(maxConcurrency);
+    }
+
+    /**
+     * Fork a new task in the scope.
+     * <p>
+     * If the task fails, the rest of the tasks of the scope are cancelled. The task is not started, if the scope is
+     * cancelled before a slot of concurrency becomes free for the task.
+     *
+     * @param task the task to run
+     * @return the Future of the task result
+     * @param <T> the type of the task result
+     *
+     * @throws IllegalStateException if the scope has been closed
+     */
+    @CanIgnoreReturnValue
+    public <T> @NotNull Future<T> fork(@NotNull ThrowableSupplier<T, Throwable> task) {
+        if (closed)
+            throw new IllegalStateException("Cannot fork a task in a closed scope");
+
+        Future<T> future = Future.tryCompleteAsync(task, limiter);
+        forks.add(future);
+
+        // stop tracking the task, once it completes, and cancel its siblings, if the task fails
+        future.result((value, error) -> {
+            forks.remove(future);
+            if (error != null)
+                onError(error);
+        });
+        // do not start the task, if a sibling has already failed
+        if (error.get() != null)
+            future.cancel();
+        return future;
+    }
+
+    /**
+     * Wait for each of the forked tasks to complete.
+     *
+     * @throws FutureExecutionException if any of the tasks have failed
+     */
+    public void join() throws FutureExecutionException {
+        try {
+            join(0);
+        } catch (FutureTimeoutException e) {
+            // this should not happen
+            throw new IllegalStateException("Timeout should have been avoided", e);
+        }
+    }
+
+    /**
+     * Wait for each of the forked tasks to complete, within the specified timeout.
+     *
+     * @param timeout the maximum time to wait in milliseconds, or 0 to wait indefinitely
+     *
+     * @throws FutureTimeoutException if the timeout has been exceeded
+     * @throws FutureExecutionException if any of the tasks have failed
+     */
+    public void join(long timeout) throws FutureTimeoutException, FutureExecutionException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        // wait for the unfinished tasks one by one, until there are none left, including the tasks,
+        // that have been forked whilst joining
+        while (true) {
+            Iterator<Future<?>> iterator = forks.iterator();
+            if (!iterator.hasNext())
+                break;
+            Future<?> fork = iterator.next();
+            if (!fork.isCompleted()) {
+                long remaining = 0;
+                if (timeout > 0) {
+                    long nanos = deadline - System.nanoTime();
+                    if (nanos <= 0)
+                        throw new FutureTimeoutException(timeout);
+                    // do not round the remaining time down to 0, which would wait indefinitely
+                    remaining = Math.max(1, TimeUnit.NANOSECONDS.toMillis(nanos));
+                }
+                try {
+                    fork.get(remaining);
+                } catch (FutureExecutionException ignored) {
+                    // the first error of the scope is reported below
+                }
+            }
+            // the completed task might not have been removed by its handler yet
+            forks.remove(fork);
+        }
+
+        Throwable error = this.error.get();
+        if (error != null)
+            throw new FutureExecutionException(error);
+    }
+
+    /**
+     * Cancel each of the unfinished tasks of the scope, and interrupt the running ones.
+     */
+    public void cancel() {
+        for (Future<?> fork : forks)
+            fork.cancel(true);
+    }
+
+    /**
+     * Retrieve the error of the first failed task of the scope.
+     *
+     * @return the first error, or <code>null</code> if none of the tasks have failed
+     */
+    public @Nullable Throwable getError() {
+        return error.get();
+    }
+
+    /**
+     * Close the scope, by cancelling the unfinished tasks, and waiting for the running tasks to stop.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        cancel();
+
+        // wait for the interrupted tasks to stop running
+        if (unfinished.get() == 0)
+            terminated.complete(null);
+        terminated.await();
+    }
+
+    /**
+     * Handle the failure of a task of the scope.
+     *
+     * @param error the error of the failed task
+     */
+    private void onError(@NotNull Throwable error) {
+        // the cancellation of the siblings is not a failure of the scope
+        if (error instanceof FutureCancellationException)
+            return;
+
+        // only the first error is reported, and cancels the siblings
+        if (this.error.compareAndSet(null, error))
+            cancel();
+    }
+
+    /**
+     * Submit the specified task, which is run when a slot of concurrency becomes free.
+     *
+     * @param task the task to run
+     *
+     * @throws RejectedExecutionException if the executor has rejected the task
+     */
+    private void submit(@NotNull Runnable task) {
+        unfinished.incrementAndGet();
+        if (maxConcurrency == Integer.MAX_VALUE) {
+            try {
+                executor.execute(() -> run(task));
+            } catch (RejectedExecutionException e) {
+                finish();
+                throw e;
+            }
+            return;
+        }
+        queued.offer(task);
+        drain(true);
+    }
+
+    /**
+     * Start the queued tasks, whilst there are free slots of concurrency.
+     * <p>
+     * If the executor rejects a task, whilst a new task is being submitted, the rejection is thrown to the
+     * submitter, so that the Future of the task is failed. Otherwise, the scope is failed with the rejection error.
+     *
+     * @param submitting whether the queue is drained by the submitter of a new task
+     *
+     * @throws RejectedExecutionException if the executor has rejected a task, whilst submitting a new task
+     */
+    private void drain(boolean submitting) {
+        while (!queued.isEmpty()) {
+            // acquire a slot of concurrency
+            int available = permits.get();
+            if (available == 0)
+                return;
+            if (!permits.compareAndSet(available, available - 1))
+                continue;
+
+            // the queue might have been drained by another thread meanwhile
+            Runnable task = queued.poll();
+            if (task == null) {
+                permits.incrementAndGet();
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        run(task);
+                    } finally {
+                        // release the slot, and start the next queued task
+                        permits.incrementAndGet();
+                        drain(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // release the slot of the rejected task, as it is never going to run
+                permits.incrementAndGet();
+                finish();
+                if (submitting)
+                    throw e;
+                onError(e);
+            }
+        }
+    }
+
+    /**
+     * Run the specified task, and signal the termination of the scope, if this was the last running task.
+     *
+     * @param task the task to run
+     */
+    private void run(@NotNull Runnable task) {
+        try {
+            task.run();
+        } finally {
+            finish();
+        }
+    }
+
+    /**
+     * Signal the termination of the scope, if the last unfinished task has finished.
+     */
+    private void finish() {
+        if (unfinished.decrementAndGet() == 0 && closed)
+            terminated.complete(null);
+    }
+}
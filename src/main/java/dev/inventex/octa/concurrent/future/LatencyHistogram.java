@@ -0,0 +1,178 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a lock-free histogram of latencies, that splits each power of two range of the recorded values
+ * into 16 linear sub-buckets.
+ * <p>
+ * Recording a value is a single atomic increment of its bucket, and an addition to the sum, therefore the
+ * histogram can be updated concurrently from many threads. The percentiles are estimated by the upper bound
+ * of the bucket they fall into, so they exceed the exact value by at most 1/16 (6.25%) of it, and the values
+ * below 32 are exact.
+ */
+public class LatencyHistogram {
+    /**
+     * The number of the bits of a value, that select its sub-bucket within its power of two range.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The number of the linear sub-buckets of each power of two range.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of the buckets, one for each value below {@link #SUB_BUCKETS}, and the sub-buckets of each
+     * power of two range above it, up to the highest long value.
+     */
+    private static final int BUCKETS = (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+    /**
+     * The number of the recorded values in each bucket.
+     */
+    private final @NotNull AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * The sum of the recorded values.
+     */
+    private final @NotNull LongAdder sum = new LongAdder();
+
+    /**
+     * The highest recorded value.
+     */
+    private final @NotNull AtomicLong max = new AtomicLong();
+
+    /**
+     * Record the specified value. Negative values are recorded as zero.
+     *
+     * @param value the value to record
+     */
+    public void record(long value) {
+        value = Math.max(value, 0);
+        buckets.incrementAndGet(indexOf(value));
+        sum.add(value);
+
+        // update the highest value, unless a higher value has been recorded meanwhile
+        long current;
+        while (value > (current = max.get()))
+            if (max.compareAndSet(current, value))
+                break;
+    }
+
+    /**
+     * Retrieve the number of the recorded values.
+     *
+     * @return the number of the recorded values
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++)
+            count += buckets.get(i);
+        return count;
+    }
+
+    /**
+     * Retrieve the mean of the recorded values.
+     *
+     * @return the mean of the recorded values, or <code>0</code> if no values have been recorded
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * Retrieve the highest recorded value.
+     *
+     * @return the highest recorded value, or <code>0</code> if no values have been recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Estimate the specified percentile of the recorded values.
+     *
+     * @param percentile the percentile to estimate, in range [0, 100]
+     * @return the upper bound of the bucket of the percentile, or <code>0</code> if no values have been recorded
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("Percentile must be in range [0, 100]: " + percentile);
+
+        // take a snapshot of the buckets, so that the total matches the counts
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++)
+            total += counts[i] = buckets.get(i);
+        if (total == 0)
+            return 0;
+
+        // find the bucket, that contains the rank of the percentile
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.min(upperBound(i), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * Reset the histogram. The values recorded concurrently with the reset might be partially lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets.set(i, 0);
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * Retrieve the index of the bucket, that the specified value falls into.
+     *
+     * @param value the non-negative value
+     * @return the index of the bucket of the value
+     */
+    private static int indexOf(long value) {
+        // the small values have a bucket of their own
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        // the highest bits below the leading bit of the value select the sub-bucket of its power of two range
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Retrieve the highest value, that falls into the specified bucket.
+     *
+     * @param bucket the index of the bucket
+     * @return the upper bound of the bucket
+     */
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        // the last sub-bucket of the highest range ends at the highest long value
+        return (1L << exponent) + (bucket % SUB_BUCKETS) * width + width - 1;
+    }
+
+    /**
+     * Create a string representation of the histogram.
+     *
+     * @return the string representation of the histogram
+     */
+    @Override
+    public @NotNull String toString() {
+        return "LatencyHistogram{count=" + getCount() + ", mean=" + (long) getMean() + ", p50=" + getPercentile(50)
+            + ", p99=" + getPercentile(99) + ", max=" + getMax() + "}";
+    }
+}
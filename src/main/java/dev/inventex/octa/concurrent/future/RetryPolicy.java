@@ -0,0 +1,266 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Represents the policy of retrying a failed task of a Future, used by the retry methods of {@link Future}.
+ * <p>
+ * The delay before each retry grows exponentially, starting from the initial delay, multiplied by the multiplier
+ * after each attempt, until it reaches the maximum delay. The jitter randomly shortens each delay by up to the
+ * specified fraction, so that the tasks, that failed at the same time, do not retry at the same time.
+ * <p>
+ * The cancellations are never retried.
+ */
+public final class RetryPolicy {
+    /**
+     * The maximum number of the attempts, including the first one.
+     */
+    private final int maxAttempts;
+
+    /**
+     * The delay before the first retry in milliseconds.
+     */
+    private final long initialDelay;
+
+    /**
+     * The maximum delay before a retry in milliseconds.
+     */
+    private final long maxDelay;
+
+    /**
+     * The factor the delay is multiplied by after each retry.
+     */
+    private final double multiplier;
+
+    /**
+     * The maximum fraction of the delay, that is randomly subtracted from the delay.
+     */
+    private final double jitter;
+
+    /**
+     * The maximum duration of a single attempt in milliseconds, or <code>0</code> if the attempts are not timed.
+     */
+    private final long attemptTimeout;
+
+    /**
+     * The predicate, that determines whether the error of a failed attempt should be retried.
+     */
+    private final @NotNull Predicate<@NotNull Throwable> retryOn;
+
+    /**
+     * Initialize the retry policy.
+     *
+     * @param builder the builder of the policy
+     */
+    private RetryPolicy(@NotNull Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialDelay = builder.initialDelay;
+        this.maxDelay = builder.maxDelay;
+        this.multiplier = builder.multiplier;
+        this.jitter = builder.jitter;
+        this.attemptTimeout = builder.attemptTimeout;
+        this.retryOn = builder.retryOn;
+    }
+
+    /**
+     * Create a new builder of a retry policy.
+     *
+     * @return a new retry policy builder
+     */
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Retrieve the maximum number of the attempts, including the first one.
+     *
+     * @return the maximum number of the attempts
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Retrieve the maximum duration of a single attempt.
+     *
+     * @return the attempt timeout in milliseconds, or <code>0</code> if the attempts are not timed
+     */
+    public long getAttemptTimeout() {
+        return attemptTimeout;
+    }
+
+    /**
+     * Indicate whether the specified error of a failed attempt should be retried.
+     *
+     * @param error the error of the failed attempt
+     * @return <code>true</code> if the attempt should be retried, <code>false</code> otherwise
+     */
+    public boolean shouldRetry(@NotNull Throwable error) {
+        return !(error instanceof FutureCancellationException) && retryOn.test(error);
+    }
+
+    /**
+     * Calculate the delay before the retry of the specified failed attempt, including the jitter.
+     *
+     * @param attempt the number of the failed attempt, starting from 1
+     * @return the delay before the retry in milliseconds
+     */
+    public long getDelay(int attempt) {
+        // grow the delay exponentially, without overflowing the maximum delay
+        double delay = initialDelay * Math.pow(multiplier, attempt - 1);
+        delay = Math.min(delay, maxDelay);
+
+        // shorten the delay randomly, so that the concurrent retries are spread out
+        if (jitter > 0)
+            delay -= delay * jitter * ThreadLocalRandom.current().nextDouble();
+        return (long) delay;
+    }
+
+    /**
+     * Represents a builder of a {@link RetryPolicy}.
+     */
+    public static final class Builder {
+        /**
+         * The maximum number of the attempts, including the first one.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * The delay before the first retry in milliseconds.
+         */
+        private long initialDelay = 100;
+
+        /**
+         * The maximum delay before a retry in milliseconds.
+         */
+        private long maxDelay = 30_000;
+
+        /**
+         * The factor the delay is multiplied by after each retry.
+         */
+        private double multiplier = 2;
+
+        /**
+         * The maximum fraction of the delay, that is randomly subtracted from the delay.
+         */
+        private double jitter = 0.2;
+
+        /**
+         * The maximum duration of a single attempt in milliseconds, or <code>0</code> if the attempts are not timed.
+         */
+        private long attemptTimeout;
+
+        /**
+         * The predicate, that determines whether the error of a failed attempt should be retried.
+         */
+        private @NotNull Predicate<@NotNull Throwable> retryOn = error -> true;
+
+        /**
+         * Set the maximum number of the attempts, including the first one.
+         *
+         * @param maxAttempts the maximum number of the attempts
+         * @return this
+         */
+        public @NotNull Builder setMaxAttempts(int maxAttempts) {
+            if (maxAttempts <= 0)
+                throw new IllegalArgumentException("Max attempts must be positive: " + maxAttempts);
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Set the delay before the first retry.
+         *
+         * @param delay the initial delay
+         * @param unit the time unit of the delay
+         * @return this
+         */
+        public @NotNull Builder setInitialDelay(long delay, @NotNull TimeUnit unit) {
+            if (delay < 0)
+                throw new IllegalArgumentException("Initial delay must not be negative: " + delay);
+            this.initialDelay = unit.toMillis(delay);
+            return this;
+        }
+
+        /**
+         * Set the maximum delay before a retry.
+         *
+         * @param delay the maximum delay
+         * @param unit the time unit of the delay
+         * @return this
+         */
+        public @NotNull Builder setMaxDelay(long delay, @NotNull TimeUnit unit) {
+            if (delay < 0)
+                throw new IllegalArgumentException("Max delay must not be negative: " + delay);
+            this.maxDelay = unit.toMillis(delay);
+            return this;
+        }
+
+        /**
+         * Set the factor the delay is multiplied by after each retry.
+         *
+         * @param multiplier the backoff multiplier, at least 1
+         * @return this
+         */
+        public @NotNull Builder setMultiplier(double multiplier) {
+            if (multiplier < 1)
+                throw new IllegalArgumentException("Multiplier must be at least 1: " + multiplier);
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Set the maximum fraction of the delay, that is randomly subtracted from the delay.
+         *
+         * @param jitter the jitter in range [0, 1]
+         * @return this
+         */
+        public @NotNull Builder setJitter(double jitter) {
+            if (jitter < 0 || jitter > 1)
+                throw new IllegalArgumentException("Jitter must be in range [0, 1]: " + jitter);
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Set the maximum duration of a single attempt. The attempts, that exceed the timeout, are cancelled,
+         * and fail with a {@link FutureTimeoutException}.
+         *
+         * @param timeout the attempt timeout, or <code>0</code> to not time the attempts
+         * @param unit the time unit of the timeout
+         * @return this
+         */
+        public @NotNull Builder setAttemptTimeout(long timeout, @NotNull TimeUnit unit) {
+            if (timeout < 0)
+                throw new IllegalArgumentException("Attempt timeout must not be negative: " + timeout);
+            this.attemptTimeout = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * Set the predicate, that determines whether the error of a failed attempt should be retried.
+         *
+         * @param retryOn the predicate of the retried errors
+         * @return this
+         */
+        public @NotNull Builder setRetryOn(@NotNull Predicate<@NotNull Throwable> retryOn) {
+            this.retryOn = retryOn;
+            return this;
+        }
+
+        /**
+         * Build the retry policy.
+         *
+         * @return a new retry policy
+         */
+        public @NotNull RetryPolicy build() {
+            if (maxDelay < initialDelay)
+                throw new IllegalArgumentException("Max delay must not be less than the initial delay");
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package dev.inventex.octa.concurrent.future;
+
+import com.google.common.collect.MapMaker;
+import dev.inventex.octa.concurrent.threading.UnhandledExceptionReporter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Represents a context executor mapper, that shares the worker threads of a work-stealing {@link ForkJoinPool}
+ * fairly across the contexts.
+ * <p>
+ * By default, every context uses the global executor, so a context that floods the executor with tasks delays
+ * the tasks of every other context. Using this mapper, each context key (the class loader of the caller, unless
+ * a different key mapper is set) receives its own queue of tasks, that is run by the worker threads of a single,
+ * shared pool. The parallelism of the pool is split between the contexts, that have pending tasks: a context may
+ * only occupy its share of the worker threads, therefore a busy context cannot starve the other contexts, whilst
+ * an idle context does not hold any worker threads. The total number of the worker threads is bounded by the
+ * parallelism of the pool, regardless of the number of the contexts. As a context may only be granted a single
+ * worker thread, its tasks should not block waiting for the other tasks of the same context.
+ * <p>
+ * The mapper can be enabled by setting it as the context executor mapper of the Futures:
+ * <pre>
+ * Future.setContextExecutorMapper(new WorkStealingContextMapper(4));
+ * </pre>
+ * The queues are held until the context is unloaded, or {@link #shutdown(Object)} is called for its key.
+ * The idle worker threads of the pool are terminated by the {@link ForkJoinPool} itself.
+ */
+public class WorkStealingContextMapper implements Function<@NotNull Object, @Nullable Executor> {
+    /**
+     * The increment-based identifier of the created pools, used to name the worker threads.
+     */
+    private static final @NotNull AtomicInteger POOL_ID = new AtomicInteger(1);
+
+    /**
+     * The map of the executors of the context keys.
+     */
+    private final @NotNull Map<@NotNull Object, @NotNull ContextExecutor> executors = new MapMaker()
+        .weakKeys()
+        .concurrencyLevel(4)
+        .makeMap();
+
+    /**
+     * The number of the contexts, that have pending tasks, used to split the parallelism of the pool.
+     */
+    private final @NotNull AtomicInteger activeContexts = new AtomicInteger();
+
+    /**
+     * The work-stealing pool shared by the contexts.
+     */
+    private final @NotNull ForkJoinPool pool;
+
+    /**
+     * The total number of the worker threads shared by the contexts.
+     */
+    private final int parallelism;
+
+    /**
+     * Create a new work-stealing context mapper.
+     *
+     * @param parallelism the total number of the worker threads shared by the contexts
+     */
+    public WorkStealingContextMapper(int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        this.parallelism = parallelism;
+        pool = createPool();
+    }
+
+    /**
+     * Create a new work-stealing context mapper, that uses the number of the available processors as
+     * the total parallelism of the contexts.
+     */
+    public WorkStealingContextMapper() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Resolve the executor of the specified context key, and create it, if it does not exist yet.
+     *
+     * @param key the key of the context
+     * @return the executor of the context
+     */
+    @Override
+    public @NotNull Executor apply(@NotNull Object key) {
+        return executors.computeIfAbsent(key, k -> new ContextExecutor(this));
+    }
+
+    /**
+     * Retrieve the total number of the worker threads shared by the contexts.
+     *
+     * @return the parallelism of the shared pool
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Retrieve the maximum number of the worker threads, that a context with pending tasks may occupy.
+     * <p>
+     * The parallelism is split evenly between the contexts, that have pending tasks, but each context
+     * is granted at least a single worker thread.
+     *
+     * @return the current share of a context
+     */
+    public int getShare() {
+        int active = Math.max(1, activeContexts.get());
+        return Math.max(1, (parallelism + active - 1) / active);
+    }
+
+    /**
+     * Retrieve the metrics of the specified context.
+     *
+     * @param key the key of the context
+     * @return the metrics of the context, or <code>null</code> if the context does not have an executor
+     */
+    public @Nullable Metrics getMetrics(@NotNull Object key) {
+        ContextExecutor executor = executors.get(key);
+        return executor != null ? executor.metrics() : null;
+    }
+
+    /**
+     * Retrieve the metrics of each context, that currently has an executor.
+     *
+     * @return the map of the context keys and their metrics
+     */
+    public @NotNull Map<@NotNull Object, @NotNull Metrics> getMetrics() {
+        Map<Object, Metrics> metrics = new LinkedHashMap<>();
+        executors.forEach((key, executor) -> metrics.put(key, executor.metrics()));
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Shut down the executor of the specified context. The tasks, that have been submitted already, are still run.
+     * <p>
+     * This method should be called when the context is unloaded, as the Futures cache the executor of
+     * the context, therefore the tasks of the context are rejected, whilst the cached executor is in use.
+     *
+     * @param key the key of the context
+     */
+    public void shutdown(@NotNull Object key) {
+        ContextExecutor executor = executors.remove(key);
+        if (executor != null)
+            executor.shutdown = true;
+    }
+
+    /**
+     * Shut down the executors of every context, and the shared pool.
+     */
+    public void shutdown() {
+        for (Object key : executors.keySet())
+            shutdown(key);
+        pool.shutdown();
+    }
+
+    /**
+     * Create the work-stealing pool shared by the contexts.
+     *
+     * @return a new pool with the configured parallelism
+     */
+    private @NotNull ForkJoinPool createPool() {
+        int poolId = POOL_ID.getAndIncrement();
+        AtomicInteger threadId = new AtomicInteger(1);
+        return new ForkJoinPool(
+            parallelism,
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("octa-context-" + poolId + "-" + threadId.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new UnhandledExceptionReporter(),
+            // use FIFO scheduling for the tasks, that are never joined
+            true
+        );
+    }
+
+    /**
+     * Represents the executor of a context, that queues the tasks of the context, and runs them on at most
+     * as many worker threads of the shared pool, as the current share of the context.
+     */
+    private static final class ContextExecutor implements Executor {
+        /**
+         * The mapper, that owns the shared pool.
+         */
+        private final @NotNull WorkStealingContextMapper mapper;
+
+        /**
+         * The queue of the tasks of the context, that have not been started yet.
+         */
+        private final @NotNull Queue<@NotNull Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        /**
+         * The number of the tasks of the context, that have not been started yet.
+         */
+        private final @NotNull AtomicInteger queued = new AtomicInteger();
+
+        /**
+         * The number of the tasks of the context, that have not finished yet, including the running ones.
+         */
+        private final @NotNull AtomicInteger pending = new AtomicInteger();
+
+        /**
+         * The number of the worker threads, that are running, or are scheduled to run the tasks of the context.
+         */
+        private final @NotNull AtomicInteger workers = new AtomicInteger();
+
+        /**
+         * The number of the tasks submitted to the executor.
+         */
+        private final @NotNull LongAdder submitted = new LongAdder();
+
+        /**
+         * The number of the tasks rejected by the executor.
+         */
+        private final @NotNull LongAdder rejected = new LongAdder();
+
+        /**
+         * Indicates whether the executor has been shut down.
+         */
+        private volatile boolean shutdown;
+
+        /**
+         * Initialize the context executor.
+         *
+         * @param mapper the mapper, that owns the shared pool
+         */
+        private ContextExecutor(@NotNull WorkStealingContextMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        /**
+         * Queue the specified task, and schedule a worker for the context, unless it has used up its share.
+         *
+         * @param command the task to execute
+         *
+         * @throws RejectedExecutionException if the executor, or the shared pool has been shut down
+         */
+        @Override
+        public void execute(@NotNull Runnable command) {
+            if (shutdown || mapper.pool.isShutdown()) {
+                rejected.increment();
+                throw new RejectedExecutionException("The executor of the context has been shut down");
+            }
+            // the context takes part in the split of the parallelism, whilst it has pending tasks
+            if (pending.getAndIncrement() == 0)
+                mapper.activeContexts.incrementAndGet();
+            queued.incrementAndGet();
+            tasks.offer(command);
+            submitted.increment();
+            spawn();
+        }
+
+        /**
+         * Schedule a new worker for the context, if the context has not used up its share of the worker threads.
+         */
+        private void spawn() {
+            while (true) {
+                int current = workers.get();
+                if (current >= mapper.getShare())
+                    return;
+                if (workers.compareAndSet(current, current + 1))
+                    break;
+            }
+            try {
+                mapper.pool.execute(this::work);
+            } catch (RejectedExecutionException e) {
+                workers.decrementAndGet();
+                throw e;
+            }
+        }
+
+        /**
+         * Run the queued tasks of the context on the current worker thread, until the queue is drained,
+         * or the context has more worker threads, than its current share.
+         */
+        private void work() {
+            while (true) {
+                // give the worker thread back to the pool, if another context needs it
+                int current = workers.get();
+                if (current > mapper.getShare()) {
+                    if (workers.compareAndSet(current, current - 1))
+                        break;
+                    continue;
+                }
+
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    workers.decrementAndGet();
+                    break;
+                }
+                queued.decrementAndGet();
+                run(task);
+            }
+            // a task might have been queued, after this worker has checked the queue
+            if (!tasks.isEmpty())
+                spawn();
+        }
+
+        /**
+         * Run the specified task, and leave the split of the parallelism, if the context has no more tasks.
+         *
+         * @param task the task to run
+         */
+        private void run(@NotNull Runnable task) {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // keep the worker alive, so that the rest of the tasks of the context are run
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            } finally {
+                if (pending.decrementAndGet() == 0)
+                    mapper.activeContexts.decrementAndGet();
+            }
+        }
+
+        /**
+         * Create a snapshot of the metrics of the context.
+         *
+         * @return the current metrics of the context
+         */
+        private @NotNull Metrics metrics() {
+            ForkJoinPool pool = mapper.pool;
+            return new Metrics(
+                submitted.sum(), rejected.sum(), queued.get(), pool.getPoolSize(), workers.get(),
+                pool.getStealCount()
+            );
+        }
+    }
+
+    /**
+     * Represents a snapshot of the metrics of a context.
+     */
+    public static final class Metrics {
+        /**
+         * The number of the tasks submitted to the context.
+         */
+        private final long submitted;
+
+        /**
+         * The number of the tasks rejected by the context.
+         */
+        private final long rejected;
+
+        /**
+         * The estimated number of the tasks of the context, that have not been started yet.
+         */
+        private final long queued;
+
+        /**
+         * The number of the worker threads of the shared pool.
+         */
+        private final int poolSize;
+
+        /**
+         * The number of the worker threads running the tasks of the context.
+         */
+        private final int activeThreads;
+
+        /**
+         * The estimated number of the tasks stolen by a worker thread of the shared pool from the queue of
+         * another worker thread.
+         */
+        private final long steals;
+
+        /**
+         * Initialize the metrics snapshot.
+         *
+         * @param submitted the number of the submitted tasks
+         * @param rejected the number of the rejected tasks
+         * @param queued the number of the queued tasks
+         * @param poolSize the number of the worker threads
+         * @param activeThreads the number of the active worker threads
+         * @param steals the number of the stolen tasks
+         */
+        private Metrics(long submitted, long rejected, long queued, int poolSize, int activeThreads, long steals) {
+            this.submitted = submitted;
+            this.rejected = rejected;
+            this.queued = queued;
+            this.poolSize = poolSize;
+            this.activeThreads = activeThreads;
+            this.steals = steals;
+        }
+
+        /**
+         * Retrieve the number of the tasks submitted to the context.
+         *
+         * @return the number of the submitted tasks
+         */
+        public long getSubmitted() {
+            return submitted;
+        }
+
+        /**
+         * Retrieve the number of the tasks rejected by the context.
+         *
+         * @return the number of the rejected tasks
+         */
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Retrieve the estimated number of the tasks of the context, that have not been started yet.
+         *
+         * @return the number of the queued tasks
+         */
+        public long getQueued() {
+            return queued;
+        }
+
+        /**
+         * Retrieve the number of the worker threads of the shared pool.
+         *
+         * @return the size of the pool
+         */
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        /**
+         * Retrieve the number of the worker threads running the tasks of the context.
+         *
+         * @return the number of the active threads
+         */
+        public int getActiveThreads() {
+            return activeThreads;
+        }
+
+        /**
+         * Retrieve the estimated number of the tasks stolen by a worker thread of the shared pool from another
+         * worker thread.
+         *
+         * @return the number of the stolen tasks
+         */
+        public long getSteals() {
+            return steals;
+        }
+
+        /**
+         * Create a string representation of the metrics.
+         *
+         * @return the string representation of the metrics
+         */
+        @Override
+        public @NotNull String toString() {
+            return "Metrics{submitted=" + submitted + ", rejected=" + rejected + ", queued=" + queued
+                + ", poolSize=" + poolSize + ", activeThreads=" + activeThreads + ", steals=" + steals + "}";
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package dev.inventex.octa.concurrent.limit;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents a concurrency limiter, that adapts its limit to the capacity of the resource, using the additive
+ * increase, multiplicative decrease (AIMD) algorithm.
+ * <p>
+ * Each successful operation raises the limit by the reciprocal of the limit, so the limit grows by one after
+ * a full limit of successful operations. The limit is only raised, whilst at least half of it is in use, so that
+ * a light load does not drift the limit up to the maximum, which would let the next burst through unchecked.
+ * Each dropped permit multiplies the limit by the backoff ratio, so the
+ * limit is quickly lowered, when the resource reports an overload, such as a timeout or a rejection.
+ */
+public class AimdLimiter extends ConcurrencyLimiter {
+    /**
+     * The current limit, stored as the bits of a double value, so that it can be updated atomically.
+     */
+    private final @NotNull AtomicLong limit;
+
+    /**
+     * The lowest limit, that the limiter can decrease to.
+     */
+    private final int minLimit;
+
+    /**
+     * The highest limit, that the limiter can increase to.
+     */
+    private final int maxLimit;
+
+    /**
+     * The factor the limit is multiplied by, when a permit is dropped.
+     */
+    private final double backoffRatio;
+
+    /**
+     * Create a new adaptive concurrency limiter.
+     *
+     * @param initialLimit the limit to start from
+     * @param minLimit the lowest limit, that the limiter can decrease to
+     * @param maxLimit the highest limit, that the limiter can increase to
+     * @param backoffRatio the factor the limit is multiplied by, when a permit is dropped, in range (0, 1)
+     */
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        super(initialLimit);
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit)
+            throw new IllegalArgumentException(
+                "Limits must satisfy 0 < min <= initial <= max: " + minLimit + ", " + initialLimit + ", " + maxLimit
+            );
+        if (backoffRatio <= 0 || backoffRatio >= 1)
+            throw new IllegalArgumentException("Backoff ratio must be in range (0, 1): " + backoffRatio);
+
+        this.limit = new AtomicLong(Double.doubleToLongBits(initialLimit));
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Create a new adaptive concurrency limiter, that halves its limit, when a permit is dropped.
+     *
+     * @param initialLimit the limit to start from
+     * @param maxLimit the highest limit, that the limiter can increase to
+     */
+    public AimdLimiter(int initialLimit, int maxLimit) {
+        this(initialLimit, 1, maxLimit, 0.5);
+    }
+
+    /**
+     * Retrieve the current limit of the limiter.
+     *
+     * @return the current limit
+     */
+    @Override
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limit.get());
+    }
+
+    /**
+     * Raise the limit additively, after the operation has finished successfully, if the limiter has been
+     * close to saturation.
+     */
+    @Override
+    protected void onRelease() {
+        // the released permit is still counted as in flight
+        int inFlight = getInFlight();
+        while (true) {
+            long bits = limit.get();
+            double current = Double.longBitsToDouble(bits);
+            if (inFlight < current / 2)
+                return;
+            double updated = Math.min(maxLimit, current + 1 / current);
+            if (updated == current || limit.compareAndSet(bits, Double.doubleToLongBits(updated)))
+                return;
+        }
+    }
+
+    /**
+     * Lower the limit multiplicatively, after the operation has failed, because the resource has been overloaded.
+     */
+    @Override
+    protected void onDrop() {
+        while (true) {
+            long bits = limit.get();
+            double current = Double.longBitsToDouble(bits);
+            double updated = Math.max(minLimit, current * backoffRatio);
+            if (updated == current || limit.compareAndSet(bits, Double.doubleToLongBits(updated)))
+                return;
+        }
+    }
+}
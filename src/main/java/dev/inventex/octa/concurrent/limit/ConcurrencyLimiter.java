@@ -0,0 +1,207 @@
+package dev.inventex.octa.concurrent.limit;
+
+import dev.inventex.octa.concurrent.future.Future;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Represents a limiter, that limits the number of the operations running at the same time, like a semaphore,
+ * without blocking the threads waiting for a permit.
+ * <p>
+ * The waiting acquisitions are granted a permit in the order of their arrival, on the thread, that releases
+ * the previous permit. Therefore, the handlers of the acquired Futures should not block.
+ * <p>
+ * Both granting and releasing a permit is lock-free.
+ */
+public class ConcurrencyLimiter implements Limiter {
+    /**
+     * The number of the granted permits, that have not been released yet.
+     */
+    private final @NotNull AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * The queue of the acquisitions waiting for a permit.
+     */
+    private final @NotNull Queue<@NotNull Future<@NotNull Permit>> waiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The maximum number of the permits, that can be granted at the same time.
+     */
+    private final int limit;
+
+    /**
+     * Create a new concurrency limiter.
+     *
+     * @param limit the maximum number of the operations running at the same time
+     */
+    public ConcurrencyLimiter(int limit) {
+        if (limit <= 0)
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        this.limit = limit;
+    }
+
+    /**
+     * Acquire a permit, and complete the returned Future, when the permit has been granted.
+     * <p>
+     * The permits are granted in the order of the acquisitions, therefore a new acquisition does not get
+     * a permit before the acquisitions, that are already waiting.
+     *
+     * If the returned Future is cancelled, or is failed by a timeout, the acquisition stops waiting immediately.
+     *
+     * @return a Future of the granted permit
+     */
+    @Override
+    public @NotNull Future<@NotNull Permit> acquire() {
+        // try to acquire a permit immediately, if no one is waiting for a permit
+        if (waiters.isEmpty()) {
+            Permit permit = tryAcquire();
+            if (permit != null)
+                return Future.completed(permit);
+        }
+
+        // wait for a permit to be released, and recheck the permits, which might have been released meanwhile
+        Future<Permit> future = new Future<>();
+        waiters.offer(future);
+        // only the limiter completes the waiter successfully, so a failed waiter has been cancelled or timed out,
+        // and it should not be kept in the queue, until a permit is released
+        future.except(error -> waiters.remove(future));
+        drain();
+        return future;
+    }
+
+    /**
+     * Try to acquire a permit, without waiting for it.
+     * <p>
+     * This method does not respect the order of the waiting acquisitions.
+     *
+     * @return the granted permit, or <code>null</code> if no permit is available
+     */
+    @Override
+    public @Nullable Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit())
+                return null;
+            if (inFlight.compareAndSet(current, current + 1))
+                return new LimitedPermit(this);
+        }
+    }
+
+    /**
+     * Retrieve the maximum number of the permits, that can be granted at the same time.
+     *
+     * @return the current limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Retrieve the number of the granted permits, that have not been released yet.
+     *
+     * @return the number of the running operations
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Retrieve the number of the acquisitions waiting for a permit.
+     * <p>
+     * This method traverses the queue of the acquisitions, therefore it should only be used for monitoring.
+     *
+     * @return the number of the waiting acquisitions
+     */
+    public int getWaiting() {
+        return waiters.size();
+    }
+
+    /**
+     * Handle the release of a permit, after the operation has finished successfully.
+     */
+    protected void onRelease() {
+    }
+
+    /**
+     * Handle the release of a permit, after the operation has failed, because the resource has been overloaded.
+     */
+    protected void onDrop() {
+    }
+
+    /**
+     * Grant the released permits to the waiting acquisitions.
+     */
+    protected final void drain() {
+        while (!waiters.isEmpty()) {
+            // acquire a permit for the next waiter
+            Permit permit = tryAcquire();
+            if (permit == null)
+                return;
+
+            // the queue might have been drained by another thread meanwhile,
+            // or the waiter might have been cancelled, in which case the permit is given back
+            Future<Permit> waiter = waiters.poll();
+            if (waiter == null || !waiter.complete(permit))
+                inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Represents a permit granted by the concurrency limiter.
+     */
+    private static final class LimitedPermit implements Permit {
+        /**
+         * The field updater used to atomically modify the {@link #released} flag of the permit.
+         */
+        private static final @NotNull AtomicIntegerFieldUpdater<LimitedPermit> RELEASED =
+            AtomicIntegerFieldUpdater.newUpdater(LimitedPermit.class, "released");
+
+        /**
+         * The limiter that has granted the permit.
+         */
+        private final @NotNull ConcurrencyLimiter limiter;
+
+        /**
+         * Indicates whether the permit has been released.
+         */
+        private volatile int released;
+
+        /**
+         * Initialize the permit.
+         *
+         * @param limiter the limiter that has granted the permit
+         */
+        private LimitedPermit(@NotNull ConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        /**
+         * Release the permit, after the operation has finished successfully.
+         */
+        @Override
+        public void release() {
+            if (!RELEASED.compareAndSet(this, 0, 1))
+                return;
+            limiter.onRelease();
+            limiter.inFlight.decrementAndGet();
+            limiter.drain();
+        }
+
+        /**
+         * Release the permit, after the operation has failed, because the resource has been overloaded.
+         */
+        @Override
+        public void drop() {
+            if (!RELEASED.compareAndSet(this, 0, 1))
+                return;
+            limiter.onDrop();
+            limiter.inFlight.decrementAndGet();
+            limiter.drain();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package dev.inventex.octa.concurrent.limit;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.errorprone.annotations.CheckReturnValue;
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.future.FutureCancellationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * Represents a limiter, that grants permits to the operations accessing a shared resource, such as a downstream
+ * service, so that the resource is not overloaded.
+ * <p>
+ * The permits are acquired asynchronously: {@link #acquire()} returns a Future, that completes, when the permit
+ * has been granted, therefore no thread is parked, whilst waiting for a permit. The waiting Futures can be
+ * cancelled, in which case they will not be granted a permit.
+ */
+public interface Limiter {
+    /**
+     * Acquire a permit, and complete the returned Future, when the permit has been granted.
+     * <p>
+     * If a permit is available immediately, the returned Future is already completed.
+     *
+     * @return a Future of the granted permit
+     */
+    @CheckReturnValue
+    @NotNull Future<@NotNull Permit> acquire();
+
+    /**
+     * Try to acquire a permit, without waiting for it.
+     *
+     * @return the granted permit, or <code>null</code> if no permit is available
+     */
+    @CheckReturnValue
+    @Nullable Permit tryAcquire();
+
+    /**
+     * Start the specified operation, when a permit has been granted, and release the permit, when the Future of
+     * the operation has completed.
+     * <p>
+     * The permit is released, if the operation has completed successfully, or has been cancelled,
+     * and dropped, if it has failed.
+     * Cancelling the returned Future cancels the operation, or the acquisition of the permit, if the operation
+     * has not been started yet.
+     * <p>
+     * The operation is started on the thread, that grants the permit: the calling thread, if a permit is available
+     * immediately, otherwise the thread, that makes a permit available, such as the thread releasing a permit of a
+     * {@link ConcurrencyLimiter}, or the global executor for a {@link TokenBucketLimiter}. Therefore the supplier
+     * should only start the operation, and not wait for its result.
+     *
+     * @param operation the supplier, that starts the operation
+     * @param <T> the type of the result
+     * @return a Future of the result of the operation
+     */
+    @CanIgnoreReturnValue
+    default <T> @NotNull Future<T> run(@NotNull Supplier<@NotNull Future<T>> operation) {
+        // the cancellation of the result is propagated to the acquisition, or to the started operation
+        return acquire().transformAsync(permit -> {
+            Future<T> future;
+            try {
+                future = operation.get();
+            } catch (RuntimeException e) {
+                permit.drop();
+                throw e;
+            }
+            // a cancelled operation does not indicate, that the resource has been overloaded
+            future.then(value -> permit.release()).except(error -> {
+                if (error instanceof FutureCancellationException)
+                    permit.release();
+                else
+                    permit.drop();
+            });
+            return future;
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package dev.inventex.octa.concurrent.limit;
+
+/**
+ * Represents a permit granted by a {@link Limiter}, that allows a single operation to proceed.
+ * <p>
+ * The permit should be released exactly once, after the operation has finished. Releasing a permit more than
+ * once has no effect.
+ */
+public interface Permit {
+    /**
+     * Release the permit, after the operation has finished successfully.
+     */
+    void release();
+
+    /**
+     * Release the permit, after the operation has failed, because the downstream has been overloaded,
+     * which lets an adaptive limiter lower its limit.
+     * <p>
+     * By default, dropping a permit is the same as releasing it.
+     */
+    default void drop() {
+        release();
+    }
+}
@@ -0,0 +1,129 @@
+package dev.inventex.octa.concurrent.limit;
+
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.threading.Threading;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents a limiter, that limits the rate of the operations, using a token bucket.
+ * <p>
+ * The bucket is refilled at a constant rate, and holds at most the burst size number of tokens, each of them
+ * granting a single permit. Instead of storing the number of the tokens, the limiter stores the time, when the
+ * bucket is going to be full again, therefore the bucket is refilled lazily, and a permit is granted by a single
+ * compare-and-set operation.
+ * <p>
+ * The acquisitions, that arrive whilst the bucket is empty, reserve the next tokens in the order of their
+ * arrival. The shared timer waits for the reserved token to become available, and hands the completion of their
+ * Futures over to the global executor of the Futures, so that the operations chained on the permits do not run on
+ * the timer thread.
+ * The token of a cancelled acquisition is not given back to the bucket.
+ * <p>
+ * The permits of the token bucket do not need to be released.
+ */
+public class TokenBucketLimiter implements Limiter {
+    /**
+     * The permit granted by the token bucket, that does not need to be released.
+     */
+    private static final @NotNull Permit PERMIT = () -> {};
+
+    /**
+     * The time between two tokens in nanoseconds.
+     */
+    private final long interval;
+
+    /**
+     * The time it takes to fill the empty bucket in nanoseconds, minus one interval.
+     */
+    private final long tolerance;
+
+    /**
+     * The time in nanoseconds, when the bucket will be full again, considering the reserved tokens as well.
+     */
+    private final @NotNull AtomicLong fullAt;
+
+    /**
+     * Create a new token bucket limiter.
+     *
+     * @param permitsPerSecond the number of the tokens added to the bucket every second
+     * @param burst the maximum number of the tokens in the bucket
+     */
+    public TokenBucketLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0)
+            throw new IllegalArgumentException("Permits per second must be positive: " + permitsPerSecond);
+        if (burst <= 0)
+            throw new IllegalArgumentException("Burst must be positive: " + burst);
+
+        interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        tolerance = interval * (burst - 1);
+        // start with a full bucket
+        fullAt = new AtomicLong(System.nanoTime() - interval);
+    }
+
+    /**
+     * Acquire a permit, and complete the returned Future, when the next token becomes available.
+     *
+     * @return a Future of the granted permit
+     */
+    @Override
+    public @NotNull Future<@NotNull Permit> acquire() {
+        long wait = reserve(true);
+        if (wait <= 0)
+            return Future.completed(PERMIT);
+
+        // complete the future using the shared timer, instead of parking the thread until the token is available
+        Future<Permit> future = new Future<>();
+        Threading.getTimer().schedule(
+            () -> future.complete(PERMIT), wait, TimeUnit.NANOSECONDS, Future.getGlobalExecutor()
+        );
+        return future;
+    }
+
+    /**
+     * Try to acquire a permit, if there is a token available in the bucket.
+     *
+     * @return the granted permit, or <code>null</code> if the bucket is empty
+     */
+    @Override
+    public @Nullable Permit tryAcquire() {
+        return reserve(false) <= 0 ? PERMIT : null;
+    }
+
+    /**
+     * Retrieve the estimated number of the tokens in the bucket.
+     *
+     * @return the number of the available tokens, or a negative number of the reserved tokens
+     */
+    public long getAvailableTokens() {
+        long now = System.nanoTime();
+        long fullAt = Math.max(this.fullAt.get(), now);
+        return (tolerance + interval - (fullAt - now)) / interval;
+    }
+
+    /**
+     * Take a token from the bucket, or reserve the next token, if the bucket is empty.
+     *
+     * @param reserve whether the next token should be reserved, if the bucket is empty
+     * @return the time to wait for the token in nanoseconds, or a non-positive value if the token is available,
+     * or {@link Long#MAX_VALUE} if the bucket is empty, and no token has been reserved
+     */
+    private long reserve(boolean reserve) {
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+
+            // the bucket is refilled up to its capacity, whilst no tokens are taken
+            long base = Math.max(current, now);
+            long wait = base - now - tolerance;
+            if (wait > 0 && !reserve)
+                return Long.MAX_VALUE;
+
+            // take the token, by moving the time of the full bucket by a single interval
+            if (fullAt.compareAndSet(current, base + interval))
+                return wait;
+        }
+    }
+}
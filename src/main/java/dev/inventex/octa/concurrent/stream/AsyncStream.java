@@ -0,0 +1,833 @@
+package dev.inventex.octa.concurrent.stream;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.errorprone.annotations.CheckReturnValue;
+import dev.inventex.octa.concurrent.future.Future;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Represents an asynchronous stream of values, that are emitted according to the demand of the subscribers.
+ * <p>
+ * Unlike a {@link Future}, that represents a single value, a stream emits many values, such as the results of
+ * a paginated request. The stream is cold: each subscriber starts its own emission, and no work is done,
+ * until the subscriber requests the values.
+ * <p>
+ * The values are emitted on the thread, that requests them, or on the thread, that completes the Future of the
+ * next page of the values, therefore the values are not handed over to a different thread one by one. The emission
+ * is driven by a loop, rather than recursively, so a subscriber requesting more values from its handler does not
+ * grow the stack.
+ * <p>
+ * The streams can be converted to a Future using {@link #first()}, {@link #collect()} and
+ * {@link #forEachAsync(Consumer)}, and they can be converted to and from {@code java.util.concurrent.Flow}
+ * publishers on Java 9 and above using {@code FlowAdapters}.
+ *
+ * @param <T> the type of the emitted values
+ */
+public abstract class AsyncStream<T> implements Publisher<T> {
+    /**
+     * The number of the values, that are requested at once by the subscribers converting the stream to a Future.
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * Create a new stream, that emits the specified values.
+     *
+     * @param values the values to emit
+     * @return a new stream of the values
+     * @param <T> the type of the values
+     */
+    @SafeVarargs
+    @CheckReturnValue
+    public static <T> @NotNull AsyncStream<T> of(@NotNull T @NotNull ... values) {
+        return fromIterable(Arrays.asList(values));
+    }
+
+    /**
+     * Create a new stream, that emits the values of the specified iterable, in its iteration order.
+     * <p>
+     * The iterable is iterated separately for each subscriber.
+     *
+     * @param values the values to emit
+     * @return a new stream of the values
+     * @param <T> the type of the values
+     */
+    @CheckReturnValue
+    public static <T> @NotNull AsyncStream<T> fromIterable(@NotNull Iterable<? extends @NotNull T> values) {
+        // the values are available immediately, therefore the stream is emitted as a single, last page
+        return new Source<>(null, null, Page.last(values));
+    }
+
+    /**
+     * Create a new stream, that emits the value of the specified Future, once it is completed.
+     * <p>
+     * If the Future is completed with <code>null</code>, the stream completes without emitting a value.
+     * If the Future fails, the stream fails with the same error.
+     * <p>
+     * Cancelling a subscription does not cancel the Future, as it is shared by every subscriber of the stream.
+     *
+     * @param future the Future of the value to emit
+     * @return a new stream of the value of the Future
+     * @param <T> the type of the value
+     */
+    @CheckReturnValue
+    public static <T> @NotNull AsyncStream<T> fromFuture(@NotNull Future<? extends T> future) {
+        return paginate(null, ignored -> {
+            // complete a separate Future for each subscriber, that does not propagate its cancellation upstream
+            Future<Page<Object, T>> page = new Future<>();
+            future.then(value -> page.complete(Page.last(
+                value == null ? Collections.<T>emptyList() : Collections.<T>singletonList(value)
+            ))).except(page::fail);
+            return page;
+        });
+    }
+
+    /**
+     * Create a new stream, that emits the values of the pages retrieved by the specified function.
+     * <p>
+     * The first page is requested using the initial cursor, and each following page is requested using the cursor
+     * of the next page, until a page without a next cursor is retrieved. A page is only requested, once the values of
+     * the previous page have been emitted, and the subscriber has requested more values, therefore the pages are
+     * never fetched ahead of the demand.
+     * <p>
+     * If the function throws an exception, or its Future fails, the stream fails with the same error.
+     * Cancelling the subscription cancels the Future of the pending page.
+     *
+     * @param cursor the cursor of the first page
+     * @param fetcher the function, that retrieves the page of the specified cursor
+     * @return a new stream of the values of the pages
+     * @param <C> the type of the cursor of the pages
+     * @param <T> the type of the values
+     */
+    @CheckReturnValue
+    public static <C, T> @NotNull AsyncStream<T> paginate(
+        @Nullable C cursor, @NotNull Function<? super C, ? extends Future<? extends Page<C, ? extends T>>> fetcher
+    ) {
+        return new Source<>(cursor, fetcher, null);
+    }
+
+    /**
+     * Create a new stream, that emits the values of the specified publisher.
+     *
+     * @param publisher the publisher of the values
+     * @return a new stream of the values of the publisher
+     * @param <T> the type of the values
+     */
+    @CheckReturnValue
+    public static <T> @NotNull AsyncStream<T> from(@NotNull Publisher<T> publisher) {
+        if (publisher instanceof AsyncStream)
+            return (AsyncStream<T>) publisher;
+
+        return new AsyncStream<T>() {
+            @Override
+            public void subscribe(@NotNull Subscriber<? super T> subscriber) {
+                publisher.subscribe(subscriber);
+            }
+        };
+    }
+
+    /**
+     * Create a new stream, that emits the values of this stream transformed by the specified function.
+     * <p>
+     * If the function returns <code>null</code>, the value is skipped. If the function throws an exception,
+     * the subscription is cancelled, and the stream fails with the exception.
+     *
+     * @param mapper the function, that transforms the values
+     * @return a new stream of the transformed values
+     * @param <U> the type of the transformed values
+     */
+    @CheckReturnValue
+    public <U> @NotNull AsyncStream<U> map(@NotNull Function<? super T, ? extends @Nullable U> mapper) {
+        return new Stage<>(this, mapper);
+    }
+
+    /**
+     * Create a new stream, that emits the values of this stream, that match the specified predicate.
+     * <p>
+     * If the predicate throws an exception, the subscription is cancelled, and the stream fails with the exception.
+     *
+     * @param predicate the predicate, that the emitted values must match
+     * @return a new stream of the matching values
+     */
+    @CheckReturnValue
+    public @NotNull AsyncStream<T> filter(@NotNull Predicate<? super T> predicate) {
+        return new Stage<T, T>(this, value -> predicate.test(value) ? value : null);
+    }
+
+    /**
+     * Create a new Future, that will be completed with the first value of the stream.
+     * <p>
+     * Only a single value is requested, and the subscription is cancelled, once the value has been emitted.
+     * If the stream completes without emitting a value, the Future is failed with a
+     * {@link NoSuchElementException}. Cancelling the Future cancels the subscription.
+     *
+     * @return a new Future of the first value
+     */
+    @CheckReturnValue
+    public @NotNull Future<T> first() {
+        First<T> first = new First<>();
+        subscribe(first);
+        return first.result;
+    }
+
+    /**
+     * Create a new Future, that will be completed with the list of every value of the stream, once the stream
+     * has completed.
+     * <p>
+     * If the stream fails, the Future is failed with the same error. Cancelling the Future cancels the subscription.
+     *
+     * @return a new Future of the emitted values
+     */
+    @CheckReturnValue
+    public @NotNull Future<@NotNull List<T>> collect() {
+        Collect<T> collect = new Collect<>();
+        subscribe(collect);
+        return collect.result;
+    }
+
+    /**
+     * Call the specified action with each value of the stream, and create a new Future, that will be completed,
+     * once the stream has completed.
+     * <p>
+     * The action is called on the thread emitting the values. The values are requested in batches, so that
+     * the stream is not asked for every single value separately.
+     * <p>
+     * If the stream fails, the Future is failed with the same error. If the action throws an exception, the
+     * subscription is cancelled, and the Future is failed with the exception. Cancelling the Future cancels
+     * the subscription.
+     *
+     * @param action the action to call with each value
+     * @return a new Future, that is completed after the last value
+     */
+    @CanIgnoreReturnValue
+    public @NotNull Future<Void> forEachAsync(@NotNull Consumer<? super T> action) {
+        ForEach<T> forEach = new ForEach<>(action);
+        subscribe(forEach);
+        return forEach.result;
+    }
+
+    /**
+     * Represents a page of the values of a paginated stream.
+     *
+     * @param <C> the type of the cursor of the pages
+     * @param <T> the type of the values
+     */
+    public static final class Page<C, T> {
+        /**
+         * The values of the page.
+         */
+        private final @NotNull Iterable<? extends @NotNull T> values;
+
+        /**
+         * The cursor of the next page, or <code>null</code> if this is the last page.
+         */
+        private final @Nullable C next;
+
+        /**
+         * Initialize the page.
+         *
+         * @param values the values of the page
+         * @param next the cursor of the next page, or <code>null</code> if this is the last page
+         */
+        private Page(@NotNull Iterable<? extends @NotNull T> values, @Nullable C next) {
+            this.values = values;
+            this.next = next;
+        }
+
+        /**
+         * Create a new page, that is followed by the page of the specified cursor.
+         *
+         * @param values the values of the page
+         * @param next the cursor of the next page, or <code>null</code> if this is the last page
+         * @return a new page
+         * @param <C> the type of the cursor of the pages
+         * @param <T> the type of the values
+         */
+        public static <C, T> @NotNull Page<C, T> of(@NotNull Iterable<? extends @NotNull T> values, @Nullable C next) {
+            return new Page<>(values, next);
+        }
+
+        /**
+         * Create a new page, that is the last page of the stream.
+         *
+         * @param values the values of the page
+         * @return a new page
+         * @param <C> the type of the cursor of the pages
+         * @param <T> the type of the values
+         */
+        public static <C, T> @NotNull Page<C, T> last(@NotNull Iterable<? extends @NotNull T> values) {
+            return new Page<>(values, null);
+        }
+    }
+
+    /**
+     * Represents a stream, that emits the values of the pages retrieved by a fetcher function.
+     *
+     * @param <C> the type of the cursor of the pages
+     * @param <T> the type of the values
+     */
+    private static final class Source<C, T> extends AsyncStream<T> {
+        /**
+         * The cursor of the first page.
+         */
+        private final @Nullable C cursor;
+
+        /**
+         * The first page, that is available immediately, or <code>null</code> if it has to be retrieved.
+         */
+        private final @Nullable Page<C, ? extends T> page;
+
+        /**
+         * The function, that retrieves the page of the specified cursor.
+         */
+        private final @Nullable Function<? super C, ? extends Future<? extends Page<C, ? extends T>>> fetcher;
+
+        /**
+         * Initialize the source stream.
+         *
+         * @param cursor the cursor of the first page
+         * @param fetcher the function, that retrieves the page of the specified cursor, or <code>null</code>
+         * if there are no more pages, than the first one
+         * @param page the first page, that is available immediately, or <code>null</code> if it has to be retrieved
+         */
+        private Source(
+            @Nullable C cursor, @Nullable Function<? super C, ? extends Future<? extends Page<C, ? extends T>>> fetcher,
+            @Nullable Page<C, ? extends T> page
+        ) {
+            this.cursor = cursor;
+            this.fetcher = fetcher;
+            this.page = page;
+        }
+
+        /**
+         * Start a new emission of the pages for the specified subscriber.
+         *
+         * @param subscriber the subscriber to emit the values to
+         */
+        @Override
+        public void subscribe(@NotNull Subscriber<? super T> subscriber) {
+            Emission<C, T> emission = new Emission<>(subscriber, fetcher, cursor, page);
+            try {
+                subscriber.onSubscribe(emission);
+            } catch (Throwable e) {
+                // the subscriber has violated the contract, do not emit anything to it
+                emission.cancel();
+            }
+        }
+    }
+
+    /**
+     * Represents the subscription of a subscriber to a {@link Source}, that emits the values according to the
+     * demand of the subscriber.
+     * <p>
+     * The signals of the subscriber are serialized using a work-in-progress counter: the thread, that increments
+     * the counter from zero, runs the emission loop, until it has handled the requests and the pages, that arrived
+     * meanwhile, and the other threads only record their requests and pages.
+     *
+     * @param <C> the type of the cursor of the pages
+     * @param <T> the type of the values
+     */
+    private static final class Emission<C, T> implements Subscription {
+        /**
+         * The field updater used to atomically modify the {@link #wip} counter of the emission.
+         */
+        @SuppressWarnings("rawtypes")
+        private static final @NotNull AtomicIntegerFieldUpdater<Emission> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(Emission.class, "wip");
+
+        /**
+         * The field updater used to atomically modify the {@link #requested} demand of the emission.
+         */
+        @SuppressWarnings("rawtypes")
+        private static final @NotNull AtomicLongFieldUpdater<Emission> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(Emission.class, "requested");
+
+        /**
+         * The subscriber to emit the values to.
+         */
+        private final @NotNull Subscriber<? super T> downstream;
+
+        /**
+         * The function, that retrieves the page of the specified cursor, or <code>null</code> if there are no
+         * more pages, than the initial one.
+         */
+        private final @Nullable Function<? super C, ? extends Future<? extends Page<C, ? extends T>>> fetcher;
+
+        /**
+         * The number of the signals, that have not been handled by the emission loop yet.
+         */
+        private volatile int wip;
+
+        /**
+         * The number of the values requested by the subscriber, that have not been emitted yet.
+         */
+        private volatile long requested;
+
+        /**
+         * Indicates whether the emission has been cancelled, or has terminated.
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * The page, that has been retrieved, but has not been taken over by the emission loop yet.
+         */
+        private volatile @Nullable Page<C, ? extends T> fetched;
+
+        /**
+         * The error, that fails the stream, once the emission loop observes it.
+         */
+        private volatile @Nullable Throwable error;
+
+        /**
+         * The Future of the page, that is being retrieved.
+         */
+        private volatile @Nullable Future<?> pending;
+
+        /**
+         * The values of the current page, that have not been emitted yet, only accessed by the emission loop.
+         */
+        private @Nullable Iterator<? extends T> values;
+
+        /**
+         * The cursor of the next page, only accessed by the emission loop.
+         */
+        private @Nullable C cursor;
+
+        /**
+         * Indicates whether the current page is the last page, only accessed by the emission loop.
+         */
+        private boolean last;
+
+        /**
+         * Indicates whether the next page is being retrieved, only accessed by the emission loop.
+         */
+        private boolean fetching;
+
+        /**
+         * Initialize the emission.
+         *
+         * @param downstream the subscriber to emit the values to
+         * @param fetcher the function, that retrieves the page of the specified cursor
+         * @param cursor the cursor of the first page to retrieve
+         * @param page the page, that is available immediately, or <code>null</code> to retrieve the first page
+         */
+        private Emission(
+            @NotNull Subscriber<? super T> downstream,
+            @Nullable Function<? super C, ? extends Future<? extends Page<C, ? extends T>>> fetcher,
+            @Nullable C cursor, @Nullable Page<C, ? extends T> page
+        ) {
+            this.downstream = downstream;
+            this.fetcher = fetcher;
+            this.cursor = cursor;
+            this.fetched = page;
+        }
+
+        /**
+         * Request the specified number of additional values, and emit them, if they are available.
+         *
+         * @param count the number of the requested values
+         */
+        @Override
+        public void request(long count) {
+            if (count <= 0)
+                error = new IllegalArgumentException("Request count must be positive: " + count);
+            else {
+                // add the demand, capping it at the unbounded demand
+                long current, updated;
+                do {
+                    current = requested;
+                    updated = current + count < 0 ? Long.MAX_VALUE : current + count;
+                } while (!REQUESTED.compareAndSet(this, current, updated));
+            }
+            drain();
+        }
+
+        /**
+         * Cancel the emission, and the retrieval of the pending page.
+         */
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Future<?> pending = this.pending;
+            if (pending != null)
+                pending.cancel();
+        }
+
+        /**
+         * Run the emission loop, unless it is already being run by another thread.
+         */
+        private void drain() {
+            if (WIP.getAndIncrement(this) != 0)
+                return;
+
+            int missed = 1;
+            do {
+                if (cancelled)
+                    return;
+
+                try {
+                    if (!emit())
+                        return;
+                } catch (Throwable e) {
+                    // the page, or the subscriber has failed, terminate the stream
+                    cancelled = true;
+                    downstream.onError(e);
+                    return;
+                }
+
+                missed = WIP.addAndGet(this, -missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Emit the available values up to the requested number, then retrieve the next page, if the current page
+         * has been exhausted, and there is still an outstanding demand.
+         *
+         * @return <code>true</code> if the stream is still active, <code>false</code> if it has terminated
+         */
+        private boolean emit() {
+            // fail the stream, if the request, or the retrieval of the page has failed
+            Throwable error = this.error;
+            if (error != null) {
+                cancelled = true;
+                downstream.onError(error);
+                return false;
+            }
+
+            // take over the retrieved page
+            Page<C, ? extends T> page = fetched;
+            if (page != null) {
+                fetched = null;
+                values = page.values.iterator();
+                cursor = page.next;
+                last = page.next == null || fetcher == null;
+                fetching = false;
+            }
+
+            // emit the values of the page, until the demand is satisfied, or the page is exhausted
+            long requested = this.requested;
+            long emitted = 0;
+            Iterator<? extends T> values = this.values;
+            while (emitted != requested && values != null && values.hasNext()) {
+                downstream.onNext(values.next());
+                emitted++;
+                if (cancelled)
+                    return false;
+            }
+            if (emitted != 0 && requested != Long.MAX_VALUE)
+                REQUESTED.addAndGet(this, -emitted);
+
+            // the page still has values, wait for more demand
+            if (values != null && values.hasNext())
+                return true;
+
+            // complete the stream after the last page
+            if (last) {
+                cancelled = true;
+                downstream.onComplete();
+                return false;
+            }
+
+            // retrieve the next page, only if the subscriber is still waiting for values
+            if (!fetching && this.requested > 0)
+                fetch();
+            return true;
+        }
+
+        /**
+         * Retrieve the next page, and run the emission loop again, once it has been retrieved.
+         */
+        @SuppressWarnings("ConstantConditions")
+        private void fetch() {
+            fetching = true;
+            Future<? extends Page<C, ? extends T>> future = fetcher.apply(cursor);
+            pending = future;
+            // the page may be retrieved immediately, in which case the current emission loop handles it
+            future
+                .then(page -> {
+                    pending = null;
+                    fetched = page;
+                    drain();
+                })
+                .except(error -> {
+                    this.error = error;
+                    drain();
+                });
+        }
+    }
+
+    /**
+     * Represents a stream, that transforms the values of another stream, and skips the values transformed
+     * to <code>null</code>.
+     *
+     * @param <T> the type of the values of the upstream
+     * @param <U> the type of the transformed values
+     */
+    private static final class Stage<T, U> extends AsyncStream<U> {
+        /**
+         * The stream, whose values are transformed.
+         */
+        private final @NotNull Publisher<T> upstream;
+
+        /**
+         * The function, that transforms the values, or returns <code>null</code> to skip them.
+         */
+        private final @NotNull Function<? super T, ? extends U> mapper;
+
+        /**
+         * Initialize the stage.
+         *
+         * @param upstream the stream, whose values are transformed
+         * @param mapper the function, that transforms the values, or returns <code>null</code> to skip them
+         */
+        private Stage(@NotNull Publisher<T> upstream, @NotNull Function<? super T, ? extends U> mapper) {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+
+        /**
+         * Subscribe the specified subscriber to the transformed values of the upstream.
+         *
+         * @param subscriber the subscriber to emit the transformed values to
+         */
+        @Override
+        public void subscribe(@NotNull Subscriber<? super U> subscriber) {
+            upstream.subscribe(new Subscriber<T>() {
+                /**
+                 * The subscription to the upstream.
+                 */
+                private Subscription subscription;
+
+                /**
+                 * Indicates whether the stage has failed, after which the upstream signals are ignored.
+                 */
+                private boolean done;
+
+                @Override
+                public void onSubscribe(@NotNull Subscription subscription) {
+                    this.subscription = subscription;
+                    subscriber.onSubscribe(subscription);
+                }
+
+                @Override
+                public void onNext(@NotNull T value) {
+                    if (done)
+                        return;
+
+                    U result;
+                    try {
+                        result = mapper.apply(value);
+                    } catch (Throwable e) {
+                        done = true;
+                        subscription.cancel();
+                        subscriber.onError(e);
+                        return;
+                    }
+
+                    // request a replacement for the skipped value, so that the demand of the subscriber is satisfied
+                    if (result == null)
+                        subscription.request(1);
+                    else
+                        subscriber.onNext(result);
+                }
+
+                @Override
+                public void onError(@NotNull Throwable error) {
+                    if (!done)
+                        subscriber.onError(error);
+                }
+
+                @Override
+                public void onComplete() {
+                    if (!done)
+                        subscriber.onComplete();
+                }
+            });
+        }
+    }
+
+    /**
+     * Represents a subscriber, that converts the stream to a Future, requesting the values in batches.
+     *
+     * @param <T> the type of the values
+     * @param <R> the type of the result
+     */
+    private abstract static class Terminal<T, R> implements Subscriber<T> {
+        /**
+         * The Future of the result of the stream.
+         */
+        final @NotNull Future<R> result = new Future<>();
+
+        /**
+         * The number of the values requested at once.
+         */
+        private final int batchSize;
+
+        /**
+         * The number of the consumed values, after which the next batch is requested.
+         */
+        private final int limit;
+
+        /**
+         * The subscription to the stream, or <code>null</code> if the subscription has not started yet.
+         */
+        private volatile @Nullable Subscription subscription;
+
+        /**
+         * The number of the values consumed since the last request.
+         */
+        private int consumed;
+
+        /**
+         * Initialize the terminal subscriber.
+         *
+         * @param batchSize the number of the values requested at once
+         */
+        Terminal(int batchSize) {
+            this.batchSize = batchSize;
+            // request the next batch, once three quarters of the batch has been consumed
+            this.limit = batchSize - (batchSize >> 2);
+            // cancel the subscription, if the result is cancelled, or completed early
+            result.result((value, error) -> {
+                Subscription subscription = this.subscription;
+                if (subscription != null)
+                    subscription.cancel();
+            });
+        }
+
+        /**
+         * Consume the next value of the stream.
+         *
+         * @param value the emitted value
+         */
+        abstract void accept(@NotNull T value);
+
+        @Override
+        public void onSubscribe(@NotNull Subscription subscription) {
+            this.subscription = subscription;
+            // do not request anything, if the result has been cancelled meanwhile
+            if (result.isCompleted())
+                subscription.cancel();
+            else
+                subscription.request(batchSize);
+        }
+
+        @Override
+        @SuppressWarnings("ConstantConditions")
+        public void onNext(@NotNull T value) {
+            if (result.isCompleted())
+                return;
+
+            try {
+                accept(value);
+            } catch (Throwable e) {
+                // the completion of the result cancels the subscription
+                result.fail(e);
+                return;
+            }
+
+            // request the next batch, before the current one is exhausted, so that the stream does not stall
+            if (++consumed == limit && !result.isCompleted()) {
+                consumed = 0;
+                subscription.request(limit);
+            }
+        }
+
+        @Override
+        public void onError(@NotNull Throwable error) {
+            result.fail(error);
+        }
+    }
+
+    /**
+     * Represents a subscriber, that completes its result with the first value of the stream.
+     *
+     * @param <T> the type of the values
+     */
+    private static final class First<T> extends Terminal<T, T> {
+        /**
+         * Initialize the subscriber, that only requests a single value.
+         */
+        private First() {
+            super(1);
+        }
+
+        @Override
+        void accept(@NotNull T value) {
+            result.complete(value);
+        }
+
+        @Override
+        public void onComplete() {
+            result.fail(new NoSuchElementException("The stream has completed without emitting a value"));
+        }
+    }
+
+    /**
+     * Represents a subscriber, that completes its result with the list of the values of the stream.
+     *
+     * @param <T> the type of the values
+     */
+    private static final class Collect<T> extends Terminal<T, List<T>> {
+        /**
+         * The values emitted by the stream.
+         */
+        private final @NotNull List<T> values = new ArrayList<>();
+
+        /**
+         * Initialize the collecting subscriber.
+         */
+        private Collect() {
+            super(BATCH_SIZE);
+        }
+
+        @Override
+        void accept(@NotNull T value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(values);
+        }
+    }
+
+    /**
+     * Represents a subscriber, that calls an action with each value of the stream.
+     *
+     * @param <T> the type of the values
+     */
+    private static final class ForEach<T> extends Terminal<T, Void> {
+        /**
+         * The action to call with each value.
+         */
+        private final @NotNull Consumer<? super T> action;
+
+        /**
+         * Initialize the subscriber.
+         *
+         * @param action the action to call with each value
+         */
+        private ForEach(@NotNull Consumer<? super T> action) {
+            super(BATCH_SIZE);
+            this.action = action;
+        }
+
+        @Override
+        void accept(@NotNull T value) {
+            action.accept(value);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(null);
+        }
+    }
+}
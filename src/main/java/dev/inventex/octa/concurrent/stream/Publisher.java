@@ -0,0 +1,25 @@
+package dev.inventex.octa.concurrent.stream;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a producer of a potentially unbounded number of values, that are emitted to its subscribers
+ * according to the demand signalled by them.
+ * <p>
+ * This is the Java 8 equivalent of {@code java.util.concurrent.Flow.Publisher}, with the same contract.
+ * On Java 9 and above, the publishers can be converted to and from the Flow publishers using {@code FlowAdapters}.
+ *
+ * @param <T> the type of the emitted values
+ */
+@FunctionalInterface
+public interface Publisher<T> {
+    /**
+     * Subscribe the specified subscriber to the values of the publisher.
+     * <p>
+     * The publisher calls {@link Subscriber#onSubscribe(Subscription)} first, then emits at most as many
+     * values, as the subscriber has requested, until the stream is completed, failed, or cancelled.
+     *
+     * @param subscriber the subscriber to emit the values to
+     */
+    void subscribe(@NotNull Subscriber<? super T> subscriber);
+}
@@ -0,0 +1,40 @@
+package dev.inventex.octa.concurrent.stream;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a consumer of the values emitted by a {@link Publisher}.
+ * <p>
+ * This is the Java 8 equivalent of {@code java.util.concurrent.Flow.Subscriber}, with the same contract.
+ * The methods of a subscriber are called serially, however not necessarily on the same thread.
+ *
+ * @param <T> the type of the consumed values
+ */
+public interface Subscriber<T> {
+    /**
+     * Handle the start of the subscription. No values are emitted, until the subscriber requests them
+     * using {@link Subscription#request(long)}.
+     *
+     * @param subscription the subscription to request the values with
+     */
+    void onSubscribe(@NotNull Subscription subscription);
+
+    /**
+     * Handle the next value of the stream.
+     *
+     * @param value the emitted value
+     */
+    void onNext(@NotNull T value);
+
+    /**
+     * Handle the failure of the stream. No more signals are emitted afterwards.
+     *
+     * @param error the error of the stream
+     */
+    void onError(@NotNull Throwable error);
+
+    /**
+     * Handle the completion of the stream. No more signals are emitted afterwards.
+     */
+    void onComplete();
+}
@@ -0,0 +1,24 @@
+package dev.inventex.octa.concurrent.stream;
+
+/**
+ * Represents the link between a {@link Publisher} and a {@link Subscriber}, that the subscriber uses to
+ * signal its demand for the values.
+ * <p>
+ * This is the Java 8 equivalent of {@code java.util.concurrent.Flow.Subscription}, with the same contract.
+ */
+public interface Subscription {
+    /**
+     * Request the specified number of additional values. The demand is cumulative, and requesting
+     * {@link Long#MAX_VALUE} values is treated as an unbounded demand.
+     * <p>
+     * A non-positive request fails the stream with an {@link IllegalArgumentException}.
+     *
+     * @param count the number of the requested values
+     */
+    void request(long count);
+
+    /**
+     * Cancel the subscription, after which the publisher eventually stops emitting the values.
+     */
+    void cancel();
+}
@@ -0,0 +1,231 @@
+package dev.inventex.octa.concurrent.threading;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a fixed size thread pool, that holds the pending tasks in a bounded queue.
+ * <p>
+ * When the queue is full, the submitted task is handled by the {@link OverflowPolicy} of the executor, so that
+ * a burst of tasks applies backpressure to the submitters, instead of growing the queue without limit.
+ * <p>
+ * The executor keeps track of the depth of its queue, and the number of the overflowed tasks, so that the
+ * saturation of the pool can be monitored.
+ */
+public class BoundedExecutor extends ThreadPoolExecutor {
+    /**
+     * The policy that handles the tasks submitted whilst the queue is full.
+     */
+    private final @NotNull OverflowPolicy policy;
+
+    /**
+     * The maximum time to wait for free space in the queue, using the {@link OverflowPolicy#BLOCK} policy.
+     */
+    private final long timeout;
+
+    /**
+     * The highest depth of the queue observed since the last reset.
+     */
+    private final @NotNull AtomicInteger peakQueueDepth = new AtomicInteger();
+
+    /**
+     * The number of the tasks, that were run on the submitting thread, because the queue was full.
+     */
+    private final @NotNull LongAdder callerRuns = new LongAdder();
+
+    /**
+     * The number of the tasks, that had to wait for free space in the queue.
+     */
+    private final @NotNull LongAdder blocked = new LongAdder();
+
+    /**
+     * The number of the tasks, that have been rejected by the executor.
+     */
+    private final @NotNull LongAdder rejected = new LongAdder();
+
+    /**
+     * Create a new bounded executor.
+     *
+     * @param poolSize the number of the worker threads
+     * @param queueCapacity the maximum number of the pending tasks
+     * @param policy the policy that handles the tasks submitted whilst the queue is full
+     * @param timeout the maximum time to wait for free space in the queue, using the {@link OverflowPolicy#BLOCK} policy
+     * @param unit the time unit of the timeout
+     * @param factory the factory used to create the worker threads
+     */
+    public BoundedExecutor(
+        int poolSize, int queueCapacity, @NotNull OverflowPolicy policy, long timeout, @NotNull TimeUnit unit,
+        @NotNull ThreadFactory factory
+    ) {
+        super(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), factory);
+        if (timeout < 0)
+            throw new IllegalArgumentException("Timeout must not be negative: " + timeout);
+        this.policy = policy;
+        this.timeout = unit.toNanos(timeout);
+        setRejectedExecutionHandler(new OverflowHandler());
+    }
+
+    /**
+     * Execute the specified task on a worker thread, or handle it with the overflow policy, if the queue is full.
+     *
+     * @param command the task to execute
+     *
+     * @throws RejectedExecutionException if the task has been rejected by the overflow policy,
+     * or the executor has been shut down
+     */
+    @Override
+    public void execute(@NotNull Runnable command) {
+        super.execute(command);
+
+        // record the peak depth of the queue
+        int depth = getQueue().size();
+        int peak;
+        while (depth > (peak = peakQueueDepth.get()))
+            if (peakQueueDepth.compareAndSet(peak, depth))
+                break;
+    }
+
+    /**
+     * Retrieve the policy that handles the tasks submitted whilst the queue is full.
+     *
+     * @return the overflow policy of the executor
+     */
+    public @NotNull OverflowPolicy getOverflowPolicy() {
+        return policy;
+    }
+
+    /**
+     * Retrieve the number of the tasks, that are waiting in the queue.
+     *
+     * @return the current depth of the queue
+     */
+    public int getQueueDepth() {
+        return getQueue().size();
+    }
+
+    /**
+     * Retrieve the maximum number of the tasks, that can wait in the queue.
+     *
+     * @return the capacity of the queue
+     */
+    public int getQueueCapacity() {
+        return getQueue().size() + getQueue().remainingCapacity();
+    }
+
+    /**
+     * Retrieve the highest depth of the queue observed since the last {@link #resetPeakQueueDepth()} call.
+     *
+     * @return the peak depth of the queue
+     */
+    public int getPeakQueueDepth() {
+        return peakQueueDepth.get();
+    }
+
+    /**
+     * Reset the peak depth of the queue to the current depth.
+     */
+    public void resetPeakQueueDepth() {
+        peakQueueDepth.set(getQueue().size());
+    }
+
+    /**
+     * Retrieve the number of the tasks, that were run on the submitting thread, because the queue was full.
+     *
+     * @return the number of the caller-run tasks
+     */
+    public long getCallerRunsCount() {
+        return callerRuns.sum();
+    }
+
+    /**
+     * Retrieve the number of the tasks, that had to wait for free space in the queue.
+     *
+     * @return the number of the blocked submissions
+     */
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    /**
+     * Retrieve the number of the tasks, that have been rejected by the executor.
+     *
+     * @return the number of the rejected tasks
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Represents a policy, that handles the tasks submitted to a {@link BoundedExecutor} whilst its queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Run the task on the submitting thread, which slows down the submitter until the pool catches up.
+         */
+        CALLER_RUNS,
+
+        /**
+         * Reject the task with a {@link RejectedExecutionException}.
+         * <p>
+         * The Futures completed by the rejected task are failed with the rejection error.
+         */
+        REJECT,
+
+        /**
+         * Block the submitting thread until there is free space in the queue, or reject the task with a
+         * {@link RejectedExecutionException}, if the timeout of the executor elapses.
+         */
+        BLOCK
+    }
+
+    /**
+     * Represents the handler, that applies the overflow policy to the tasks, that could not be queued.
+     */
+    private final class OverflowHandler implements RejectedExecutionHandler {
+        /**
+         * Handle the task, that could not be queued by the executor.
+         *
+         * @param task the task to handle
+         * @param executor the executor that could not queue the task
+         */
+        @Override
+        public void rejectedExecution(@NotNull Runnable task, @NotNull ThreadPoolExecutor executor) {
+            // do not accept new tasks after the executor has been shut down
+            if (executor.isShutdown()) {
+                rejected.increment();
+                throw new RejectedExecutionException("Executor has been shut down");
+            }
+
+            switch (policy) {
+                case CALLER_RUNS:
+                    callerRuns.increment();
+                    task.run();
+                    return;
+                case BLOCK:
+                    blocked.increment();
+                    try {
+                        if (executor.getQueue().offer(task, timeout, TimeUnit.NANOSECONDS))
+                            return;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            rejected.increment();
+            throw new RejectedExecutionException(
+                "Executor queue is full (capacity " + getQueueCapacity() + ", policy " + policy + ")"
+            );
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package dev.inventex.octa.concurrent.threading;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Represents a timer, that schedules a large number of delayed tasks on a single thread, using a hashed timing wheel.
+ * <p>
+ * The wheel consists of a fixed number of buckets, each representing a tick of the timer. A scheduled task is
+ * placed in the bucket of the tick it expires at, therefore both scheduling and cancelling a task is O(1).
+ * On each tick, the worker thread expires the tasks of the current bucket.
+ * <p>
+ * The precision of the timer is limited by the tick duration. The worker thread does not tick, while there are
+ * no pending tasks, so an idle timer does not consume any CPU time.
+ * <p>
+ * The tasks are executed on the worker thread, therefore they should be short and non-blocking. Tasks, that call
+ * user code, should be scheduled with an executor, that the worker hands them over to.
+ */
+public class HashedWheelTimer {
+    /**
+     * The maximum delay of a task in nanoseconds, so that the deadline of the task cannot overflow.
+     */
+    private static final long MAX_DELAY = Long.MAX_VALUE / 2;
+
+    /**
+     * The buckets of the timing wheel.
+     */
+    private final @NotNull Bucket @NotNull [] wheel;
+
+    /**
+     * The bit mask used to resolve the bucket index of a tick.
+     */
+    private final int mask;
+
+    /**
+     * The duration of a single tick in nanoseconds.
+     */
+    private final long tickDuration;
+
+    /**
+     * The queue of the newly scheduled timeouts, that are not yet placed in the wheel.
+     */
+    private final @NotNull Queue<@NotNull Timeout> scheduled = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The queue of the cancelled timeouts, that are not yet removed from the wheel.
+     */
+    private final @NotNull Queue<@NotNull Timeout> cancelled = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of timeouts, that have been scheduled, but not yet expired or removed.
+     */
+    private final @NotNull AtomicLong pending = new AtomicLong();
+
+    /**
+     * The worker thread of the timer.
+     */
+    private final @NotNull Thread worker;
+
+    /**
+     * The time the timer has been started at, that the deadlines are relative to.
+     */
+    private final long startTime;
+
+    /**
+     * The number of the ticks elapsed since the start of the timer.
+     */
+    private long tick;
+
+    /**
+     * Indicates whether the timer has been stopped.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * Create a new timer and start its worker thread.
+     *
+     * @param factory the factory used to create the worker thread
+     * @param tickDuration the duration of a single tick
+     * @param unit the time unit of the tick duration
+     * @param ticksPerWheel the number of buckets in the wheel, rounded up to the next power of two
+     */
+    public HashedWheelTimer(@NotNull ThreadFactory factory, long tickDuration, @NotNull TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0)
+            throw new IllegalArgumentException("Tick duration must be positive: " + tickDuration);
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30)
+            throw new IllegalArgumentException("Ticks per wheel must be in range (0, 2^30]: " + ticksPerWheel);
+
+        // round the wheel size up to the next power of two, so that the bucket index can be masked
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        if (ticksPerWheel == 1)
+            size = 1;
+
+        wheel = new Bucket[size];
+        for (int i = 0; i < size; i++)
+            wheel[i] = new Bucket();
+        mask = size - 1;
+        this.tickDuration = unit.toNanos(tickDuration);
+
+        startTime = System.nanoTime();
+        worker = factory.newThread(this::run);
+        worker.start();
+    }
+
+    /**
+     * Schedule the specified task to be executed on the timer thread after the specified delay.
+     *
+     * @param task the task to execute
+     * @param delay the delay of the execution
+     * @param unit the time unit of the delay
+     * @return the handle of the scheduled task, that can be used to cancel it
+     *
+     * @throws IllegalStateException if the timer has been stopped
+     */
+    @CanIgnoreReturnValue
+    public @NotNull Timeout schedule(@NotNull Runnable task, long delay, @NotNull TimeUnit unit) {
+        if (stopped)
+            throw new IllegalStateException("Cannot schedule a task on a stopped timer");
+
+        // calculate the deadline relative to the start of the timer, capping the delay, so that a very
+        // large delay does not overflow to a deadline in the past
+        long nanos = Math.min(unit.toNanos(Math.max(delay, 0)), MAX_DELAY);
+        Timeout timeout = new Timeout(this, task, System.nanoTime() - startTime + nanos);
+        scheduled.offer(timeout);
+
+        // wake up the worker, if it has been idle, because there were no pending timeouts
+        if (pending.getAndIncrement() == 0)
+            LockSupport.unpark(worker);
+        return timeout;
+    }
+
+    /**
+     * Schedule the specified task to be handed over to the specified executor after the specified delay.
+     * <p>
+     * Only the submission of the task runs on the timer thread, therefore the task may call arbitrary code,
+     * without delaying the other tasks of the timer. If the executor rejects the task, the task is run on the
+     * timer thread instead, so that its expiry is never lost.
+     *
+     * @param task the task to execute
+     * @param delay the delay of the execution
+     * @param unit the time unit of the delay
+     * @param executor the executor to run the task on
+     * @return the handle of the scheduled task, that can be used to cancel it
+     *
+     * @throws IllegalStateException if the timer has been stopped
+     */
+    @CanIgnoreReturnValue
+    public @NotNull Timeout schedule(
+        @NotNull Runnable task, long delay, @NotNull TimeUnit unit, @NotNull Executor executor
+    ) {
+        return schedule(() -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }, delay, unit);
+    }
+
+    /**
+     * Retrieve the number of the scheduled tasks, that are not yet expired or cancelled.
+     *
+     * @return the number of the pending tasks
+     */
+    public long getPendingTimeouts() {
+        return pending.get();
+    }
+
+    /**
+     * Stop the timer. The tasks, that have not expired yet, will never be executed.
+     */
+    public void stop() {
+        stopped = true;
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * Run the tick loop of the worker thread.
+     */
+    private void run() {
+        while (!stopped) {
+            // park the worker, while there are no pending timeouts
+            if (pending.get() == 0) {
+                LockSupport.park(this);
+                // skip the ticks elapsed whilst being idle, as the wheel is guaranteed to be empty
+                tick = Math.max(tick, (System.nanoTime() - startTime) / tickDuration);
+                continue;
+            }
+
+            // wait for the deadline of the current tick
+            waitForNextTick();
+            if (stopped)
+                break;
+
+            // update the wheel and expire the timeouts of the current bucket
+            transferScheduled();
+            removeCancelled();
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    /**
+     * Sleep until the end of the current tick.
+     */
+    private void waitForNextTick() {
+        long deadline = tickDuration * (tick + 1);
+        while (!stopped) {
+            long remaining = deadline - (System.nanoTime() - startTime);
+            if (remaining <= 0)
+                break;
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    /**
+     * Place the newly scheduled timeouts in the buckets of the wheel.
+     */
+    private void transferScheduled() {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            // do not place the timeout, if it has been cancelled meanwhile
+            if (timeout.state == Timeout.CANCELLED) {
+                pending.decrementAndGet();
+                continue;
+            }
+
+            // calculate the tick of the deadline, and the number of the full rounds of the wheel until it
+            long ticks = timeout.deadline / tickDuration;
+            timeout.rounds = (ticks - tick) / wheel.length;
+
+            // expire the timeouts of the past deadlines on the current tick
+            wheel[(int) (Math.max(ticks, tick) & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Remove the cancelled timeouts from the buckets of the wheel.
+     */
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            // the timeout might not have been placed in the wheel yet
+            Bucket bucket = timeout.bucket;
+            if (bucket != null) {
+                bucket.remove(timeout);
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Represents a list of timeouts, that expire on the same tick of the wheel.
+     */
+    private final class Bucket {
+        /**
+         * The first timeout of the bucket.
+         */
+        private @Nullable Timeout head;
+
+        /**
+         * The last timeout of the bucket.
+         */
+        private @Nullable Timeout tail;
+
+        /**
+         * Append the specified timeout to the end of the bucket.
+         *
+         * @param timeout the timeout to append
+         */
+        private void add(@NotNull Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null)
+                head = tail = timeout;
+            else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        /**
+         * Unlink the specified timeout from the bucket.
+         *
+         * @param timeout the timeout to remove
+         */
+        private void remove(@NotNull Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null)
+                timeout.prev.next = next;
+            if (next != null)
+                next.prev = timeout.prev;
+
+            if (timeout == head) {
+                if (timeout == tail)
+                    head = tail = null;
+                else
+                    head = next;
+            } else if (timeout == tail)
+                tail = timeout.prev;
+
+            timeout.prev = timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /**
+         * Expire the timeouts of the bucket, that are due on the current round of the wheel.
+         */
+        private void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.rounds <= 0) {
+                    // the timeout is due on the current tick
+                    remove(timeout);
+                    pending.decrementAndGet();
+                    timeout.expire();
+                } else if (timeout.state == Timeout.CANCELLED) {
+                    remove(timeout);
+                    pending.decrementAndGet();
+                } else
+                    timeout.rounds--;
+                timeout = next;
+            }
+        }
+    }
+
+    /**
+     * Represents the handle of a task scheduled on a {@link HashedWheelTimer}.
+     */
+    public static final class Timeout {
+        /**
+         * The state of a timeout, that is neither expired, nor cancelled.
+         */
+        private static final int PENDING = 0;
+
+        /**
+         * The state of a timeout, that has been cancelled.
+         */
+        private static final int CANCELLED = 1;
+
+        /**
+         * The state of a timeout, that has been expired.
+         */
+        private static final int EXPIRED = 2;
+
+        /**
+         * The field updater used to atomically modify the {@link #state} of the timeout.
+         */
+        private static final @NotNull AtomicIntegerFieldUpdater<Timeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        /**
+         * The timer that the timeout is scheduled on.
+         */
+        private final @NotNull HashedWheelTimer timer;
+
+        /**
+         * The task to execute, when the timeout expires.
+         */
+        private final @NotNull Runnable task;
+
+        /**
+         * The deadline of the timeout relative to the start of the timer.
+         */
+        private final long deadline;
+
+        /**
+         * The current state of the timeout.
+         */
+        private volatile int state = PENDING;
+
+        /**
+         * The number of the remaining full rounds of the wheel, until the timeout expires.
+         */
+        private long rounds;
+
+        /**
+         * The bucket that the timeout is placed in.
+         */
+        private @Nullable Bucket bucket;
+
+        /**
+         * The next timeout of the bucket.
+         */
+        private @Nullable Timeout next;
+
+        /**
+         * The previous timeout of the bucket.
+         */
+        private @Nullable Timeout prev;
+
+        /**
+         * Initialize the timeout.
+         *
+         * @param timer the timer that the timeout is scheduled on
+         * @param task the task to execute, when the timeout expires
+         * @param deadline the deadline of the timeout relative to the start of the timer
+         */
+        private Timeout(@NotNull HashedWheelTimer timer, @NotNull Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the scheduled task. If the task has been already executed or cancelled, this method does nothing.
+         *
+         * @return <code>true</code> if the task has been cancelled, <code>false</code> otherwise
+         */
+        @CanIgnoreReturnValue
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED))
+                return false;
+            // let the worker thread remove the timeout from the wheel
+            timer.cancelled.offer(this);
+            return true;
+        }
+
+        /**
+         * Indicate whether the scheduled task has been cancelled.
+         *
+         * @return <code>true</code> if the task has been cancelled, <code>false</code> otherwise
+         */
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        /**
+         * Indicate whether the scheduled task has been executed.
+         *
+         * @return <code>true</code> if the task has been executed, <code>false</code> otherwise
+         */
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        /**
+         * Execute the scheduled task, if it has not been cancelled.
+         */
+        private void expire() {
+            if (!STATE.compareAndSet(this, PENDING, EXPIRED))
+                return;
+
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // report the error, but keep the timer running
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+}
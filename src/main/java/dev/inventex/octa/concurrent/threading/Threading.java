@@ -9,6 +9,7 @@ import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -34,6 +35,17 @@ public class Threading {
         .setUncaughtExceptionHandler(new UnhandledExceptionReporter())
         .build();
 
+    /**
+     * Retrieve the shared timer, that is used to schedule delayed tasks, such as Future timeouts.
+     * <p>
+     * The timer is created lazily, and runs on a single daemon thread with a tick duration of one millisecond.
+     *
+     * @return the shared timer
+     */
+    public static HashedWheelTimer getTimer() {
+        return TimerHolder.TIMER;
+    }
+
     /**
      * Create a new executor service, or retrieve the existing one, if the name is taken.
      * @param name executor name
@@ -70,6 +82,29 @@ public class Threading {
         }
     }
 
+    /**
+     * Create a fixed size thread pool, that holds the pending tasks in a bounded queue, and handles the tasks
+     * submitted whilst the queue is full using the specified overflow policy.
+     * <p>
+     * The executor can be used as the global executor of Futures, to limit the number of the queued tasks:
+     * <pre>
+     * Future.setGlobalExecutor(Threading.createBounded(8, 10_000, OverflowPolicy.CALLER_RUNS, 0, TimeUnit.MILLISECONDS));
+     * </pre>
+     *
+     * @param poolSize the number of the worker threads
+     * @param queueCapacity the maximum number of the pending tasks
+     * @param policy the policy that handles the tasks submitted whilst the queue is full
+     * @param timeout the maximum time to wait for free space in the queue, using the
+     * {@link BoundedExecutor.OverflowPolicy#BLOCK} policy
+     * @param unit the time unit of the timeout
+     * @return a new bounded executor
+     */
+    public static BoundedExecutor createBounded(
+        int poolSize, int queueCapacity, BoundedExecutor.OverflowPolicy policy, long timeout, TimeUnit unit
+    ) {
+        return new BoundedExecutor(poolSize, queueCapacity, policy, timeout, unit, FACTORY);
+    }
+
     /**
      * Shutdown and unregister the given executor.
      * @param name executor name
@@ -89,4 +124,21 @@ public class Threading {
         executor.shutdown();
         THREAD_REGISTRY.values().remove(executor);
     }
+
+    /**
+     * Holds the shared timer, so that the timer thread is only started when it is first used.
+     */
+    private static class TimerHolder {
+        /**
+         * The shared timer instance.
+         */
+        private static final HashedWheelTimer TIMER = new HashedWheelTimer(
+            new ThreadFactoryBuilder()
+                .setNameFormat("octa-timer")
+                .setDaemon(true)
+                .setUncaughtExceptionHandler(new UnhandledExceptionReporter())
+                .build(),
+            1, TimeUnit.MILLISECONDS, 512
+        );
+    }
 }
@@ -0,0 +1,31 @@
+package dev.inventex.octa.concurrent.future;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+
+/**
+ * Represents a utility, that resolves the class that has called into the {@link Future} API.
+ * <p>
+ * This implementation is used on Java 9 and above, and walks the stack lazily using a {@link StackWalker},
+ * which stops at the first frame outside the {@link Future} class, and does not create stack trace elements.
+ */
+final class CallerResolver {
+    /**
+     * The stack walker used to access the declaring classes of the stack frames.
+     */
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    /**
+     * Resolve the first class of the current thread's stack, that is not the {@link Future} class.
+     *
+     * @return the caller class, or <code>null</code> if the caller could not be resolved
+     */
+    static @Nullable Class<?> getCallerClass() {
+        Optional<Class<?>> caller = WALKER.walk(frames -> frames
+            .<Class<?>>map(StackWalker.StackFrame::getDeclaringClass)
+            .filter(type -> type != Future.class && type != CallerResolver.class)
+            .findFirst());
+        return caller.orElse(null);
+    }
+}
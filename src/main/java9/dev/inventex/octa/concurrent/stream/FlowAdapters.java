@@ -0,0 +1,97 @@
+package dev.inventex.octa.concurrent.stream;
+
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Represents a utility, that converts the streams to and from the {@link Flow} publishers.
+ * <p>
+ * This class is only available on Java 9 and above, as the {@link Flow} interfaces are not available on Java 8.
+ * The signals are passed through as they are, therefore the adapters do not buffer, nor reorder the values.
+ */
+@UtilityClass
+public class FlowAdapters {
+    /**
+     * Convert the specified publisher to a {@link Flow.Publisher}.
+     *
+     * @param publisher the publisher to convert
+     * @return a new Flow publisher of the values of the publisher
+     * @param <T> the type of the values
+     */
+    public static <T> Flow.@NotNull Publisher<T> toFlowPublisher(@NotNull Publisher<T> publisher) {
+        return subscriber -> publisher.subscribe(new Subscriber<T>() {
+            @Override
+            public void onSubscribe(@NotNull Subscription subscription) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long count) {
+                        subscription.request(count);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        subscription.cancel();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(@NotNull T value) {
+                subscriber.onNext(value);
+            }
+
+            @Override
+            public void onError(@NotNull Throwable error) {
+                subscriber.onError(error);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        });
+    }
+
+    /**
+     * Convert the specified {@link Flow.Publisher} to a stream.
+     *
+     * @param publisher the Flow publisher to convert
+     * @return a new stream of the values of the Flow publisher
+     * @param <T> the type of the values
+     */
+    public static <T> @NotNull AsyncStream<T> fromFlowPublisher(Flow.@NotNull Publisher<T> publisher) {
+        return AsyncStream.from(subscriber -> publisher.subscribe(new Flow.Subscriber<T>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriber.onSubscribe(new Subscription() {
+                    @Override
+                    public void request(long count) {
+                        subscription.request(count);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        subscription.cancel();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(T value) {
+                subscriber.onNext(value);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                subscriber.onError(error);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        }));
+    }
+}
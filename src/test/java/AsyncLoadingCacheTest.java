@@ -0,0 +1,112 @@
+import dev.inventex.octa.concurrent.future.AsyncLoadingCache;
+import dev.inventex.octa.concurrent.future.Future;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AsyncLoadingCacheTest {
+    public static void main(String[] args) throws Exception {
+        // make sure the concurrent requests of the same key share a single load
+        Map<String, Future<Integer>> pending = new HashMap<>();
+        AtomicInteger loads = new AtomicInteger();
+        AsyncLoadingCache<String, Integer> cache = AsyncLoadingCache.builder().build(key -> {
+            loads.incrementAndGet();
+            Future<Integer> future = new Future<>();
+            pending.put(key, future);
+            return future;
+        });
+        for (int i = 0; i < 100; i++)
+            cache.get("a").then(value -> {});
+        pending.get("a").complete(1);
+        if (loads.get() != 1 || cache.get("a").getNow(0) != 1)
+            throw new AssertionError("Expected a single load, got " + loads.get());
+
+        // make sure the failed loads are not cached
+        Future<Integer> failed = cache.get("b");
+        pending.get("b").fail(new IllegalStateException());
+        if (!failed.isFailed() || cache.getIfPresent("b") != null)
+            throw new AssertionError("The failed entry should have been removed");
+        cache.get("b");
+        if (loads.get() != 3)
+            throw new AssertionError("The failed load should have been retried");
+        // make sure cancelling a request does not cancel the load shared by the other requests
+        Future<Integer> abandoned = cache.get("c");
+        Future<Integer> awaited = cache.get("c");
+        abandoned.transform(value -> value + 1).cancel();
+        if (!abandoned.isCancelled() || pending.get("c").isCancelled())
+            throw new AssertionError("Only the cancelled request should have been cancelled");
+        pending.get("c").complete(3);
+        if (awaited.getNow(0) != 3 || cache.getIfPresent("c") == null || loads.get() != 4)
+            throw new AssertionError("The load should have completed the other request, and cached the value");
+        System.out.println("Coalesced 100 requests into a single load");
+
+        // make sure the values are refreshed in the background, then expire
+        AtomicLong time = new AtomicLong();
+        AtomicInteger version = new AtomicInteger();
+        AsyncLoadingCache<String, Integer> timed = AsyncLoadingCache.builder()
+            .setRefreshAfterWrite(10, TimeUnit.NANOSECONDS)
+            .setExpireAfterWrite(100, TimeUnit.NANOSECONDS)
+            .setTicker(time::get)
+            .build(key -> Future.completed(version.incrementAndGet()));
+        int first = timed.get("a").getNow(0);
+        time.set(20);
+        int stale = timed.get("a").getNow(0);
+        int refreshed = timed.get("a").getNow(0);
+        time.set(200);
+        int expired = timed.get("a").getNow(0);
+        if (first != 1 || stale != 1 || refreshed != 2 || expired != 3)
+            throw new AssertionError("Unexpected versions: " + first + ", " + stale + ", " + refreshed + ", " + expired);
+        System.out.println("Refreshed the value ahead of its expiration");
+
+        // make sure the frequently requested entries survive a scan of one-off keys
+        AsyncLoadingCache<Integer, Integer> bounded = AsyncLoadingCache.builder()
+            .setMaximumSize(10)
+            .build(Future::completed);
+        for (int i = 100; i < 1000; i++) {
+            bounded.get(i);
+            if (i % 10 == 0)
+                for (int hot = 0; hot < 5; hot++)
+                    bounded.get(hot);
+        }
+        if (bounded.size() > 10)
+            throw new AssertionError("The cache exceeded its maximum size: " + bounded.size());
+        for (int hot = 0; hot < 5; hot++)
+            if (bounded.getIfPresent(hot) == null)
+                throw new AssertionError("The hot key " + hot + " should have survived the scan");
+        System.out.println("Kept the hot keys after " + bounded.getEvictionCount() + " evictions");
+
+        // make sure the expired and invalidated entries are not retained, whether the cache is bounded or not
+        for (long maximumSize : new long[] { 100, Long.MAX_VALUE }) {
+            List<WeakReference<Object>> values = new ArrayList<>();
+            AtomicLong clock = new AtomicLong();
+            AsyncLoadingCache<Integer, Object> expiring = AsyncLoadingCache.builder()
+                .setMaximumSize(maximumSize)
+                .setExpireAfterWrite(10, TimeUnit.NANOSECONDS)
+                .setTicker(clock::get)
+                .build(key -> {
+                    Object value = new Object();
+                    values.add(new WeakReference<>(value));
+                    return Future.completed(value);
+                });
+            // request distinct keys, so that the expired entries are never requested again
+            for (int i = 0; i < 100_000; i++) {
+                clock.addAndGet(20);
+                expiring.get(i).then(value -> {});
+                if (i % 3 == 0)
+                    expiring.invalidate(i);
+            }
+            System.gc();
+            Thread.sleep(100);
+            long retained = values.stream().filter(value -> value.get() != null).count();
+            if (expiring.size() > 200 || retained > 1000)
+                throw new AssertionError("Retained " + retained + " values of " + expiring.size() + " entries");
+        }
+        System.out.println("Released the expired and invalidated entries");
+    }
+}
@@ -0,0 +1,120 @@
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.stream.AsyncStream;
+import dev.inventex.octa.concurrent.stream.Subscriber;
+import dev.inventex.octa.concurrent.stream.Subscription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AsyncStreamTest {
+    private static final int PAGE_SIZE = 1000;
+
+    private static final int PAGES = 1000;
+
+    public static void main(String[] args) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            run(executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void run(ExecutorService executor) throws Exception {
+
+        // stream a million values from pages, that are retrieved asynchronously
+        AtomicInteger fetches = new AtomicInteger();
+        AsyncStream<Integer> pages = AsyncStream.paginate(0, page -> {
+            fetches.incrementAndGet();
+            return Future.completeAsync(() -> {
+                List<Integer> values = new ArrayList<>(PAGE_SIZE);
+                for (int i = 0; i < PAGE_SIZE; i++)
+                    values.add(page * PAGE_SIZE + i);
+                return AsyncStream.Page.of(values, page + 1 < PAGES ? page + 1 : null);
+            }, executor);
+        });
+
+        long start = System.nanoTime();
+        AtomicLong sum = new AtomicLong();
+        AtomicLong expected = new AtomicLong();
+        pages.forEachAsync(sum::addAndGet).get(10_000);
+        for (long i = 0; i < PAGE_SIZE * PAGES; i++)
+            expected.addAndGet(i);
+        if (sum.get() != expected.get() || fetches.get() != PAGES)
+            throw new AssertionError("Unexpected sum " + sum.get() + " of " + fetches.get() + " pages");
+        System.out.println("Streamed " + PAGE_SIZE * PAGES + " values in "
+            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+
+        // make sure the pages are not retrieved ahead of the demand
+        fetches.set(0);
+        if (pages.first().get(1000) != 0 || fetches.get() != 1)
+            throw new AssertionError("Expected a single page to be retrieved, got " + fetches.get());
+
+        List<Integer> received = new ArrayList<>();
+        Subscription[] subscription = new Subscription[1];
+        pages.subscribe(new Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(Integer value) {
+                synchronized (received) {
+                    received.add(value);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                error.printStackTrace();
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        subscription[0].request(PAGE_SIZE + 1);
+        Thread.sleep(200);
+        subscription[0].cancel();
+        synchronized (received) {
+            if (received.size() != PAGE_SIZE + 1 || fetches.get() != 3)
+                throw new AssertionError("Expected " + (PAGE_SIZE + 1) + " values from 2 pages, got "
+                    + received.size() + " values from " + (fetches.get() - 1) + " pages");
+        }
+        System.out.println("Retrieved the pages according to the demand");
+
+        // make sure the operators and the failures are applied
+        List<String> values = AsyncStream.of(1, 2, 3, 4, 5, 6)
+            .filter(value -> value % 2 == 0)
+            .map(value -> "#" + value)
+            .collect()
+            .get(1000);
+        if (!values.equals(Arrays.asList("#2", "#4", "#6")))
+            throw new AssertionError("Unexpected values: " + values);
+
+        Future<List<Integer>> failed = AsyncStream.<Integer, Integer>paginate(0, page -> page == 0
+            ? Future.completed(AsyncStream.Page.of(Arrays.asList(1, 2), 1))
+            : Future.failed(new IllegalStateException("page " + page))).collect();
+        if (!failed.isFailed())
+            throw new AssertionError("The stream should have failed with the error of the second page");
+        System.out.println("Collected the transformed values");
+
+        // make sure cancelling a subscriber of a Future does not cancel the Future for the other subscribers
+        Future<Integer> source = new Future<>();
+        AsyncStream<Integer> single = AsyncStream.fromFuture(source);
+        Future<Integer> cancelled = single.first();
+        Future<Integer> other = single.first();
+        cancelled.cancel();
+        source.complete(5);
+        if (source.isCancelled() || other.get(1000) != 5 || single.first().get(1000) != 5)
+            throw new AssertionError("The source Future should not have been cancelled by a subscriber");
+        System.out.println("Shared the source Future between the subscribers");
+    }
+}
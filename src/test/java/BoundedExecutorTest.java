@@ -0,0 +1,79 @@
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.threading.BoundedExecutor;
+import dev.inventex.octa.concurrent.threading.BoundedExecutor.OverflowPolicy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class BoundedExecutorTest {
+    private static final int CAPACITY = 4;
+
+    public static void main(String[] args) throws Exception {
+        // fill the queue of a rejecting executor, and make sure the overflowed futures fail
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedExecutor executor = create(OverflowPolicy.REJECT, 0);
+        Future<Integer> blocker = Future.completeAsync(() -> await(release), executor);
+        for (int i = 0; i < CAPACITY; i++)
+            Future.completeAsync(() -> 1, executor);
+        Future<Integer> overflowed = Future.completeAsync(() -> 1, executor);
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        overflowed.except(error::set);
+        if (!(error.get() instanceof RejectedExecutionException))
+            throw new AssertionError("The overflowed future should have been rejected");
+        if (executor.getQueueDepth() != CAPACITY || executor.getRejectedCount() != 1)
+            throw new AssertionError("Unexpected metrics: depth " + executor.getQueueDepth() + ", rejected " + executor.getRejectedCount());
+        release.countDown();
+        blocker.get(1000);
+        System.out.println("Rejected the overflowed task at a queue depth of " + executor.getPeakQueueDepth());
+        executor.shutdown();
+
+        // make sure the caller-runs policy runs the overflowed task on the submitting thread
+        CountDownLatch release2 = new CountDownLatch(1);
+        executor = create(OverflowPolicy.CALLER_RUNS, 0);
+        Future.completeAsync(() -> await(release2), executor);
+        for (int i = 0; i < CAPACITY; i++)
+            Future.completeAsync(() -> 1, executor);
+        Thread caller = Thread.currentThread();
+        Future<Boolean> callerRun = Future.completeAsync(() -> Thread.currentThread() == caller, executor);
+        if (!callerRun.getNow(false) || executor.getCallerRunsCount() != 1)
+            throw new AssertionError("The overflowed task should have run on the submitting thread");
+        release2.countDown();
+        System.out.println("Ran the overflowed task on the submitting thread");
+        executor.shutdown();
+
+        // make sure the blocking policy rejects the task, after the timeout elapses
+        CountDownLatch release3 = new CountDownLatch(1);
+        executor = create(OverflowPolicy.BLOCK, 100);
+        Future.completeAsync(() -> await(release3), executor);
+        for (int i = 0; i < CAPACITY; i++)
+            Future.completeAsync(() -> 1, executor);
+        long start = System.nanoTime();
+        Future<Integer> timedOut = Future.completeAsync(() -> 1, executor);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (!timedOut.isFailed() || elapsed < 100)
+            throw new AssertionError("The blocked task should have been rejected after the timeout");
+        release3.countDown();
+        System.out.println("Rejected the blocked task after " + elapsed + "ms");
+        executor.shutdown();
+    }
+
+    private static BoundedExecutor create(OverflowPolicy policy, long timeout) {
+        return new BoundedExecutor(1, CAPACITY, policy, timeout, TimeUnit.MILLISECONDS, task -> {
+            Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static int await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,150 @@
+import dev.inventex.octa.concurrent.channel.Channel;
+import dev.inventex.octa.concurrent.channel.ChannelClosedException;
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.future.FutureExecutionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ChannelTest {
+    private static final int VALUES = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        // make sure every value is passed exactly once, whilst the blocking operations wait for each other
+        transfer("spsc", Channel.spsc(64), 1, 1);
+        transfer("mpsc", Channel.mpsc(64), 4, 1);
+        transfer("mpmc", Channel.mpmc(64), 4, 4);
+        transfer("unbounded", Channel.unbounded(), 4, 4);
+
+        // make sure the waiting operations are completed by the opposite side
+        Channel<Integer> channel = Channel.mpmc(2);
+        if (channel.capacity() != 2 || Channel.spsc(10).capacity() != 16)
+            throw new AssertionError("The capacity should have been rounded up to a power of two");
+        Future<Integer> received = channel.receive();
+        if (received.isCompleted() || !channel.trySend(1) || received.getNow(null) != 1)
+            throw new AssertionError("The waiting receiver should have been completed by the sender");
+
+        channel.trySend(2);
+        channel.trySend(3);
+        Future<Void> sent = channel.send(4);
+        if (sent.isCompleted() || channel.trySend(5))
+            throw new AssertionError("The sender should have waited for free space");
+        if (channel.tryReceive() != 2 || !sent.isCompleted() || channel.size() != 2)
+            throw new AssertionError("The waiting sender should have been buffered by the receiver");
+
+        // make sure a cancelled receiver does not swallow a value
+        channel.tryReceive();
+        channel.tryReceive();
+        Future<Integer> cancelled = channel.receive();
+        cancelled.cancel();
+        channel.trySend(6);
+        if (channel.tryReceive() != 6)
+            throw new AssertionError("The value should have been left in the channel");
+        System.out.println("Completed the waiting operations");
+
+        // make sure closing the channel fails the waiting receivers, once the buffered values have been received
+        channel.trySend(7);
+        channel.close();
+        if (channel.trySend(8) || !channel.send(8).isFailed() || channel.receive().getNow(null) != 7)
+            throw new AssertionError("The closed channel should have only accepted receivers");
+        expectClosed(channel.receive());
+
+        // make sure a parked receiver is woken up by an interrupt
+        Channel<Integer> empty = Channel.spsc(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                empty.take();
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+        thread.start();
+        Thread.sleep(50);
+        thread.interrupt();
+        thread.join(1000);
+        if (!(error.get() instanceof InterruptedException))
+            throw new AssertionError("The interrupted receiver should have been stopped, got " + error.get());
+        if (!empty.trySend(1) || empty.tryReceive() != 1)
+            throw new AssertionError("The interrupted receiver should not have taken the value");
+        System.out.println("Closed and interrupted the waiting operations");
+
+        // make sure the handler of a receiver may wait for the channel on the thread of the sender, whilst another
+        // sender completes it
+        Channel<Integer> nested = Channel.unbounded();
+        AtomicReference<Integer> taken = new AtomicReference<>();
+        nested.receive().then(value -> {
+            try {
+                taken.set(nested.take());
+            } catch (InterruptedException e) {
+                error.set(e);
+            }
+        });
+        Thread first = new Thread(() -> nested.trySend(1));
+        Thread second = new Thread(() -> nested.trySend(2));
+        first.setDaemon(true);
+        first.start();
+        Thread.sleep(50);
+        second.start();
+        first.join(5000);
+        second.join(5000);
+        if (first.isAlive() || second.isAlive() || taken.get() == null || taken.get() != 2)
+            throw new AssertionError("The handler should have received the second value, got " + taken.get());
+        System.out.println("Completed the waiting operations outside the matching loop");
+    }
+
+    private static void transfer(String name, Channel<Integer> channel, int producers, int consumers)
+        throws Exception {
+        AtomicLong sum = new AtomicLong();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        int perProducer = VALUES / producers;
+        int perConsumer = VALUES / consumers;
+        for (int i = 0; i < producers; i++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (int j = 1; j <= perProducer; j++)
+                        channel.put(j);
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            }));
+        }
+        for (int i = 0; i < consumers; i++) {
+            threads.add(new Thread(() -> {
+                try {
+                    long local = 0;
+                    for (int j = 0; j < perConsumer; j++)
+                        local += channel.take();
+                    sum.addAndGet(local);
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            }));
+        }
+
+        long start = System.nanoTime();
+        for (Thread thread : threads)
+            thread.start();
+        for (Thread thread : threads)
+            thread.join(30_000);
+        long expected = (long) perProducer * (perProducer + 1) / 2 * producers;
+        if (error.get() != null || sum.get() != expected || channel.size() != 0)
+            throw new AssertionError(name + ": expected sum " + expected + ", got " + sum.get(), error.get());
+        System.out.println("Passed " + VALUES + " values through the " + name + " channel in "
+            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+    }
+
+    private static void expectClosed(Future<?> future) {
+        try {
+            future.get();
+            throw new AssertionError("The receiver should have failed");
+        } catch (FutureExecutionException e) {
+            if (!(e.getCause() instanceof ChannelClosedException))
+                throw new AssertionError("Expected a closed channel, got " + e.getCause());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.future.FutureExecutionException;
+
+import java.util.Arrays;
+
+public class FutureAggregateTest {
+    @SuppressWarnings("unchecked")
+    public static void main(String[] args) throws Exception {
+        // make sure collecting the errors does not modify the errors of the shared input futures
+        IllegalStateException a = new IllegalStateException("a");
+        IllegalStateException b = new IllegalStateException("b");
+        Future<Integer> first = Future.failed(a);
+        Future<Integer> second = Future.failed(b);
+        Throwable forward = failure(Future.allOf(Arrays.asList(first, second), false));
+        Throwable backward = failure(Future.allOf(Arrays.asList(second, first), false));
+        if (a.getSuppressed().length != 0 || b.getSuppressed().length != 0)
+            throw new AssertionError("The errors of the input futures should not have been modified");
+        if (forward.getCause() != a || !Arrays.asList(forward.getSuppressed()).equals(Arrays.asList(b)))
+            throw new AssertionError("Expected the first error as the cause, and the second as suppressed");
+        if (backward.getCause() != b || !Arrays.asList(backward.getSuppressed()).equals(Arrays.asList(a)))
+            throw new AssertionError("Expected the errors in the order of the futures");
+        System.out.println("Collected the errors without modifying the input futures");
+
+        // make sure the values are collected into the generated array, and an array of the wrong length is rejected
+        Future<Integer>[] inputs = new Future[] { Future.completed(1), Future.completed(2) };
+        Integer[] values = Future.allOf(inputs, Integer[]::new, true).get();
+        if (!Arrays.equals(values, new Integer[] { 1, 2 }))
+            throw new AssertionError("Unexpected values " + Arrays.toString(values));
+        try {
+            Future.allOf(inputs, length -> new Integer[1], true);
+            throw new AssertionError("The short array should have been rejected");
+        } catch (IllegalArgumentException ignored) {
+        }
+        System.out.println("Collected the values into the generated array");
+
+        // make sure the failed contestants do not suppress the errors of each other
+        IllegalStateException c = new IllegalStateException("c");
+        IllegalStateException d = new IllegalStateException("d");
+        Throwable contest = failure(Future.firstSuccessful(Future.failed(c), Future.failed(d)));
+        if (c.getSuppressed().length != 0 || d.getSuppressed().length != 0)
+            throw new AssertionError("The errors of the contestants should not have been modified");
+        if (contest.getCause() != c || !Arrays.asList(contest.getSuppressed()).equals(Arrays.asList(d)))
+            throw new AssertionError("Expected the first error as the cause, and the second as suppressed");
+        System.out.println("Failed the contest without modifying the contestants");
+    }
+
+    private static Throwable failure(Future<?> future) {
+        try {
+            future.get();
+            throw new AssertionError("The future should have failed");
+        } catch (FutureExecutionException e) {
+            return e.getCause();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+import dev.inventex.octa.concurrent.future.Future;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+public class FutureBatchTest {
+    public static void main(String[] args) {
+        // make sure the handlers of the same executor are submitted as a single task, in the registration order
+        QueueExecutor first = new QueueExecutor();
+        QueueExecutor second = new QueueExecutor();
+        List<Integer> called = new ArrayList<>();
+        Future<Integer> future = new Future<>();
+        for (int i = 0; i < 10; i++) {
+            int index = i;
+            future.thenAsync(value -> called.add(index), first);
+            // the failure handlers are skipped, as the Future completes successfully
+            future.exceptAsync(error -> called.add(-1), first);
+            // a failing handler does not stop the rest of the batch
+            if (i == 4)
+                future.thenAsync(value -> {
+                    throw new IllegalStateException();
+                }, first);
+        }
+        future.thenAsync(value -> called.add(100), second);
+        future.thenAsync(value -> called.add(101), second);
+        future.complete(1);
+
+        if (first.tasks.size() != 1 || second.tasks.size() != 1)
+            throw new AssertionError("Expected a single task per executor, got " + first.tasks.size() + " and "
+                + second.tasks.size());
+        first.runAll();
+        if (!called.equals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)))
+            throw new AssertionError("Expected the handlers in the registration order, got " + called);
+        second.runAll();
+        if (!called.equals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 100, 101)))
+            throw new AssertionError("Expected the handlers of the second executor at the end, got " + called);
+        System.out.println("Batched the handlers of " + called.size() + " listeners into 2 tasks");
+
+        // make sure a batch without matching handlers is not submitted at all
+        QueueExecutor skipped = new QueueExecutor();
+        Future<Integer> failed = new Future<>();
+        failed.thenAsync(value -> called.add(-1), skipped);
+        failed.thenAsync(value -> called.add(-1), skipped);
+        failed.exceptAsync(error -> called.add(200), first);
+        failed.fail(new IllegalStateException());
+        if (!skipped.tasks.isEmpty() || first.tasks.size() != 1)
+            throw new AssertionError("Only the batch of the failure handler should have been submitted");
+        first.runAll();
+        if (called.get(called.size() - 1) != 200)
+            throw new AssertionError("The failure handler should have been called");
+        System.out.println("Skipped the batch without matching handlers");
+    }
+
+    private static final class QueueExecutor implements Executor {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        private void runAll() {
+            for (Runnable task : tasks)
+                task.run();
+            tasks.clear();
+        }
+    }
+}
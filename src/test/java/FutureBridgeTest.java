@@ -0,0 +1,92 @@
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.future.FutureExecutionException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class FutureBridgeTest {
+    public static void main(String[] args) throws Exception {
+        // make sure the result of a Future is forwarded to the CompletableFuture
+        Future<Integer> completed = new Future<>();
+        CompletableFuture<Integer> completedBridge = completed.toCompletableFuture();
+        if (completedBridge.isDone())
+            throw new AssertionError("The bridge should have waited for the Future");
+        completed.complete(1);
+        if (completedBridge.getNow(null) != 1)
+            throw new AssertionError("The bridge should have been completed with the value");
+        if (Future.completed(2).toCompletableFuture().getNow(null) != 2)
+            throw new AssertionError("The bridge of a completed Future should have been completed immediately");
+
+        IllegalStateException error = new IllegalStateException();
+        Future<Integer> failed = new Future<>();
+        CompletableFuture<Integer> failedBridge = failed.toCompletableFuture();
+        failed.fail(error);
+        try {
+            failedBridge.join();
+            throw new AssertionError("The bridge should have failed");
+        } catch (CompletionException e) {
+            if (e.getCause() != error || failedBridge.isCancelled())
+                throw new AssertionError("The bridge should have failed with the error of the Future");
+        }
+
+        // make sure the cancellation is mapped in both directions
+        Future<Integer> cancelled = new Future<>();
+        CompletableFuture<Integer> cancelledBridge = cancelled.toCompletableFuture();
+        cancelled.cancel();
+        if (!cancelledBridge.isCancelled())
+            throw new AssertionError("The cancellation of the Future should have cancelled the bridge");
+
+        Future<Integer> source = new Future<>();
+        CompletableFuture<Integer> cancelling = source.toCompletableFuture();
+        if (!cancelling.cancel(true) || !source.isCancelled())
+            throw new AssertionError("The cancellation of the bridge should have cancelled the Future");
+        System.out.println("Bridged the Futures to CompletableFutures");
+
+        // make sure the result of a completion stage is forwarded to the Future
+        CompletableFuture<Integer> stage = new CompletableFuture<>();
+        Future<Integer> fromStage = Future.fromCompletionStage(stage);
+        if (fromStage.isCompleted())
+            throw new AssertionError("The Future should have waited for the stage");
+        stage.complete(3);
+        if (fromStage.getNow(null) != 3)
+            throw new AssertionError("The Future should have been completed with the value");
+
+        CompletableFuture<Integer> failedStage = new CompletableFuture<>();
+        Future<Integer> fromFailed = Future.fromCompletionStage(failedStage);
+        failedStage.completeExceptionally(error);
+        if (failure(fromFailed) != error)
+            throw new AssertionError("The Future should have failed with the error of the stage");
+
+        // the errors of the dependent stages are wrapped in a CompletionException, that is unwrapped
+        CompletableFuture<Integer> upstream = new CompletableFuture<>();
+        Future<Integer> fromDependent = Future.fromCompletionStage(upstream.thenApply(value -> {
+            throw error;
+        }));
+        upstream.complete(4);
+        if (failure(fromDependent) != error)
+            throw new AssertionError("The CompletionException of the dependent stage should have been unwrapped");
+
+        // make sure the cancellation is mapped in both directions
+        CompletableFuture<Integer> cancelledStage = new CompletableFuture<>();
+        Future<Integer> fromCancelled = Future.fromCompletionStage(cancelledStage);
+        cancelledStage.cancel(false);
+        if (!fromCancelled.isCancelled())
+            throw new AssertionError("The cancellation of the stage should have cancelled the Future");
+
+        CompletableFuture<Integer> target = new CompletableFuture<>();
+        Future<Integer> cancellingFuture = Future.fromCompletionStage(target);
+        cancellingFuture.cancel();
+        if (!target.isCancelled())
+            throw new AssertionError("The cancellation of the Future should have cancelled the stage");
+        System.out.println("Bridged the completion stages to Futures");
+    }
+
+    private static Throwable failure(Future<?> future) {
+        try {
+            future.get();
+            throw new AssertionError("The future should have failed");
+        } catch (FutureExecutionException e) {
+            return e.getCause();
+        }
+    }
+}
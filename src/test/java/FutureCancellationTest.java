@@ -0,0 +1,121 @@
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.future.FutureExecutionException;
+import dev.inventex.octa.concurrent.future.FutureTimeoutException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class FutureCancellationTest {
+    public static void main(String[] args) throws Exception {
+        // use a single worker, so that a stuck task would block every other task
+        ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            return thread;
+        });
+        // fail the timed out Futures on the daemon worker as well, so that the test can exit
+        Future.setGlobalExecutor(executor);
+
+        // start a task, that would occupy the worker for a minute, and derive a chain from it
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Future<Integer> source = Future.completeAsync(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            return 1;
+        }, executor);
+        Future<String> chain = source
+            .transform(value -> value + 1)
+            .transformAsync(value -> Future.completed(String.valueOf(value)))
+            .timeout(60_000);
+
+        // queue a task behind the running one, that should never run, as it is cancelled before it starts
+        AtomicBoolean skippedRan = new AtomicBoolean();
+        Future<Void> skipped = Future.completeAsync((Runnable) () -> skippedRan.set(true), executor);
+        skipped.cancel();
+
+        // cancel the end of the chain, which should interrupt the task at the start of the chain
+        started.await();
+        long start = System.nanoTime();
+        chain.cancel(true);
+
+        // the worker should be free to run a new task promptly
+        Future<Integer> next = Future.completeAsync(() -> 2, executor);
+        int value = next.get(5_000);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        if (value != 2)
+            throw new AssertionError("Unexpected value " + value);
+        if (!source.isCancelled() || !chain.isCancelled())
+            throw new AssertionError("The cancellation was not propagated upstream");
+        if (!interrupted.get())
+            throw new AssertionError("The running task was not interrupted");
+        if (skippedRan.get())
+            throw new AssertionError("The cancelled task has been run");
+        System.out.println("Freed the executor " + elapsed + "ms after cancellation");
+
+        // let a producer observe the cancellation of its Future
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch observed = new CountDownLatch(1);
+        Future<Integer> resolved = Future.resolveAsync(resolver -> {
+            resolver.whenCancelled(observed::countDown);
+            running.countDown();
+            while (!resolver.isCancelled())
+                Thread.yield();
+        }, executor);
+        running.await();
+        resolved.cancel();
+        if (!observed.await(5, TimeUnit.SECONDS))
+            throw new AssertionError("The producer did not observe the cancellation");
+        // the producer loop should have stopped, leaving the worker free again
+        if (Future.completeAsync(() -> 3, executor).get(5_000) != 3)
+            throw new AssertionError("The producer did not stop");
+        System.out.println("The producer observed the cancellation");
+
+        // make sure the cancellation propagates through the throwing transformations as well
+        Future<Integer> tried = new Future<>();
+        tried.tryTransform(result -> result + 1)
+            .tryTransformAsync(result -> Future.completed(result * 2))
+            .cancel();
+        if (!tried.isCancelled())
+            throw new AssertionError("The cancellation was not propagated through the throwing transformations");
+
+        // make sure the Future returned by the throwing async transformer is cancelled as well
+        Future<Integer> input = new Future<>();
+        Future<Integer> transformed = new Future<>();
+        Future<Integer> stage = input.tryTransformAsync(result -> transformed);
+        input.complete(1);
+        stage.cancel();
+        if (!transformed.isCancelled())
+            throw new AssertionError("The cancellation was not propagated to the transformed Future");
+        System.out.println("Propagated the cancellation through the throwing transformations");
+
+        // make sure a timed out chain cancels its upstream work
+        Future<Integer> upstream = new Future<>();
+        Future<Integer> timed = upstream
+            .transformAsync(result -> Future.completed(result + 1))
+            .timeout(50);
+        try {
+            timed.get(5_000);
+            throw new AssertionError("The chain should have timed out");
+        } catch (FutureExecutionException e) {
+            if (!(e.getCause() instanceof FutureTimeoutException))
+                throw new AssertionError("Expected a timeout, got " + e.getCause());
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!upstream.isCancelled() && System.nanoTime() < deadline)
+            Thread.sleep(1);
+        if (!upstream.isCancelled())
+            throw new AssertionError("The timeout did not cancel the upstream work");
+        System.out.println("Cancelled the upstream work of the timed out chain");
+
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,47 @@
+import dev.inventex.octa.concurrent.future.Future;
+
+import java.util.concurrent.TimeUnit;
+
+public class FutureChainTest {
+    private static final int LINKS = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        // build a chain of a million transformations, and complete its head
+        Future<Integer> head = new Future<>();
+        Future<Integer> tail = head;
+        for (int i = 0; i < LINKS; i++)
+            tail = tail.transform(value -> value + 1);
+
+        long start = System.nanoTime();
+        head.complete(0);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // every link should have been completed by the time the head completion returns
+        Integer value = tail.getNow(null);
+        if (value == null || value != LINKS)
+            throw new AssertionError("Expected " + LINKS + " at the end of the chain, got " + value);
+        System.out.println("Completed a chain of " + LINKS + " transformations in " + elapsed + "ms");
+
+        // fail the head of a chain of asynchronous transformations, and let the error travel through the chain
+        Future<Integer> asyncHead = new Future<>();
+        Future<Integer> asyncTail = asyncHead;
+        for (int i = 0; i < LINKS; i++)
+            asyncTail = asyncTail.transformAsync(Future::completed);
+
+        asyncHead.fail(new IllegalStateException("chain failure"));
+        if (!asyncTail.isFailed())
+            throw new AssertionError("The failure did not reach the end of the chain");
+        System.out.println("Failed a chain of " + LINKS + " asynchronous transformations");
+
+        // cancel the tail of a chain, and let the cancellation travel upstream to the head
+        Future<Integer> cancelHead = new Future<>();
+        Future<Integer> cancelTail = cancelHead;
+        for (int i = 0; i < LINKS; i++)
+            cancelTail = cancelTail.transform(link -> link + 1);
+
+        cancelTail.cancel();
+        if (!cancelHead.isCancelled())
+            throw new AssertionError("The cancellation did not reach the head of the chain");
+        System.out.println("Cancelled a chain of " + LINKS + " transformations from its tail");
+    }
+}
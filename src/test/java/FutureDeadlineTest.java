@@ -0,0 +1,87 @@
+import dev.inventex.octa.concurrent.future.Deadline;
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.future.FutureExecutionException;
+import dev.inventex.octa.concurrent.future.FutureTimeoutException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FutureDeadlineTest {
+    public static void main(String[] args) throws Exception {
+        // the expired deadlines fail the stalled stages from the timer through the global executor, whose default
+        // workers are not daemon threads, so replace it with the daemon workers of the asynchronous stages
+        ExecutorService executor = Executors.newFixedThreadPool(2, task -> {
+            Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            return thread;
+        });
+        Future.setGlobalExecutor(executor);
+
+        // make sure the stages share the remaining budget, and the async tasks inherit the deadline
+        Deadline deadline = Deadline.after(1, TimeUnit.SECONDS);
+        Deadline inherited = Future.completed(1)
+            .withDeadline(deadline)
+            .transformAsync(value -> Future.completeAsync(() -> {
+                sleep(50);
+                return value;
+            }, executor))
+            .transformAsync(value -> Future.completeAsync(Deadline::current, executor))
+            .get(1000);
+        if (inherited != deadline)
+            throw new AssertionError("The async task should have inherited the deadline of the chain");
+        System.out.println("Propagated the deadline with " + deadline.getRemaining(TimeUnit.MILLISECONDS)
+            + "ms remaining");
+
+        // make sure the stages do not run their transformers after the deadline has expired
+        AtomicInteger transforms = new AtomicInteger();
+        Future<Integer> source = new Future<>();
+        Future<Integer> chain = source
+            .withDeadline(20, TimeUnit.MILLISECONDS)
+            .transform(value -> transforms.incrementAndGet());
+        sleep(50);
+        source.complete(1);
+        expectTimeout(chain);
+        if (transforms.get() != 0)
+            throw new AssertionError("The transformer should not have been run after the deadline");
+
+        // make sure a stage does not wait for a transformed Future beyond the deadline
+        long start = System.nanoTime();
+        expectTimeout(Future.completed(1)
+            .withDeadline(50, TimeUnit.MILLISECONDS)
+            .transformAsync(value -> new Future<Integer>()));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (elapsed > 500)
+            throw new AssertionError("The stage should have failed at the deadline, took " + elapsed + "ms");
+        System.out.println("Failed the stalled stage after " + elapsed + "ms");
+
+        // make sure a chained Future does not wait for the other Future beyond the deadline
+        start = System.nanoTime();
+        expectTimeout(Future.completed(1)
+            .withDeadline(50, TimeUnit.MILLISECONDS)
+            .chain(new Future<Integer>()));
+        elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (elapsed > 500)
+            throw new AssertionError("The chain should have failed at the deadline, took " + elapsed + "ms");
+        System.out.println("Failed the stalled chain after " + elapsed + "ms");
+    }
+
+    private static void expectTimeout(Future<?> future) throws Exception {
+        try {
+            future.get(1000);
+            throw new AssertionError("The future should have failed");
+        } catch (FutureExecutionException e) {
+            if (!(e.getCause() instanceof FutureTimeoutException))
+                throw new AssertionError("Expected a timeout, got " + e.getCause());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+import dev.inventex.octa.concurrent.future.Future;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FutureLazyTest {
+    public static void main(String[] args) throws Exception {
+        AtomicInteger scheduled = new AtomicInteger();
+        Executor executor = task -> {
+            scheduled.incrementAndGet();
+            new Thread(task).start();
+        };
+
+        // make sure the unused lazy futures, and the pipelines composed of them never schedule their tasks
+        AtomicInteger evaluated = new AtomicInteger();
+        List<Future<String>> pipelines = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int value = i;
+            pipelines.add(Future.lazy(() -> evaluated.incrementAndGet() + value, executor)
+                .transform(result -> result * 2)
+                .transformAsync(result -> Future.completed(String.valueOf(result))));
+        }
+        if (scheduled.get() != 0 || evaluated.get() != 0)
+            throw new AssertionError("The unused lazy futures should not have been scheduled: " + scheduled.get());
+        System.out.println("Composed " + pipelines.size() + " lazy pipelines without scheduling any tasks");
+
+        // make sure the first handler starts the work exactly once
+        Future<String> pipeline = pipelines.get(10);
+        AtomicInteger handled = new AtomicInteger();
+        pipeline.then(result -> handled.incrementAndGet());
+        pipeline.then(result -> handled.incrementAndGet());
+        String result = pipeline.get(1000);
+        if (scheduled.get() != 1 || evaluated.get() != 1 || !"22".equals(result) || handled.get() != 2)
+            throw new AssertionError("Expected a single evaluation, got " + scheduled.get() + " tasks, result " + result);
+
+        // make sure waiting for a lazy future starts its work as well
+        if (Future.lazy(() -> 1, executor).get(1000) != 1)
+            throw new AssertionError("The awaited lazy future should have been completed");
+
+        // make sure a cancelled lazy future never schedules its task
+        Future<Integer> cancelled = Future.lazy(() -> 1, executor);
+        Future<Integer> derived = cancelled.transform(value -> value + 1);
+        derived.cancel();
+        derived.then(value -> {});
+        cancelled.then(value -> {});
+        if (scheduled.get() != 2 || !cancelled.isCancelled())
+            throw new AssertionError("The cancelled lazy future should not have been scheduled");
+        System.out.println("Started the lazy futures only on demand");
+    }
+}
@@ -0,0 +1,149 @@
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.future.FutureExecutionException;
+import dev.inventex.octa.concurrent.future.FutureInstrumentation;
+import dev.inventex.octa.concurrent.future.FutureMetrics;
+import dev.inventex.octa.concurrent.future.LatencyHistogram;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+public class FutureMetricsTest {
+    public static void main(String[] args) throws Exception {
+        // make sure the values fall into the linear sub-buckets, and the percentiles are capped by the maximum
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++)
+            histogram.record(i);
+        expect("count", histogram.getCount(), 100);
+        expect("max", histogram.getMax(), 100);
+        if (histogram.getMean() != 50.5)
+            throw new AssertionError("Unexpected mean " + histogram.getMean());
+        // the values below 32 have a bucket of their own
+        expect("p0", histogram.getPercentile(0), 1);
+        expect("p31", histogram.getPercentile(31), 31);
+        // the 50th value falls into the bucket [50, 51]
+        expect("p50", histogram.getPercentile(50), 51);
+        // the 64th value is the first one of the bucket [64, 67]
+        expect("p63", histogram.getPercentile(63), 63);
+        expect("p64", histogram.getPercentile(64), 67);
+        expect("p99", histogram.getPercentile(99), 99);
+        expect("p100", histogram.getPercentile(100), 100);
+
+        // make sure the percentiles of many values exceed the exact value by at most 1/16 of it
+        LatencyHistogram uniform = new LatencyHistogram();
+        int values = 1_000_000;
+        for (int i = 1; i <= values; i++)
+            uniform.record(i);
+        for (double percentile : new double[] { 1, 10, 50, 90, 99, 99.9, 99.99 }) {
+            long exact = (long) Math.ceil(percentile / 100 * values);
+            expectAccurate("p" + percentile, uniform.getPercentile(percentile), exact);
+        }
+
+        // make sure the accuracy holds in every power of two range, up to the highest long value
+        LatencyHistogram ranges = new LatencyHistogram();
+        for (int exponent = 5; exponent < 63; exponent++) {
+            long value = (1L << exponent) + (1L << exponent) / 3;
+            ranges.reset();
+            ranges.record(value);
+            ranges.record(Long.MAX_VALUE);
+            expectAccurate("p50 of 2^" + exponent, ranges.getPercentile(50), value);
+        }
+
+        // make sure the bounds of the buckets are exact around a power of two
+        LatencyHistogram bounds = new LatencyHistogram();
+        bounds.record(1023);
+        bounds.record(1024);
+        expect("p50 of [1023, 1024]", bounds.getPercentile(50), 1023);
+        expect("p100 of [1023, 1024]", bounds.getPercentile(100), 1024);
+        bounds.reset();
+        expect("count after reset", bounds.getCount(), 0);
+        expect("p50 after reset", bounds.getPercentile(50), 0);
+
+        // make sure the extreme values are recorded in the first and the last bucket
+        LatencyHistogram extremes = new LatencyHistogram();
+        extremes.record(-5);
+        extremes.record(Long.MAX_VALUE);
+        expect("p50 of the extremes", extremes.getPercentile(50), 0);
+        expect("p100 of the extremes", extremes.getPercentile(100), Long.MAX_VALUE);
+        try {
+            extremes.getPercentile(101);
+            throw new AssertionError("The percentile should have been rejected");
+        } catch (IllegalArgumentException ignored) {
+        }
+        System.out.println("Estimated the percentiles of " + histogram);
+
+        // count the lifecycle events of the Futures, the timeout below is reported through the global executor,
+        // so the workers, that are shut down at the end, run both the timeout and the measured task
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future.setGlobalExecutor(executor);
+        FutureMetrics metrics = new FutureMetrics();
+        Future.setInstrumentation(metrics);
+        try {
+            Future<Integer> completed = new Future<>();
+            Future<Integer> failed = new Future<>();
+            Future<Integer> cancelled = new Future<>();
+            Future<Integer> pending = new Future<>();
+            completed.then(value -> {});
+            completed.complete(1);
+            failed.fail(new IllegalStateException());
+            cancelled.cancel();
+            expect("created", metrics.getCreated(), 4);
+            expect("completed", metrics.getCompleted(), 1);
+            expect("failed", metrics.getFailed(), 1);
+            expect("cancelled", metrics.getCancelled(), 1);
+            expect("pending", metrics.getPending(), 1);
+            expect("handlers", metrics.getHandlerLatency().getCount(), 1);
+
+            // the timed out Future fails, and its source is cancelled
+            try {
+                pending.timeout(10).get(1000);
+                throw new AssertionError("The Future should have timed out");
+            } catch (FutureExecutionException ignored) {
+            }
+            // the timeout is reported, after the timed out Future has been failed
+            await(() -> metrics.getPending() == 0);
+            expect("timeouts", metrics.getTimeouts(), 1);
+            expect("failed after the timeout", metrics.getFailed(), 2);
+            expect("pending after the timeout", metrics.getPending(), 0);
+
+            // the asynchronous tasks record their queue and run latencies
+            Future.completeAsync(() -> sleep(20), executor).get(1000);
+            // the end of the task is reported, after the Future of the task has been completed
+            await(() -> metrics.getTaskLatency().getCount() > 0);
+            expect("queued tasks", metrics.getQueueLatency().getCount(), 1);
+            expect("finished tasks", metrics.getTaskLatency().getCount(), 1);
+            if (metrics.getTaskLatency().getMax() < TimeUnit.MILLISECONDS.toNanos(20))
+                throw new AssertionError("The task latency is too low: " + metrics.getTaskLatency().getMax());
+        } finally {
+            Future.setInstrumentation(FutureInstrumentation.NOOP);
+            executor.shutdown();
+        }
+        System.out.println("Counted the lifecycle events of " + metrics.getCreated() + " Futures");
+    }
+
+    private static void expect(String name, long actual, long expected) {
+        if (actual != expected)
+            throw new AssertionError("Expected " + name + " to be " + expected + ", got " + actual);
+    }
+
+    private static void expectAccurate(String name, long actual, long exact) {
+        if (actual < exact || actual - exact > exact / 16)
+            throw new AssertionError("Expected " + name + " to be within 1/16 above " + exact + ", got " + actual);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline)
+            Thread.sleep(1);
+    }
+
+    private static int sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,87 @@
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.future.FutureExecutionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FutureParallelTest {
+    private static final int ELEMENTS = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4, task -> {
+            Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Integer> input = new ArrayList<>(ELEMENTS);
+        for (int i = 0; i < ELEMENTS; i++)
+            input.add(i);
+
+        // make sure the results of the parallel mapping are in the order of the input
+        List<Integer> doubled = Future.parallelMap(input, value -> value * 2, executor).get(10_000);
+        for (int i = 0; i < ELEMENTS; i++)
+            if (doubled.get(i) != i * 2)
+                throw new AssertionError("Unexpected result at " + i + ": " + doubled.get(i));
+        System.out.println("Mapped " + ELEMENTS + " elements in parallel");
+
+        // make sure the mapping fails with the error of the function
+        try {
+            Future.parallelMap(input, value -> {
+                if (value == ELEMENTS / 2)
+                    throw new IllegalStateException("failed at " + value);
+                return value;
+            }, executor).get(10_000);
+            throw new AssertionError("The mapping should have failed");
+        } catch (FutureExecutionException e) {
+            if (!(e.getCause() instanceof IllegalStateException))
+                throw new AssertionError("Unexpected error: " + e.getCause());
+        }
+
+        // make sure an error of the function fails the mapping as well, rather than leaving it pending
+        try {
+            Future.parallelMap(input.subList(0, 100), value -> {
+                if (value == 50)
+                    throw new StackOverflowError();
+                return value;
+            }, executor).get(10_000);
+            throw new AssertionError("The mapping should have failed");
+        } catch (FutureExecutionException e) {
+            if (!(e.getCause() instanceof StackOverflowError))
+                throw new AssertionError("Unexpected error: " + e.getCause());
+        }
+
+        // make sure the traversal keeps at most the specified number of the futures pending
+        AtomicInteger pending = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Integer> traversed = Future.traverse(input.subList(0, 10_000), value -> {
+            peak.accumulateAndGet(pending.incrementAndGet(), Math::max);
+            return Future.completeAsync(() -> {
+                pending.decrementAndGet();
+                return value + 1;
+            }, executor);
+        }, 8).get(10_000);
+        for (int i = 0; i < traversed.size(); i++)
+            if (traversed.get(i) != i + 1)
+                throw new AssertionError("Unexpected result at " + i + ": " + traversed.get(i));
+        if (peak.get() > 8)
+            throw new AssertionError("Expected at most 8 pending futures, got " + peak.get());
+        System.out.println("Traversed " + traversed.size() + " elements with at most " + peak.get() + " pending");
+
+        // make sure an error of the function fails the traversal, even if it is thrown by the handler of a Future
+        try {
+            Future.traverse(input.subList(0, 100), value -> {
+                if (value == 50)
+                    throw new StackOverflowError();
+                return Future.completeAsync(() -> value, executor);
+            }, 4).get(10_000);
+            throw new AssertionError("The traversal should have failed");
+        } catch (FutureExecutionException e) {
+            if (!(e.getCause() instanceof StackOverflowError))
+                throw new AssertionError("Unexpected error: " + e.getCause());
+        }
+        System.out.println("Failed the mapping and the traversal with the error of the function");
+    }
+}
@@ -0,0 +1,103 @@
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.future.FutureExecutionException;
+import dev.inventex.octa.concurrent.future.RetryPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FutureRetryTest {
+    private static final int RETRIES = 5000;
+
+    public static void main(String[] args) throws Exception {
+        // the backoff delays resume the retries on the global executor, let the attempts share its daemon workers,
+        // so that a retry still scheduled after the cancellation below does not keep the test running
+        ExecutorService executor = Executors.newFixedThreadPool(2, task -> {
+            Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            return thread;
+        });
+        Future.setGlobalExecutor(executor);
+        RetryPolicy policy = RetryPolicy.builder()
+            .setMaxAttempts(3)
+            .setInitialDelay(10, TimeUnit.MILLISECONDS)
+            .build();
+
+        // run thousands of concurrent retries on two threads, each of them succeeding on the third attempt
+        long start = System.nanoTime();
+        List<Future<Integer>> futures = new ArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+        for (int i = 0; i < RETRIES; i++) {
+            AtomicInteger counter = new AtomicInteger();
+            futures.add(Future.retry(() -> {
+                attempts.incrementAndGet();
+                if (counter.incrementAndGet() < 3)
+                    throw new IllegalStateException("attempt " + counter.get());
+                return 1;
+            }, policy, executor));
+        }
+        for (Future<Integer> future : futures)
+            future.get(10_000);
+        if (attempts.get() != RETRIES * 3)
+            throw new AssertionError("Expected " + RETRIES * 3 + " attempts, got " + attempts.get());
+        System.out.println("Completed " + RETRIES + " retries on 2 threads in "
+            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+
+        // make sure the future fails with the last error, once the attempts are exhausted
+        AtomicInteger exhausted = new AtomicInteger();
+        try {
+            Future.retry(() -> {
+                throw new IllegalStateException("attempt " + exhausted.incrementAndGet());
+            }, policy, executor).get(1000);
+            throw new AssertionError("The retries should have been exhausted");
+        } catch (FutureExecutionException e) {
+            if (!"attempt 3".equals(e.getCause().getMessage()))
+                throw new AssertionError("Expected the error of the last attempt, got " + e.getCause());
+        }
+
+        // make sure the errors, that should not be retried, fail the future immediately
+        AtomicInteger rejected = new AtomicInteger();
+        RetryPolicy retryOnState = RetryPolicy.builder().setRetryOn(e -> e instanceof IllegalStateException).build();
+        try {
+            Future.retry(() -> {
+                rejected.incrementAndGet();
+                throw new IllegalArgumentException();
+            }, retryOnState, executor).get(1000);
+            throw new AssertionError("The error should not have been retried");
+        } catch (FutureExecutionException e) {
+            if (rejected.get() != 1)
+                throw new AssertionError("Expected a single attempt, got " + rejected.get());
+        }
+        System.out.println("Failed the exhausted and the non-retried operations");
+
+        // make sure the hanging attempts are timed out, and retried
+        AtomicInteger timed = new AtomicInteger();
+        RetryPolicy timeout = RetryPolicy.builder()
+            .setInitialDelay(0, TimeUnit.MILLISECONDS)
+            .setAttemptTimeout(50, TimeUnit.MILLISECONDS)
+            .build();
+        int result = Future.retryAsync(
+            () -> timed.incrementAndGet() == 1 ? new Future<Integer>() : Future.completed(timed.get()), timeout
+        ).get(1000);
+        if (result != 2)
+            throw new AssertionError("Expected the second attempt to complete the future, got " + result);
+        System.out.println("Retried the timed out attempt");
+
+        // make sure the cancellation stops the retries
+        AtomicInteger cancelled = new AtomicInteger();
+        RetryPolicy slow = RetryPolicy.builder().setInitialDelay(100, TimeUnit.MILLISECONDS).build();
+        Future<Integer> future = Future.retry(() -> {
+            cancelled.incrementAndGet();
+            throw new IllegalStateException();
+        }, slow, executor);
+        Thread.sleep(50);
+        future.cancel();
+        Thread.sleep(300);
+        if (cancelled.get() != 1)
+            throw new AssertionError("The retries should have stopped after the cancellation, got " + cancelled.get());
+        System.out.println("Stopped the retries after the cancellation");
+    }
+}
@@ -0,0 +1,117 @@
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.future.FutureExecutionException;
+import dev.inventex.octa.concurrent.future.FutureScope;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FutureScopeTest {
+    private static final int TASKS = 10_000;
+    private static final int MAX_CONCURRENCY = 16;
+
+    public static void main(String[] args) throws Exception {
+        // use a separate thread for each running task, as the global pool might be small without virtual threads
+        ExecutorService executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // fork thousands of tasks, and make sure the concurrency limit is respected
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Future<Integer>> results = new ArrayList<>();
+        try (FutureScope scope = new FutureScope(executor, MAX_CONCURRENCY)) {
+            for (int i = 0; i < TASKS; i++) {
+                int value = i;
+                results.add(scope.fork(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(1);
+                    running.decrementAndGet();
+                    return value;
+                }));
+            }
+            scope.join();
+        }
+
+        long sum = 0;
+        for (Future<Integer> result : results)
+            sum += result.getNow(0);
+        if (sum != (long) TASKS * (TASKS - 1) / 2)
+            throw new AssertionError("Unexpected sum of the results " + sum);
+        if (peak.get() > MAX_CONCURRENCY)
+            throw new AssertionError("The concurrency limit was exceeded: " + peak.get());
+        System.out.println("Joined " + TASKS + " tasks with a peak concurrency of " + peak.get());
+
+        // fail a task, and make sure the siblings are cancelled and interrupted
+        CountDownLatch started = new CountDownLatch(3);
+        AtomicInteger interrupted = new AtomicInteger();
+        Future<Integer> sleeper;
+        long start = System.nanoTime();
+        try (FutureScope scope = new FutureScope(executor, Integer.MAX_VALUE)) {
+            sleeper = scope.fork(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    interrupted.incrementAndGet();
+                    throw e;
+                }
+                return 1;
+            });
+            scope.fork(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    interrupted.incrementAndGet();
+                }
+                return 2;
+            });
+            scope.fork(() -> {
+                started.countDown();
+                started.await();
+                throw new IllegalStateException("task failure");
+            });
+
+            try {
+                scope.join();
+                throw new AssertionError("The failure was not reported");
+            } catch (FutureExecutionException e) {
+                if (!(e.getCause() instanceof IllegalStateException))
+                    throw new AssertionError("Unexpected error", e);
+            }
+        }
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (!sleeper.isCancelled())
+            throw new AssertionError("The sibling was not cancelled");
+        // the scope waits for the interrupted tasks to stop, when it is closed
+        if (interrupted.get() != 2)
+            throw new AssertionError("Only " + interrupted.get() + " of the siblings have been interrupted");
+        System.out.println("Cancelled the siblings of a failed task in " + elapsed + "ms");
+
+        // make sure a long-lived scope does not retain the results of its completed tasks
+        List<WeakReference<Object>> values = new ArrayList<>();
+        try (FutureScope scope = new FutureScope(executor, MAX_CONCURRENCY)) {
+            for (int i = 0; i < 1000; i++) {
+                Object value = new Object();
+                values.add(new WeakReference<>(value));
+                scope.fork(() -> value);
+            }
+            scope.join();
+            System.gc();
+            Thread.sleep(100);
+            long retained = values.stream().filter(value -> value.get() != null).count();
+            if (retained > 100)
+                throw new AssertionError("The open scope retained " + retained + " results of its completed tasks");
+        }
+        System.out.println("Released the results of the completed tasks");
+    }
+}
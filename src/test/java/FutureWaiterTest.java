@@ -0,0 +1,100 @@
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.future.FutureTimeoutException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FutureWaiterTest {
+    private static final int GETTERS = 4000;
+
+    public static void main(String[] args) throws Exception {
+        // block thousands of threads on the same future, and make sure all of them are woken up
+        Future<Integer> future = new Future<>();
+        CountDownLatch started = new CountDownLatch(GETTERS);
+        CountDownLatch finished = new CountDownLatch(GETTERS);
+        AtomicInteger results = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < GETTERS; i++) {
+            // mix untimed and timed getters
+            boolean timed = i % 2 == 0;
+            Thread thread = new Thread(() -> {
+                started.countDown();
+                try {
+                    int value = timed ? future.get(60_000) : future.get();
+                    results.addAndGet(value);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+                finished.countDown();
+            });
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+
+        started.await();
+        long start = System.nanoTime();
+        future.complete(1);
+
+        if (!finished.await(10, TimeUnit.SECONDS))
+            throw new AssertionError("Only " + (GETTERS - finished.getCount()) + " of " + GETTERS + " getters were woken up");
+        if (results.get() != GETTERS)
+            throw new AssertionError("Expected " + GETTERS + " results, got " + results.get());
+        System.out.println("Woke up " + GETTERS + " getters in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+
+        // make sure the timed getters respect their deadline
+        Future<Integer> pending = new Future<>();
+        long waitStart = System.nanoTime();
+        try {
+            pending.get(200);
+            throw new AssertionError("The timeout was not exceeded");
+        } catch (FutureTimeoutException e) {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waitStart);
+            if (elapsed < 200 || elapsed > 400)
+                throw new AssertionError("The timeout was exceeded after " + elapsed + "ms");
+            System.out.println("Timed out after " + elapsed + "ms");
+        }
+
+        // poll the pending future repeatedly, the timed out waiters are dropped from the handler stack
+        for (int i = 0; i < 1000; i++) {
+            try {
+                pending.get(1);
+            } catch (FutureTimeoutException ignored) {
+            }
+        }
+        pending.complete(2);
+        if (pending.get() != 2)
+            throw new AssertionError("Unexpected completion value");
+
+        // bury the timed out waiters under the handlers of other threads, they are unlinked from the middle
+        // of the stack, and none of the handlers may be lost meanwhile
+        Future<Integer> buried = new Future<>();
+        AtomicInteger handled = new AtomicInteger();
+        List<Thread> pollers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 250; j++) {
+                    try {
+                        buried.get(1);
+                    } catch (Exception ignored) {
+                    }
+                    buried.then(value -> handled.incrementAndGet());
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+            pollers.add(thread);
+        }
+        for (Thread thread : pollers)
+            thread.join();
+        buried.complete(3);
+        if (handled.get() != 2000)
+            throw new AssertionError("Expected 2000 handlers to be called, got " + handled.get());
+
+        System.out.println("All getters completed successfully");
+    }
+}
@@ -0,0 +1,79 @@
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.future.FutureExecutionException;
+import dev.inventex.octa.concurrent.future.FutureTimeoutException;
+import dev.inventex.octa.concurrent.threading.HashedWheelTimer;
+import dev.inventex.octa.concurrent.threading.Threading;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class HashedWheelTimerTest {
+    public static void main(String[] args) throws Exception {
+        HashedWheelTimer timer = Threading.getTimer();
+        // fail the timed out Futures on daemon workers, so that the test can exit
+        Future.setGlobalExecutor(Executors.newFixedThreadPool(4, task -> {
+            Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            return thread;
+        }));
+
+        // make sure a short delay expires on time
+        CountDownLatch expired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        timer.schedule(expired::countDown, 20, TimeUnit.MILLISECONDS);
+        if (!expired.await(1, TimeUnit.SECONDS))
+            throw new AssertionError("The timeout should have expired");
+        System.out.println("Expired a 20ms timeout after "
+            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+
+        // make sure very large delays do not overflow to a deadline in the past
+        HashedWheelTimer.Timeout forever = timer.schedule(() -> {}, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        HashedWheelTimer.Timeout days = timer.schedule(() -> {}, Long.MAX_VALUE / 2, TimeUnit.DAYS);
+        Future<Integer> maxTimeout = new Future<Integer>().timeout(Long.MAX_VALUE);
+        Future<Integer> halfTimeout = new Future<Integer>().timeout(Long.MAX_VALUE / 2);
+        Thread.sleep(100);
+        if (forever.isExpired() || days.isExpired() || maxTimeout.isCompleted() || halfTimeout.isCompleted())
+            throw new AssertionError("The large timeouts should not have expired");
+        forever.cancel();
+        days.cancel();
+        maxTimeout.cancel();
+        halfTimeout.cancel();
+
+        // make sure a regular Future timeout still fails
+        try {
+            new Future<Integer>().timeout(20).get(1000);
+            throw new AssertionError("The Future should have timed out");
+        } catch (FutureExecutionException e) {
+            if (!(e.getCause() instanceof FutureTimeoutException))
+                throw new AssertionError("Expected a timeout, got " + e.getCause());
+        }
+        System.out.println("Kept the large timeouts pending");
+
+        // make sure a slow handler of a timed out Future does not delay the other timeouts
+        CountDownLatch blocked = new CountDownLatch(1);
+        String[] handlerThread = new String[1];
+        new Future<Integer>().timeout(10).except(error -> {
+            handlerThread[0] = Thread.currentThread().getName();
+            blocked.countDown();
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException ignored) {
+            }
+        });
+        if (!blocked.await(1, TimeUnit.SECONDS))
+            throw new AssertionError("The slow handler was not called");
+        if ("octa-timer".equals(handlerThread[0]))
+            throw new AssertionError("The handler of the timed out Future ran on the timer thread");
+        start = System.nanoTime();
+        try {
+            new Future<Integer>().timeout(20).get(500);
+            throw new AssertionError("The Future should have timed out");
+        } catch (FutureExecutionException e) {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (elapsed > 300)
+                throw new AssertionError("The timeout was delayed by a slow handler for " + elapsed + "ms");
+            System.out.println("Expired a timeout after " + elapsed + "ms, whilst a handler was blocked");
+        }
+    }
+}
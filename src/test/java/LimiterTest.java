@@ -0,0 +1,88 @@
+import dev.inventex.octa.concurrent.future.Future;
+import dev.inventex.octa.concurrent.limit.AimdLimiter;
+import dev.inventex.octa.concurrent.limit.ConcurrencyLimiter;
+import dev.inventex.octa.concurrent.limit.Permit;
+import dev.inventex.octa.concurrent.limit.TokenBucketLimiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class LimiterTest {
+    public static void main(String[] args) throws Exception {
+        // grant the delayed permits on a daemon worker, so that the test can exit
+        Future.setGlobalExecutor(Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            return thread;
+        }));
+
+        // make sure the waiting acquisitions are granted in order, as the permits are released
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2);
+        List<Future<Permit>> acquisitions = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+            acquisitions.add(limiter.acquire());
+        if (!acquisitions.get(1).isCompleted() || acquisitions.get(2).isCompleted())
+            throw new AssertionError("Only the first two acquisitions should have been granted");
+
+        // a cancelled acquisition does not consume a permit
+        acquisitions.get(2).cancel();
+        acquisitions.get(0).get().release();
+        if (!acquisitions.get(3).isCompleted() || acquisitions.get(4).isCompleted() || limiter.getInFlight() != 2)
+            throw new AssertionError("The released permit should have been granted to the next acquisition");
+
+        // make sure the timed out acquisitions stop waiting, whilst the permits are not released
+        for (int i = 0; i < 1000; i++)
+            limiter.acquire().timeout(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getWaiting() > 1 && System.nanoTime() < deadline)
+            Thread.sleep(1);
+        if (limiter.getWaiting() != 1)
+            throw new AssertionError("Expected only the pending acquisition to wait, got " + limiter.getWaiting());
+        System.out.println("Granted the released permits in order");
+
+        // make sure the adaptive limiter lowers the limit on drops, and raises it on successes
+        AimdLimiter aimd = new AimdLimiter(8, 1, 16, 0.5);
+        aimd.tryAcquire().drop();
+        if (aimd.getLimit() != 4)
+            throw new AssertionError("Expected the limit to be halved, got " + aimd.getLimit());
+        // a single operation at a time does not probe the limit, so the limit is kept
+        for (int i = 0; i < 20; i++)
+            aimd.tryAcquire().release();
+        if (aimd.getLimit() != 4)
+            throw new AssertionError("Expected the limit to be kept under light load, got " + aimd.getLimit());
+        // the operations using the full limit raise it
+        for (int i = 0; i < 5; i++) {
+            List<Permit> permits = new ArrayList<>();
+            for (int j = 0; j < aimd.getLimit(); j++)
+                permits.add(aimd.tryAcquire());
+            for (Permit permit : permits)
+                permit.release();
+        }
+        if (aimd.getLimit() <= 4)
+            throw new AssertionError("Expected the limit to grow, got " + aimd.getLimit());
+        System.out.println("Adapted the limit to " + aimd.getLimit());
+
+        // make sure the token bucket grants the burst immediately, then delays the next permits
+        TokenBucketLimiter bucket = new TokenBucketLimiter(20, 5);
+        for (int i = 0; i < 5; i++)
+            if (bucket.tryAcquire() == null)
+                throw new AssertionError("The burst should have been granted immediately");
+        if (bucket.tryAcquire() != null)
+            throw new AssertionError("The bucket should have been empty");
+        long start = System.nanoTime();
+        bucket.acquire().get(1000);
+        bucket.acquire().get(1000);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (elapsed < 80)
+            throw new AssertionError("Expected the reserved permits to wait at least 80ms, waited " + elapsed + "ms");
+        System.out.println("Granted the reserved tokens after " + elapsed + "ms");
+
+        // make sure the operations waiting for a token are not started on the timer thread
+        String thread = bucket.run(() -> Future.completed(Thread.currentThread().getName())).get(1000);
+        if ("octa-timer".equals(thread))
+            throw new AssertionError("The delayed operation was started on the timer thread");
+        System.out.println("Started the delayed operation on " + thread);
+    }
+}
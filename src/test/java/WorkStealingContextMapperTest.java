@@ -0,0 +1,55 @@
+import dev.inventex.octa.concurrent.future.WorkStealingContextMapper;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+public class WorkStealingContextMapperTest {
+    public static void main(String[] args) throws Exception {
+        WorkStealingContextMapper mapper = new WorkStealingContextMapper(4);
+
+        // flood a context with slow tasks, and make sure a task of another context is not queued behind them
+        Executor busy = mapper.apply("busy");
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch flooded = new CountDownLatch(400);
+        for (int i = 0; i < 400; i++) {
+            busy.execute(() -> {
+                threads.add(Thread.currentThread().getName());
+                sleep(5);
+                flooded.countDown();
+            });
+        }
+        long start = System.nanoTime();
+        CountDownLatch other = new CountDownLatch(1);
+        mapper.apply("other").execute(other::countDown);
+        if (!other.await(200, TimeUnit.MILLISECONDS))
+            throw new AssertionError("The task of the other context should not have waited for the busy context");
+        System.out.println("Ran the task of the other context after "
+            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+
+        // make sure the contexts do not create more worker threads, than the shared parallelism
+        CountDownLatch finished = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++)
+            mapper.apply("context-" + i % 10).execute(() -> {
+                threads.add(Thread.currentThread().getName());
+                sleep(5);
+                finished.countDown();
+            });
+        if (!flooded.await(10, TimeUnit.SECONDS) || !finished.await(10, TimeUnit.SECONDS))
+            throw new AssertionError("The tasks should have finished");
+        if (threads.size() > mapper.getParallelism())
+            throw new AssertionError("Expected at most " + mapper.getParallelism() + " threads, got " + threads);
+        System.out.println("Shared " + threads.size() + " worker threads between 12 contexts");
+        mapper.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}